@@ -0,0 +1,82 @@
+package com.auction.online_auction_system.cache;
+
+import com.auction.online_auction_system.cluster.ClusterEventBus;
+import com.auction.online_auction_system.dto.AuctionDTO;
+import com.auction.online_auction_system.event.AuctionCancelledEvent;
+import com.auction.online_auction_system.event.AuctionCompletedEvent;
+import com.auction.online_auction_system.event.AuctionExtendedEvent;
+import com.auction.online_auction_system.event.AuctionScheduledEvent;
+import com.auction.online_auction_system.event.AuctionStartedEvent;
+import com.auction.online_auction_system.event.BidPlacedEvent;
+import com.auction.online_auction_system.event.ProductChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache of {@link AuctionDTO}s served by the auction read endpoints.
+ * <p>
+ * Bids patch the cached view in place, guarded by the order book version so a late event never rolls a
+ * view back. Events that change an auction's status or membership of a list drop the view and the lists.
+ * Fed from the {@link ClusterEventBus}, so every node's cache follows writes made on any node.
+ */
+@Component
+public class AuctionViewCache {
+
+    private final ViewCache<AuctionDTO> cache;
+
+    public AuctionViewCache(ClusterEventBus clusterEventBus,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${auction.cache.auctions.max-size:10000}") long maxSize,
+                            @Value("${auction.cache.auctions.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = new ViewCache<>("auctions", maxSize, Duration.ofSeconds(ttlSeconds), AuctionDTO::getId,
+                view -> view.toBuilder().build(), transactionManager, meterRegistry);
+        clusterEventBus.subscribe(BidPlacedEvent.class, this::onBidPlaced);
+        clusterEventBus.subscribe(AuctionExtendedEvent.class, this::onExtended);
+        clusterEventBus.subscribe(AuctionScheduledEvent.class, event -> cache.invalidateLists());
+        clusterEventBus.subscribe(AuctionStartedEvent.class, event -> invalidate(event.auctionId()));
+        clusterEventBus.subscribe(AuctionCompletedEvent.class, event -> invalidate(event.auctionId()));
+        clusterEventBus.subscribe(AuctionCancelledEvent.class, event -> invalidate(event.auctionId()));
+        // Auction views embed product details; product edits are rare enough to drop everything.
+        clusterEventBus.subscribe(ProductChangedEvent.class, event -> cache.invalidateAll());
+    }
+
+    public AuctionDTO get(Long auctionId, Function<Long, AuctionDTO> loader) {
+        return cache.get(auctionId, loader);
+    }
+
+    public List<AuctionDTO> getList(String key, Supplier<List<AuctionDTO>> loader) {
+        return cache.getList(key, loader);
+    }
+
+    private void onBidPlaced(BidPlacedEvent event) {
+        cache.patch(event.auctionId(), view -> {
+            if (view.getVersion() != null && view.getVersion() >= event.version()) {
+                return view;
+            }
+            return view.toBuilder()
+                    .currentBid(event.currentBid())
+                    .totalBids((int) event.bidCount())
+                    .endTime(event.endTime())
+                    .version(event.version())
+                    .build();
+        });
+    }
+
+    private void onExtended(AuctionExtendedEvent event) {
+        cache.patch(event.auctionId(), view -> view.getEndTime() != null && !event.endTime().isAfter(view.getEndTime())
+                ? view : view.toBuilder().endTime(event.endTime()).build());
+    }
+
+    private void invalidate(Long auctionId) {
+        cache.invalidate(auctionId);
+        cache.invalidateLists();
+    }
+}
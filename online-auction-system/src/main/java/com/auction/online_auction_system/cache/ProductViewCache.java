@@ -0,0 +1,61 @@
+package com.auction.online_auction_system.cache;
+
+import com.auction.online_auction_system.cluster.ClusterEventBus;
+import com.auction.online_auction_system.dto.ProductDTO;
+import com.auction.online_auction_system.event.AuctionCancelledEvent;
+import com.auction.online_auction_system.event.AuctionCompletedEvent;
+import com.auction.online_auction_system.event.AuctionScheduledEvent;
+import com.auction.online_auction_system.event.ProductChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache of {@link ProductDTO}s served by the product read endpoints.
+ * <p>
+ * Product edits drop the product's view. Creating, completing or cancelling an auction changes its
+ * product's status, and the auction events do not name the product, so those drop the whole cache.
+ */
+@Component
+public class ProductViewCache {
+
+    private final ViewCache<ProductDTO> cache;
+
+    public ProductViewCache(ClusterEventBus clusterEventBus,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${auction.cache.products.max-size:10000}") long maxSize,
+                            @Value("${auction.cache.products.ttl-seconds:600}") long ttlSeconds) {
+        this.cache = new ViewCache<>("products", maxSize, Duration.ofSeconds(ttlSeconds), ProductDTO::getId,
+                view -> view.toBuilder().build(), transactionManager, meterRegistry);
+        clusterEventBus.subscribe(ProductChangedEvent.class, this::onProductChanged);
+        clusterEventBus.subscribe(AuctionScheduledEvent.class, event -> cache.invalidateAll());
+        clusterEventBus.subscribe(AuctionCompletedEvent.class, event -> cache.invalidateAll());
+        clusterEventBus.subscribe(AuctionCancelledEvent.class, event -> cache.invalidateAll());
+    }
+
+    public ProductDTO get(Long productId, Function<Long, ProductDTO> loader) {
+        return cache.get(productId, loader);
+    }
+
+    public List<ProductDTO> getAll(List<Long> productIds, Function<Set<Long>, Map<Long, ProductDTO>> loader) {
+        return cache.getAll(productIds, loader);
+    }
+
+    public List<ProductDTO> getList(String key, Supplier<List<ProductDTO>> loader) {
+        return cache.getList(key, loader);
+    }
+
+    private void onProductChanged(ProductChangedEvent event) {
+        cache.invalidate(event.productId());
+        cache.invalidateLists();
+    }
+}
@@ -0,0 +1,165 @@
+package com.auction.online_auction_system.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-model cache for one kind of view, e.g. auction DTOs.
+ * <p>
+ * Views are cached by id; lists are cached as the ids of their members and resolved through the same
+ * entries, so patching a view updates every list it appears in. A list whose members have been evicted
+ * or invalidated is loaded again in full.
+ * <p>
+ * Loaders run in a read-only transaction of their own, so a cache hit never touches the database. A
+ * list loaded while an invalidation happened is returned but not cached, as it may predate the change.
+ * <p>
+ * Callers always get copies made by {@code copyOf}, never the cached instances, so a caller that changes a
+ * view it was given cannot change what everyone else is served. Patches replace a view rather than change it.
+ */
+public class ViewCache<V> {
+
+    private final Cache<Long, V> views;
+    private final Cache<String, List<Long>> lists;
+    private final Function<V, Long> idOf;
+    private final UnaryOperator<V> copyOf;
+    private final TransactionTemplate readOnly;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ViewCache(String name, long maxSize, Duration ttl, Function<V, Long> idOf, UnaryOperator<V> copyOf,
+                     PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.views = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.lists = Caffeine.newBuilder()
+                .maximumSize(256)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.idOf = idOf;
+        this.copyOf = copyOf;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        CaffeineCacheMetrics.monitor(meterRegistry, views, name);
+        CaffeineCacheMetrics.monitor(meterRegistry, lists, name + ".lists");
+    }
+
+    /**
+     * @return a copy of the cached view, or {@code null} if the loader found nothing
+     */
+    public V get(Long id, Function<Long, V> loader) {
+        V view = views.get(id, key -> readOnly.execute(status -> loader.apply(key)));
+        return view != null ? copyOf.apply(view) : null;
+    }
+
+    /**
+     * @return copies of the views of {@code ids} in the same order, leaving out ids the loader did not find;
+     * every view not cached yet is loaded in a single call to {@code loader}
+     */
+    public List<V> getAll(List<Long> ids, Function<Set<Long>, Map<Long, V>> loader) {
+        Map<Long, V> found = views.getAll(ids,
+                missing -> readOnly.execute(status -> loader.apply(Set.copyOf(missing))));
+        List<V> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            V view = found.get(id);
+            if (view != null) {
+                result.add(copyOf.apply(view));
+            }
+        }
+        return result;
+    }
+
+    public List<V> getList(String key, Supplier<List<V>> loader) {
+        List<Long> ids = lists.getIfPresent(key);
+        if (ids != null) {
+            List<V> cached = resolve(ids);
+            if (cached != null) {
+                return copies(cached);
+            }
+        }
+
+        long seen = generation.get();
+        List<V> loaded = readOnly.execute(status -> loader.get());
+        if (generation.get() != seen) {
+            return copies(loaded);
+        }
+        // Entries already cached may have been patched past what the database returned.
+        List<V> result = new ArrayList<>(loaded.size());
+        List<Long> loadedIds = new ArrayList<>(loaded.size());
+        List<Long> inserted = new ArrayList<>();
+        for (V view : loaded) {
+            Long id = idOf.apply(view);
+            V existing = views.asMap().putIfAbsent(id, view);
+            if (existing == null) {
+                inserted.add(id);
+            }
+            result.add(existing != null ? existing : view);
+            loadedIds.add(id);
+        }
+        if (generation.get() != seen) {
+            // Lost a race with an invalidation; drop what this load added rather than work out which is stale.
+            views.invalidateAll(inserted);
+            return copies(result);
+        }
+        lists.put(key, List.copyOf(loadedIds));
+        return copies(result);
+    }
+
+    /**
+     * Replaces a cached view with {@code patch} applied to it; does nothing if the view is not cached.
+     */
+    public void patch(Long id, UnaryOperator<V> patch) {
+        views.asMap().computeIfPresent(id, (key, view) -> patch.apply(view));
+    }
+
+    public void invalidate(Long id) {
+        generation.incrementAndGet();
+        views.invalidate(id);
+    }
+
+    public void invalidateLists() {
+        generation.incrementAndGet();
+        lists.invalidateAll();
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        views.invalidateAll();
+        lists.invalidateAll();
+    }
+
+    private List<V> copies(List<V> cached) {
+        List<V> copies = new ArrayList<>(cached.size());
+        for (V view : cached) {
+            copies.add(copyOf.apply(view));
+        }
+        return copies;
+    }
+
+    private List<V> resolve(List<Long> ids) {
+        List<V> resolved = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            V view = views.getIfPresent(id);
+            if (view == null) {
+                return null;
+            }
+            resolved.add(view);
+        }
+        return resolved;
+    }
+}
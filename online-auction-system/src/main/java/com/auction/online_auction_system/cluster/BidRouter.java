@@ -0,0 +1,85 @@
+package com.auction.online_auction_system.cluster;
+
+import com.auction.online_auction_system.exception.AuctionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.function.Supplier;
+
+/**
+ * Sends bid requests to the node that owns the auction.
+ * <p>
+ * Requests for auctions this node owns run locally. Others are forwarded once to the owner's advertised
+ * address with {@value #FORWARDED_HEADER} set; a forwarded request is never forwarded again, so nodes that
+ * briefly disagree about ownership reject it instead of bouncing it around. The caller's login token goes
+ * along, so the owner authenticates the same user.
+ */
+@Component
+@Slf4j
+public class BidRouter {
+
+    public static final String FORWARDED_HEADER = "X-Auction-Forwarded-By";
+
+    private final PartitionManager partitionManager;
+    private final RestClient restClient;
+
+    public BidRouter(PartitionManager partitionManager, RestClient.Builder restClientBuilder) {
+        this.partitionManager = partitionManager;
+        this.restClient = restClientBuilder.build();
+    }
+
+    /**
+     * Runs {@code local} if this node owns the auction, otherwise posts {@code body} to {@code path} on the
+     * owner and returns its response.
+     *
+     * @param forwardedBy value of {@value #FORWARDED_HEADER} on the incoming request, if any
+     */
+    public <T> T route(Long auctionId, String path, Object body, Class<T> responseType, String forwardedBy,
+                       Supplier<T> local) {
+        if (partitionManager.isOwner(auctionId)) {
+            return local.get();
+        }
+        if (forwardedBy != null) {
+            throw new AuctionException("Auction " + auctionId + " is moving between nodes, please retry");
+        }
+
+        NodeLease owner = partitionManager.ownerOf(auctionId)
+                .orElseThrow(() -> new AuctionException("Auction " + auctionId + " is moving between nodes, please retry"));
+        log.debug("Forwarding {} for auction {} to node {}", path, auctionId, owner.nodeId());
+        String authorization = callerAuthorization();
+        try {
+            return restClient.post()
+                    .uri(owner.address() + path)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(FORWARDED_HEADER, partitionManager.getNodeId())
+                    .headers(headers -> {
+                        if (authorization != null) {
+                            headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                        }
+                    })
+                    .body(body)
+                    .retrieve()
+                    .body(responseType);
+        } catch (RestClientResponseException e) {
+            throw new ResponseStatusException(e.getStatusCode(), e.getResponseBodyAsString(), e);
+        } catch (ResourceAccessException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Node " + owner.nodeId() + " did not answer", e);
+        }
+    }
+
+    private static String callerAuthorization() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION)
+                : null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.auction.online_auction_system.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * An event on the wire between nodes.
+ *
+ * @param incarnation start time of the publishing node, so a restarted node's sequence may begin again
+ * @param sequence    increases by one for every event {@code nodeId} publishes
+ * @param type        simple name of the event class
+ */
+public record ClusterEnvelope(String nodeId, long incarnation, long sequence, String type, JsonNode payload) {
+}
@@ -0,0 +1,21 @@
+package com.auction.online_auction_system.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries bid and lifecycle events to every instance of the application, including this one.
+ * <p>
+ * Components that must see events raised on other nodes, such as the realtime tier, subscribe here instead
+ * of listening for Spring events. Each node numbers the events it publishes, so receivers can drop
+ * duplicates and notice gaps; delivery is at most once and consumers are expected to be versioned or
+ * idempotent.
+ */
+public interface ClusterEventBus {
+
+    /**
+     * Delivers the event to local subscribers and sends it to the other nodes.
+     */
+    void publish(Object event);
+
+    <T> void subscribe(Class<T> type, Consumer<? super T> listener);
+}
@@ -0,0 +1,63 @@
+package com.auction.online_auction_system.cluster;
+
+import com.auction.online_auction_system.event.AuctionCancelledEvent;
+import com.auction.online_auction_system.event.AuctionCompletedEvent;
+import com.auction.online_auction_system.event.AuctionExtendedEvent;
+import com.auction.online_auction_system.event.AuctionScheduledEvent;
+import com.auction.online_auction_system.event.AuctionStartedEvent;
+import com.auction.online_auction_system.event.BidPlacedEvent;
+import com.auction.online_auction_system.event.ProductChangedEvent;
+import com.auction.online_auction_system.event.UserRegisteredEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Forwards committed bid, lifecycle, product and account events raised on this node to the {@link ClusterEventBus}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClusterEventRelay {
+
+    private final ClusterEventBus clusterEventBus;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBidPlaced(BidPlacedEvent event) {
+        clusterEventBus.publish(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduled(AuctionScheduledEvent event) {
+        clusterEventBus.publish(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStarted(AuctionStartedEvent event) {
+        clusterEventBus.publish(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExtended(AuctionExtendedEvent event) {
+        clusterEventBus.publish(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompleted(AuctionCompletedEvent event) {
+        clusterEventBus.publish(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCancelled(AuctionCancelledEvent event) {
+        clusterEventBus.publish(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        clusterEventBus.publish(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        clusterEventBus.publish(event);
+    }
+}
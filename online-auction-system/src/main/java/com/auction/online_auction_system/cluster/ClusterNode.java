@@ -0,0 +1,34 @@
+package com.auction.online_auction_system.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Identity of this instance within the cluster, {@code auction.cluster.node-id} or a random id per start.
+ */
+@Component
+@Slf4j
+public class ClusterNode {
+
+    private final String id;
+    private final long incarnation = System.currentTimeMillis();
+
+    public ClusterNode(@Value("${auction.cluster.node-id:}") String id) {
+        this.id = id.isBlank() ? UUID.randomUUID().toString() : id;
+        log.info("🖥️ Cluster node id: {}", this.id);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Start time of this process; tells a restarted node with a fixed id apart from its previous run.
+     */
+    public long getIncarnation() {
+        return incarnation;
+    }
+}
@@ -0,0 +1,60 @@
+package com.auction.online_auction_system.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable consistent-hash ring of node ids.
+ * <p>
+ * Each node is placed at {@code virtualNodes} points on the ring and an auction belongs to the first node
+ * point at or after the auction's hash, so adding or removing a node only moves about {@code 1/n} of the
+ * auctions.
+ */
+public final class HashRing {
+
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+
+    public HashRing(Collection<String> nodeIds, int virtualNodes) {
+        for (String nodeId : nodeIds) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(hash((nodeId + '#' + i).getBytes(StandardCharsets.UTF_8)), nodeId);
+            }
+        }
+    }
+
+    /**
+     * @return the owning node id, or {@code null} if the ring is empty
+     */
+    public String ownerOf(long auctionId) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> point = points.ceilingEntry(mix(auctionId));
+        return point != null ? point.getValue() : points.firstEntry().getValue();
+    }
+
+    public boolean isEmpty() {
+        return points.isEmpty();
+    }
+
+    // 64-bit FNV-1a, finished with the mixer below so nearby node names spread over the whole ring.
+    private static long hash(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // SplitMix64 finalizer: consecutive auction ids land far apart.
+    private static long mix(long value) {
+        long z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
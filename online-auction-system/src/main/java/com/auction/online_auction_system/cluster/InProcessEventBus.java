@@ -0,0 +1,48 @@
+package com.auction.online_auction_system.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Single-node bus that only delivers to subscribers in this process. Used unless
+ * {@code auction.cluster.bus} selects another implementation.
+ */
+@Component
+@ConditionalOnProperty(name = "auction.cluster.bus", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class InProcessEventBus implements ClusterEventBus {
+
+    private final Map<Class<?>, List<Consumer<Object>>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(Object event) {
+        deliver(event);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> void subscribe(Class<T> type, Consumer<? super T> listener) {
+        listeners.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>()).add((Consumer<Object>) listener);
+    }
+
+    protected void deliver(Object event) {
+        List<Consumer<Object>> subscribers = listeners.get(event.getClass());
+        if (subscribers == null) {
+            return;
+        }
+        for (Consumer<Object> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                log.error("❌ Cluster event listener failed for {}: {}", event.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.auction.online_auction_system.cluster;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps node leases in the {@code cluster_nodes} table.
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcLeaseStore implements LeaseStore {
+
+    private static final String RENEW_SQL = """
+            INSERT INTO cluster_nodes (node_id, address, heartbeat_at) VALUES (?, ?, ?)
+            ON CONFLICT (node_id) DO UPDATE SET address = EXCLUDED.address, heartbeat_at = EXCLUDED.heartbeat_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void renew(NodeLease lease) {
+        jdbcTemplate.update(RENEW_SQL, lease.nodeId(), lease.address(), Timestamp.valueOf(lease.heartbeatAt()));
+    }
+
+    @Override
+    public List<NodeLease> findLive(LocalDateTime since) {
+        return jdbcTemplate.query(
+                "SELECT node_id, address, heartbeat_at FROM cluster_nodes WHERE heartbeat_at >= ? ORDER BY node_id",
+                (rs, row) -> new NodeLease(rs.getString("node_id"), rs.getString("address"),
+                        rs.getTimestamp("heartbeat_at").toLocalDateTime()),
+                Timestamp.valueOf(since));
+    }
+
+    @Override
+    public void release(String nodeId) {
+        jdbcTemplate.update("DELETE FROM cluster_nodes WHERE node_id = ?", nodeId);
+    }
+}
@@ -0,0 +1,22 @@
+package com.auction.online_auction_system.cluster;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Shared record of node leases.
+ */
+public interface LeaseStore {
+
+    /**
+     * Creates or refreshes the node's lease.
+     */
+    void renew(NodeLease lease);
+
+    /**
+     * @return leases whose heartbeat is not older than {@code since}
+     */
+    List<NodeLease> findLive(LocalDateTime since);
+
+    void release(String nodeId);
+}
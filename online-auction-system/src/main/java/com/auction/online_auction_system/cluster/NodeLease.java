@@ -0,0 +1,11 @@
+package com.auction.online_auction_system.cluster;
+
+import java.time.LocalDateTime;
+
+/**
+ * A node's claim to membership, valid while its heartbeat is recent.
+ *
+ * @param address base URL other nodes forward requests to, e.g. {@code http://10.0.0.5:8080}
+ */
+public record NodeLease(String nodeId, String address, LocalDateTime heartbeatAt) {
+}
@@ -0,0 +1,87 @@
+package com.auction.online_auction_system.cluster;
+
+import com.auction.online_auction_system.engine.BidSequencer;
+import com.auction.online_auction_system.engine.OrderBookRegistry;
+import com.auction.online_auction_system.entity.Auction;
+import com.auction.online_auction_system.event.AuctionCancelledEvent;
+import com.auction.online_auction_system.event.PartitionsChangedEvent;
+import com.auction.online_auction_system.journal.BidJournal;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Gives up order books this node no longer owns.
+ * <p>
+ * After a rebalance, books of auctions that moved are evicted on their lanes, behind any bid still in
+ * flight, and the journal is drained so the new owner loads the latest state from the database. The event
+ * is published on the heartbeat thread, so evictions and the drain are only awaited on a separate handoff
+ * thread; writes that land after the new owner has loaded the book are fenced off by its owner epoch. Auctions
+ * cancelled on another node have their local book closed.
+ */
+@Component
+@Slf4j
+public class OrderBookHandoff {
+
+    private final PartitionManager partitionManager;
+    private final OrderBookRegistry orderBookRegistry;
+    private final BidSequencer bidSequencer;
+    private final BidJournal bidJournal;
+    private final ExecutorService handoff = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-book-handoff");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OrderBookHandoff(PartitionManager partitionManager,
+                            OrderBookRegistry orderBookRegistry,
+                            BidSequencer bidSequencer,
+                            BidJournal bidJournal,
+                            ClusterEventBus clusterEventBus) {
+        this.partitionManager = partitionManager;
+        this.orderBookRegistry = orderBookRegistry;
+        this.bidSequencer = bidSequencer;
+        this.bidJournal = bidJournal;
+        clusterEventBus.subscribe(AuctionCancelledEvent.class, this::onCancelled);
+    }
+
+    @EventListener
+    public void onPartitionsChanged(PartitionsChangedEvent event) {
+        List<CompletableFuture<Void>> evictions = new ArrayList<>();
+        for (Long auctionId : orderBookRegistry.getLoadedAuctionIds()) {
+            if (!partitionManager.isOwner(auctionId)) {
+                evictions.add(bidSequencer.submit(auctionId, () -> orderBookRegistry.evict(auctionId)));
+            }
+        }
+        if (evictions.isEmpty()) {
+            return;
+        }
+        CompletableFuture.allOf(evictions.toArray(CompletableFuture[]::new))
+                .thenRunAsync(bidJournal::awaitFlushed, handoff)
+                .whenComplete((ignored, failure) -> {
+                    if (failure != null) {
+                        log.error("❌ Order book handoff after rebalance failed: {}", failure.getMessage());
+                    } else {
+                        log.info("🧩 Handed off {} order books after rebalance to {} nodes",
+                                evictions.size(), event.nodeIds().size());
+                    }
+                });
+    }
+
+    private void onCancelled(AuctionCancelledEvent event) {
+        bidSequencer.submit(event.auctionId(),
+                () -> orderBookRegistry.close(event.auctionId(), Auction.AuctionStatus.CANCELLED));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        handoff.shutdown();
+    }
+}
@@ -0,0 +1,195 @@
+package com.auction.online_auction_system.cluster;
+
+import com.auction.online_auction_system.event.PartitionsChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Decides which node owns each auction's order book.
+ * <p>
+ * With {@code auction.cluster.partitioning.enabled}, every node renews a lease in the {@link LeaseStore}
+ * each {@code auction.cluster.lease.heartbeat-ms} and builds a {@link HashRing} from the leases that are
+ * younger than {@code auction.cluster.lease.ttl-ms}. When a node joins or its lease lapses, the ring is
+ * rebuilt and a {@link PartitionsChangedEvent} is published. For {@code auction.cluster.rebalance-grace-ms}
+ * after a change, auctions that moved are owned by nobody, so the previous owner can notice the change and
+ * flush its journal before the new owner loads the book; the grace period must therefore be longer than the
+ * heartbeat interval. A node that has just joined owns nothing until its first grace period is over.
+ * Without partitioning this node owns everything.
+ * <p>
+ * Ownership never outlives this node's own lease. Once the last successful heartbeat is {@code ttl-ms} old
+ * this node owns nothing, even if the heartbeat itself is stuck, and a heartbeat that fails with less than
+ * a grace period of the lease left gives up every partition and publishes a {@link PartitionsChangedEvent}
+ * so the books are handed off; the node then rejoins like a new one once it can renew again. Other nodes may
+ * take the auctions over as soon as the lease has lapsed, and the owner epochs checked when bids are written
+ * fence off anything this node still has in flight.
+ */
+@Component
+@Slf4j
+public class PartitionManager {
+
+    private final LeaseStore leaseStore;
+    private final ClusterNode node;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final boolean enabled;
+    private final String address;
+    private final Duration leaseTtl;
+    private final Duration rebalanceGrace;
+    private final int virtualNodes;
+
+    private volatile Membership membership;
+    private volatile LocalDateTime leaseExpiresAt = LocalDateTime.MIN;
+
+    @Autowired
+    public PartitionManager(LeaseStore leaseStore,
+                            ClusterNode node,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${auction.cluster.partitioning.enabled:false}") boolean enabled,
+                            @Value("${auction.cluster.advertised-url:http://localhost:${server.port:8080}}") String address,
+                            @Value("${auction.cluster.lease.ttl-ms:10000}") long leaseTtlMs,
+                            @Value("${auction.cluster.rebalance-grace-ms:3000}") long rebalanceGraceMs,
+                            @Value("${auction.cluster.virtual-nodes:64}") int virtualNodes) {
+        this(leaseStore, node, eventPublisher, Clock.systemDefaultZone(), enabled, address,
+                Duration.ofMillis(leaseTtlMs), Duration.ofMillis(rebalanceGraceMs), virtualNodes);
+    }
+
+    PartitionManager(LeaseStore leaseStore, ClusterNode node, ApplicationEventPublisher eventPublisher, Clock clock,
+                     boolean enabled, String address, Duration leaseTtl, Duration rebalanceGrace, int virtualNodes) {
+        this.leaseStore = leaseStore;
+        this.node = node;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.address = address;
+        this.leaseTtl = leaseTtl;
+        this.rebalanceGrace = rebalanceGrace;
+        this.virtualNodes = virtualNodes;
+        this.membership = Membership.EMPTY;
+        if (enabled) {
+            log.info("🧩 Auction partitioning enabled, node {} at {}", node.getId(), address);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auction.cluster.lease.heartbeat-ms:2000}")
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        try {
+            leaseStore.renew(new NodeLease(node.getId(), address, now));
+            List<NodeLease> live = leaseStore.findLive(now.minus(leaseTtl));
+            if (!now.isBefore(leaseExpiresAt)) {
+                // The lease lapsed since the last heartbeat, e.g. in a long pause; others may have taken over.
+                relinquish();
+            }
+            leaseExpiresAt = now.plus(leaseTtl);
+            refresh(live, now);
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to renew node lease: {}", e.getMessage());
+            if (now.plus(rebalanceGrace).isAfter(leaseExpiresAt)) {
+                relinquish();
+            }
+        }
+    }
+
+    // The membership can no longer be confirmed, so nothing is owned until the next successful heartbeat
+    // rebuilds it; that rebuild starts a grace period like any other join.
+    private void relinquish() {
+        Membership current = membership;
+        if (current == Membership.EMPTY) {
+            return;
+        }
+        membership = Membership.EMPTY;
+        log.error("❌ Node lease not renewed beyond {}, giving up all partitions", leaseExpiresAt);
+        eventPublisher.publishEvent(new PartitionsChangedEvent(Set.of()));
+    }
+
+    private void refresh(List<NodeLease> live, LocalDateTime now) {
+        Map<String, NodeLease> leases = live.stream()
+                .collect(Collectors.toUnmodifiableMap(NodeLease::nodeId, Function.identity()));
+        Membership current = membership;
+        if (leases.keySet().equals(current.leases().keySet())) {
+            membership = new Membership(leases, current.ring(), current.previousRing(), current.settledAt());
+            return;
+        }
+
+        membership = new Membership(leases, new HashRing(leases.keySet(), virtualNodes), current.ring(),
+                now.plus(rebalanceGrace));
+        log.info("🧩 Cluster membership changed: {} -> {}", current.leases().keySet(), leases.keySet());
+        eventPublisher.publishEvent(new PartitionsChangedEvent(Set.copyOf(leases.keySet())));
+    }
+
+    /**
+     * @return {@code true} if this node may process bids for the auction right now
+     */
+    public boolean isOwner(Long auctionId) {
+        return !enabled || (LocalDateTime.now(clock).isBefore(leaseExpiresAt)
+                && node.getId().equals(ownerIdOf(membership, auctionId)));
+    }
+
+    /**
+     * @return the lease of the node that owns the auction, or empty while the cluster is forming or the
+     * auction is moving between nodes
+     */
+    public Optional<NodeLease> ownerOf(Long auctionId) {
+        Membership current = membership;
+        String ownerId = ownerIdOf(current, auctionId);
+        return ownerId != null ? Optional.ofNullable(current.leases().get(ownerId)) : Optional.empty();
+    }
+
+    private String ownerIdOf(Membership current, Long auctionId) {
+        String owner = current.ring().ownerOf(auctionId);
+        if (owner == null) {
+            return null;
+        }
+        // During the grace period after a rebalance a moved auction has no owner.
+        if (LocalDateTime.now(clock).isBefore(current.settledAt())
+                && !Objects.equals(owner, current.previousRing().ownerOf(auctionId))) {
+            return null;
+        }
+        return owner;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getNodeId() {
+        return node.getId();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (enabled) {
+            try {
+                leaseStore.release(node.getId());
+            } catch (RuntimeException e) {
+                log.warn("⚠️ Could not release node lease, it expires in {}: {}", leaseTtl, e.getMessage());
+            }
+        }
+    }
+
+    private record Membership(Map<String, NodeLease> leases, HashRing ring, HashRing previousRing,
+                              LocalDateTime settledAt) {
+
+        static final Membership EMPTY = new Membership(Map.of(), new HashRing(Set.of(), 0),
+                new HashRing(Set.of(), 0), LocalDateTime.MIN);
+    }
+}
@@ -0,0 +1,222 @@
+package com.auction.online_auction_system.cluster;
+
+import com.auction.online_auction_system.event.AuctionCancelledEvent;
+import com.auction.online_auction_system.event.AuctionCompletedEvent;
+import com.auction.online_auction_system.event.AuctionExtendedEvent;
+import com.auction.online_auction_system.event.AuctionScheduledEvent;
+import com.auction.online_auction_system.event.AuctionStartedEvent;
+import com.auction.online_auction_system.event.BidPlacedEvent;
+import com.auction.online_auction_system.event.ProductChangedEvent;
+import com.auction.online_auction_system.event.UserRegisteredEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bus that spreads events over PostgreSQL {@code LISTEN}/{@code NOTIFY}, selected with
+ * {@code auction.cluster.bus=postgres}. Every node listens on {@value #CHANNEL} over one dedicated
+ * connection, opened outside the pool so it does not hold one of the pool's connections for good; events are
+ * sent from a single thread, in publish order, outside any transaction of the caller.
+ * <p>
+ * A notification carries at most {@value #MAX_PAYLOAD_BYTES} bytes. Events are small records far below
+ * that; one that is not is logged, counted in {@code auction.cluster.events.oversized} and not sent.
+ * <p>
+ * Notifications are not stored: a node that is disconnected misses what was sent in the meantime, which
+ * receivers see as a gap in the sender's sequence.
+ */
+@Component
+@ConditionalOnProperty(name = "auction.cluster.bus", havingValue = "postgres")
+@Slf4j
+public class PostgresEventBus extends InProcessEventBus {
+
+    static final String CHANNEL = "auction_events";
+    // NOTIFY payloads must be shorter than 8000 bytes
+    static final int MAX_PAYLOAD_BYTES = 7999;
+
+    private static final Map<String, Class<?>> EVENT_TYPES = Stream.of(
+                    BidPlacedEvent.class, AuctionScheduledEvent.class, AuctionStartedEvent.class,
+                    AuctionExtendedEvent.class, AuctionCompletedEvent.class, AuctionCancelledEvent.class,
+                    ProductChangedEvent.class, UserRegisteredEvent.class)
+            .collect(Collectors.toUnmodifiableMap(Class::getSimpleName, Function.identity()));
+
+    private final DataSource dataSource;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+    private final ClusterNode node;
+    private final AtomicLong sequence = new AtomicLong();
+    private final SequenceTracker tracker = new SequenceTracker();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cluster-bus-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Thread listener = new Thread(this::listen, "cluster-bus-listener");
+    private volatile boolean running = true;
+
+    private final Counter gaps;
+    private final Counter duplicates;
+    private final Counter oversized;
+
+    public PostgresEventBus(DataSource dataSource, DataSourceProperties dataSourceProperties,
+                            ObjectMapper objectMapper, ClusterNode node, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.dataSourceProperties = dataSourceProperties;
+        this.objectMapper = objectMapper;
+        this.node = node;
+        this.gaps = Counter.builder("auction.cluster.events.gaps")
+                .description("Times events from another node were found missing")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("auction.cluster.events.duplicates")
+                .description("Events from another node that had already been received")
+                .register(meterRegistry);
+        this.oversized = Counter.builder("auction.cluster.events.oversized")
+                .description("Events too large for a notification, not sent to the other nodes")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void publish(Object event) {
+        deliver(event);
+        if (!EVENT_TYPES.containsKey(event.getClass().getSimpleName())) {
+            log.warn("⚠️ {} is not a cluster event, delivered locally only", event.getClass().getSimpleName());
+            return;
+        }
+        sender.execute(() -> send(event));
+    }
+
+    private void send(Object event) {
+        ClusterEnvelope envelope = new ClusterEnvelope(node.getId(), node.getIncarnation(),
+                sequence.incrementAndGet(), event.getClass().getSimpleName(), objectMapper.valueToTree(event));
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(envelope);
+        } catch (JsonProcessingException e) {
+            log.error("❌ Failed to encode {} for the cluster: {}", envelope.type(), e.getMessage());
+            return;
+        }
+        if (payload.length > MAX_PAYLOAD_BYTES) {
+            // Like a failed send, the spent sequence number shows up as a gap on the other nodes.
+            oversized.increment();
+            log.error("❌ {} is {} bytes, over the {} bytes a notification carries; not sent to the cluster",
+                    envelope.type(), payload.length, MAX_PAYLOAD_BYTES);
+            return;
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, CHANNEL);
+            statement.setString(2, new String(payload, StandardCharsets.UTF_8));
+            statement.execute();
+        } catch (SQLException e) {
+            // The sequence number is spent, so the other nodes will report the gap.
+            log.error("❌ Failed to send {} to the cluster: {}", envelope.type(), e.getMessage());
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = openListenerConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("📻 Listening for cluster events on {}", CHANNEL);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(500);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.error("❌ Cluster event listener lost its connection, retrying: {}", e.getMessage());
+                try {
+                    Thread.sleep(1_000);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private Connection openListenerConnection() throws SQLException {
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+    }
+
+    private void receive(String payload) {
+        ClusterEnvelope envelope;
+        Object event;
+        try {
+            envelope = objectMapper.readValue(payload, ClusterEnvelope.class);
+            if (node.getId().equals(envelope.nodeId()) && node.getIncarnation() == envelope.incarnation()) {
+                return;
+            }
+            Class<?> type = EVENT_TYPES.get(envelope.type());
+            if (type == null) {
+                log.warn("⚠️ Ignoring unknown cluster event type {}", envelope.type());
+                return;
+            }
+            event = objectMapper.treeToValue(envelope.payload(), type);
+        } catch (JsonProcessingException e) {
+            log.warn("⚠️ Ignoring malformed cluster event: {}", e.getMessage());
+            return;
+        }
+
+        switch (tracker.accept(envelope.nodeId(), envelope.incarnation(), envelope.sequence())) {
+            case DUPLICATE -> {
+                duplicates.increment();
+                return;
+            }
+            case GAP -> {
+                gaps.increment();
+                log.warn("⚠️ Missed cluster events from node {} before sequence {}",
+                        envelope.nodeId(), envelope.sequence());
+            }
+            case IN_ORDER -> {
+            }
+        }
+        deliver(event);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        sender.shutdown();
+        listener.interrupt();
+    }
+}
@@ -0,0 +1,39 @@
+package com.auction.online_auction_system.cluster;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the last sequence received from each node.
+ */
+class SequenceTracker {
+
+    enum Verdict { IN_ORDER, GAP, DUPLICATE }
+
+    private record Position(long incarnation, long sequence) {
+    }
+
+    private final Map<String, Position> lastSeen = new ConcurrentHashMap<>();
+
+    /**
+     * Records an event from {@code nodeId}. The first event of a node incarnation is always in order, since
+     * this node may have started after it; events from an older incarnation are duplicates.
+     */
+    Verdict accept(String nodeId, long incarnation, long sequence) {
+        Verdict[] verdict = new Verdict[1];
+        lastSeen.compute(nodeId, (node, last) -> {
+            if (last == null || incarnation > last.incarnation() || sequence == last.sequence() + 1
+                    && incarnation == last.incarnation()) {
+                verdict[0] = Verdict.IN_ORDER;
+                return new Position(incarnation, sequence);
+            }
+            if (incarnation < last.incarnation() || sequence <= last.sequence()) {
+                verdict[0] = Verdict.DUPLICATE;
+                return last;
+            }
+            verdict[0] = Verdict.GAP;
+            return new Position(incarnation, sequence);
+        });
+        return verdict[0];
+    }
+}
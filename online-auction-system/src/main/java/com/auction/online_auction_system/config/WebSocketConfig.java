@@ -1,5 +1,6 @@
 package com.auction.online_auction_system.config;
 
+import com.auction.online_auction_system.security.TokenHandshakeInterceptor;
 import com.auction.online_auction_system.websocket.WebSocketHandler;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
@@ -14,10 +15,12 @@ import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry
 public class WebSocketConfig implements WebSocketConfigurer {
 
     private final WebSocketHandler webSocketHandler;
+    private final TokenHandshakeInterceptor tokenHandshakeInterceptor;
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         registry.addHandler(webSocketHandler, "/ws/auction")
+                .addInterceptors(tokenHandshakeInterceptor)
                 .setAllowedOrigins("*");
     }
 }
@@ -1,15 +1,18 @@
 package com.auction.online_auction_system.controller;
 
 import com.auction.online_auction_system.dto.AuctionDTO;
+import com.auction.online_auction_system.dto.CursorPage;
 import com.auction.online_auction_system.entity.Auction;
 import com.auction.online_auction_system.service.AuctionService;
+import com.auction.online_auction_system.service.AuctionWriteRetry;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/auctions")
@@ -18,6 +21,8 @@ import java.util.List;
 public class AuctionController {
 
     private final AuctionService auctionService;
+    private final AuctionWriteRetry auctionWriteRetry;
+    private final NdjsonResponses ndjsonResponses;
 
     @PostMapping
     public ResponseEntity<AuctionDTO> createAuction(@Valid @RequestBody AuctionDTO auctionDTO) {
@@ -31,22 +36,37 @@ public class AuctionController {
         return ResponseEntity.ok(auction);
     }
 
+    // One page ordered by end time; limit defaults to CursorPage.DEFAULT_LIMIT and is capped at MAX_LIMIT
     @GetMapping
-    public ResponseEntity<List<AuctionDTO>> getAllAuctions() {
-        List<AuctionDTO> auctions = auctionService.getAllAuctions();
-        return ResponseEntity.ok(auctions);
+    public ResponseEntity<CursorPage<AuctionDTO>> getAllAuctions(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(auctionService.getAuctionPage(null, cursor, limit));
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<AuctionDTO>> getAuctionsByStatus(@PathVariable Auction.AuctionStatus status) {
-        List<AuctionDTO> auctions = auctionService.getAuctionsByStatus(status);
-        return ResponseEntity.ok(auctions);
+    public ResponseEntity<CursorPage<AuctionDTO>> getAuctionsByStatus(@PathVariable Auction.AuctionStatus status,
+                                                                      @RequestParam(required = false) String cursor,
+                                                                      @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(auctionService.getAuctionPage(status, cursor, limit));
     }
 
     @GetMapping("/live")
-    public ResponseEntity<List<AuctionDTO>> getLiveAuctions() {
-        List<AuctionDTO> auctions = auctionService.getLiveAuctions();
-        return ResponseEntity.ok(auctions);
+    public ResponseEntity<CursorPage<AuctionDTO>> getLiveAuctions(@RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(auctionService.getAuctionPage(Auction.AuctionStatus.LIVE, cursor, limit));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAuctions(
+            @RequestParam(required = false) Auction.AuctionStatus status) {
+        return ndjsonResponses.<AuctionDTO>stream("auctions.ndjson",
+                sink -> auctionService.exportAuctions(status, sink));
+    }
+
+    // Auction id to the number of optimistic-lock conflicts its updates have hit
+    @GetMapping("/contention")
+    public ResponseEntity<Map<Long, Long>> getContention() {
+        return ResponseEntity.ok(auctionWriteRetry.getMostContended());
     }
 
     @PutMapping("/{id}/cancel")
@@ -1,14 +1,20 @@
 package com.auction.online_auction_system.controller;
 
+import com.auction.online_auction_system.cluster.BidRouter;
 import com.auction.online_auction_system.dto.BidDTO;
+import com.auction.online_auction_system.dto.CursorPage;
+import com.auction.online_auction_system.dto.ProxyBidDTO;
+import com.auction.online_auction_system.security.AuthenticatedUser;
 import com.auction.online_auction_system.service.BidService;
+import com.auction.online_auction_system.stats.AuctionStats;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
 @RestController
@@ -18,25 +24,57 @@ import java.util.List;
 public class BidController {
 
     private final BidService bidService;
+    private final BidRouter bidRouter;
+    private final NdjsonResponses ndjsonResponses;
 
     @PostMapping
-    public ResponseEntity<BidDTO> placeBid(@Valid @RequestBody BidDTO bidDTO) {
-        BidDTO createdBid = bidService.placeBid(bidDTO);
+    public ResponseEntity<BidDTO> placeBid(@Valid @RequestBody BidDTO bidDTO,
+                                           @AuthenticationPrincipal AuthenticatedUser bidder,
+                                           @RequestHeader(value = BidRouter.FORWARDED_HEADER, required = false) String forwardedBy) {
+        requireLogin(bidder);
+        BidDTO createdBid = bidRouter.route(bidDTO.getAuctionId(), "/api/bids", bidDTO, BidDTO.class, forwardedBy,
+                () -> bidService.placeBid(bidder, bidDTO));
         return new ResponseEntity<>(createdBid, HttpStatus.CREATED);
     }
 
+    @PostMapping("/proxy")
+    public ResponseEntity<ProxyBidDTO> placeProxyBid(@Valid @RequestBody ProxyBidDTO proxyBidDTO,
+                                                     @AuthenticationPrincipal AuthenticatedUser bidder,
+                                                     @RequestHeader(value = BidRouter.FORWARDED_HEADER, required = false) String forwardedBy) {
+        requireLogin(bidder);
+        ProxyBidDTO placedProxyBid = bidRouter.route(proxyBidDTO.getAuctionId(), "/api/bids/proxy", proxyBidDTO,
+                ProxyBidDTO.class, forwardedBy, () -> bidService.placeProxyBid(bidder, proxyBidDTO));
+        return new ResponseEntity<>(placedProxyBid, HttpStatus.CREATED);
+    }
+
     @GetMapping("/auction/{auctionId}")
-    public ResponseEntity<List<BidDTO>> getBidsByAuction(@PathVariable Long auctionId) {
-        List<BidDTO> bids = bidService.getBidsByAuction(auctionId);
+    public ResponseEntity<CursorPage<BidDTO>> getBidsByAuction(@PathVariable Long auctionId,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer limit) {
+        CursorPage<BidDTO> bids = bidService.getBidsByAuction(auctionId, cursor, limit);
         return ResponseEntity.ok(bids);
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<BidDTO>> getBidsByUser(@PathVariable Long userId) {
-        List<BidDTO> bids = bidService.getBidsByUser(userId);
+    public ResponseEntity<CursorPage<BidDTO>> getBidsByUser(@PathVariable Long userId,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer limit) {
+        CursorPage<BidDTO> bids = bidService.getBidsByUser(userId, cursor, limit);
         return ResponseEntity.ok(bids);
     }
 
+    @GetMapping("/auction/{auctionId}/export")
+    public ResponseEntity<StreamingResponseBody> exportBidsByAuction(@PathVariable Long auctionId) {
+        return ndjsonResponses.<BidDTO>stream("auction-" + auctionId + "-bids.ndjson",
+                sink -> bidService.exportBidsByAuction(auctionId, sink));
+    }
+
+    @GetMapping("/user/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> exportBidsByUser(@PathVariable Long userId) {
+        return ndjsonResponses.<BidDTO>stream("user-" + userId + "-bids.ndjson",
+                sink -> bidService.exportBidsByUser(userId, sink));
+    }
+
     @GetMapping("/auction/{auctionId}/highest")
     public ResponseEntity<BidDTO> getHighestBid(@PathVariable Long auctionId) {
         BidDTO bid = bidService.getHighestBid(auctionId);
@@ -48,4 +86,16 @@ public class BidController {
         long count = bidService.getBidCount(auctionId);
         return ResponseEntity.ok(count);
     }
+
+    @GetMapping("/auction/{auctionId}/stats")
+    public ResponseEntity<AuctionStats> getAuctionStats(@PathVariable Long auctionId) {
+        AuctionStats stats = bidService.getAuctionStats(auctionId);
+        return ResponseEntity.ok(stats);
+    }
+
+    private static void requireLogin(AuthenticatedUser bidder) {
+        if (bidder == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Please log in to bid");
+        }
+    }
 }
\ No newline at end of file
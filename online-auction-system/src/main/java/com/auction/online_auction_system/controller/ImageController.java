@@ -0,0 +1,112 @@
+package com.auction.online_auction_system.controller;
+
+import com.auction.online_auction_system.image.ImageReferences;
+import com.auction.online_auction_system.image.ImageStore;
+import com.auction.online_auction_system.image.ImageVariant;
+import com.auction.online_auction_system.image.ImageVariantGenerator;
+import com.auction.online_auction_system.image.StoredImage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Serves images from the {@link ImageStore}.
+ * <p>
+ * Keys are content hashes, so a URL always names the same bytes: the key is a strong ETag and responses
+ * may be cached forever. Bodies are handed to Tomcat's sendfile support where the connector offers it,
+ * and otherwise copied with {@link FileChannel#transferTo}, so image bytes never pass through the heap.
+ * <p>
+ * A variant that has not been generated yet redirects to the original without caching the redirect, and
+ * queues the generation, so variant URLs can be handed out as soon as the original is stored.
+ */
+@RestController
+@RequestMapping("/api/images")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ImageController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final String CACHE_FOREVER = "public, max-age=31536000, immutable";
+
+    private final ImageStore imageStore;
+    private final ImageVariantGenerator variantGenerator;
+
+    @GetMapping("/{key}")
+    public void getImage(@PathVariable String key, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Optional<StoredImage> found = imageStore.find(key);
+        if (found.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        serve(found.get(), request, response);
+    }
+
+    @GetMapping("/{key}/{variant}")
+    public void getVariant(@PathVariable String key, @PathVariable String variant,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<ImageVariant> imageVariant = ImageVariant.fromPathName(variant);
+        if (imageVariant.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Optional<StoredImage> found = imageStore.findVariant(key, imageVariant.get());
+        if (found.isPresent()) {
+            serve(found.get(), request, response);
+            return;
+        }
+        if (imageStore.find(key).isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        variantGenerator.request(key);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.LOCATION, ImageReferences.urlOf(key));
+        response.setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+    }
+
+    private static void serve(StoredImage image, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        String etag = "\"" + image.key() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_FOREVER);
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(image.type().getMediaType());
+        response.setContentLengthLong(image.size());
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, image.path().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, image.size());
+            return;
+        }
+        try (FileChannel file = FileChannel.open(image.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < image.size()) {
+                position += file.transferTo(position, image.size() - position, out);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.auction.online_auction_system.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Builds export responses in newline-delimited JSON, one document per line. Rows are written while the
+ * export reads them, so neither side holds the full result.
+ */
+@Component
+@RequiredArgsConstructor
+public class NdjsonResponses {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param export runs the export, passing each row to the sink it is given
+     */
+    public <T> ResponseEntity<StreamingResponseBody> stream(String filename, Consumer<Consumer<T>> export) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(new SerializedString("\n"));
+                AtomicBoolean written = new AtomicBoolean();
+                export.accept(row -> {
+                    try {
+                        generator.writeObject(row);
+                        written.set(true);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (written.get()) {
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -1,5 +1,6 @@
 package com.auction.online_auction_system.controller;
 
+import com.auction.online_auction_system.dto.CursorPage;
 import com.auction.online_auction_system.dto.ProductDTO;
 import com.auction.online_auction_system.entity.Product;
 import com.auction.online_auction_system.service.ProductService;
@@ -8,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,6 +21,7 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final NdjsonResponses ndjsonResponses;
 
     @PostMapping
     public ResponseEntity<ProductDTO> createProduct(@Valid @RequestBody ProductDTO productDTO) {
@@ -32,30 +35,52 @@ public class ProductController {
         return ResponseEntity.ok(product);
     }
 
+    // One page ordered by id; limit defaults to CursorPage.DEFAULT_LIMIT and is capped at MAX_LIMIT
     @GetMapping
-    public ResponseEntity<List<ProductDTO>> getAllProducts() {
-        List<ProductDTO> products = productService.getAllProducts();
-        return ResponseEntity.ok(products);
+    public ResponseEntity<CursorPage<ProductDTO>> getAllProducts(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productService.getProductPage(null, null, cursor, limit));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        return ndjsonResponses.<ProductDTO>stream("products.ndjson", productService::exportProducts);
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<ProductDTO>> getProductsByStatus(@PathVariable Product.ProductStatus status) {
-        List<ProductDTO> products = productService.getProductsByStatus(status);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<CursorPage<ProductDTO>> getProductsByStatus(@PathVariable Product.ProductStatus status,
+                                                                      @RequestParam(required = false) String cursor,
+                                                                      @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productService.getProductPage(status, null, cursor, limit));
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<ProductDTO>> getProductsByCategory(@PathVariable String category) {
-        List<ProductDTO> products = productService.getProductsByCategory(category);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<CursorPage<ProductDTO>> getProductsByCategory(@PathVariable String category,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productService.getProductPage(null, category, cursor, limit));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<ProductDTO>> searchProducts(@RequestParam String name) {
-        List<ProductDTO> products = productService.searchProducts(name);
+    public ResponseEntity<List<ProductDTO>> searchProducts(@RequestParam(required = false) String q,
+                                                           @RequestParam(required = false) String name,
+                                                           @RequestParam(required = false) Product.ProductStatus status,
+                                                           @RequestParam(required = false) String category,
+                                                           @RequestParam(required = false) Integer limit) {
+        String query = q != null ? q : name;
+        if (query == null || query.isBlank()) {
+            return ResponseEntity.ok(List.of());
+        }
+        List<ProductDTO> products = productService.searchProducts(query, status, category, limit);
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<String>> suggestSearchTerms(@RequestParam String q,
+                                                           @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productService.suggestSearchTerms(q, limit));
+    }
+
     @GetMapping("/categories")
     public ResponseEntity<List<String>> getAllCategories() {
         List<String> categories = productService.getAllCategories();
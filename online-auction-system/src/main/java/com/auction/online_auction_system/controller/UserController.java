@@ -1,14 +1,17 @@
 package com.auction.online_auction_system.controller;
 
+import com.auction.online_auction_system.dto.CursorPage;
 import com.auction.online_auction_system.dto.UserDTO;
 import com.auction.online_auction_system.entity.User;
+import com.auction.online_auction_system.security.PasswordHasher;
+import com.auction.online_auction_system.security.TokenService;
 import com.auction.online_auction_system.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -21,28 +24,33 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final TokenService tokenService;
+    private final NdjsonResponses ndjsonResponses;
+
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody Map<String, String> credentials) {
         String username = credentials.get("username");
         String password = credentials.get("password");
 
+        User user;
         try {
-            User user = userService.getUserEntityByUsername(username);
-
-            // ✅ VALIDATE PASSWORD using BCrypt
-            if (password != null && passwordEncoder.matches(password, user.getPassword())) {
-                // Convert to DTO (without password)
-                UserDTO userDTO = UserDTO.fromEntity(user);
-                return ResponseEntity.ok(userDTO);
-            } else {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body(Map.of("message", "Invalid password"));
-            }
+            user = userService.getUserEntityByUsername(username);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("message", "Invalid username"));
         }
+
+        // ✅ VALIDATE PASSWORD using BCrypt, outside the lookup so a busy hasher answers 503 rather than 401
+        if (password != null && passwordHasher.matches(password, user.getPassword())) {
+            // Convert to DTO (without password)
+            UserDTO userDTO = UserDTO.fromEntity(user);
+            userDTO.setToken(tokenService.issue(user));
+            return ResponseEntity.ok(userDTO);
+        } else {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("message", "Invalid password"));
+        }
     }
 
     @PostMapping("/register")
@@ -64,11 +72,17 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<UserDTO> users = userService.getAllUsers();
+    public ResponseEntity<CursorPage<UserDTO>> getAllUsers(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer limit) {
+        CursorPage<UserDTO> users = userService.getUserPage(cursor, limit);
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ndjsonResponses.<UserDTO>stream("users.ndjson", userService::exportUsers);
+    }
+
     @GetMapping("/active")
     public ResponseEntity<List<UserDTO>> getActiveUsers() {
         List<UserDTO> users = userService.getActiveUsers();
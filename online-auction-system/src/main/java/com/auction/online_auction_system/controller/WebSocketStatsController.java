@@ -0,0 +1,24 @@
+package com.auction.online_auction_system.controller;
+
+import com.auction.online_auction_system.websocket.ChannelStats;
+import com.auction.online_auction_system.websocket.SubscriptionRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+
+@RestController
+@RequestMapping("/api/ws")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class WebSocketStatsController {
+
+    private final SubscriptionRegistry subscriptionRegistry;
+
+    @GetMapping("/channels")
+    public ResponseEntity<List<ChannelStats>> getChannelStats() {
+        return ResponseEntity.ok(subscriptionRegistry.getChannelStats());
+    }
+}
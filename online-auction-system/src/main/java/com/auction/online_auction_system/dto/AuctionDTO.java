@@ -1,6 +1,8 @@
 package com.auction.online_auction_system.dto;
 
 import com.auction.online_auction_system.entity.Auction;
+import com.auction.online_auction_system.image.ImageReferences;
+import com.auction.online_auction_system.image.ImageVariant;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotNull;
@@ -13,7 +15,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -26,6 +28,8 @@ public class AuctionDTO {
 
     private String productName;
     private String productImageUrl;
+    private String productThumbnailUrl;
+    private String productMediumImageUrl;
     private String productDescription;
 
     @NotNull(message = "Start time is required")
@@ -38,11 +42,19 @@ public class AuctionDTO {
 
     private BigDecimal currentBid;
     private BigDecimal minimumIncrement;
+    private Boolean softCloseEnabled;
+    private Integer softCloseWindowSeconds;
+    private Integer softCloseExtensionSeconds;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime maxEndTime;
+
     private Long winnerId;
     private String winnerName;
     private BigDecimal winningBid;
     private Auction.AuctionStatus status;
     private int totalBids;
+    private Long version;
 
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime createdAt;
@@ -53,14 +65,22 @@ public class AuctionDTO {
                 .productId(auction.getProduct().getId())
                 .productName(auction.getProduct().getName())
                 .productImageUrl(auction.getProduct().getImageUrl())
+                .productThumbnailUrl(ImageReferences.variantUrlOf(auction.getProduct().getImageUrl(),
+                        ImageVariant.THUMBNAIL))
+                .productMediumImageUrl(ImageReferences.variantUrlOf(auction.getProduct().getImageUrl(),
+                        ImageVariant.MEDIUM))
                 .productDescription(auction.getProduct().getDescription())
                 .startTime(auction.getStartTime())
                 .endTime(auction.getEndTime())
                 .currentBid(auction.getCurrentBid())
                 .minimumIncrement(auction.getMinimumIncrement())
+                .softCloseEnabled(auction.getSoftCloseEnabled())
+                .softCloseWindowSeconds(auction.getSoftCloseWindowSeconds())
+                .softCloseExtensionSeconds(auction.getSoftCloseExtensionSeconds())
+                .maxEndTime(auction.getMaxEndTime())
                 .winningBid(auction.getWinningBid())
                 .status(auction.getStatus())
-                .totalBids(auction.getBids().size())
+                .totalBids(auction.getBidCount())
                 .createdAt(auction.getCreatedAt());
 
         if (auction.getWinner() != null) {
@@ -1,11 +1,11 @@
 package com.auction.online_auction_system.dto;
 
+import com.auction.online_auction_system.engine.AcceptedBid;
 import com.auction.online_auction_system.entity.Bid;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,9 +14,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
 @NoArgsConstructor
-@AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class BidDTO {
 
@@ -39,6 +37,23 @@ public class BidDTO {
 
     private String ipAddress;
 
+    /**
+     * Also the constructor expression of {@code BidRepository.BID_DTO}; the query lists the columns in
+     * this order, so keep the two in step.
+     */
+    @Builder(toBuilder = true)
+    public BidDTO(Long id, Long auctionId, Long userId, String username, BigDecimal bidAmount, Boolean isWinning,
+                  LocalDateTime bidTime, String ipAddress) {
+        this.id = id;
+        this.auctionId = auctionId;
+        this.userId = userId;
+        this.username = username;
+        this.bidAmount = bidAmount;
+        this.isWinning = isWinning;
+        this.bidTime = bidTime;
+        this.ipAddress = ipAddress;
+    }
+
     public static BidDTO fromEntity(Bid bid) {
         return BidDTO.builder()
                 .id(bid.getId())
@@ -51,4 +66,16 @@ public class BidDTO {
                 .ipAddress(bid.getIpAddress())
                 .build();
     }
+
+    public static BidDTO fromAccepted(AcceptedBid accepted) {
+        return BidDTO.builder()
+                .auctionId(accepted.auctionId())
+                .userId(accepted.userId())
+                .username(accepted.username())
+                .bidAmount(accepted.bidAmount())
+                .isWinning(true)
+                .bidTime(accepted.acceptedAt())
+                .ipAddress(accepted.ipAddress())
+                .build();
+    }
 }
\ No newline at end of file
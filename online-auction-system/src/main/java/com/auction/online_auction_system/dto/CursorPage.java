@@ -0,0 +1,44 @@
+package com.auction.online_auction_system.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * @param nextCursor token for the following page, absent on the last page
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    /**
+     * Clamps a requested page size to {@code 1..MAX_LIMIT}.
+     */
+    public static int limit(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(MAX_LIMIT, requested));
+    }
+
+    /**
+     * Builds a page from rows fetched with {@code limit + 1} as the query limit; the extra row only tells
+     * whether another page follows.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit, Function<E, T> mapper,
+                                          Function<E, PageCursor> cursorOf) {
+        int size = Math.min(rows.size(), limit);
+        List<T> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(mapper.apply(rows.get(i)));
+        }
+        String next = rows.size() > limit ? cursorOf.apply(rows.get(limit - 1)).encode() : null;
+        return new CursorPage<>(items, next);
+    }
+}
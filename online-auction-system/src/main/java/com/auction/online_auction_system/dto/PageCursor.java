@@ -0,0 +1,70 @@
+package com.auction.online_auction_system.dto;
+
+import com.auction.online_auction_system.exception.AuctionException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated listing: the sort key and id of the last row a client has seen.
+ * Clients get it as an opaque token and send it back unchanged to fetch the next page.
+ *
+ * @param key the last row's sort key in its string form, or {@code null} for listings ordered by id alone
+ */
+public record PageCursor(String key, long id) {
+
+    private static final char SEPARATOR = '~';
+
+    public static PageCursor of(Object key, Long id) {
+        return new PageCursor(key != null ? key.toString() : null, id);
+    }
+
+    /**
+     * @return the decoded cursor, or {@code null} for a missing token (the first page)
+     * @throws AuctionException if the token was not issued by this API
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            String key = separator > 0 ? decoded.substring(0, separator) : null;
+            return new PageCursor(key, Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new AuctionException("Invalid page cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = key != null ? key + SEPARATOR + id : String.valueOf(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime timeKey() {
+        try {
+            return LocalDateTime.parse(requireKey());
+        } catch (DateTimeParseException e) {
+            throw new AuctionException("Invalid page cursor for this listing");
+        }
+    }
+
+    public BigDecimal amountKey() {
+        try {
+            return new BigDecimal(requireKey());
+        } catch (NumberFormatException e) {
+            throw new AuctionException("Invalid page cursor for this listing");
+        }
+    }
+
+    private String requireKey() {
+        if (key == null) {
+            throw new AuctionException("Invalid page cursor for this listing");
+        }
+        return key;
+    }
+}
@@ -1,6 +1,8 @@
 package com.auction.online_auction_system.dto;
 
 import com.auction.online_auction_system.entity.Product;
+import com.auction.online_auction_system.image.ImageReferences;
+import com.auction.online_auction_system.image.ImageVariant;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
@@ -15,7 +17,7 @@ import java.time.LocalDateTime;
 
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -28,6 +30,7 @@ public class ProductDTO {
 
     private String description;
     private String imageUrl;
+    private String thumbnailUrl;
 
     @NotBlank(message = "Category is required")
     private String category;
@@ -48,6 +51,7 @@ public class ProductDTO {
                 .name(product.getName())
                 .description(product.getDescription())
                 .imageUrl(product.getImageUrl())
+                .thumbnailUrl(ImageReferences.variantUrlOf(product.getImageUrl(), ImageVariant.THUMBNAIL))
                 .category(product.getCategory())
                 .startingPrice(product.getStartingPrice())
                 .reservePrice(product.getReservePrice())
@@ -0,0 +1,34 @@
+package com.auction.online_auction_system.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProxyBidDTO {
+
+    @NotNull(message = "Auction ID is required")
+    private Long auctionId;
+
+    private Long userId;
+
+    @NotNull(message = "Maximum bid is required")
+    @DecimalMin(value = "0.01", message = "Maximum bid must be greater than 0")
+    private BigDecimal maxAmount;
+
+    private String ipAddress;
+
+    // Filled in on the way out: the auction's price after the maximum bid was played out.
+    private BigDecimal currentBid;
+    private Boolean leading;
+}
@@ -41,6 +41,9 @@ public class UserDTO {
     private User.UserRole role;
     private LocalDateTime createdAt;
 
+    // Bearer token for later requests; only set in the login response
+    private String token;
+
     public static UserDTO fromEntity(User user) {
         return UserDTO.builder()
                 .id(user.getId())
@@ -0,0 +1,24 @@
+package com.auction.online_auction_system.engine;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A bid that has been accepted by a {@link LiveOrderBook} and is waiting to be persisted.
+ *
+ * @param sequence   per-auction sequence number assigned by the book, strictly increasing
+ * @param endTime    the auction's end time once the bid was accepted, including any soft-close extension it
+ *                   caused; journaled with the bid so the extension is saved with it
+ * @param ownerEpoch owner epoch of the book that accepted the bid
+ */
+public record AcceptedBid(
+        Long auctionId,
+        Long userId,
+        String username,
+        BigDecimal bidAmount,
+        String ipAddress,
+        long sequence,
+        LocalDateTime acceptedAt,
+        LocalDateTime endTime,
+        long ownerEpoch) {
+}
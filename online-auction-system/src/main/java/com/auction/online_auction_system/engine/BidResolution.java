@@ -0,0 +1,36 @@
+package com.auction.online_auction_system.engine;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of one bid or maximum-bid submission against a {@link LiveOrderBook}, after competing maximum
+ * bids have been played out.
+ *
+ * @param bids             visible bids to persist, in sequence order; the last one is the new leader. Empty if
+ *                         the submission only raised the leader's own maximum.
+ * @param submittedProxy   the maximum bid registered by this submission, or {@code null} for a plain bid
+ * @param exhaustedProxies users whose maximum bid has been overtaken and no longer takes part
+ * @param quote            book state after the resolution
+ */
+public record BidResolution(List<AcceptedBid> bids, LiveOrderBook.Proxy submittedProxy, List<Long> exhaustedProxies,
+                            LiveOrderBook.Quote quote) {
+
+    /**
+     * @return the maximum-bid changes to persist with {@link #bids()}: the submitted maximum first, then the
+     * maximums it overtook
+     */
+    public List<ProxyChange> proxyChanges(Long auctionId, long ownerEpoch, LocalDateTime now) {
+        List<ProxyChange> changes = new ArrayList<>(exhaustedProxies.size() + 1);
+        if (submittedProxy != null) {
+            changes.add(new ProxyChange(ProxyChange.Kind.RAISED, auctionId, submittedProxy.userId(),
+                    submittedProxy.maxAmount(), submittedProxy.ipAddress(), quote.sequence(), now, ownerEpoch));
+        }
+        for (Long userId : exhaustedProxies) {
+            changes.add(new ProxyChange(ProxyChange.Kind.EXHAUSTED, auctionId, userId, quote.currentBid(), null,
+                    quote.sequence(), now, ownerEpoch));
+        }
+        return changes;
+    }
+}
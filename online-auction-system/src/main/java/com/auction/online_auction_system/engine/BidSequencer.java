@@ -0,0 +1,118 @@
+package com.auction.online_auction_system.engine;
+
+import com.auction.online_auction_system.exception.AuctionException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs all work for an auction on a single-threaded "lane".
+ * <p>
+ * Auctions are hashed onto a fixed number of lanes, so every mutation of a {@link LiveOrderBook} happens
+ * on exactly one thread, in submission order, without any locks. Different auctions on different lanes
+ * proceed in parallel.
+ */
+@Component
+@Slf4j
+public class BidSequencer {
+
+    private final ThreadPoolExecutor[] lanes;
+    private final long timeoutMs;
+
+    public BidSequencer(@Value("${auction.bidding.lanes:0}") int laneCount,
+                        @Value("${auction.bidding.lane-queue-capacity:10000}") int queueCapacity,
+                        @Value("${auction.bidding.lane-timeout-ms:5000}") long timeoutMs) {
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors();
+        this.lanes = new ThreadPoolExecutor[count];
+        this.timeoutMs = timeoutMs;
+
+        for (int i = 0; i < count; i++) {
+            String name = "bid-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        log.info("Bid sequencer started with {} lanes", count);
+    }
+
+    /**
+     * Runs the task on the auction's lane and waits for its result.
+     *
+     * @throws AuctionException if the lane is saturated, the task times out before starting, or the task
+     *                          itself throws
+     */
+    public <T> T execute(Long auctionId, Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = laneFor(auctionId).submit(task::get);
+        } catch (RejectedExecutionException e) {
+            throw new AuctionException("Auction is too busy right now, please retry");
+        }
+
+        try {
+            try {
+                return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Only give up if the task has not started; once running it must be allowed to finish
+                // so the caller never sees a failure for a bid that was actually accepted.
+                if (future.cancel(false)) {
+                    throw new AuctionException("Timed out waiting for auction " + auctionId);
+                }
+                return future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new AuctionException("Bid processing failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuctionException("Interrupted while waiting for auction " + auctionId, e);
+        }
+    }
+
+    /**
+     * Queues the task on the auction's lane without waiting for it.
+     */
+    public CompletableFuture<Void> submit(Long auctionId, Runnable task) {
+        try {
+            return CompletableFuture.runAsync(task, laneFor(auctionId));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new AuctionException("Auction is too busy right now, please retry"));
+        }
+    }
+
+    public void run(Long auctionId, Runnable task) {
+        execute(auctionId, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    private ExecutorService laneFor(Long auctionId) {
+        return lanes[Math.floorMod(Long.hashCode(auctionId), lanes.length)];
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
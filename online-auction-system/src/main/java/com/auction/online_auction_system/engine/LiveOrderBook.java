@@ -0,0 +1,310 @@
+package com.auction.online_auction_system.engine;
+
+import com.auction.online_auction_system.entity.Auction;
+import com.auction.online_auction_system.exception.AuctionException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory order book of a single LIVE auction.
+ * <p>
+ * A book is only ever mutated from its auction's {@link BidSequencer} lane, so accepting a bid is a
+ * couple of comparisons and no locking. Other threads read the book through {@link #getQuote()},
+ * which is an immutable snapshot published through a volatile field.
+ * <p>
+ * The end time is part of the quote, so a soft-close extension is applied in the same step that accepts
+ * the bid and is rolled back with it. Every accepted bid carries the end time it left behind, so the
+ * extension is journaled and saved together with the bid.
+ * <p>
+ * The book also holds the auction's maximum (proxy) bids. A proxy war is resolved in one step: the
+ * strongest challenger is compared with the leader's maximum and the price jumps straight to where the
+ * loser gives up, instead of going back and forth one increment at a time.
+ */
+public class LiveOrderBook {
+
+    private final Long auctionId;
+    private final BigDecimal minimumIncrement;
+    private final SoftClosePolicy softClose;
+    private final long ownerEpoch;
+
+    private volatile Quote quote;
+    private volatile Auction.AuctionStatus status = Auction.AuctionStatus.LIVE;
+
+    // Lane-confined; replaced rather than mutated so a checkpoint can hold on to it.
+    private Map<Long, Proxy> proxies;
+    private long leaderPriority;
+    private long nextPriority;
+
+    /**
+     * @param softClose  anti-sniping rule, or {@code null} if the auction ends at a fixed time
+     * @param proxies    active maximum bids, earliest first
+     * @param ownerEpoch the auction's owner epoch claimed when the book was loaded; stamped on everything the
+     *                   book accepts so that writes of a book another node has since claimed are refused
+     */
+    public LiveOrderBook(Long auctionId, BigDecimal minimumIncrement, SoftClosePolicy softClose, Quote quote,
+                         List<Proxy> proxies, long ownerEpoch) {
+        this.auctionId = auctionId;
+        this.minimumIncrement = minimumIncrement;
+        this.softClose = softClose;
+        this.ownerEpoch = ownerEpoch;
+        this.quote = quote;
+        this.proxies = new HashMap<>();
+        for (Proxy proxy : proxies) {
+            this.proxies.put(proxy.userId(), proxy);
+            nextPriority = Math.max(nextPriority, proxy.priority() + 1);
+        }
+        // A leader without a maximum bid is treated as the most recent bidder.
+        Proxy leaderProxy = quote.leaderId() != null ? this.proxies.get(quote.leaderId()) : null;
+        this.leaderPriority = leaderProxy != null ? leaderProxy.priority() : nextPriority++;
+    }
+
+    /**
+     * Validates a bid against the current price and, if it is high enough, makes it the leading bid.
+     * Maximum bids of other users may answer it immediately.
+     *
+     * @throws AuctionException if the auction is closed or the bid is below the minimum
+     */
+    public BidResolution accept(Long userId, String username, BigDecimal bidAmount, String ipAddress, LocalDateTime now) {
+        Quote current = requireOpen(now);
+        BigDecimal minimumBid = getMinimumBid();
+        if (bidAmount.compareTo(minimumBid) < 0) {
+            throw new AuctionException("Bid must be at least $" + minimumBid);
+        }
+
+        // A bid at or below the user's own maximum keeps that maximum's priority.
+        Proxy own = proxies.get(userId);
+        long priority = own != null && own.maxAmount().compareTo(bidAmount) >= 0 ? own.priority() : nextPriority++;
+
+        Resolution resolution = new Resolution(current, now, proxies);
+        resolution.bid(userId, username, bidAmount, ipAddress, priority);
+        return resolution.compete(null);
+    }
+
+    /**
+     * Registers or raises a user's maximum bid and bids on their behalf as far as competing bids require.
+     *
+     * @throws AuctionException if the auction is closed, the maximum is below the minimum bid, or it does
+     *                          not raise the user's existing maximum
+     */
+    public BidResolution submitProxy(Long userId, String username, BigDecimal maxAmount, String ipAddress,
+                                     LocalDateTime now) {
+        Quote current = requireOpen(now);
+        Proxy existing = proxies.get(userId);
+        if (existing != null && maxAmount.compareTo(existing.maxAmount()) <= 0) {
+            throw new AuctionException("Maximum bid must be above your current maximum of $" + existing.maxAmount());
+        }
+
+        boolean leading = userId.equals(current.leaderId());
+        BigDecimal minimumBid = getMinimumBid();
+        if (!leading && maxAmount.compareTo(minimumBid) < 0) {
+            throw new AuctionException("Maximum bid must be at least $" + minimumBid);
+        }
+
+        // The leader keeps their place when raising their own maximum.
+        long priority = leading ? leaderPriority : nextPriority++;
+        Proxy proxy = new Proxy(userId, username, maxAmount, ipAddress, priority);
+        Resolution resolution = new Resolution(current, now, proxies);
+        resolution.proxies.put(userId, proxy);
+        return resolution.compete(proxy);
+    }
+
+    /**
+     * Captures the book's state so an accepted resolution can be undone.
+     */
+    public Checkpoint checkpoint() {
+        return new Checkpoint(quote, proxies, leaderPriority, nextPriority);
+    }
+
+    /**
+     * Rolls the book back to a checkpoint, used when accepted bids could not be persisted.
+     */
+    public void restore(Checkpoint checkpoint) {
+        this.quote = checkpoint.quote();
+        this.proxies = checkpoint.proxies();
+        this.leaderPriority = checkpoint.leaderPriority();
+        this.nextPriority = checkpoint.nextPriority();
+    }
+
+    public void close(Auction.AuctionStatus status) {
+        this.status = status;
+    }
+
+    public BigDecimal getMinimumBid() {
+        return quote.currentBid().add(minimumIncrement);
+    }
+
+    public long getOwnerEpoch() {
+        return ownerEpoch;
+    }
+
+    public Long getAuctionId() {
+        return auctionId;
+    }
+
+    public BigDecimal getMinimumIncrement() {
+        return minimumIncrement;
+    }
+
+    public LocalDateTime getEndTime() {
+        return quote.endTime();
+    }
+
+    public Auction.AuctionStatus getStatus() {
+        return status;
+    }
+
+    public Quote getQuote() {
+        return quote;
+    }
+
+    private Quote requireOpen(LocalDateTime now) {
+        if (status != Auction.AuctionStatus.LIVE) {
+            throw new AuctionException("Auction is not live. Current status: " + status);
+        }
+        Quote current = quote;
+        if (now.isAfter(current.endTime())) {
+            throw new AuctionException("Auction has ended");
+        }
+        return current;
+    }
+
+    /**
+     * Working copy of the book's state while one submission is resolved; committed to the book in
+     * {@link #compete(Proxy)}.
+     */
+    private final class Resolution {
+
+        private final Quote start;
+        private final LocalDateTime now;
+        private final LocalDateTime extendedEndTime;
+        private final Map<Long, Proxy> proxies;
+        private final List<AcceptedBid> bids = new ArrayList<>(2);
+
+        private BigDecimal price;
+        private Long leaderId;
+        private String leaderName;
+        private long priority;
+        private long sequence;
+
+        private Resolution(Quote start, LocalDateTime now, Map<Long, Proxy> proxies) {
+            this.start = start;
+            this.now = now;
+            // Every bid of one submission is accepted at the same time, so they all extend the auction alike.
+            this.extendedEndTime = softClose != null ? softClose.extend(start.endTime(), now) : start.endTime();
+            this.proxies = new HashMap<>(proxies);
+            this.price = start.currentBid();
+            this.leaderId = start.leaderId();
+            this.leaderName = start.leaderName();
+            this.priority = leaderPriority;
+            this.sequence = start.sequence();
+        }
+
+        private void bid(Long userId, String username, BigDecimal amount, String ipAddress, long bidPriority) {
+            price = amount;
+            leaderId = userId;
+            leaderName = username;
+            priority = bidPriority;
+            bids.add(new AcceptedBid(auctionId, userId, username, amount, ipAddress, ++sequence, now, extendedEndTime,
+                    ownerEpoch));
+        }
+
+        /**
+         * Plays the strongest competing maximum bid against the leader. Between submissions every maximum
+         * except the leader's is at or below the price, so at most one challenger is still in play and one
+         * round settles it.
+         */
+        private BidResolution compete(Proxy submitted) {
+            Proxy challenger = strongestChallenger();
+            if (challenger != null) {
+                if (leaderId == null) {
+                    BigDecimal opening = price.add(minimumIncrement);
+                    if (challenger.maxAmount().compareTo(opening) >= 0) {
+                        bid(challenger, opening);
+                    }
+                } else {
+                    Proxy leaderProxy = proxies.get(leaderId);
+                    BigDecimal leaderMax = leaderProxy != null && leaderProxy.maxAmount().compareTo(price) > 0
+                            ? leaderProxy.maxAmount() : price;
+                    int comparison = challenger.maxAmount().compareTo(leaderMax);
+                    if (comparison > 0 || (comparison == 0 && challenger.priority() < priority)) {
+                        bid(challenger, challenger.maxAmount().min(leaderMax.add(minimumIncrement)));
+                    } else if (leaderProxy != null && challenger.maxAmount().compareTo(price) >= 0) {
+                        BigDecimal raised = leaderMax.min(challenger.maxAmount().add(minimumIncrement));
+                        if (raised.compareTo(price) > 0) {
+                            bid(leaderProxy, raised);
+                        }
+                    }
+                }
+            }
+
+            List<Long> exhausted = new ArrayList<>();
+            proxies.values().removeIf(proxy -> {
+                boolean out = !proxy.userId().equals(leaderId) && proxy.maxAmount().compareTo(price) <= 0;
+                if (out) {
+                    exhausted.add(proxy.userId());
+                }
+                return out;
+            });
+
+            LocalDateTime endTime = bids.isEmpty() ? start.endTime() : extendedEndTime;
+            Quote resolved = new Quote(price, leaderId, leaderName, sequence, start.bidCount() + bids.size(), endTime);
+
+            LiveOrderBook.this.proxies = proxies;
+            leaderPriority = priority;
+            quote = resolved;
+            return new BidResolution(List.copyOf(bids), submitted, exhausted, resolved);
+        }
+
+        private void bid(Proxy proxy, BigDecimal amount) {
+            bid(proxy.userId(), proxy.username(), amount, proxy.ipAddress(), proxy.priority());
+        }
+
+        private Proxy strongestChallenger() {
+            Proxy strongest = null;
+            for (Proxy proxy : proxies.values()) {
+                if (proxy.userId().equals(leaderId)) {
+                    continue;
+                }
+                if (strongest == null) {
+                    strongest = proxy;
+                    continue;
+                }
+                int comparison = proxy.maxAmount().compareTo(strongest.maxAmount());
+                if (comparison > 0 || (comparison == 0 && proxy.priority() < strongest.priority())) {
+                    strongest = proxy;
+                }
+            }
+            return strongest;
+        }
+    }
+
+    /**
+     * Immutable view of the book's price state.
+     *
+     * @param leaderId   user currently holding the highest bid, or {@code null} if nobody has bid yet
+     * @param sequence   sequence number of the last accepted bid
+     * @param endTime    current end time, including any soft-close extensions
+     */
+    public record Quote(BigDecimal currentBid, Long leaderId, String leaderName, long sequence, long bidCount,
+                        LocalDateTime endTime) {
+    }
+
+    /**
+     * A user's maximum bid.
+     *
+     * @param priority lower wins among equal maximums; reflects the order maximums were placed in
+     */
+    public record Proxy(Long userId, String username, BigDecimal maxAmount, String ipAddress, long priority) {
+    }
+
+    /**
+     * Snapshot taken by {@link #checkpoint()}.
+     */
+    public record Checkpoint(Quote quote, Map<Long, Proxy> proxies, long leaderPriority, long nextPriority) {
+    }
+}
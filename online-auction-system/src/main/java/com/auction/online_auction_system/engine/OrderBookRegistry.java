@@ -0,0 +1,155 @@
+package com.auction.online_auction_system.engine;
+
+import com.auction.online_auction_system.entity.Auction;
+import com.auction.online_auction_system.entity.Bid;
+import com.auction.online_auction_system.entity.ProxyBid;
+import com.auction.online_auction_system.exception.AuctionException;
+import com.auction.online_auction_system.repository.AuctionRepository;
+import com.auction.online_auction_system.repository.BidRepository;
+import com.auction.online_auction_system.repository.ProxyBidRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the {@link LiveOrderBook} of every LIVE auction that has seen bidding on this node.
+ * <p>
+ * Books are loaded lazily from the database on the first bid and dropped when the auction is closed,
+ * together with the auction's {@link RecentBids} ring. Methods that create or close books must be called from
+ * the auction's {@link BidSequencer} lane.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderBookRegistry {
+
+    private final AuctionRepository auctionRepository;
+    private final BidRepository bidRepository;
+    private final ProxyBidRepository proxyBidRepository;
+    private final RecentBids recentBids;
+
+    private final Map<Long, LiveOrderBook> books = new ConcurrentHashMap<>();
+
+    public LiveOrderBook getLiveBook(Long auctionId) {
+        LiveOrderBook book = books.get(auctionId);
+        if (book == null) {
+            book = load(auctionId, 0);
+            books.put(auctionId, book);
+        }
+        return book;
+    }
+
+    /**
+     * Replaces the auction's book with one loaded from the database, e.g. after the journal could not save
+     * a bid the book had accepted. Sequences up to {@code minSequence} are not handed out again, so clients
+     * that saw the dropped bid's version still take the reloaded state as newer.
+     */
+    public LiveOrderBook reload(Long auctionId, long minSequence) {
+        evict(auctionId);
+        LiveOrderBook book = load(auctionId, minSequence);
+        books.put(auctionId, book);
+        return book;
+    }
+
+    public Optional<LiveOrderBook> peek(Long auctionId) {
+        return Optional.ofNullable(books.get(auctionId));
+    }
+
+    public void close(Long auctionId, Auction.AuctionStatus status) {
+        LiveOrderBook book = books.remove(auctionId);
+        recentBids.remove(auctionId);
+        if (book != null) {
+            book.close(status);
+            log.debug("Closed order book for auction {} ({})", auctionId, status);
+        }
+    }
+
+    /**
+     * Drops the auction's book without closing it, e.g. because another node owns the auction now. The
+     * book is loaded again from the database if this node becomes its owner.
+     */
+    public void evict(Long auctionId) {
+        recentBids.remove(auctionId);
+        if (books.remove(auctionId) != null) {
+            log.debug("Evicted order book for auction {}", auctionId);
+        }
+    }
+
+    public Set<Long> getLoadedAuctionIds() {
+        return Set.copyOf(books.keySet());
+    }
+
+    /**
+     * Closes the auction's book as COMPLETED unless a soft-close extension has moved its end time past
+     * {@code now}. Auctions without a loaded book are treated as ended.
+     *
+     * @return {@code false} if the auction is still running
+     */
+    public boolean closeIfEnded(Long auctionId, LocalDateTime now) {
+        LiveOrderBook book = books.get(auctionId);
+        if (book != null && book.getEndTime().isAfter(now)) {
+            return false;
+        }
+        close(auctionId, Auction.AuctionStatus.COMPLETED);
+        return true;
+    }
+
+    private LiveOrderBook load(Long auctionId, long minSequence) {
+        // Claimed before reading, so bids a previous owner manages to write before noticing are read too.
+        long ownerEpoch = auctionRepository.claimOwnership(auctionId)
+                .orElseThrow(() -> new AuctionException("Auction not found with id: " + auctionId));
+        Auction auction = auctionRepository.findById(auctionId)
+                .orElseThrow(() -> new AuctionException("Auction not found with id: " + auctionId));
+
+        if (auction.getStatus() != Auction.AuctionStatus.LIVE) {
+            throw new AuctionException("Auction is not live. Current status: " + auction.getStatus());
+        }
+
+        Optional<Bid> topBid = bidRepository.findTopBidWithUser(auctionId);
+        long bidCount = bidRepository.countByAuction(auctionId);
+        long sequence = Math.max(minSequence, Math.max(bidCount, bidRepository.findMaxSequence(auctionId)));
+        BigDecimal currentBid = auction.getCurrentBid() != null ? auction.getCurrentBid() : BigDecimal.ZERO;
+
+        LiveOrderBook.Quote quote = new LiveOrderBook.Quote(
+                currentBid,
+                topBid.map(bid -> bid.getUser().getId()).orElse(null),
+                topBid.map(bid -> bid.getUser().getUsername()).orElse(null),
+                sequence,
+                bidCount,
+                auction.getEndTime());
+
+        recentBids.open(auctionId, sequence, bidCount);
+
+        List<ProxyBid> activeProxies = proxyBidRepository.findActiveAbove(auctionId, currentBid);
+        List<LiveOrderBook.Proxy> proxies = new ArrayList<>(activeProxies.size());
+        for (ProxyBid proxy : activeProxies) {
+            proxies.add(new LiveOrderBook.Proxy(proxy.getUser().getId(), proxy.getUser().getUsername(),
+                    proxy.getMaxAmount(), proxy.getIpAddress(), proxies.size()));
+        }
+
+        log.info("Loaded order book for auction {} at ${} after {} bids with {} maximum bids (owner epoch {})",
+                auctionId, currentBid, bidCount, proxies.size(), ownerEpoch);
+        return new LiveOrderBook(auctionId, auction.getMinimumIncrement(), softClosePolicy(auction), quote, proxies,
+                ownerEpoch);
+    }
+
+    private static SoftClosePolicy softClosePolicy(Auction auction) {
+        if (!Boolean.TRUE.equals(auction.getSoftCloseEnabled())) {
+            return null;
+        }
+        return new SoftClosePolicy(
+                Duration.ofSeconds(auction.getSoftCloseWindowSeconds()),
+                Duration.ofSeconds(auction.getSoftCloseExtensionSeconds()),
+                auction.getMaxEndTime() != null ? auction.getMaxEndTime() : auction.getEndTime());
+    }
+}
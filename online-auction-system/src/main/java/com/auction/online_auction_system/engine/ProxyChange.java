@@ -0,0 +1,31 @@
+package com.auction.online_auction_system.engine;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A change to a user's maximum (proxy) bid made by a {@link LiveOrderBook}, journaled together with the
+ * bids of the same resolution.
+ *
+ * @param amount     the new maximum for {@link Kind#RAISED}, the price that overtook it for
+ *                   {@link Kind#EXHAUSTED}
+ * @param sequence   the book's sequence after the resolution that made the change
+ * @param ownerEpoch owner epoch of the book that made the change
+ */
+public record ProxyChange(
+        Kind kind,
+        Long auctionId,
+        Long userId,
+        BigDecimal amount,
+        String ipAddress,
+        long sequence,
+        LocalDateTime changedAt,
+        long ownerEpoch) {
+
+    public enum Kind {
+        /** A maximum was placed or raised. */
+        RAISED,
+        /** A maximum was overtaken and no longer takes part. */
+        EXHAUSTED
+    }
+}
@@ -0,0 +1,93 @@
+package com.auction.online_auction_system.engine;
+
+import com.auction.online_auction_system.dto.BidDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The last bids of one auction, as ready-made {@link BidDTO}s in a fixed number of slots.
+ * <p>
+ * Writers claim a position with a single atomic increment and fill the slot it maps to; readers copy the
+ * slots without locking and keep only entries whose position matches the slot they were read from, so a
+ * slot being overwritten is skipped rather than read torn. DTOs are shared between readers and must not
+ * be modified once added.
+ */
+public final class RecentBidRing {
+
+    private final AtomicReferenceArray<Slot> slots;
+    private final AtomicLong positions = new AtomicLong();
+    private final AtomicLong total;
+
+    /**
+     * @param seed     the auction's highest bids already saved, in any order
+     * @param bidCount the number of bids the auction had when {@code seed} was read
+     */
+    public RecentBidRing(int capacity, List<Ranked> seed, long bidCount) {
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.total = new AtomicLong(bidCount);
+        seed.stream()
+                .sorted(Comparator.comparingLong(Ranked::sequence))
+                .skip(Math.max(0, seed.size() - capacity))
+                .forEach(this::write);
+    }
+
+    public void add(BidDTO bid, long sequence) {
+        write(new Ranked(bid, sequence));
+        total.incrementAndGet();
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * @return the number of bids the auction has, including those no longer held
+     */
+    public long total() {
+        return total.get();
+    }
+
+    /**
+     * @return the bids held, highest first
+     */
+    public List<BidDTO> snapshot() {
+        long end = positions.get();
+        List<Ranked> held = new ArrayList<>(slots.length());
+        for (long position = Math.max(0, end - slots.length()); position < end; position++) {
+            Slot slot = slots.get((int) (position % slots.length()));
+            if (slot != null && slot.position() == position) {
+                held.add(slot.bid());
+            }
+        }
+        held.sort(Comparator.comparingLong(Ranked::sequence).reversed());
+        List<BidDTO> bids = new ArrayList<>(held.size());
+        Set<Long> ids = new HashSet<>();
+        for (Ranked ranked : held) {
+            // A bid saved while the ring was being seeded can arrive twice.
+            if (ids.add(ranked.bid().getId())) {
+                bids.add(ranked.bid());
+            }
+        }
+        return bids;
+    }
+
+    private void write(Ranked bid) {
+        long position = positions.getAndIncrement();
+        slots.set((int) (position % slots.length()), new Slot(position, bid));
+    }
+
+    /**
+     * A bid with a number that orders bids the way their amounts do, e.g. the sequence its order book gave it.
+     */
+    public record Ranked(BidDTO bid, long sequence) {
+    }
+
+    private record Slot(long position, Ranked bid) {
+    }
+}
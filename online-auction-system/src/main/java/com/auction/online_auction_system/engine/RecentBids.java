@@ -0,0 +1,85 @@
+package com.auction.online_auction_system.engine;
+
+import com.auction.online_auction_system.dto.BidDTO;
+import com.auction.online_auction_system.repository.BidRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a {@link RecentBidRing} for every order book loaded on this node, so the first page of a live
+ * auction's bid history is served from memory.
+ * <p>
+ * A ring is seeded from the database when its book is loaded and dropped when the book is closed or
+ * evicted. Bids are added once the journal has saved them, from the journal's completion callback, so a
+ * ring only ever holds saved bids, with their ids, in the order they were saved.
+ */
+@Component
+public class RecentBids {
+
+    private final BidRepository bidRepository;
+    private final int capacity;
+    private final Map<Long, RecentBidRing> rings = new ConcurrentHashMap<>();
+
+    public RecentBids(BidRepository bidRepository,
+                      MeterRegistry meterRegistry,
+                      @Value("${auction.bids.recent-capacity:50}") int capacity) {
+        this.bidRepository = bidRepository;
+        this.capacity = capacity;
+        Gauge.builder("auction.bids.recent.auctions", rings, Map::size)
+                .description("Live auctions with recent bids held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Seeds the auction's ring with its highest saved bids. Called from the auction's {@link BidSequencer}
+     * lane while its book is loaded, before the book accepts a bid.
+     *
+     * @param sequence the last sequence number the auction's bids were given
+     */
+    void open(Long auctionId, long sequence, long bidCount) {
+        List<RecentBidRing.Ranked> seed = new ArrayList<>();
+        // Saved bids come highest first; number them below every sequence the book will hand out.
+        bidRepository.findFirstPageByAuction(auctionId, PageRequest.ofSize(capacity)).forEach(bid -> {
+            bid.setIsWinning(false);
+            seed.add(new RecentBidRing.Ranked(bid, sequence - seed.size()));
+        });
+        rings.put(auctionId, new RecentBidRing(capacity, seed, bidCount));
+    }
+
+    /**
+     * Adds the bids to their auction's ring as the journal saves them. Called from the auction's lane right
+     * after the bids were appended to the journal.
+     */
+    public void track(List<AcceptedBid> bids, List<CompletableFuture<Long>> committed) {
+        for (int i = 0; i < bids.size(); i++) {
+            AcceptedBid bid = bids.get(i);
+            committed.get(i).thenAccept(id -> {
+                RecentBidRing ring = rings.get(bid.auctionId());
+                if (ring != null) {
+                    BidDTO dto = BidDTO.fromAccepted(bid);
+                    dto.setId(id);
+                    dto.setIsWinning(false);
+                    ring.add(dto, bid.sequence());
+                }
+            });
+        }
+    }
+
+    public Optional<RecentBidRing> get(Long auctionId) {
+        return Optional.ofNullable(rings.get(auctionId));
+    }
+
+    void remove(Long auctionId) {
+        rings.remove(auctionId);
+    }
+}
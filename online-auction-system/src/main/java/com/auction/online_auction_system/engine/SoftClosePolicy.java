@@ -0,0 +1,23 @@
+package com.auction.online_auction_system.engine;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Anti-sniping rule of a soft-close auction: a bid accepted within {@code window} of the end time pushes the
+ * end time back by {@code extension}, but never past {@code maxEndTime}.
+ */
+public record SoftClosePolicy(Duration window, Duration extension, LocalDateTime maxEndTime) {
+
+    /**
+     * @return the end time after a bid accepted at {@code now}; {@code endTime} itself if the bid does not
+     * extend the auction
+     */
+    public LocalDateTime extend(LocalDateTime endTime, LocalDateTime now) {
+        if (now.isBefore(endTime.minus(window)) || !endTime.isBefore(maxEndTime)) {
+            return endTime;
+        }
+        LocalDateTime extended = endTime.plus(extension);
+        return extended.isAfter(maxEndTime) ? maxEndTime : extended;
+    }
+}
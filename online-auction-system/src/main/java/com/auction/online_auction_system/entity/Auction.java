@@ -40,9 +40,26 @@ public class Auction {
     @Column(name = "minimum_increment", nullable = false, precision = 10, scale = 2)
     private BigDecimal minimumIncrement = BigDecimal.valueOf(10.00);
 
+    @Column(name = "soft_close_enabled", nullable = false)
+    private Boolean softCloseEnabled = false;
+
+    @Column(name = "soft_close_window_seconds", nullable = false)
+    private Integer softCloseWindowSeconds = 60;
+
+    @Column(name = "soft_close_extension_seconds", nullable = false)
+    private Integer softCloseExtensionSeconds = 60;
+
+    // Latest time soft-close extensions may push the end time to.
+    @Column(name = "max_end_time")
+    private LocalDateTime maxEndTime;
+
     @OneToMany(mappedBy = "auction", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Bid> bids = new ArrayList<>();
 
+    // Kept in step with the bids table as bids are written, so listings never have to load or count bids.
+    @Column(name = "bid_count", nullable = false)
+    private Integer bidCount = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "winner_id")
     private User winner;
@@ -62,6 +79,15 @@ public class Auction {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Bumped by every node that loads the auction's order book; bid writes of an older book are refused.
+    @Column(name = "owner_epoch", nullable = false)
+    private Long ownerEpoch = 0L;
+
+    // Bulk updates of the auctions table bump this as well, so a save based on a stale read fails.
+    @Version
+    @Column(nullable = false)
+    private Long version = 0L;
+
     public enum AuctionStatus {
         SCHEDULED, LIVE, COMPLETED, CANCELLED
     }
@@ -4,21 +4,28 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 
 @Entity
-@Table(name = "bids")
+@Table(name = "bids", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_bid_auction_sequence", columnNames = {"auction_id", "auction_sequence"})
+}, indexes = {
+        // Keyset seeks for auction and user bid history; see BidRepository.
+        @Index(name = "idx_bids_auction_amount_id", columnList = "auction_id, bid_amount DESC, id DESC"),
+        @Index(name = "idx_bids_user_time_id", columnList = "user_id, bid_time DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Bid {
 
+    // Sequence ids are allocated in blocks so Hibernate can batch inserts, which IDENTITY columns prevent.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bid_id_seq")
+    @SequenceGenerator(name = "bid_id_seq", sequenceName = "bid_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -35,10 +42,25 @@ public class Bid {
     @Column(name = "is_winning", nullable = false)
     private Boolean isWinning = false;
 
-    @CreationTimestamp
     @Column(name = "bid_time", nullable = false, updatable = false)
     private LocalDateTime bidTime;
 
     @Column(name = "ip_address", length = 50)
     private String ipAddress;
+
+    // Per-auction sequence assigned by the order book; lets WAL replay skip bids that were already saved.
+    @Column(name = "auction_sequence")
+    private Long sequence;
+
+    // Owner epoch of the order book that accepted the bid.
+    @Column(name = "owner_epoch")
+    private Long ownerEpoch;
+
+    // Bids are written behind the order book, so keep the time the bid was accepted rather than the insert time.
+    @PrePersist
+    void onCreate() {
+        if (bidTime == null) {
+            bidTime = LocalDateTime.now();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.auction.online_auction_system.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+
+/**
+ * A user's maximum bid on an auction. The order book bids on the user's behalf, one increment at a time,
+ * up to {@code maxAmount}.
+ */
+@Entity
+@Table(name = "proxy_bids", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_proxy_bid_auction_user", columnNames = {"auction_id", "user_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProxyBid {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "auction_id", nullable = false)
+    private Auction auction;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "max_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal maxAmount;
+
+    @Column(nullable = false)
+    private Boolean active = true;
+
+    @Column(name = "ip_address", length = 50)
+    private String ipAddress;
+
+    // When the current maximum was set; among equal maximums the earlier one wins.
+    @Column(name = "placed_at", nullable = false)
+    private LocalDateTime placedAt;
+}
@@ -0,0 +1,7 @@
+package com.auction.online_auction_system.event;
+
+/**
+ * Published when an auction has been cancelled.
+ */
+public record AuctionCancelledEvent(Long auctionId) {
+}
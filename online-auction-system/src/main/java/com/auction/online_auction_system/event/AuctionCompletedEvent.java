@@ -0,0 +1,7 @@
+package com.auction.online_auction_system.event;
+
+/**
+ * Published when a LIVE auction has ended and its winner, if any, has been recorded.
+ */
+public record AuctionCompletedEvent(Long auctionId) {
+}
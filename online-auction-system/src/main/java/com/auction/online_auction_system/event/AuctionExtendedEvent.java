@@ -0,0 +1,9 @@
+package com.auction.online_auction_system.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a bid in a soft-close auction's final window has pushed its end time back.
+ */
+public record AuctionExtendedEvent(Long auctionId, LocalDateTime endTime) {
+}
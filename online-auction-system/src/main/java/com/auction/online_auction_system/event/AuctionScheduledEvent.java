@@ -0,0 +1,9 @@
+package com.auction.online_auction_system.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a new auction has been created and is waiting for its start time.
+ */
+public record AuctionScheduledEvent(Long auctionId, LocalDateTime startTime, LocalDateTime endTime) {
+}
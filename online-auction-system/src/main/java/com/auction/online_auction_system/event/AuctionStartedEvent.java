@@ -0,0 +1,9 @@
+package com.auction.online_auction_system.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when an auction has moved from SCHEDULED to LIVE.
+ */
+public record AuctionStartedEvent(Long auctionId, LocalDateTime endTime) {
+}
@@ -0,0 +1,15 @@
+package com.auction.online_auction_system.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published once per bid resolution with the auction's resulting leader and price.
+ *
+ * @param version   the order book sequence after the resolution; increases with every change to the auction
+ * @param bidderIds the user id of each bid the resolution placed, in order
+ */
+public record BidPlacedEvent(Long auctionId, long version, Long leaderId, String leaderName, BigDecimal currentBid,
+                             long bidCount, LocalDateTime placedAt, LocalDateTime endTime, List<Long> bidderIds) {
+}
@@ -0,0 +1,11 @@
+package com.auction.online_auction_system.event;
+
+/**
+ * Published on the node whose journal could not save a bid, or a maximum-bid change, that its order book
+ * had already accepted, so the auction's book can be brought back in line with the database.
+ *
+ * @param sequence      the sequence number the order book gave the rejected bid or change
+ * @param ownershipLost {@code true} if the bid was fenced off because another node has claimed the auction
+ */
+public record BidRejectedEvent(Long auctionId, long sequence, boolean ownershipLost) {
+}
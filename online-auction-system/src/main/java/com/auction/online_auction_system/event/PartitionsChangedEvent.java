@@ -0,0 +1,9 @@
+package com.auction.online_auction_system.event;
+
+import java.util.Set;
+
+/**
+ * Published on a node when the set of nodes sharing the auctions has changed.
+ */
+public record PartitionsChangedEvent(Set<String> nodeIds) {
+}
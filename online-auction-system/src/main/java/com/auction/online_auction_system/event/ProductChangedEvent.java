@@ -0,0 +1,7 @@
+package com.auction.online_auction_system.event;
+
+/**
+ * Published when a product has been created, edited or deleted.
+ */
+public record ProductChangedEvent(Long productId) {
+}
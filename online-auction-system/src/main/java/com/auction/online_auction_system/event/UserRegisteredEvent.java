@@ -0,0 +1,7 @@
+package com.auction.online_auction_system.event;
+
+/**
+ * Published when a user account has been created, so every node learns that its names are taken.
+ */
+public record UserRegisteredEvent(Long userId, String username, String email) {
+}
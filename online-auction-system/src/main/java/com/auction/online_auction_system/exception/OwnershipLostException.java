@@ -0,0 +1,12 @@
+package com.auction.online_auction_system.exception;
+
+/**
+ * Thrown when writing bids of an order book whose auction has since been claimed by another node, i.e. whose
+ * owner epoch is no longer the auction's. Retrying cannot succeed.
+ */
+public class OwnershipLostException extends AuctionException {
+
+    public OwnershipLostException(Long auctionId, long ownerEpoch) {
+        super("Auction " + auctionId + " was claimed by another node after owner epoch " + ownerEpoch);
+    }
+}
@@ -0,0 +1,151 @@
+package com.auction.online_auction_system.image;
+
+import com.auction.online_auction_system.exception.AuctionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps images as files under {@code auction.images.root}, at {@code ab/cd/<key>} so no directory grows
+ * too large.
+ * <p>
+ * Content is written to a temporary file while it is hashed and then moved into place, so readers never
+ * see a partial image. If the key already exists the new copy is dropped. Variants sit next to their
+ * original as {@code <key>-<variant>}.
+ */
+@Component
+@Slf4j
+public class FileSystemImageStore implements ImageStore {
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path incoming;
+
+    public FileSystemImageStore(@Value("${auction.images.root:data/images}") Path root) {
+        this.root = root.toAbsolutePath();
+        this.incoming = this.root.resolve(".incoming");
+        try {
+            Files.createDirectories(incoming);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create image store at " + this.root, e);
+        }
+        log.info("🖼️ Image store at {}", this.root);
+    }
+
+    @Override
+    public String put(InputStream content) throws IOException {
+        Path temp = Files.createTempFile(incoming, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            Files.copy(new DigestInputStream(content, digest), temp, StandardCopyOption.REPLACE_EXISTING);
+            if (readType(temp).isEmpty()) {
+                throw new AuctionException("Only JPEG, PNG, GIF and WebP images are allowed");
+            }
+
+            String key = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(key);
+            if (Files.exists(target)) {
+                return key;
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                log.debug("Stored image {} ({} bytes)", key, Files.size(target));
+            } catch (FileAlreadyExistsException e) {
+                // Stored by a concurrent upload of the same content.
+            }
+            return key;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Optional<StoredImage> find(String key) {
+        if (!isKey(key)) {
+            return Optional.empty();
+        }
+        return read(key, pathOf(key));
+    }
+
+    @Override
+    public void putVariant(String key, ImageVariant variant, byte[] content) throws IOException {
+        if (!isKey(key)) {
+            throw new IllegalArgumentException("Not an image key: " + key);
+        }
+        Path target = variantPathOf(key, variant);
+        Path temp = Files.createTempFile(incoming, "variant-", ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.createDirectories(target.getParent());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Optional<StoredImage> findVariant(String key, ImageVariant variant) {
+        if (!isKey(key)) {
+            return Optional.empty();
+        }
+        return read(key + "-" + variant.getPathName(), variantPathOf(key, variant));
+    }
+
+    private Optional<StoredImage> read(String name, Path path) {
+        try {
+            if (!Files.isRegularFile(path)) {
+                return Optional.empty();
+            }
+            long size = Files.size(path);
+            return readType(path).map(type -> new StoredImage(name, path, size, type));
+        } catch (IOException e) {
+            log.warn("⚠️ Cannot read image {}: {}", name, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static boolean isKey(String key) {
+        return key != null && KEY.matcher(key).matches();
+    }
+
+    private Path pathOf(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private Path variantPathOf(String key, ImageVariant variant) {
+        return pathOf(key).resolveSibling(key + "-" + variant.getPathName());
+    }
+
+    private static Optional<ImageType> readType(Path path) throws IOException {
+        byte[] header = new byte[ImageType.HEADER_LENGTH];
+        int length;
+        try (InputStream in = Files.newInputStream(path)) {
+            length = in.readNBytes(header, 0, header.length);
+        }
+        return ImageType.detect(header, length);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.auction.online_auction_system.image;
+
+import com.auction.online_auction_system.exception.AuctionException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+
+/**
+ * Turns image data into the short URLs products keep, so API payloads carry references instead of bytes.
+ * Every image stored through here gets its {@link ImageVariant}s generated in the background.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageReferences {
+
+    public static final String URL_PREFIX = "/api/images/";
+
+    private final ImageStore imageStore;
+    private final ImageVariantGenerator variantGenerator;
+
+    public static String urlOf(String key) {
+        return URL_PREFIX + key;
+    }
+
+    /**
+     * @return the URL of the variant of a stored image; {@code imageUrl} itself for images kept elsewhere
+     */
+    public static String variantUrlOf(String imageUrl, ImageVariant variant) {
+        if (imageUrl == null || !imageUrl.startsWith(URL_PREFIX)
+                || imageUrl.indexOf('/', URL_PREFIX.length()) >= 0) {
+            return imageUrl;
+        }
+        return imageUrl + "/" + variant.getPathName();
+    }
+
+    /**
+     * Stores an image and queues its variants.
+     *
+     * @return the image's URL
+     */
+    public String store(InputStream content) throws IOException {
+        String key = imageStore.put(content);
+        variantGenerator.request(key);
+        return urlOf(key);
+    }
+
+    public static boolean isDataUrl(String imageUrl) {
+        return imageUrl != null && imageUrl.startsWith("data:");
+    }
+
+    /**
+     * Stores the image of an inline Base64 {@code data:} URL and returns its URL; any other URL is
+     * returned unchanged.
+     *
+     * @throws AuctionException if the data URL is not a Base64 image
+     */
+    public String toReference(String imageUrl) {
+        if (!isDataUrl(imageUrl)) {
+            return imageUrl;
+        }
+        int comma = imageUrl.indexOf(',');
+        if (comma < 0 || !imageUrl.substring(0, comma).endsWith(";base64")) {
+            throw new AuctionException("Only Base64 image data URLs are supported");
+        }
+        try {
+            byte[] content = Base64.getMimeDecoder().decode(imageUrl.substring(comma + 1));
+            return store(new ByteArrayInputStream(content));
+        } catch (IllegalArgumentException e) {
+            throw new AuctionException("Image data URL is not valid Base64");
+        } catch (IOException e) {
+            throw new AuctionException("Could not store image", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.auction.online_auction_system.image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage for image bytes. An image's key is the hex SHA-256 of its content, so storing
+ * the same image twice keeps one copy and a key always names the same bytes.
+ */
+public interface ImageStore {
+
+    /**
+     * Stores everything {@code content} yields. The stream is read to the end but not closed.
+     *
+     * @return the content's key
+     */
+    String put(InputStream content) throws IOException;
+
+    Optional<StoredImage> find(String key);
+
+    /**
+     * Stores a generated variant of the image {@code key}, replacing any earlier one.
+     */
+    void putVariant(String key, ImageVariant variant, byte[] content) throws IOException;
+
+    Optional<StoredImage> findVariant(String key, ImageVariant variant);
+}
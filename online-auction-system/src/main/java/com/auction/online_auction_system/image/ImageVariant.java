@@ -0,0 +1,40 @@
+package com.auction.online_auction_system.image;
+
+import java.util.Optional;
+
+/**
+ * Downscaled copies generated for every stored image, served at {@code /api/images/<key>/<name>}.
+ * <p>
+ * Variants are at most {@link #getMaxDimension()} pixels on their longer side and never larger than the
+ * original. They are listed from largest to smallest, so each can be scaled from the one before it.
+ */
+public enum ImageVariant {
+
+    MEDIUM("medium", 800),
+    THUMBNAIL("thumb", 320);
+
+    private final String pathName;
+    private final int maxDimension;
+
+    ImageVariant(String pathName, int maxDimension) {
+        this.pathName = pathName;
+        this.maxDimension = maxDimension;
+    }
+
+    public String getPathName() {
+        return pathName;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public static Optional<ImageVariant> fromPathName(String pathName) {
+        for (ImageVariant variant : values()) {
+            if (variant.pathName.equals(pathName)) {
+                return Optional.of(variant);
+            }
+        }
+        return Optional.empty();
+    }
+}
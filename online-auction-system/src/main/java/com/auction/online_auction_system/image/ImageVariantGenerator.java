@@ -0,0 +1,209 @@
+package com.auction.online_auction_system.image;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates the {@link ImageVariant}s of stored images in the background.
+ * <p>
+ * Work runs on a small fixed pool with a bounded queue; when the queue is full the request is dropped, and
+ * the variant is requested again the first time someone asks for it. Originals are decoded with source
+ * subsampling so a worker never holds much more than twice the largest variant in memory, however large
+ * the upload. Images with transparency become PNG variants, everything else JPEG.
+ */
+@Component
+@Slf4j
+public class ImageVariantGenerator {
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final ImageStore imageStore;
+    private final ThreadPoolExecutor workers;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Timer generationTimer;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+
+    public ImageVariantGenerator(ImageStore imageStore,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${auction.images.variant-workers:2}") int workerCount,
+                                 @Value("${auction.images.variant-queue-size:256}") int queueSize) {
+        this.imageStore = imageStore;
+        AtomicInteger workerIndex = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + workerIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        this.generationTimer = Timer.builder("auction.images.variants")
+                .description("Time to generate every variant of one image")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("auction.images.variants.dropped")
+                .description("Variant requests dropped because the queue was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("auction.images.variants.failed")
+                .description("Images whose variants could not be generated")
+                .register(meterRegistry);
+        Gauge.builder("auction.images.variants.queued", workers, executor -> executor.getQueue().size())
+                .description("Images waiting for variants")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues generation of every variant of the image {@code key} unless it is already queued.
+     */
+    public void request(String key) {
+        if (!pending.add(key)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    generationTimer.record(() -> generate(key));
+                } finally {
+                    pending.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(key);
+            droppedCounter.increment();
+            log.debug("Variant queue full; dropped image {}", key);
+        }
+    }
+
+    private void generate(String key) {
+        Optional<StoredImage> original = imageStore.find(key);
+        if (original.isEmpty()) {
+            return;
+        }
+        try {
+            BufferedImage source = decode(original.get(), ImageVariant.values()[0].getMaxDimension());
+            if (source == null) {
+                log.warn("⚠️ No decoder for image {} ({})", key, original.get().type());
+                failedCounter.increment();
+                return;
+            }
+            for (ImageVariant variant : ImageVariant.values()) {
+                source = scale(source, variant.getMaxDimension());
+                imageStore.putVariant(key, variant, encode(source));
+            }
+            log.debug("Generated variants of image {}", key);
+        } catch (IOException | RuntimeException e) {
+            failedCounter.increment();
+            log.warn("⚠️ Could not generate variants of image {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Decodes the first frame, skipping pixels so the result is no more than about twice
+     * {@code maxDimension} on its longer side.
+     *
+     * @return {@code null} if no installed reader handles the format, e.g. WebP on a stock JDK
+     */
+    private static BufferedImage decode(StoredImage image, int maxDimension) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(image.path().toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int longer = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longer / (2 * maxDimension));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales {@code source} to fit {@code maxDimension}, halving repeatedly first so bilinear filtering
+     * still samples every pixel.
+     */
+    static BufferedImage scale(BufferedImage source, int maxDimension) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double factor = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * factor));
+        int targetHeight = Math.max(1, (int) Math.round(height * factor));
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static byte[] encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        if (image.getColorModel().hasAlpha()) {
+            ImageIO.write(image, "png", bytes);
+            return bytes.toByteArray();
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,12 @@
+package com.auction.online_auction_system.image;
+
+import java.nio.file.Path;
+
+/**
+ * An image held by an {@link ImageStore}.
+ *
+ * @param key  the content key, suffixed with the variant name for variants
+ * @param path file holding the bytes; never changes once written
+ */
+public record StoredImage(String key, Path path, long size, ImageType type) {
+}
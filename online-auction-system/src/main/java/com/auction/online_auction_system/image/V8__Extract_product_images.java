@@ -0,0 +1,61 @@
+package com.auction.online_auction_system.image;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Moves Base64 images stored inline in {@code products.image_url} into the {@link ImageStore} and leaves
+ * a reference in their place. Rows are read through a cursor a few at a time, as each may hold megabytes.
+ * <p>
+ * A Spring bean rather than a classpath migration so it can use the configured store; Spring Boot hands
+ * it to Flyway.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class V8__Extract_product_images extends BaseJavaMigration {
+
+    private final ImageReferences imageReferences;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement check = connection.createStatement();
+             ResultSet exists = check.executeQuery("SELECT to_regclass('products') IS NOT NULL")) {
+            if (!exists.next() || !exists.getBoolean(1)) {
+                return;
+            }
+        }
+
+        int moved = 0;
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id, image_url FROM products WHERE image_url LIKE 'data:%' ORDER BY id");
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE products SET image_url = ? WHERE id = ?")) {
+            select.setFetchSize(10);
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    long id = rows.getLong("id");
+                    try {
+                        update.setString(1, imageReferences.toReference(rows.getString("image_url")));
+                    } catch (RuntimeException e) {
+                        log.warn("⚠️ Leaving inline image of product {} in place: {}", id, e.getMessage());
+                        continue;
+                    }
+                    update.setLong(2, id);
+                    update.executeUpdate();
+                    moved++;
+                }
+            }
+        }
+        log.info("✅ Moved {} inline product images to the image store", moved);
+    }
+}
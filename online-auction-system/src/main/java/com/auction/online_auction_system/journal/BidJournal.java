@@ -0,0 +1,464 @@
+package com.auction.online_auction_system.journal;
+
+import com.auction.online_auction_system.engine.AcceptedBid;
+import com.auction.online_auction_system.engine.ProxyChange;
+import com.auction.online_auction_system.event.BidRejectedEvent;
+import com.auction.online_auction_system.exception.AuctionException;
+import com.auction.online_auction_system.exception.OwnershipLostException;
+import com.auction.online_auction_system.service.BidPersistenceService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind journal for accepted bids.
+ * <p>
+ * Order books append accepted bids here, together with the maximum-bid changes of the same resolution;
+ * each entry is first written to the local {@link BidWriteAheadLog} and then queued. A single flusher
+ * thread drains the queue and commits the entries in multi-row batches, whichever comes first of
+ * {@code batch-size} entries or {@code max-delay-ms}, then moves the WAL checkpoint.
+ * Because the WAL write and the enqueue happen under one lock and there is one flusher, queue order,
+ * LSN order and commit order are the same.
+ * <p>
+ * A full journal blocks the appending lane for up to {@code offer-timeout-ms} and then rejects the bid,
+ * which pushes back on bidders instead of growing memory while the database is behind.
+ * <p>
+ * A batch that keeps failing is retried {@code max-attempts} times and then written bid by bid. A bid that
+ * still cannot be written is failed and a {@link BidRejectedEvent} is published so its auction's book is
+ * reloaded. A bid the database refuses outright, with a {@link DataIntegrityViolationException}, is moved to
+ * the WAL's dead-letter file, since replaying it would only be refused again; a bid that failed for any other
+ * reason holds the checkpoint below it so it stays in the WAL until the next start. Bids fenced off with an
+ * {@link OwnershipLostException} because another node has claimed their auction are not retried and do not
+ * hold the checkpoint: they can never be written.
+ * <p>
+ * On startup, bids that reached the WAL but not the database are replayed before new bids are taken.
+ * Replayed bids the database refuses outright are dead-lettered; those that are fenced off are logged and
+ * skipped.
+ */
+@Component
+@Slf4j
+public class BidJournal {
+
+    public enum DurabilityMode {
+        /** The bidder is answered only once the batch holding the bid has been committed. */
+        SYNC_ACK,
+        /** The bidder is answered as soon as the bid is queued; bids are committed in groups behind it. */
+        GROUP_COMMIT
+    }
+
+    private static final long MAX_BACKOFF_MS = 2000;
+
+    private final BidPersistenceService bidPersistenceService;
+    private final BidWriteAheadLog writeAheadLog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DurabilityMode mode;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long maxDelayNanos;
+    private final long offerTimeoutMs;
+    private final long ackTimeoutMs;
+
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Semaphore capacity;
+    private final Object appendLock = new Object();
+    private final AtomicLong appended = new AtomicLong();
+    private final Object flushMonitor = new Object();
+    private volatile long flushed;
+    private volatile boolean running;
+    private Thread flusher;
+    // Flusher-confined: the lowest LSN of a bid that could not be saved or dead-lettered, the checkpoint stays
+    // below it.
+    private long unsavedLsn = Long.MAX_VALUE;
+
+    public BidJournal(BidPersistenceService bidPersistenceService,
+                      BidWriteAheadLog writeAheadLog,
+                      ApplicationEventPublisher eventPublisher,
+                      @Value("${auction.bids.journal.mode:GROUP_COMMIT}") DurabilityMode mode,
+                      @Value("${auction.bids.journal.capacity:50000}") int capacity,
+                      @Value("${auction.bids.journal.batch-size:500}") int batchSize,
+                      @Value("${auction.bids.journal.max-delay-ms:5}") long maxDelayMs,
+                      @Value("${auction.bids.journal.max-attempts:5}") int maxAttempts,
+                      @Value("${auction.bids.journal.offer-timeout-ms:200}") long offerTimeoutMs,
+                      @Value("${auction.bids.journal.ack-timeout-ms:10000}") long ackTimeoutMs) {
+        this.bidPersistenceService = bidPersistenceService;
+        this.writeAheadLog = writeAheadLog;
+        this.eventPublisher = eventPublisher;
+        this.mode = mode;
+        this.batchSize = batchSize;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.ackTimeoutMs = ackTimeoutMs;
+        this.capacity = new Semaphore(capacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        recover();
+        running = true;
+        flusher = new Thread(this::flushLoop, "bid-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Bid journal started in {} mode (batch size {})", mode, batchSize);
+    }
+
+    /**
+     * Queues an accepted bid for persistence.
+     *
+     * @return a future completed with the database id once the bid has been committed
+     * @throws AuctionException if the journal stays full for longer than the offer timeout
+     */
+    public CompletableFuture<Long> append(AcceptedBid bid) {
+        return appendAll(List.of(bid), List.of()).get(0);
+    }
+
+    /**
+     * Appends the bids and maximum-bid changes of one resolution together: they are queued only once all of
+     * them are in the log, so a full journal or a log failure rejects all of them. Called from the auction's
+     * lane, so the changes of one auction are saved in the order its book made them.
+     *
+     * @return one future per bid, completed with its database id, followed by one per proxy change,
+     * completed with {@code null}
+     */
+    public List<CompletableFuture<Long>> appendAll(List<AcceptedBid> bids, List<ProxyChange> proxyChanges) {
+        int count = bids.size() + proxyChanges.size();
+        if (count == 0) {
+            return List.of();
+        }
+        try {
+            if (!capacity.tryAcquire(count, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new AuctionException("Too many bids are being processed, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuctionException("Interrupted while queueing bid", e);
+        }
+
+        List<CompletableFuture<Long>> committed = new ArrayList<>(count);
+        synchronized (appendLock) {
+            List<BidWriteAheadLog.WalRecord> records = new ArrayList<>(count);
+            try {
+                for (AcceptedBid bid : bids) {
+                    records.add(new BidWriteAheadLog.WalRecord(writeAheadLog.append(bid), bid, null));
+                }
+                for (ProxyChange change : proxyChanges) {
+                    records.add(new BidWriteAheadLog.WalRecord(writeAheadLog.append(change), null, change));
+                }
+            } catch (RuntimeException e) {
+                capacity.release(count);
+                throw new AuctionException("Bid could not be written to the log", e);
+            }
+            for (BidWriteAheadLog.WalRecord record : records) {
+                CompletableFuture<Long> future = new CompletableFuture<>();
+                queue.add(new Entry(record, future));
+                committed.add(future);
+            }
+        }
+        appended.addAndGet(count);
+        return committed;
+    }
+
+    /**
+     * Applies the configured durability mode to a bid returned by {@link #append}.
+     *
+     * @return the bid's database id in {@link DurabilityMode#SYNC_ACK} mode, {@code null} otherwise
+     */
+    public Long acknowledge(CompletableFuture<Long> committed) {
+        if (mode != DurabilityMode.SYNC_ACK) {
+            return null;
+        }
+        try {
+            return committed.get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new AuctionException("Bid was accepted but is not confirmed yet, please check the bid history");
+        } catch (ExecutionException e) {
+            throw new AuctionException("Bid could not be saved", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuctionException("Interrupted while waiting for bid confirmation", e);
+        }
+    }
+
+    /**
+     * Blocks until every bid appended before this call has been committed.
+     */
+    public void awaitFlushed() {
+        long target = appended.get();
+        synchronized (flushMonitor) {
+            while (flushed < target && running) {
+                try {
+                    flushMonitor.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new AuctionException("Interrupted while waiting for bid journal", e);
+                }
+            }
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void recover() {
+        List<BidWriteAheadLog.WalRecord> records = writeAheadLog.readUncheckpointed();
+        if (records.isEmpty()) {
+            return;
+        }
+        log.warn("⚠️ Replaying {} entries from the write-ahead log", records.size());
+
+        // Saved bids are recognised by their sequence; proxy changes are monotonic and are simply applied
+        // again, in log order.
+        List<BidWriteAheadLog.WalRecord> missing = new ArrayList<>();
+        Map<Long, Set<Long>> persistedSequences = new HashMap<>();
+        for (BidWriteAheadLog.WalRecord record : records) {
+            AcceptedBid bid = record.bid();
+            if (bid == null) {
+                missing.add(record);
+                continue;
+            }
+            Set<Long> persisted = persistedSequences.computeIfAbsent(bid.auctionId(),
+                    auctionId -> bidPersistenceService.findPersistedSequences(auctionId, bid.sequence()));
+            if (!persisted.contains(bid.sequence())) {
+                missing.add(record);
+            }
+        }
+
+        int skipped = 0;
+        for (int from = 0; from < missing.size(); from += batchSize) {
+            List<BidWriteAheadLog.WalRecord> batch = missing.subList(from, Math.min(from + batchSize, missing.size()));
+            try {
+                persist(batch);
+            } catch (DataIntegrityViolationException | OwnershipLostException e) {
+                skipped += recoverIndividually(batch);
+            }
+        }
+        writeAheadLog.checkpoint(records.get(records.size() - 1).lsn());
+        log.info("✅ Recovered {} entries from the write-ahead log ({} bids were already saved, {} were refused)",
+                missing.size() - skipped, records.size() - missing.size(), skipped);
+    }
+
+    /**
+     * Replays entries one by one, dead-lettering those the database refuses and skipping those fenced off by
+     * a newer owner of their auction. Any other failure still stops startup, since the entries are then still
+     * in the WAL for the next attempt, as does a refused entry that cannot be dead-lettered.
+     *
+     * @return the number of entries skipped
+     */
+    private int recoverIndividually(List<BidWriteAheadLog.WalRecord> records) {
+        int skipped = 0;
+        for (BidWriteAheadLog.WalRecord record : records) {
+            try {
+                persist(List.of(record));
+            } catch (DataIntegrityViolationException e) {
+                if (!writeAheadLog.deadLetter(record, e.getMessage())) {
+                    throw e;
+                }
+                skipped++;
+                log.error("❌ Moved replayed {} to the dead-letter file: {}", describe(record), e.getMessage());
+            } catch (OwnershipLostException e) {
+                skipped++;
+                log.error("❌ Skipping replayed {}: {}", describe(record), e.getMessage());
+            }
+        }
+        return skipped;
+    }
+
+    /**
+     * Saves bids and proxy changes in one transaction.
+     *
+     * @return the ids of the bids among {@code records}, in order
+     */
+    private List<Long> persist(List<BidWriteAheadLog.WalRecord> records) {
+        List<AcceptedBid> bids = new ArrayList<>(records.size());
+        List<ProxyChange> proxyChanges = new ArrayList<>();
+        for (BidWriteAheadLog.WalRecord record : records) {
+            if (record.bid() != null) {
+                bids.add(record.bid());
+            } else {
+                proxyChanges.add(record.proxyChange());
+            }
+        }
+        return bidPersistenceService.persistBatch(bids, proxyChanges);
+    }
+
+    private static String describe(BidWriteAheadLog.WalRecord record) {
+        if (record.bid() != null) {
+            AcceptedBid bid = record.bid();
+            return String.format("bid of $%s on auction %d by user %d (sequence %d)",
+                    bid.bidAmount(), bid.auctionId(), bid.userId(), bid.sequence());
+        }
+        ProxyChange change = record.proxyChange();
+        return String.format("maximum bid %s to $%s on auction %d by user %d (sequence %d)",
+                change.kind(), change.amount(), change.auctionId(), change.userId(), change.sequence());
+    }
+
+    private void flushLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // Interrupted during shutdown: stop taking new work but drain what is queued.
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fillBatch(List<Entry> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Entry> batch) {
+        List<BidWriteAheadLog.WalRecord> records = batch.stream().map(Entry::record).toList();
+        int attempt = 0;
+
+        while (true) {
+            try {
+                complete(batch, persist(records));
+                break;
+            } catch (DataIntegrityViolationException e) {
+                // Retrying the batch cannot succeed; isolate the offending bids instead.
+                log.error("❌ Bid batch of {} rejected by the database, writing bids one by one", batch.size(), e);
+                flushIndividually(batch);
+                break;
+            } catch (OwnershipLostException e) {
+                log.warn("⚠️ Bid batch of {} fenced off, writing bids one by one: {}",
+                        batch.size(), e.getMessage());
+                flushIndividually(batch);
+                break;
+            } catch (RuntimeException e) {
+                attempt++;
+                if (attempt >= maxAttempts) {
+                    // One bad row must not stall every auction behind it.
+                    log.error("❌ Failed to persist {} bids after {} attempts, writing bids one by one: {}",
+                            batch.size(), attempt, e.getMessage());
+                    flushIndividually(batch);
+                    break;
+                }
+                long backoff = Math.min(MAX_BACKOFF_MS, 50L << Math.min(attempt, 6));
+                log.error("❌ Failed to persist {} bids (attempt {}), retrying in {} ms: {}",
+                        batch.size(), attempt, backoff, e.getMessage());
+                if (!sleep(backoff)) {
+                    // Settle every entry, as draining would, so its future, capacity and checkpoint are not leaked.
+                    log.warn("⚠️ Interrupted while retrying {} bids, writing bids one by one", batch.size());
+                    flushIndividually(batch);
+                    break;
+                }
+            }
+        }
+
+        writeAheadLog.checkpoint(Math.min(batch.get(batch.size() - 1).record().lsn(), unsavedLsn - 1));
+        capacity.release(batch.size());
+        synchronized (flushMonitor) {
+            flushed += batch.size();
+            flushMonitor.notifyAll();
+        }
+    }
+
+    private void flushIndividually(List<Entry> batch) {
+        for (Entry entry : batch) {
+            try {
+                complete(List.of(entry), persist(List.of(entry.record())));
+            } catch (RuntimeException e) {
+                reject(entry, e);
+            }
+        }
+    }
+
+    // Bids get their ids in order; proxy changes have none.
+    private static void complete(List<Entry> entries, List<Long> bidIds) {
+        int next = 0;
+        for (Entry entry : entries) {
+            entry.committed().complete(entry.record().bid() != null ? bidIds.get(next++) : null);
+        }
+    }
+
+    /**
+     * Fails an entry that could not be saved. One the database refused is dead-lettered; otherwise, unless it
+     * was fenced off, it stays in the WAL so the next start replays it. Its auction's book is reloaded, or
+     * evicted if this node no longer owns the auction, since the book still counts it.
+     */
+    private void reject(Entry entry, RuntimeException cause) {
+        BidWriteAheadLog.WalRecord record = entry.record();
+        log.error("❌ Could not save {}, reloading its book: {}", describe(record), cause.getMessage());
+        boolean settled = cause instanceof OwnershipLostException
+                || cause instanceof DataIntegrityViolationException
+                && writeAheadLog.deadLetter(record, cause.getMessage());
+        if (!settled && record.lsn() < unsavedLsn) {
+            unsavedLsn = record.lsn();
+            log.warn("⚠️ WAL checkpoint held at LSN {} until restart", unsavedLsn - 1);
+        }
+        entry.committed().completeExceptionally(cause);
+        Long auctionId = record.bid() != null ? record.bid().auctionId() : record.proxyChange().auctionId();
+        long sequence = record.bid() != null ? record.bid().sequence() : record.proxyChange().sequence();
+        try {
+            eventPublisher.publishEvent(new BidRejectedEvent(auctionId, sequence,
+                    cause instanceof OwnershipLostException));
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to reload the book of auction {}: {}", auctionId, e.getMessage(), e);
+        }
+    }
+
+    // Interrupted during shutdown: like the flush loop, stop taking new work but leave the thread free of the
+    // interrupt so the database calls that drain what is queued are not cut short.
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            running = false;
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+        if (!queue.isEmpty()) {
+            log.warn("⚠️ Bid journal stopped with {} bids not persisted", queue.size());
+        }
+    }
+
+    private record Entry(BidWriteAheadLog.WalRecord record, CompletableFuture<Long> committed) {
+    }
+}
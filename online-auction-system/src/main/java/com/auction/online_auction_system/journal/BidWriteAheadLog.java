@@ -0,0 +1,380 @@
+package com.auction.online_auction_system.journal;
+
+import com.auction.online_auction_system.engine.AcceptedBid;
+import com.auction.online_auction_system.engine.ProxyChange;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Local append-only log of accepted bids and the maximum-bid changes made with them, written before the
+ * bidder is answered.
+ * <p>
+ * Records are fixed-size and appended to memory-mapped segment files ({@code bids-<first lsn>.wal}) that
+ * are rotated when full. Every record gets a log sequence number (LSN); once the {@link BidJournal} has
+ * committed a batch it moves the checkpoint forward and segments that only hold checkpointed records are
+ * deleted. On startup everything after the checkpoint is handed back for replay.
+ * <p>
+ * Record layout: {@code length:int, crc32c:int, lsn:long, auctionId:long, userId:long, sequence:long,
+ * epochSecond:long, nano:int, amountUnscaled:long, amountScale:int, ownerEpoch:long, endEpochSecond:long,
+ * endNano:int}, where the end time is the auction's end time after a bid and unused by other kinds. A zero
+ * length marks the end of a segment; a CRC mismatch marks a torn write and is treated the same way. The upper half of the
+ * length holds the record kind: 0 for a bid, otherwise a {@link ProxyChange.Kind} whose amount is the new
+ * maximum or the overtaking price. The checksum covers the payload and the kind.
+ * <p>
+ * Entries the database refuses outright are moved to {@code dead-letter.log} next to the segments, one line
+ * each, so they no longer hold the checkpoint back but can still be inspected and entered by hand.
+ */
+@Component
+@Slf4j
+public class BidWriteAheadLog {
+
+    public enum FsyncPolicy {
+        /** Force every record to disk before returning from {@link #append}. */
+        EVERY_WRITE,
+        /** Force the active segment on a fixed interval; a crash can lose that interval's bids. */
+        INTERVAL,
+        /** Leave flushing to the operating system; survives process crashes but not power loss. */
+        NONE
+    }
+
+    private static final int PAYLOAD_SIZE = 8 + 8 + 8 + 8 + 8 + 4 + 8 + 4 + 8 + 8 + 4;
+    private static final int HEADER_SIZE = 4 + 4;
+    static final int RECORD_SIZE = HEADER_SIZE + PAYLOAD_SIZE;
+    private static final String SEGMENT_PREFIX = "bids-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String DEAD_LETTER_FILE = "dead-letter.log";
+    private static final int KIND_BID = 0;
+    private static final int KIND_PROXY_RAISED = 1;
+    private static final int KIND_PROXY_EXHAUSTED = 2;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+
+    private final List<Segment> segments = new ArrayList<>();
+    private final ByteBuffer scratch = ByteBuffer.allocate(PAYLOAD_SIZE);
+    private final CRC32C crc = new CRC32C();
+    private MappedByteBuffer active;
+    private long nextLsn;
+    private volatile long checkpointLsn;
+    private ScheduledExecutorService syncer;
+
+    public BidWriteAheadLog(@Value("${auction.bids.wal.dir:data/wal}") String directory,
+                            @Value("${auction.bids.wal.segment-size-mb:64}") int segmentSizeMb,
+                            @Value("${auction.bids.wal.fsync:INTERVAL}") FsyncPolicy fsyncPolicy,
+                            @Value("${auction.bids.wal.fsync-interval-ms:10}") long fsyncIntervalMs) throws IOException {
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSizeMb * 1024 * 1024 / RECORD_SIZE * RECORD_SIZE;
+        this.fsyncPolicy = fsyncPolicy;
+
+        Files.createDirectories(this.directory);
+        this.checkpointLsn = readCheckpoint();
+        open();
+
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "bid-wal-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            syncer.scheduleWithFixedDelay(this::force, fsyncIntervalMs, fsyncIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        log.info("Bid WAL opened at {} (next LSN {}, checkpoint {}, fsync {})",
+                this.directory.toAbsolutePath(), nextLsn, checkpointLsn, fsyncPolicy);
+    }
+
+    /**
+     * Appends a bid and applies the fsync policy.
+     *
+     * @return the record's LSN
+     */
+    public synchronized long append(AcceptedBid bid) {
+        return append(KIND_BID, bid.auctionId(), bid.userId(), bid.sequence(), bid.acceptedAt(), bid.bidAmount(),
+                bid.ownerEpoch(), bid.endTime());
+    }
+
+    /**
+     * Appends a maximum-bid change and applies the fsync policy.
+     *
+     * @return the record's LSN
+     */
+    public synchronized long append(ProxyChange change) {
+        int kind = change.kind() == ProxyChange.Kind.RAISED ? KIND_PROXY_RAISED : KIND_PROXY_EXHAUSTED;
+        return append(kind, change.auctionId(), change.userId(), change.sequence(), change.changedAt(),
+                change.amount(), change.ownerEpoch(), change.changedAt());
+    }
+
+    private long append(int kind, long auctionId, long userId, long sequence, LocalDateTime at, BigDecimal amount,
+                        long ownerEpoch, LocalDateTime endTime) {
+        if (active.remaining() < RECORD_SIZE) {
+            rotate();
+        }
+        long lsn = nextLsn++;
+
+        scratch.clear();
+        scratch.putLong(lsn)
+                .putLong(auctionId)
+                .putLong(userId)
+                .putLong(sequence)
+                .putLong(at.toEpochSecond(ZoneOffset.UTC))
+                .putInt(at.getNano())
+                .putLong(amount.unscaledValue().longValueExact())
+                .putInt(amount.scale())
+                .putLong(ownerEpoch)
+                .putLong(endTime.toEpochSecond(ZoneOffset.UTC))
+                .putInt(endTime.getNano());
+
+        int start = active.position();
+        active.putInt(RECORD_SIZE | kind << 16)
+                .putInt(checksum(crc, scratch.array(), kind))
+                .put(scratch.array(), 0, PAYLOAD_SIZE);
+
+        if (fsyncPolicy == FsyncPolicy.EVERY_WRITE) {
+            active.force(start, RECORD_SIZE);
+        }
+        return lsn;
+    }
+
+    /**
+     * Records that every entry up to and including {@code lsn} has been committed to the database and
+     * deletes segments that no longer hold anything newer.
+     */
+    public void checkpoint(long lsn) {
+        if (lsn <= checkpointLsn) {
+            return;
+        }
+        try {
+            Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(ByteBuffer.allocate(8).putLong(0, lsn));
+                channel.force(true);
+            }
+            Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            checkpointLsn = lsn;
+        } catch (IOException e) {
+            log.error("❌ Failed to write WAL checkpoint {}: {}", lsn, e.getMessage());
+            return;
+        }
+        deleteCheckpointedSegments(lsn);
+    }
+
+    /**
+     * Appends a record the database refused to the dead-letter file and forces it to disk.
+     *
+     * @return {@code false} if the file could not be written, in which case the record must stay in the log
+     */
+    public synchronized boolean deadLetter(WalRecord record, String reason) {
+        Object entry = record.bid() != null ? record.bid() : record.proxyChange();
+        String line = String.format("%s lsn=%d %s: %s%n", LocalDateTime.now(), record.lsn(), entry,
+                String.valueOf(reason).replaceAll("\\R", " "));
+        try (FileChannel channel = FileChannel.open(directory.resolve(DEAD_LETTER_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+            channel.force(true);
+            return true;
+        } catch (IOException e) {
+            log.error("❌ Failed to write WAL record {} to the dead-letter file: {}", record.lsn(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reads every intact record written after the checkpoint, in LSN order.
+     */
+    public synchronized List<WalRecord> readUncheckpointed() {
+        List<WalRecord> records = new ArrayList<>();
+        for (Segment segment : segments) {
+            scan(segment.path(), record -> {
+                if (record.lsn() > checkpointLsn) {
+                    records.add(record);
+                }
+            });
+        }
+        return records;
+    }
+
+    public long getCheckpointLsn() {
+        return checkpointLsn;
+    }
+
+    private void open() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        long lastLsn = checkpointLsn;
+        int lastEnd = 0;
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long firstLsn = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            segments.add(new Segment(firstLsn, file));
+
+            long[] last = {lastLsn};
+            lastEnd = scan(file, record -> last[0] = Math.max(last[0], record.lsn()));
+            lastLsn = last[0];
+        }
+        nextLsn = lastLsn + 1;
+
+        if (segments.isEmpty()) {
+            active = createSegment(nextLsn);
+        } else {
+            active = map(segments.get(segments.size() - 1).path());
+            active.position(lastEnd);
+        }
+    }
+
+    private void rotate() {
+        active.force();
+        active = createSegment(nextLsn);
+    }
+
+    private MappedByteBuffer createSegment(long firstLsn) {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstLsn, SEGMENT_SUFFIX));
+        segments.add(new Segment(firstLsn, path));
+        log.debug("Opened WAL segment {}", path.getFileName());
+        return map(path);
+    }
+
+    private MappedByteBuffer map(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map WAL segment " + path, e);
+        }
+    }
+
+    /**
+     * Feeds every intact record of a segment to the consumer.
+     *
+     * @return the byte offset just after the last intact record
+     */
+    private int scan(Path path, java.util.function.Consumer<WalRecord> consumer) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32C check = new CRC32C();
+            byte[] payload = new byte[PAYLOAD_SIZE];
+
+            while (buffer.remaining() >= RECORD_SIZE) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                int expectedCrc = buffer.getInt();
+                int kind = length >>> 16;
+                if ((length & 0xffff) != RECORD_SIZE || kind > KIND_PROXY_EXHAUSTED) {
+                    return start;
+                }
+                buffer.get(payload);
+                if (checksum(check, payload, kind) != expectedCrc) {
+                    log.warn("⚠️ Torn WAL record at {}:{}, ignoring the rest of the segment", path.getFileName(), start);
+                    return start;
+                }
+                consumer.accept(decode(kind, ByteBuffer.wrap(payload)));
+            }
+            return buffer.position();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read WAL segment " + path, e);
+        }
+    }
+
+    private static int checksum(CRC32C crc, byte[] payload, int kind) {
+        crc.reset();
+        crc.update(payload, 0, PAYLOAD_SIZE);
+        crc.update(kind);
+        return (int) crc.getValue();
+    }
+
+    private WalRecord decode(int kind, ByteBuffer payload) {
+        long lsn = payload.getLong();
+        long auctionId = payload.getLong();
+        long userId = payload.getLong();
+        long sequence = payload.getLong();
+        LocalDateTime at = LocalDateTime.ofEpochSecond(payload.getLong(), payload.getInt(), ZoneOffset.UTC);
+        BigDecimal amount = BigDecimal.valueOf(payload.getLong(), payload.getInt());
+        long ownerEpoch = payload.getLong();
+        LocalDateTime endTime = LocalDateTime.ofEpochSecond(payload.getLong(), payload.getInt(), ZoneOffset.UTC);
+        if (kind == KIND_BID) {
+            return new WalRecord(lsn,
+                    new AcceptedBid(auctionId, userId, null, amount, null, sequence, at, endTime, ownerEpoch), null);
+        }
+        ProxyChange.Kind changeKind = kind == KIND_PROXY_RAISED ? ProxyChange.Kind.RAISED : ProxyChange.Kind.EXHAUSTED;
+        return new WalRecord(lsn, null,
+                new ProxyChange(changeKind, auctionId, userId, amount, null, sequence, at, ownerEpoch));
+    }
+
+    private synchronized void deleteCheckpointedSegments(long lsn) {
+        // A segment can go once the next segment starts at or before the first un-checkpointed LSN.
+        while (segments.size() > 1 && segments.get(1).firstLsn() <= lsn + 1) {
+            Segment segment = segments.remove(0);
+            try {
+                Files.deleteIfExists(segment.path());
+                log.debug("Deleted checkpointed WAL segment {}", segment.path().getFileName());
+            } catch (IOException e) {
+                log.warn("⚠️ Could not delete WAL segment {}: {}", segment.path(), e.getMessage());
+            }
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(file)).getLong();
+    }
+
+    private void force() {
+        MappedByteBuffer buffer;
+        synchronized (this) {
+            buffer = active;
+        }
+        buffer.force();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (syncer != null) {
+            syncer.shutdown();
+        }
+        force();
+    }
+
+    /**
+     * One logged entry: either {@code bid} or {@code proxyChange} is set.
+     */
+    public record WalRecord(long lsn, AcceptedBid bid, ProxyChange proxyChange) {
+    }
+
+    private record Segment(long firstLsn, Path path) {
+    }
+}
@@ -2,14 +2,23 @@ package com.auction.online_auction_system.repository;
 
 import com.auction.online_auction_system.entity.Auction;
 import com.auction.online_auction_system.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Repository
@@ -27,9 +36,114 @@ public interface AuctionRepository extends JpaRepository<Auction, Long> {
 
     List<Auction> findByProduct(Product product);
 
-    @Query("SELECT a FROM Auction a WHERE a.status = 'LIVE' ORDER BY a.endTime ASC")
+    @Query("SELECT a FROM Auction a JOIN FETCH a.product LEFT JOIN FETCH a.winner " +
+            "WHERE a.status = 'LIVE' ORDER BY a.endTime ASC")
     List<Auction> findAllLiveAuctions();
 
+    // The *WithDetails queries fetch everything AuctionDTO.fromEntity reads, so a listing is a single query.
+    @Query("SELECT a FROM Auction a JOIN FETCH a.product LEFT JOIN FETCH a.winner")
+    List<Auction> findAllWithDetails();
+
+    @Query("SELECT a FROM Auction a JOIN FETCH a.product LEFT JOIN FETCH a.winner WHERE a.status = :status")
+    List<Auction> findByStatusWithDetails(@Param("status") Auction.AuctionStatus status);
+
+    @Query("SELECT a FROM Auction a JOIN FETCH a.product LEFT JOIN FETCH a.winner WHERE a.id = :id")
+    Optional<Auction> findWithDetailsById(@Param("id") Long id);
+
+    // Keyset pages ordered by (endTime, id); pass the page size plus one to learn whether more follow.
+    @Query("SELECT a FROM Auction a JOIN FETCH a.product LEFT JOIN FETCH a.winner " +
+            "WHERE (:status IS NULL OR a.status = :status) ORDER BY a.endTime ASC, a.id ASC")
+    List<Auction> findFirstPage(@Param("status") Auction.AuctionStatus status, Pageable pageable);
+
+    @Query("SELECT a FROM Auction a JOIN FETCH a.product LEFT JOIN FETCH a.winner " +
+            "WHERE (:status IS NULL OR a.status = :status) " +
+            "AND (a.endTime > :endTime OR (a.endTime = :endTime AND a.id > :id)) " +
+            "ORDER BY a.endTime ASC, a.id ASC")
+    List<Auction> findPageAfter(@Param("status") Auction.AuctionStatus status,
+                                @Param("endTime") LocalDateTime endTime, @Param("id") Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamHints.FETCH_SIZE))
+    @Query("SELECT a FROM Auction a JOIN FETCH a.product LEFT JOIN FETCH a.winner " +
+            "WHERE (:status IS NULL OR a.status = :status) ORDER BY a.endTime ASC, a.id ASC")
+    Stream<Auction> streamAll(@Param("status") Auction.AuctionStatus status);
+
     @Query("SELECT a FROM Auction a WHERE a.status = 'COMPLETED' ORDER BY a.endTime DESC")
     List<Auction> findAllCompletedAuctions();
+
+    /**
+     * Adds {@code count} newly written bids to the auction's bid count, raises its price to {@code amount}
+     * and moves its end time to {@code endTime} if a soft-close extension pushed it back; neither ever moves
+     * the other way.
+     */
+    @Modifying
+    @Query("UPDATE Auction a SET a.bidCount = a.bidCount + :count, " +
+            "a.currentBid = CASE WHEN a.currentBid IS NULL OR a.currentBid < :amount " +
+            "THEN :amount ELSE a.currentBid END, " +
+            "a.endTime = CASE WHEN a.endTime < :endTime THEN :endTime ELSE a.endTime END, " +
+            "a.version = a.version + 1 WHERE a.id = :auctionId")
+    int recordBids(@Param("auctionId") Long auctionId, @Param("amount") BigDecimal amount,
+                   @Param("count") int count, @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * Makes the caller the auction's owner by moving its owner epoch on, which fences off every node that
+     * claimed it before. Increment and read happen in one transaction, so two claims never get the same epoch.
+     *
+     * @return the new owner epoch, or empty if there is no such auction
+     */
+    @Transactional
+    default Optional<Long> claimOwnership(Long auctionId) {
+        if (incrementOwnerEpoch(auctionId) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(findOwnerEpoch(auctionId));
+    }
+
+    @Modifying
+    @Query("UPDATE Auction a SET a.ownerEpoch = a.ownerEpoch + 1, a.version = a.version + 1 WHERE a.id = :auctionId")
+    int incrementOwnerEpoch(@Param("auctionId") Long auctionId);
+
+    @Query("SELECT a.ownerEpoch FROM Auction a WHERE a.id = :auctionId")
+    long findOwnerEpoch(@Param("auctionId") Long auctionId);
+
+    /**
+     * Locks the auction's row for the rest of the transaction if {@code ownerEpoch} is still its owner epoch,
+     * so a concurrent claim waits until the caller's writes are committed.
+     *
+     * @return 0 if another node has claimed the auction since
+     */
+    @Modifying
+    @Query("UPDATE Auction a SET a.ownerEpoch = a.ownerEpoch WHERE a.id = :auctionId AND a.ownerEpoch = :ownerEpoch")
+    int fence(@Param("auctionId") Long auctionId, @Param("ownerEpoch") long ownerEpoch);
+
+    @Modifying
+    @Query("UPDATE Auction a SET a.status = 'LIVE', a.version = a.version + 1 WHERE a.id = :auctionId AND a.status = 'SCHEDULED'")
+    int markLive(@Param("auctionId") Long auctionId);
+
+    @Query("SELECT a.id AS id, a.status AS status, a.startTime AS startTime, a.endTime AS endTime " +
+            "FROM Auction a WHERE a.status IN ('SCHEDULED', 'LIVE')")
+    List<ScheduleView> findPendingSchedules();
+
+    @Query("SELECT a.id FROM Auction a WHERE a.status = 'LIVE' AND a.endTime <= :now")
+    List<Long> findAuctionIdsToEnd(@Param("now") LocalDateTime now);
+
+    @Query("SELECT a.id AS id, a.product.id AS productId FROM Auction a " +
+            "WHERE a.id IN :auctionIds AND a.status = 'LIVE' AND a.endTime <= :now")
+    List<CompletionCandidate> findCompletionCandidates(@Param("auctionIds") Collection<Long> auctionIds,
+                                                       @Param("now") LocalDateTime now);
+
+    interface CompletionCandidate {
+        Long getId();
+
+        Long getProductId();
+    }
+
+    interface ScheduleView {
+        Long getId();
+
+        Auction.AuctionStatus getStatus();
+
+        LocalDateTime getStartTime();
+
+        LocalDateTime getEndTime();
+    }
 }
\ No newline at end of file
@@ -1,31 +1,106 @@
 package com.auction.online_auction_system.repository;
 
+import com.auction.online_auction_system.dto.BidDTO;
 import com.auction.online_auction_system.entity.Auction;
 import com.auction.online_auction_system.entity.Bid;
 import com.auction.online_auction_system.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BidRepository extends JpaRepository<Bid, Long> {
 
-    List<Bid> findByAuctionOrderByBidAmountDesc(Auction auction);
+    // Bid history is read as BidDTO projections joining users once, so no Bid or User entity is loaded. The
+    // columns follow the parameters of BidDTO's constructor.
+    String BID_DTO = "SELECT new com.auction.online_auction_system.dto.BidDTO("
+            + "b.id, b.auction.id, u.id, u.username, b.bidAmount, b.isWinning, b.bidTime, b.ipAddress) "
+            + "FROM Bid b JOIN b.user u ";
 
-    List<Bid> findByUserOrderByBidTimeDesc(User user);
+    // An auction's history is keyed on (bidAmount DESC, id DESC), a user's on (bidTime DESC, id DESC). Both keys
+    // are indexed. A maximum bid answering a bid at its own amount writes a second bid at that amount, and the
+    // later one leads, so among equal amounts the later bid comes first.
+    @Query(BID_DTO + "WHERE b.auction.id = :auctionId ORDER BY b.bidAmount DESC, b.id DESC")
+    List<BidDTO> findFirstPageByAuction(@Param("auctionId") Long auctionId, Pageable pageable);
 
-    @Query("SELECT b FROM Bid b WHERE b.auction = :auction ORDER BY b.bidAmount DESC LIMIT 1")
-    Optional<Bid> findHighestBidForAuction(@Param("auction") Auction auction);
+    @Query(BID_DTO + "WHERE b.auction.id = :auctionId "
+            + "AND (b.bidAmount < :amount OR (b.bidAmount = :amount AND b.id < :id)) "
+            + "ORDER BY b.bidAmount DESC, b.id DESC")
+    List<BidDTO> findPageByAuctionAfter(@Param("auctionId") Long auctionId, @Param("amount") BigDecimal amount,
+                                        @Param("id") Long id, Pageable pageable);
+
+    @Query(BID_DTO + "WHERE u.id = :userId ORDER BY b.bidTime DESC, b.id DESC")
+    List<BidDTO> findFirstPageByUser(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(BID_DTO + "WHERE u.id = :userId "
+            + "AND (b.bidTime < :bidTime OR (b.bidTime = :bidTime AND b.id < :id)) "
+            + "ORDER BY b.bidTime DESC, b.id DESC")
+    List<BidDTO> findPageByUserAfter(@Param("userId") Long userId, @Param("bidTime") LocalDateTime bidTime,
+                                     @Param("id") Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamHints.FETCH_SIZE))
+    @Query(BID_DTO + "WHERE b.auction.id = :auctionId ORDER BY b.bidAmount DESC, b.id DESC")
+    Stream<BidDTO> streamByAuction(@Param("auctionId") Long auctionId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamHints.FETCH_SIZE))
+    @Query(BID_DTO + "WHERE u.id = :userId ORDER BY b.bidTime DESC, b.id DESC")
+    Stream<BidDTO> streamByUser(@Param("userId") Long userId);
+
+    // The leading bid is the last one the book accepted at the highest amount. Ids are allocated in blocks per
+    // node, so the auction's sequence decides; rows written before sequences existed are older than any other.
+    String LEADER_ORDER = "ORDER BY b.bidAmount DESC, b.sequence DESC NULLS LAST, b.id DESC ";
+
+    @Query(BID_DTO + "WHERE b.auction.id = :auctionId " + LEADER_ORDER + "LIMIT 1")
+    Optional<BidDTO> findHighestByAuction(@Param("auctionId") Long auctionId);
 
     @Query(value = "SELECT COUNT(*) FROM bids WHERE auction_id = :auctionId", nativeQuery = true)
     long countByAuction(@Param("auctionId") Long auctionId);
 
     boolean existsByAuctionAndUser(Auction auction, User user);
 
-    @Query("SELECT b FROM Bid b WHERE b.auction.id = :auctionId ORDER BY b.bidTime DESC")
-    List<Bid> findRecentBidsByAuction(@Param("auctionId") Long auctionId);
+    @Query("SELECT b FROM Bid b JOIN FETCH b.user WHERE b.auction.id = :auctionId " + LEADER_ORDER + "LIMIT 1")
+    Optional<Bid> findTopBidWithUser(@Param("auctionId") Long auctionId);
+
+    @Query("SELECT b.sequence FROM Bid b WHERE b.auction.id = :auctionId AND b.sequence >= :fromSequence")
+    List<Long> findSequencesFrom(@Param("auctionId") Long auctionId, @Param("fromSequence") long fromSequence);
+
+    @Query("SELECT COALESCE(MAX(b.sequence), 0) FROM Bid b WHERE b.auction.id = :auctionId")
+    long findMaxSequence(@Param("auctionId") Long auctionId);
+
+    @Query(value = "SELECT DISTINCT ON (b.auction_id) b.auction_id AS \"auctionId\", b.id AS \"bidId\", " +
+            "b.user_id AS \"userId\", b.bid_amount AS \"bidAmount\" FROM bids b WHERE b.auction_id IN (:auctionIds) " +
+            "ORDER BY b.auction_id, b.bid_amount DESC, b.auction_sequence DESC NULLS LAST, b.id DESC",
+            nativeQuery = true)
+    List<TopBidView> findTopBidsForAuctions(@Param("auctionIds") Collection<Long> auctionIds);
+
+    @Modifying
+    @Query("UPDATE Bid b SET b.isWinning = true WHERE b.id IN :bidIds")
+    int markWinning(@Param("bidIds") Collection<Long> bidIds);
+
+    @Modifying
+    @Query("UPDATE Bid b SET b.isWinning = false WHERE b.auction.id = :auctionId AND b.isWinning = true")
+    int clearWinningFlag(@Param("auctionId") Long auctionId);
+
+    interface TopBidView {
+        Long getAuctionId();
+
+        Long getBidId();
+
+        Long getUserId();
+
+        BigDecimal getBidAmount();
+    }
 }
\ No newline at end of file
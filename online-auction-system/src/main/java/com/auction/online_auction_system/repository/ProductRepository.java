@@ -2,12 +2,21 @@ package com.auction.online_auction_system.repository;
 
 import com.auction.online_auction_system.entity.Product;
 import com.auction.online_auction_system.entity.User;
+import com.auction.online_auction_system.search.ProductDocument;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Repository
@@ -26,4 +35,36 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     @Query("SELECT p FROM Product p WHERE p.status = :status ORDER BY p.createdAt DESC")
     List<Product> findByStatusOrderByCreatedAtDesc(@Param("status") Product.ProductStatus status);
+
+    // Keyset pages ordered by id; a null status or category matches every product.
+    @Query("SELECT p FROM Product p JOIN FETCH p.seller WHERE p.id > :afterId " +
+            "AND (:status IS NULL OR p.status = :status) AND (:category IS NULL OR p.category = :category) " +
+            "ORDER BY p.id ASC")
+    List<Product> findPageAfter(@Param("afterId") long afterId, @Param("status") Product.ProductStatus status,
+                                @Param("category") String category, Pageable pageable);
+
+    @Query("SELECT p FROM Product p JOIN FETCH p.seller WHERE p.id IN :ids")
+    List<Product> findAllWithSellerById(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamHints.FETCH_SIZE))
+    @Query("SELECT p FROM Product p JOIN FETCH p.seller ORDER BY p.id ASC")
+    Stream<Product> streamAll();
+
+    @Query("SELECT new com.auction.online_auction_system.search.ProductDocument("
+            + "p.id, p.name, p.description, p.category, p.status) FROM Product p WHERE p.id = :id")
+    Optional<ProductDocument> findDocument(@Param("id") Long id);
+
+    @Query("SELECT new com.auction.online_auction_system.search.ProductDocument("
+            + "p.id, p.name, p.description, p.category, p.status) "
+            + "FROM Auction a JOIN a.product p WHERE a.id = :auctionId")
+    Optional<ProductDocument> findDocumentByAuctionId(@Param("auctionId") Long auctionId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamHints.FETCH_SIZE))
+    @Query("SELECT new com.auction.online_auction_system.search.ProductDocument("
+            + "p.id, p.name, p.description, p.category, p.status) FROM Product p")
+    Stream<ProductDocument> streamDocuments();
+
+    @Modifying
+    @Query("UPDATE Product p SET p.status = :status WHERE p.id IN :productIds")
+    int updateStatus(@Param("productIds") Collection<Long> productIds, @Param("status") Product.ProductStatus status);
 }
\ No newline at end of file
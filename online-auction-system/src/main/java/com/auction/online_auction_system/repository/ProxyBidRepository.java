@@ -0,0 +1,47 @@
+package com.auction.online_auction_system.repository;
+
+import com.auction.online_auction_system.entity.ProxyBid;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+
+@Repository
+public interface ProxyBidRepository extends JpaRepository<ProxyBid, Long> {
+
+    @Query("SELECT p FROM ProxyBid p JOIN FETCH p.user " +
+            "WHERE p.auction.id = :auctionId AND p.active = true AND p.maxAmount > :price " +
+            "ORDER BY p.placedAt ASC, p.id ASC")
+    List<ProxyBid> findActiveAbove(@Param("auctionId") Long auctionId, @Param("price") BigDecimal price);
+
+    // Only ever raises a maximum, so concurrent or replayed submissions cannot lower it. placed_at is the order a
+    // reloaded book breaks ties in: only the leader's maximum stays active between bids, and the book keeps the
+    // leader's place when they raise it, so an active row keeps its time and a reactivated one starts anew.
+    @Modifying
+    @Query(value = "INSERT INTO proxy_bids (auction_id, user_id, max_amount, active, ip_address, placed_at) " +
+            "VALUES (:auctionId, :userId, :maxAmount, true, :ipAddress, :placedAt) " +
+            "ON CONFLICT (auction_id, user_id) DO UPDATE SET max_amount = EXCLUDED.max_amount, active = true, " +
+            "ip_address = EXCLUDED.ip_address, " +
+            "placed_at = CASE WHEN proxy_bids.active THEN proxy_bids.placed_at ELSE EXCLUDED.placed_at END " +
+            "WHERE proxy_bids.max_amount < EXCLUDED.max_amount OR NOT proxy_bids.active",
+            nativeQuery = true)
+    int raiseMaximum(@Param("auctionId") Long auctionId,
+                     @Param("userId") Long userId,
+                     @Param("maxAmount") BigDecimal maxAmount,
+                     @Param("ipAddress") String ipAddress,
+                     @Param("placedAt") LocalDateTime placedAt);
+
+    @Modifying
+    @Query("UPDATE ProxyBid p SET p.active = false " +
+            "WHERE p.auction.id = :auctionId AND p.user.id IN :userIds AND p.maxAmount <= :price")
+    int deactivateExhausted(@Param("auctionId") Long auctionId,
+                            @Param("userIds") Collection<Long> userIds,
+                            @Param("price") BigDecimal price);
+}
@@ -0,0 +1,20 @@
+package com.auction.online_auction_system.repository;
+
+/**
+ * Settings shared by the repositories' {@code Stream} queries used for exports.
+ */
+public final class StreamHints {
+
+    /**
+     * Rows the JDBC driver fetches per round trip. PostgreSQL only honours it inside a transaction.
+     */
+    public static final String FETCH_SIZE = "500";
+
+    /**
+     * How many streamed rows an export maps before it clears the persistence context.
+     */
+    public static final int CLEAR_INTERVAL = 500;
+
+    private StreamHints() {
+    }
+}
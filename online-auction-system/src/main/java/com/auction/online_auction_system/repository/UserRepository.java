@@ -1,12 +1,19 @@
 package com.auction.online_auction_system.repository;
 
 import com.auction.online_auction_system.entity.User;
+import com.auction.online_auction_system.security.AccountNames;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Repository
@@ -26,4 +33,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT u FROM User u WHERE u.isActive = true ORDER BY u.createdAt DESC")
     List<User> findAllActiveUsers();
+
+    @Query("SELECT u FROM User u WHERE u.id > :afterId ORDER BY u.id ASC")
+    List<User> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamHints.FETCH_SIZE))
+    @Query("SELECT u FROM User u ORDER BY u.id ASC")
+    Stream<User> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamHints.FETCH_SIZE))
+    @Query("SELECT new com.auction.online_auction_system.security.AccountNames(u.username, u.email) FROM User u")
+    Stream<AccountNames> streamAccountNames();
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.auction.online_auction_system.scheduler;
+
+import com.auction.online_auction_system.cluster.ClusterEventBus;
+import com.auction.online_auction_system.cluster.PartitionManager;
+import com.auction.online_auction_system.entity.Auction;
+import com.auction.online_auction_system.event.AuctionCancelledEvent;
+import com.auction.online_auction_system.event.AuctionCompletedEvent;
+import com.auction.online_auction_system.event.AuctionExtendedEvent;
+import com.auction.online_auction_system.event.AuctionScheduledEvent;
+import com.auction.online_auction_system.event.AuctionStartedEvent;
+import com.auction.online_auction_system.repository.AuctionRepository;
+import com.auction.online_auction_system.service.AuctionCompletionService;
+import com.auction.online_auction_system.service.AuctionService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fires auction start and end transitions at their exact start and end times.
+ * <p>
+ * Every SCHEDULED and LIVE auction has one timer in a {@link HierarchicalTimingWheel}: a start timer while
+ * it is SCHEDULED and an end timer while it is LIVE. Timers are loaded once at startup and kept in sync
+ * through auction events afterwards. End timers hand the auction to {@link AuctionCompletionService}, which
+ * completes auctions ending close together as one wave. {@link AuctionService}'s periodic sweeps still run,
+ * at a much lower rate, to catch anything a timer missed.
+ * <p>
+ * Auction events arrive through the {@link ClusterEventBus}, so every node keeps the same timers and
+ * whichever node owns an auction according to {@link PartitionManager} when its timer fires acts on it.
+ */
+@Component
+@Slf4j
+public class AuctionLifecycleScheduler {
+
+    private final AuctionService auctionService;
+    private final AuctionCompletionService auctionCompletionService;
+    private final AuctionRepository auctionRepository;
+    private final PartitionManager partitionManager;
+    private final ExecutorService transitionExecutor;
+    private final HierarchicalTimingWheel timingWheel;
+    private final Map<Long, HierarchicalTimingWheel.TimerHandle> timers = new ConcurrentHashMap<>();
+
+    public AuctionLifecycleScheduler(AuctionService auctionService,
+                                     AuctionCompletionService auctionCompletionService,
+                                     AuctionRepository auctionRepository,
+                                     ClusterEventBus clusterEventBus,
+                                     PartitionManager partitionManager,
+                                     @Value("${auction.lifecycle.transition-threads:4}") int transitionThreads,
+                                     @Value("${auction.lifecycle.wheel-size:512}") int wheelSize) {
+        this.auctionService = auctionService;
+        this.auctionCompletionService = auctionCompletionService;
+        this.auctionRepository = auctionRepository;
+        this.partitionManager = partitionManager;
+        this.transitionExecutor = Executors.newFixedThreadPool(transitionThreads, runnable -> {
+            Thread thread = new Thread(runnable, "auction-lifecycle");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timingWheel = new HierarchicalTimingWheel("auction-timing-wheel", 1, wheelSize, transitionExecutor);
+        clusterEventBus.subscribe(AuctionScheduledEvent.class, this::onScheduled);
+        clusterEventBus.subscribe(AuctionStartedEvent.class, this::onStarted);
+        clusterEventBus.subscribe(AuctionExtendedEvent.class, this::onExtended);
+        clusterEventBus.subscribe(AuctionCompletedEvent.class, this::onCompleted);
+        clusterEventBus.subscribe(AuctionCancelledEvent.class, this::onCancelled);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadTimers() {
+        List<AuctionRepository.ScheduleView> pending = auctionRepository.findPendingSchedules();
+        for (AuctionRepository.ScheduleView auction : pending) {
+            if (auction.getStatus() == Auction.AuctionStatus.SCHEDULED) {
+                scheduleStart(auction.getId(), auction.getStartTime());
+            } else {
+                scheduleEnd(auction.getId(), auction.getEndTime());
+            }
+        }
+        log.info("⏱️ Loaded {} auction timers into the timing wheel", pending.size());
+    }
+
+    private void onScheduled(AuctionScheduledEvent event) {
+        scheduleStart(event.auctionId(), event.startTime());
+    }
+
+    private void onStarted(AuctionStartedEvent event) {
+        scheduleEnd(event.auctionId(), event.endTime());
+    }
+
+    private void onExtended(AuctionExtendedEvent event) {
+        Long auctionId = event.auctionId();
+        long deadline = deadlineOf(event.endTime());
+        // Extensions of one auction can arrive out of order; only ever move the end timer later.
+        timers.compute(auctionId, (id, current) -> {
+            if (current != null && current.getDeadlineMs() >= deadline) {
+                return current;
+            }
+            if (current != null) {
+                current.cancel();
+            }
+            return timingWheel.schedule(deadline, endTransition(auctionId));
+        });
+    }
+
+    private void onCompleted(AuctionCompletedEvent event) {
+        cancelTimer(event.auctionId());
+    }
+
+    private void onCancelled(AuctionCancelledEvent event) {
+        cancelTimer(event.auctionId());
+    }
+
+    public int getPendingTimers() {
+        return timingWheel.size();
+    }
+
+    private void scheduleStart(Long auctionId, LocalDateTime startTime) {
+        replaceTimer(auctionId, startTime, () -> {
+            timers.remove(auctionId);
+            if (!partitionManager.isOwner(auctionId)) {
+                return;
+            }
+            try {
+                auctionService.startAuction(auctionId);
+            } catch (RuntimeException e) {
+                log.error("❌ Failed to start auction {}: {}", auctionId, e.getMessage());
+            }
+        });
+    }
+
+    private void scheduleEnd(Long auctionId, LocalDateTime endTime) {
+        replaceTimer(auctionId, endTime, endTransition(auctionId));
+    }
+
+    private Runnable endTransition(Long auctionId) {
+        return () -> {
+            timers.remove(auctionId);
+            auctionCompletionService.enqueue(auctionId);
+        };
+    }
+
+    private static long deadlineOf(LocalDateTime time) {
+        Instant instant = time.atZone(ZoneId.systemDefault()).toInstant();
+        // Round up so a timer never fires before a start/end time that has sub-millisecond precision.
+        return instant.toEpochMilli() + (instant.getNano() % 1_000_000 == 0 ? 0 : 1);
+    }
+
+    private void replaceTimer(Long auctionId, LocalDateTime time, Runnable transition) {
+        long deadline = deadlineOf(time);
+        HierarchicalTimingWheel.TimerHandle previous = timers.put(auctionId, timingWheel.schedule(deadline, transition));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private void cancelTimer(Long auctionId) {
+        HierarchicalTimingWheel.TimerHandle timer = timers.remove(auctionId);
+        if (timer != null) {
+            timer.cancel();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timingWheel.close();
+        transitionExecutor.shutdown();
+    }
+}
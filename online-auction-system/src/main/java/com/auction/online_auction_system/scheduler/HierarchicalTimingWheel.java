@@ -0,0 +1,300 @@
+package com.auction.online_auction_system.scheduler;
+
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel with millisecond ticks.
+ * <p>
+ * Timers are hashed into buckets of a wheel of {@code wheelSize} slots; deadlines beyond the wheel's span
+ * go to a lazily created overflow wheel whose tick is the span of the wheel below it. Scheduling and
+ * cancelling are O(1). Only non-empty buckets are kept in a {@link DelayQueue}, so the driver thread sleeps
+ * until the next bucket is due instead of ticking through empty slots. When an overflow bucket expires its
+ * timers are re-inserted into finer wheels until they land in the lowest one and fire.
+ * <p>
+ * Expired tasks are handed to {@code taskExecutor}; the driver thread never runs them itself.
+ */
+public class HierarchicalTimingWheel implements AutoCloseable {
+
+    private final DelayQueue<Bucket> delayQueue = new DelayQueue<>();
+    private final AtomicInteger taskCounter = new AtomicInteger();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Executor taskExecutor;
+    private final Wheel wheel;
+    private final Thread driver;
+    private volatile boolean running = true;
+
+    public HierarchicalTimingWheel(String name, long tickMs, int wheelSize, Executor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+        this.wheel = new Wheel(tickMs, wheelSize, System.currentTimeMillis());
+        this.driver = new Thread(this::drive, name);
+        this.driver.setDaemon(true);
+        this.driver.start();
+    }
+
+    /**
+     * Schedules a task to run at an absolute epoch-millisecond deadline. Deadlines in the past run
+     * immediately.
+     */
+    public TimerHandle schedule(long deadlineMs, Runnable task) {
+        Entry entry = new Entry(deadlineMs, task);
+        lock.readLock().lock();
+        try {
+            insert(entry);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return entry;
+    }
+
+    /**
+     * Number of timers that have been scheduled and have neither fired nor been cancelled.
+     */
+    public int size() {
+        return taskCounter.get();
+    }
+
+    private void insert(Entry entry) {
+        if (!wheel.add(entry) && entry.markFired()) {
+            taskExecutor.execute(entry.task);
+        }
+    }
+
+    private void drive() {
+        while (running) {
+            try {
+                Bucket bucket = delayQueue.poll(200, TimeUnit.MILLISECONDS);
+                if (bucket == null) {
+                    continue;
+                }
+                lock.writeLock().lock();
+                try {
+                    while (bucket != null) {
+                        wheel.advanceClock(bucket.getExpiration());
+                        bucket.flush(this::insert);
+                        bucket = delayQueue.poll();
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        driver.interrupt();
+    }
+
+    /**
+     * Handle to a scheduled timer.
+     */
+    public interface TimerHandle {
+
+        /**
+         * @return {@code false} if the timer already fired or was already cancelled
+         */
+        boolean cancel();
+
+        long getDeadlineMs();
+    }
+
+    private final class Wheel {
+
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final Bucket[] buckets;
+        private long currentTime;
+        private volatile Wheel overflowWheel;
+
+        private Wheel(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket();
+            }
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+
+        /**
+         * @return {@code false} if the entry is cancelled or already due
+         */
+        private boolean add(Entry entry) {
+            long expiration = entry.deadlineMs;
+            if (entry.isCancelled()) {
+                return false;
+            }
+            if (expiration < currentTime + tickMs) {
+                return false;
+            }
+            if (expiration < currentTime + interval) {
+                long virtualId = expiration / tickMs;
+                Bucket bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.add(entry);
+                // A bucket is only queued when its expiration changes, i.e. when it is reused for a new round.
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    delayQueue.offer(bucket);
+                }
+                return true;
+            }
+            return overflow().add(entry);
+        }
+
+        private Wheel overflow() {
+            if (overflowWheel == null) {
+                synchronized (this) {
+                    if (overflowWheel == null) {
+                        overflowWheel = new Wheel(interval, wheelSize, currentTime);
+                    }
+                }
+            }
+            return overflowWheel;
+        }
+
+        private void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - (timeMs % tickMs);
+                if (overflowWheel != null) {
+                    overflowWheel.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    private final class Bucket implements Delayed {
+
+        private final AtomicLong expiration = new AtomicLong(-1L);
+        private final Entry root = new Entry(-1L, null);
+
+        private Bucket() {
+            root.next = root;
+            root.prev = root;
+        }
+
+        private boolean setExpiration(long expirationMs) {
+            return expiration.getAndSet(expirationMs) != expirationMs;
+        }
+
+        private long getExpiration() {
+            return expiration.get();
+        }
+
+        private void add(Entry entry) {
+            boolean done = false;
+            while (!done) {
+                // Detach from any previous bucket outside our own lock to keep lock ordering simple.
+                entry.detach();
+                synchronized (this) {
+                    synchronized (entry) {
+                        if (entry.bucket == null) {
+                            Entry tail = root.prev;
+                            entry.next = root;
+                            entry.prev = tail;
+                            entry.bucket = this;
+                            tail.next = entry;
+                            root.prev = entry;
+                            taskCounter.incrementAndGet();
+                            done = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        private synchronized void remove(Entry entry) {
+            synchronized (entry) {
+                if (entry.bucket == this) {
+                    entry.next.prev = entry.prev;
+                    entry.prev.next = entry.next;
+                    entry.next = null;
+                    entry.prev = null;
+                    entry.bucket = null;
+                    taskCounter.decrementAndGet();
+                }
+            }
+        }
+
+        private synchronized void flush(Consumer<Entry> consumer) {
+            Entry head = root.next;
+            while (head != root) {
+                remove(head);
+                consumer.accept(head);
+                head = root.next;
+            }
+            expiration.set(-1L);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(getExpiration() - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getExpiration(), ((Bucket) other).getExpiration());
+        }
+    }
+
+    private final class Entry implements TimerHandle {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int FIRED = 2;
+
+        private final long deadlineMs;
+        private final Runnable task;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private volatile Bucket bucket;
+        private Entry next;
+        private Entry prev;
+
+        private Entry(long deadlineMs, Runnable task) {
+            this.deadlineMs = deadlineMs;
+            this.task = task;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            detach();
+            return true;
+        }
+
+        @Override
+        public long getDeadlineMs() {
+            return deadlineMs;
+        }
+
+        private boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private boolean markFired() {
+            return state.compareAndSet(PENDING, FIRED);
+        }
+
+        private void detach() {
+            // The driver may move the entry between buckets while we look at it; retry until it is out.
+            Bucket current = bucket;
+            while (current != null) {
+                current.remove(this);
+                current = bucket;
+            }
+        }
+    }
+}
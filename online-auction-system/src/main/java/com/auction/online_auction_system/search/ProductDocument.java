@@ -0,0 +1,10 @@
+package com.auction.online_auction_system.search;
+
+import com.auction.online_auction_system.entity.Product;
+
+/**
+ * The fields of a product the {@link ProductSearchIndex} indexes and filters on.
+ */
+public record ProductDocument(Long id, String name, String description, String category,
+                              Product.ProductStatus status) {
+}
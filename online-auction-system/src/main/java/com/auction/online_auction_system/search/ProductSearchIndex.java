@@ -0,0 +1,535 @@
+package com.auction.online_auction_system.search;
+
+import com.auction.online_auction_system.entity.Product;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over product names, descriptions and categories.
+ * <p>
+ * Text is lower-cased, stripped of accents and split into runs of letters and digits. Every term maps to a
+ * posting list of the products containing it, weighted by where it occurs: a name match counts more than
+ * a category match, which counts more than a description match. A query matches products containing all
+ * of its terms and ranks them by the sum of each term's weight times its inverse document frequency.
+ * <p>
+ * The last query term also matches as a prefix, so results follow a user's typing; prefixes shorter than
+ * {@value #MIN_PREFIX_LENGTH} characters only match whole terms, and a prefix is expanded to at most
+ * {@value #MAX_PREFIX_EXPANSION} terms, the most common first.
+ * <p>
+ * Products are numbered in the order they are indexed and re-indexing a product gives it a new number, so
+ * posting lists stay sorted without being rewritten. Postings of removed products are skipped until more
+ * than half of a list is dead, and the index is renumbered once most numbers belong to removed products.
+ * Searches share a read lock; updates take the write lock.
+ */
+public class ProductSearchIndex {
+
+    static final float NAME_WEIGHT = 3f;
+    static final float CATEGORY_WEIGHT = 2f;
+    static final float DESCRIPTION_WEIGHT = 1f;
+    static final int MIN_PREFIX_LENGTH = 2;
+    static final int MAX_PREFIX_EXPANSION = 64;
+
+    private static final float MAX_TERM_WEIGHT = 8f;
+    private static final float PREFIX_DISCOUNT = 0.75f;
+    private static final int MAX_DESCRIPTION_TERMS = 200;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private Slots slots = new Slots(1024);
+    private int nextOrdinal;
+
+    /**
+     * Adds the product, replacing what was indexed for it before.
+     */
+    public void put(ProductDocument document) {
+        Map<String, Float> weights = new HashMap<>();
+        addTerms(weights, document.name(), NAME_WEIGHT, Integer.MAX_VALUE);
+        addTerms(weights, document.category(), CATEGORY_WEIGHT, Integer.MAX_VALUE);
+        addTerms(weights, document.description(), DESCRIPTION_WEIGHT, MAX_DESCRIPTION_TERMS);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.id());
+            if (nextOrdinal == slots.capacity()) {
+                slots = slots.copy(nextOrdinal, slots.capacity() * 2);
+            }
+            int ordinal = nextOrdinal++;
+            String[] entryTerms = new String[weights.size()];
+            int i = 0;
+            for (Map.Entry<String, Float> weight : weights.entrySet()) {
+                Postings postings = terms.computeIfAbsent(weight.getKey(), term -> new Postings());
+                postings.add(ordinal, Math.min(weight.getValue(), MAX_TERM_WEIGHT));
+                // Keep the dictionary's instance so slots do not hold copies of every term.
+                entryTerms[i++] = terms.ceilingKey(weight.getKey());
+            }
+            slots.set(ordinal, document.id(), document.status(), document.category(), entryTerms);
+            ordinals.put(document.id(), ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param status   only products in this status, or any status if {@code null}
+     * @param category only products in this category, ignoring case, or any category if {@code null}
+     * @return ids of the best matching products, best first
+     */
+    public List<Long> search(String query, Product.ProductStatus status, String category, int limit) {
+        List<String> queryTerms = tokenize(query, Integer.MAX_VALUE);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            long[][] matches = new long[queryTerms.size()][];
+            for (int i = 0; i < queryTerms.size(); i++) {
+                boolean last = i == queryTerms.size() - 1;
+                matches[i] = last ? matchPrefix(queryTerms.get(i)) : matchTerm(queryTerms.get(i));
+                if (matches[i].length == 0) {
+                    return List.of();
+                }
+            }
+            Arrays.sort(matches, Comparator.comparingInt(match -> match.length));
+            long[] hits = matches[0];
+            for (int i = 1; i < matches.length && hits.length > 0; i++) {
+                hits = intersect(hits, matches[i]);
+            }
+            return top(hits, status, category, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return indexed terms starting with {@code prefix}, in the most products first
+     */
+    public List<String> suggest(String prefix, int limit) {
+        List<String> prefixTerms = tokenize(prefix, 1);
+        if (prefixTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return mostCommon(prefixTerms.get(0), limit).stream().map(Map.Entry::getKey).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into lower-case terms without accents.
+     */
+    static List<String> tokenize(String text, int maxTerms) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length() && tokens.size() < maxTerms; i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(normalized.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addTerms(Map<String, Float> weights, String text, float weight, int maxTerms) {
+        for (String term : tokenize(text, maxTerms)) {
+            weights.merge(term, weight, Float::sum);
+        }
+    }
+
+    private void removeLocked(Long productId) {
+        Integer ordinal = ordinals.remove(productId);
+        if (ordinal == null) {
+            return;
+        }
+        String[] removedTerms = slots.terms[ordinal];
+        slots.clear(ordinal);
+        for (String term : removedTerms) {
+            Postings postings = terms.get(term);
+            postings.dead++;
+            if (postings.live() == 0) {
+                terms.remove(term);
+            } else if (postings.dead * 2 > postings.size) {
+                postings.compact(slots);
+            }
+        }
+        if (nextOrdinal > 1024 && ordinals.size() * 2 < nextOrdinal) {
+            renumber();
+        }
+    }
+
+    /**
+     * Closes the gaps removed products left in the numbering. Numbers keep their order, so posting lists
+     * stay sorted.
+     */
+    private void renumber() {
+        int[] renumbered = new int[nextOrdinal];
+        Slots compacted = new Slots(Math.max(1024, Integer.highestOneBit(Math.max(1, ordinals.size())) * 2));
+        int next = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            if (!slots.isLive(ordinal)) {
+                renumbered[ordinal] = -1;
+                continue;
+            }
+            renumbered[ordinal] = next;
+            compacted.set(next, slots.productIds[ordinal], slots.statuses[ordinal], slots.categories[ordinal],
+                    slots.terms[ordinal]);
+            ordinals.put(slots.productIds[ordinal], next);
+            next++;
+        }
+        for (Postings postings : terms.values()) {
+            postings.renumber(renumbered);
+        }
+        slots = compacted;
+        nextOrdinal = next;
+    }
+
+    private long[] matchTerm(String term) {
+        Postings postings = terms.get(term);
+        return postings == null ? new long[0] : postings.scored(slots, idf(postings), 1f);
+    }
+
+    private long[] matchPrefix(String prefix) {
+        if (prefix.length() < MIN_PREFIX_LENGTH) {
+            return matchTerm(prefix);
+        }
+        List<Map.Entry<String, Postings>> expansion = mostCommon(prefix, MAX_PREFIX_EXPANSION);
+        if (expansion.isEmpty()) {
+            return new long[0];
+        }
+        List<long[]> parts = new ArrayList<>(expansion.size());
+        for (Map.Entry<String, Postings> term : expansion) {
+            parts.add(term.getValue().scored(slots, idf(term.getValue()),
+                    term.getKey().equals(prefix) ? 1f : PREFIX_DISCOUNT));
+        }
+        // Merge pairwise so every hit is copied once per level rather than sorted.
+        while (parts.size() > 1) {
+            List<long[]> merged = new ArrayList<>((parts.size() + 1) / 2);
+            for (int i = 0; i < parts.size(); i += 2) {
+                merged.add(i + 1 < parts.size() ? union(parts.get(i), parts.get(i + 1)) : parts.get(i));
+            }
+            parts = merged;
+        }
+        return parts.get(0);
+    }
+
+    private List<Map.Entry<String, Postings>> mostCommon(String prefix, int limit) {
+        PriorityQueue<Map.Entry<String, Postings>> best =
+                new PriorityQueue<>(Comparator.comparingInt(term -> term.getValue().live()));
+        for (Map.Entry<String, Postings> term : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                .entrySet()) {
+            best.add(term);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Map.Entry<String, Postings>> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingInt((Map.Entry<String, Postings> term) -> term.getValue().live())
+                .reversed());
+        return result;
+    }
+
+    private float idf(Postings postings) {
+        return (float) Math.log(1.0 + (double) ordinals.size() / postings.live());
+    }
+
+    /**
+     * Products in both sorted hit lists, with their scores added up.
+     */
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            int a = ordinal(left[i]);
+            int b = ordinal(right[j]);
+            if (a < b) {
+                i++;
+            } else if (a > b) {
+                j++;
+            } else {
+                result[size++] = hit(a, score(left[i++]) + score(right[j++]));
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Products in either sorted hit list; a product in both keeps its better score.
+     */
+    private static long[] union(long[] left, long[] right) {
+        long[] result = new long[left.length + right.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length || j < right.length) {
+            if (j == right.length || (i < left.length && ordinal(left[i]) < ordinal(right[j]))) {
+                result[size++] = left[i++];
+            } else if (i == left.length || ordinal(right[j]) < ordinal(left[i])) {
+                result[size++] = right[j++];
+            } else {
+                result[size++] = score(left[i]) >= score(right[j]) ? left[i] : right[j];
+                i++;
+                j++;
+            }
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    private List<Long> top(long[] hits, Product.ProductStatus status, String category, int limit) {
+        TopHits best = new TopHits(limit);
+        // Newest first: products with equal scores then rarely displace one another.
+        for (int i = hits.length - 1; i >= 0; i--) {
+            int ordinal = ordinal(hits[i]);
+            if ((status != null && slots.statuses[ordinal] != status)
+                    || (category != null && !category.equalsIgnoreCase(slots.categories[ordinal]))) {
+                continue;
+            }
+            best.offer(slots.productIds[ordinal], score(hits[i]));
+        }
+        return best.toList();
+    }
+
+    // A hit packs the product's number into the high half of a long and its score into the low half,
+    // so sorting hits sorts them by product number.
+
+    private static long hit(int ordinal, float score) {
+        return ((long) ordinal << 32) | (Float.floatToIntBits(score) & 0xFFFFFFFFL);
+    }
+
+    private static int ordinal(long hit) {
+        return (int) (hit >>> 32);
+    }
+
+    private static float score(long hit) {
+        return Float.intBitsToFloat((int) hit);
+    }
+
+    /**
+     * The best {@code limit} products offered, in a min-heap of parallel arrays so offering a hit that does
+     * not make the cut allocates nothing. Ties go to the newer, i.e. higher, product id.
+     */
+    private static final class TopHits {
+
+        private final long[] ids;
+        private final float[] scores;
+        private int size;
+
+        TopHits(int limit) {
+            ids = new long[limit];
+            scores = new float[limit];
+        }
+
+        void offer(long id, float score) {
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (worse(0, id, score)) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        List<Long> toList() {
+            Long[] ranked = new Long[size];
+            while (size > 0) {
+                ranked[size - 1] = ids[0];
+                swap(0, --size);
+                siftDown(0);
+            }
+            return Arrays.asList(ranked);
+        }
+
+        /**
+         * @return whether the hit at {@code i} ranks below the given one
+         */
+        private boolean worse(int i, long id, float score) {
+            return scores[i] < score || (scores[i] == score && ids[i] < id);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!worse(i, ids[parent], scores[parent])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int worst = i;
+                for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                    if (worse(child, ids[worst], scores[worst])) {
+                        worst = child;
+                    }
+                }
+                if (worst == i) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+
+    /**
+     * Indexed products by number, kept in parallel arrays so ranking reads them without following a pointer
+     * per product. The terms of a removed product are {@code null}.
+     */
+    private static final class Slots {
+
+        final long[] productIds;
+        final Product.ProductStatus[] statuses;
+        final String[] categories;
+        final String[][] terms;
+
+        Slots(int capacity) {
+            productIds = new long[capacity];
+            statuses = new Product.ProductStatus[capacity];
+            categories = new String[capacity];
+            terms = new String[capacity][];
+        }
+
+        int capacity() {
+            return productIds.length;
+        }
+
+        boolean isLive(int ordinal) {
+            return terms[ordinal] != null;
+        }
+
+        void set(int ordinal, long productId, Product.ProductStatus status, String category, String[] productTerms) {
+            productIds[ordinal] = productId;
+            statuses[ordinal] = status;
+            categories[ordinal] = category;
+            terms[ordinal] = productTerms;
+        }
+
+        void clear(int ordinal) {
+            set(ordinal, 0L, null, null, null);
+        }
+
+        Slots copy(int size, int capacity) {
+            Slots copy = new Slots(capacity);
+            System.arraycopy(productIds, 0, copy.productIds, 0, size);
+            System.arraycopy(statuses, 0, copy.statuses, 0, size);
+            System.arraycopy(categories, 0, copy.categories, 0, size);
+            System.arraycopy(terms, 0, copy.terms, 0, size);
+            return copy;
+        }
+    }
+
+    private static final class Postings {
+
+        private int[] ordinals = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+        private int dead;
+
+        void add(int ordinal, float weight) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            ordinals[size] = ordinal;
+            weights[size] = weight;
+            size++;
+        }
+
+        int live() {
+            return size - dead;
+        }
+
+        long[] scored(Slots slots, float idf, float factor) {
+            long[] hits = new long[live()];
+            int at = 0;
+            for (int i = 0; i < size; i++) {
+                if (slots.isLive(ordinals[i])) {
+                    hits[at++] = hit(ordinals[i], weights[i] * idf * factor);
+                }
+            }
+            return hits;
+        }
+
+        void compact(Slots slots) {
+            int at = 0;
+            for (int i = 0; i < size; i++) {
+                if (slots.isLive(ordinals[i])) {
+                    ordinals[at] = ordinals[i];
+                    weights[at] = weights[i];
+                    at++;
+                }
+            }
+            size = at;
+            dead = 0;
+        }
+
+        void renumber(int[] renumbered) {
+            int at = 0;
+            for (int i = 0; i < size; i++) {
+                int ordinal = renumbered[ordinals[i]];
+                if (ordinal >= 0) {
+                    ordinals[at] = ordinal;
+                    weights[at] = weights[i];
+                    at++;
+                }
+            }
+            size = at;
+            dead = 0;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.auction.online_auction_system.search;
+
+import com.auction.online_auction_system.cluster.ClusterEventBus;
+import com.auction.online_auction_system.entity.Product;
+import com.auction.online_auction_system.event.AuctionCancelledEvent;
+import com.auction.online_auction_system.event.AuctionCompletedEvent;
+import com.auction.online_auction_system.event.AuctionScheduledEvent;
+import com.auction.online_auction_system.event.ProductChangedEvent;
+import com.auction.online_auction_system.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps this node's {@link ProductSearchIndex} in step with the products table.
+ * <p>
+ * The index is built in the background once the application is ready and is then updated from product
+ * and auction lifecycle events, which arrive from every node through the {@link ClusterEventBus}. Both run
+ * on one thread, so an update raised while the index is being built is applied after the build and never
+ * overwritten by it. Until the first build finishes {@link #search} returns nothing and callers fall back
+ * to the database.
+ */
+@Service
+@Slf4j
+public class ProductSearchService {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnly;
+    private final ProductSearchIndex index = new ProductSearchIndex();
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Timer searchTimer;
+    private volatile boolean ready;
+
+    public ProductSearchService(ProductRepository productRepository,
+                                ClusterEventBus clusterEventBus,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.searchTimer = Timer.builder("auction.search.products")
+                .description("Time to search the product index")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("auction.search.products.indexed", index, ProductSearchIndex::size)
+                .description("Products in the search index")
+                .register(meterRegistry);
+        clusterEventBus.subscribe(ProductChangedEvent.class, event -> reindex(event.productId()));
+        // Auction lifecycle changes the status of the auction's product.
+        clusterEventBus.subscribe(AuctionScheduledEvent.class, event -> reindexProductOf(event.auctionId()));
+        clusterEventBus.subscribe(AuctionCompletedEvent.class, event -> reindexProductOf(event.auctionId()));
+        clusterEventBus.subscribe(AuctionCancelledEvent.class, event -> reindexProductOf(event.auctionId()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        indexer.execute(() -> {
+            long started = System.nanoTime();
+            try {
+                readOnly.executeWithoutResult(status -> {
+                    try (Stream<ProductDocument> documents = productRepository.streamDocuments()) {
+                        documents.forEach(index::put);
+                    }
+                });
+                ready = true;
+                log.info("🔎 Indexed {} products for search in {} ms",
+                        index.size(), (System.nanoTime() - started) / 1_000_000);
+            } catch (RuntimeException e) {
+                log.error("❌ Failed to build the product search index: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * @return ids of the best matching products, best first; empty until the index has been built
+     * @see ProductSearchIndex#search
+     */
+    public Optional<List<Long>> search(String query, Product.ProductStatus status, String category, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        return Optional.of(searchTimer.record(() -> index.search(query, status, category, limit)));
+    }
+
+    /**
+     * @return indexed words starting with {@code prefix}, most common first
+     */
+    public List<String> suggest(String prefix, int limit) {
+        return ready ? index.suggest(prefix, limit) : List.of();
+    }
+
+    private void reindex(Long productId) {
+        update("product " + productId, () -> readOnly.execute(status -> productRepository.findDocument(productId))
+                .ifPresentOrElse(index::put, () -> index.remove(productId)));
+    }
+
+    private void reindexProductOf(Long auctionId) {
+        update("product of auction " + auctionId, () -> readOnly.execute(status ->
+                productRepository.findDocumentByAuctionId(auctionId)).ifPresent(index::put));
+    }
+
+    private void update(String what, Runnable update) {
+        indexer.execute(() -> {
+            try {
+                update.run();
+            } catch (RuntimeException e) {
+                log.warn("⚠️ Could not update the search index for {}: {}", what, e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexer.shutdown();
+    }
+}
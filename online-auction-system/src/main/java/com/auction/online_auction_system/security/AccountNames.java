@@ -0,0 +1,7 @@
+package com.auction.online_auction_system.security;
+
+/**
+ * The names a user account holds, read without loading the {@code User}.
+ */
+public record AccountNames(String username, String email) {
+}
@@ -0,0 +1,9 @@
+package com.auction.online_auction_system.security;
+
+import com.auction.online_auction_system.entity.User;
+
+/**
+ * The user a request was made by, as stated in its verified token. Never read from the database.
+ */
+public record AuthenticatedUser(Long userId, String username, User.UserRole role) {
+}
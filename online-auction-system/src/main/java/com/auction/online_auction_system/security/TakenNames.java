@@ -0,0 +1,120 @@
+package com.auction.online_auction_system.security;
+
+import com.auction.online_auction_system.cluster.ClusterEventBus;
+import com.auction.online_auction_system.event.UserRegisteredEvent;
+import com.auction.online_auction_system.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filters of the usernames and email addresses in use, so registration only asks the database about
+ * names that may be taken.
+ * <p>
+ * The filters are loaded from the users table in the background once the application is ready and learn
+ * about new accounts on any node from the {@link ClusterEventBus}. Until loading has finished every name
+ * is reported as possibly taken. A name missed by the filters, e.g. because its event was lost, is still
+ * caught by the unique constraints when the account is saved.
+ */
+@Component
+@Slf4j
+public class TakenNames {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnly;
+    private final BloomFilter usernames;
+    private final BloomFilter emails;
+    private final Counter filtered;
+    private final Counter checked;
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "taken-names-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean ready;
+
+    public TakenNames(UserRepository userRepository,
+                      ClusterEventBus clusterEventBus,
+                      PlatformTransactionManager transactionManager,
+                      MeterRegistry meterRegistry,
+                      @Value("${auction.users.expected-count:1000000}") long expectedUsers,
+                      @Value("${auction.users.name-filter-fpp:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.emails = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.filtered = Counter.builder("auction.users.name-checks").tag("outcome", "filtered")
+                .description("Username and email checks answered by the Bloom filter")
+                .register(meterRegistry);
+        this.checked = Counter.builder("auction.users.name-checks").tag("outcome", "database")
+                .description("Username and email checks that had to ask the database")
+                .register(meterRegistry);
+        clusterEventBus.subscribe(UserRegisteredEvent.class, event -> add(event.username(), event.email()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loader.execute(() -> {
+            long started = System.nanoTime();
+            AtomicLong loaded = new AtomicLong();
+            try {
+                readOnly.executeWithoutResult(status -> {
+                    try (Stream<AccountNames> names = userRepository.streamAccountNames()) {
+                        names.forEach(account -> {
+                            add(account.username(), account.email());
+                            loaded.incrementAndGet();
+                        });
+                    }
+                });
+                ready = true;
+                log.info("👤 Loaded {} account names in {} ms", loaded.get(),
+                        (System.nanoTime() - started) / 1_000_000);
+            } catch (RuntimeException e) {
+                log.error("❌ Failed to load account names, every name will be checked in the database: {}",
+                        e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * @return {@code false} only if no account has the username
+     */
+    public boolean mayHaveUsername(String username) {
+        return count(!ready || usernames.mightContain(username));
+    }
+
+    /**
+     * @return {@code false} only if no account has the email address
+     */
+    public boolean mayHaveEmail(String email) {
+        return count(!ready || emails.mightContain(email));
+    }
+
+    private void add(String username, String email) {
+        usernames.add(username);
+        emails.add(email);
+    }
+
+    private boolean count(boolean possiblyTaken) {
+        (possiblyTaken ? checked : filtered).increment();
+        return possiblyTaken;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdown();
+    }
+}
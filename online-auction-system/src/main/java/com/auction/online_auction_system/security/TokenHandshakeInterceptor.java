@@ -0,0 +1,71 @@
+package com.auction.online_auction_system.security;
+
+import com.auction.online_auction_system.websocket.BidFrameEncoder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+
+/**
+ * Verifies the login token of a WebSocket handshake and stores its user in the session's attributes.
+ * <p>
+ * Browsers cannot set headers on a WebSocket handshake other than the subprotocols they offer, so they send
+ * the token as a subprotocol named {@value #TOKEN_PROTOCOL_PREFIX}{@code <token>} after one the server does
+ * support, e.g. {@value BidFrameEncoder#JSON_SUBPROTOCOL}, which is the one it selects. Unlike a query
+ * parameter, the token then stays out of access and proxy logs. Other clients may send
+ * {@code Authorization: Bearer <token>} instead. Watching auctions needs no login, so handshakes without a
+ * token, or with one that has expired, are accepted as anonymous sessions.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String TOKEN_PROTOCOL_PREFIX = "bearer.";
+
+    private static final String USER_ATTRIBUTE = AuthenticatedUser.class.getName();
+    private static final String BEARER = "Bearer ";
+
+    private final TokenService tokenService;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String token = token(request);
+        if (token != null) {
+            tokenService.verify(token).ifPresent(user -> attributes.put(USER_ATTRIBUTE, user));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    /**
+     * @return the user the session was opened by, {@code null} if it is anonymous
+     */
+    public static AuthenticatedUser userOf(WebSocketSession session) {
+        return (AuthenticatedUser) session.getAttributes().get(USER_ATTRIBUTE);
+    }
+
+    private static String token(ServerHttpRequest request) {
+        String header = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            return header.substring(BEARER.length()).trim();
+        }
+        for (String protocol : new WebSocketHttpHeaders(request.getHeaders()).getSecWebSocketProtocol()) {
+            if (protocol.startsWith(TOKEN_PROTOCOL_PREFIX)) {
+                return protocol.substring(TOKEN_PROTOCOL_PREFIX.length());
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,142 @@
+package com.auction.online_auction_system.security;
+
+import com.auction.online_auction_system.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies the bearer tokens handed out at login.
+ * <p>
+ * A token is {@code payload.signature}, both Base64url without padding. The payload holds a format version,
+ * the user id, the expiry in epoch seconds, the role and the username; the signature is its HMAC-SHA256
+ * under {@code auction.auth.token-secret}. Verifying a token needs nothing but the secret, so every node
+ * that shares it accepts tokens issued by any other. Without a configured secret a random one is used,
+ * and tokens only last as long as the process and only work on the node that issued them, so a node that
+ * forwards bids to other nodes refuses to start without one.
+ */
+@Component
+@Slf4j
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte VERSION = 1;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    @Autowired
+    public TokenService(@Value("${auction.auth.token-secret:}") String secret,
+                        @Value("${auction.auth.token-ttl-minutes:720}") long ttlMinutes,
+                        @Value("${auction.cluster.partitioning.enabled:false}") boolean partitioned) {
+        this(requireSharedSecret(secret, partitioned), Duration.ofMinutes(ttlMinutes), Clock.systemUTC());
+    }
+
+    TokenService(String secret, Duration ttl, Clock clock) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            log.warn("⚠️ auction.auth.token-secret is not set; "
+                    + "login tokens only work on this node until it restarts");
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+        newMac();
+    }
+
+    public String issue(User user) {
+        byte[] username = user.getUsername().getBytes(StandardCharsets.UTF_8);
+        byte[] role = user.getRole().name().getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer payload = ByteBuffer.allocate(1 + 2 * Long.BYTES + 1 + role.length + username.length);
+        payload.put(VERSION);
+        payload.putLong(user.getId());
+        payload.putLong(clock.instant().plus(ttl).getEpochSecond());
+        payload.put((byte) role.length);
+        payload.put(role);
+        payload.put(username);
+
+        String encoded = ENCODER.encodeToString(payload.array());
+        return encoded + '.' + ENCODER.encodeToString(sign(encoded));
+    }
+
+    /**
+     * @return the token's user, or empty if the token is malformed, forged or expired
+     */
+    public Optional<AuthenticatedUser> verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return Optional.empty();
+        }
+        try {
+            String encoded = token.substring(0, dot);
+            if (!MessageDigest.isEqual(sign(encoded), DECODER.decode(token.substring(dot + 1)))) {
+                return Optional.empty();
+            }
+
+            ByteBuffer payload = ByteBuffer.wrap(DECODER.decode(encoded));
+            if (payload.get() != VERSION) {
+                return Optional.empty();
+            }
+            long userId = payload.getLong();
+            if (payload.getLong() <= clock.instant().getEpochSecond()) {
+                return Optional.empty();
+            }
+            byte[] role = new byte[payload.get()];
+            payload.get(role);
+            byte[] username = new byte[payload.remaining()];
+            payload.get(username);
+            return Optional.of(new AuthenticatedUser(userId, new String(username, StandardCharsets.UTF_8),
+                    User.UserRole.valueOf(new String(role, StandardCharsets.US_ASCII))));
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Bids for auctions owned by another node are forwarded with the caller's token, which that node can only
+     * verify if both sign with the same secret.
+     */
+    static String requireSharedSecret(String secret, boolean partitioned) {
+        if (partitioned && (secret == null || secret.isBlank())) {
+            throw new IllegalStateException("auction.auth.token-secret must be set to the same value on every node "
+                    + "when auction.cluster.partitioning.enabled is true");
+        }
+        return secret;
+    }
+
+    private byte[] sign(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign tokens with " + ALGORITHM, e);
+        }
+    }
+}
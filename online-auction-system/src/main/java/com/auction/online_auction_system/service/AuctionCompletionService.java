@@ -0,0 +1,179 @@
+package com.auction.online_auction_system.service;
+
+import com.auction.online_auction_system.cluster.PartitionManager;
+import com.auction.online_auction_system.engine.BidSequencer;
+import com.auction.online_auction_system.engine.OrderBookRegistry;
+import com.auction.online_auction_system.journal.BidJournal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Completes expired auctions in waves.
+ * <p>
+ * End timers that fire close together are collected for {@code wave-window-ms} and completed as one wave:
+ * the order books are closed in parallel on their lanes, the bid journal is drained once, and the auctions
+ * are split into chunks that {@link AuctionCompletionWriter} completes in parallel, each in its own short
+ * transaction. The reconciliation sweep in {@link AuctionService} goes through the same path. Each node only
+ * completes the auctions it owns according to {@link PartitionManager}, since only the owner holds their books.
+ */
+@Service
+@Slf4j
+public class AuctionCompletionService {
+
+    private final AuctionCompletionWriter completionWriter;
+    private final BidSequencer bidSequencer;
+    private final OrderBookRegistry orderBookRegistry;
+    private final BidJournal bidJournal;
+    private final PartitionManager partitionManager;
+    private final int chunkSize;
+    private final long waveWindowMs;
+
+    private final Queue<Long> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean waveScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService waveTrigger;
+    private final ExecutorService workers;
+    private final Timer waveTimer;
+    private final Counter completedCounter;
+
+    public AuctionCompletionService(AuctionCompletionWriter completionWriter,
+                                    BidSequencer bidSequencer,
+                                    OrderBookRegistry orderBookRegistry,
+                                    BidJournal bidJournal,
+                                    PartitionManager partitionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${auction.completion.chunk-size:100}") int chunkSize,
+                                    @Value("${auction.completion.workers:4}") int workerCount,
+                                    @Value("${auction.completion.wave-window-ms:100}") long waveWindowMs) {
+        this.completionWriter = completionWriter;
+        this.bidSequencer = bidSequencer;
+        this.orderBookRegistry = orderBookRegistry;
+        this.bidJournal = bidJournal;
+        this.partitionManager = partitionManager;
+        this.chunkSize = chunkSize;
+        this.waveWindowMs = waveWindowMs;
+        this.waveTrigger = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "auction-completion-wave"));
+        AtomicInteger workerIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount,
+                runnable -> daemon(runnable, "auction-completion-" + workerIndex.getAndIncrement()));
+        this.waveTimer = Timer.builder("auction.completion.wave")
+                .description("Time to complete one wave of expiring auctions")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.completedCounter = Counter.builder("auction.completion.completed")
+                .description("Auctions completed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues an auction whose end time has passed; it is completed with the next wave.
+     */
+    public void enqueue(Long auctionId) {
+        pending.add(auctionId);
+        if (waveScheduled.compareAndSet(false, true)) {
+            waveTrigger.schedule(this::runPendingWave, waveWindowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Completes the given auctions now and waits for the wave to finish.
+     *
+     * @return the number of auctions actually completed
+     */
+    public int completeWave(Collection<Long> auctionIds) {
+        if (auctionIds.isEmpty()) {
+            return 0;
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+
+            // Close every book on its own lane so in-flight bids finish first, then make sure they are committed.
+            // Books whose end time a soft-close extension has pushed past now stay open; their new end timer
+            // brings them back.
+            List<Long> ids = new ArrayList<>();
+            List<CompletableFuture<Void>> closing = new ArrayList<>();
+            for (Long id : new LinkedHashSet<>(auctionIds)) {
+                if (!partitionManager.isOwner(id)) {
+                    continue;
+                }
+                closing.add(bidSequencer.submit(id, () -> {
+                    if (orderBookRegistry.closeIfEnded(id, now)) {
+                        synchronized (ids) {
+                            ids.add(id);
+                        }
+                    }
+                }));
+            }
+            CompletableFuture.allOf(closing.toArray(CompletableFuture[]::new)).join();
+            bidJournal.awaitFlushed();
+
+            List<CompletableFuture<Integer>> chunks = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                chunks.add(CompletableFuture.supplyAsync(() -> completionWriter.completeChunk(chunk, now), workers));
+            }
+
+            int completed = 0;
+            for (CompletableFuture<Integer> chunk : chunks) {
+                try {
+                    completed += chunk.join();
+                } catch (RuntimeException e) {
+                    log.error("❌ Failed to complete a chunk of auctions, the reconciliation sweep will retry: {}",
+                            e.getMessage());
+                }
+            }
+            completedCounter.increment(completed);
+            log.info("🏁 Completion wave finished: {} of {} auctions completed", completed, auctionIds.size());
+            return completed;
+        } finally {
+            sample.stop(waveTimer);
+        }
+    }
+
+    private void runPendingWave() {
+        waveScheduled.set(false);
+        Set<Long> wave = new LinkedHashSet<>();
+        Long auctionId;
+        while ((auctionId = pending.poll()) != null) {
+            wave.add(auctionId);
+        }
+        try {
+            completeWave(wave);
+        } catch (RuntimeException e) {
+            log.error("❌ Completion wave of {} auctions failed: {}", wave.size(), e.getMessage());
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        waveTrigger.shutdown();
+        workers.shutdown();
+    }
+}
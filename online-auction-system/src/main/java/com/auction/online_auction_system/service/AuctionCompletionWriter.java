@@ -0,0 +1,110 @@
+package com.auction.online_auction_system.service;
+
+import com.auction.online_auction_system.entity.Product;
+import com.auction.online_auction_system.event.AuctionCompletedEvent;
+import com.auction.online_auction_system.repository.AuctionRepository;
+import com.auction.online_auction_system.repository.BidRepository;
+import com.auction.online_auction_system.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Completes one chunk of expired auctions in a single, short transaction using set-based statements:
+ * one query resolves the top bid of every auction in the chunk, then auctions, winning bids and products
+ * are each updated in bulk.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class AuctionCompletionWriter {
+
+    private static final String COMPLETE_AUCTION_SQL =
+            "UPDATE auctions SET status = 'COMPLETED', winner_id = ?, winning_bid = ?, updated_at = ?, version = version + 1 " +
+            "WHERE id = ? AND status = 'LIVE'";
+
+    private final AuctionRepository auctionRepository;
+    private final BidRepository bidRepository;
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * @return the number of auctions completed; auctions that are no longer LIVE or whose end time moved
+     * are skipped
+     */
+    public int completeChunk(Collection<Long> auctionIds, LocalDateTime now) {
+        List<AuctionRepository.CompletionCandidate> candidates = auctionRepository.findCompletionCandidates(auctionIds, now);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> candidateIds = candidates.stream().map(AuctionRepository.CompletionCandidate::getId).toList();
+        Map<Long, BidRepository.TopBidView> topBids = bidRepository.findTopBidsForAuctions(candidateIds).stream()
+                .collect(Collectors.toMap(BidRepository.TopBidView::getAuctionId, Function.identity()));
+
+        Timestamp completedAt = Timestamp.valueOf(now);
+        List<Object[]> auctionUpdates = new ArrayList<>(candidates.size());
+        for (AuctionRepository.CompletionCandidate candidate : candidates) {
+            BidRepository.TopBidView topBid = topBids.get(candidate.getId());
+            auctionUpdates.add(topBid != null
+                    ? new Object[]{topBid.getUserId(), topBid.getBidAmount(), completedAt, candidate.getId()}
+                    : new Object[]{null, null, completedAt, candidate.getId()});
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(COMPLETE_AUCTION_SQL, auctionUpdates,
+                new int[]{Types.BIGINT, Types.NUMERIC, Types.TIMESTAMP, Types.BIGINT});
+
+        // An auction cancelled or completed elsewhere since it was read matched no row: leave it alone.
+        List<Long> completedIds = new ArrayList<>(candidates.size());
+        List<Long> winningBids = new ArrayList<>();
+        List<Long> soldProducts = new ArrayList<>();
+        List<Long> unsoldProducts = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            AuctionRepository.CompletionCandidate candidate = candidates.get(i);
+            if (updated[i] < 1) {
+                log.debug("Auction ID {} is no longer LIVE, skipped", candidate.getId());
+                continue;
+            }
+            completedIds.add(candidate.getId());
+            BidRepository.TopBidView topBid = topBids.get(candidate.getId());
+            if (topBid != null) {
+                winningBids.add(topBid.getBidId());
+                soldProducts.add(candidate.getProductId());
+                log.debug("🏆 Auction ID {} won by user ID {} with bid: ${}",
+                        candidate.getId(), topBid.getUserId(), topBid.getBidAmount());
+            } else {
+                unsoldProducts.add(candidate.getProductId());
+            }
+        }
+
+        if (!winningBids.isEmpty()) {
+            bidRepository.markWinning(winningBids);
+        }
+        if (!soldProducts.isEmpty()) {
+            productRepository.updateStatus(soldProducts, Product.ProductStatus.SOLD);
+        }
+        if (!unsoldProducts.isEmpty()) {
+            productRepository.updateStatus(unsoldProducts, Product.ProductStatus.AVAILABLE);
+        }
+
+        completedIds.forEach(id -> eventPublisher.publishEvent(new AuctionCompletedEvent(id)));
+        log.info("🏁 Completed {} auctions ({} sold, {} without bids, {} skipped)", completedIds.size(),
+                soldProducts.size(), unsoldProducts.size(), candidates.size() - completedIds.size());
+        return completedIds.size();
+    }
+}
@@ -1,21 +1,35 @@
 package com.auction.online_auction_system.service;
 
+import com.auction.online_auction_system.cache.AuctionViewCache;
+import com.auction.online_auction_system.cluster.PartitionManager;
 import com.auction.online_auction_system.dto.AuctionDTO;
+import com.auction.online_auction_system.dto.CursorPage;
+import com.auction.online_auction_system.dto.PageCursor;
+import com.auction.online_auction_system.engine.BidSequencer;
+import com.auction.online_auction_system.engine.LiveOrderBook;
+import com.auction.online_auction_system.engine.OrderBookRegistry;
 import com.auction.online_auction_system.entity.Auction;
-import com.auction.online_auction_system.entity.Bid;
 import com.auction.online_auction_system.entity.Product;
+import com.auction.online_auction_system.event.AuctionCancelledEvent;
+import com.auction.online_auction_system.event.AuctionScheduledEvent;
+import com.auction.online_auction_system.event.AuctionStartedEvent;
 import com.auction.online_auction_system.exception.AuctionException;
 import com.auction.online_auction_system.repository.AuctionRepository;
-import com.auction.online_auction_system.repository.BidRepository;
+import com.auction.online_auction_system.websocket.AuctionSnapshotStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,8 +39,16 @@ import java.util.stream.Collectors;
 public class AuctionService {
 
     private final AuctionRepository auctionRepository;
-    private final BidRepository bidRepository;
     private final ProductService productService;
+    private final OrderBookRegistry orderBookRegistry;
+    private final BidSequencer bidSequencer;
+    private final AuctionCompletionService auctionCompletionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuctionWriteRetry auctionWriteRetry;
+    private final AuctionViewCache auctionViewCache;
+    private final AuctionSnapshotStore auctionSnapshotStore;
+    private final StreamingReader streamingReader;
+    private final PartitionManager partitionManager;
 
     public AuctionDTO createAuction(AuctionDTO auctionDTO) {
         log.info("Creating new auction for product ID: {}", auctionDTO.getProductId());
@@ -49,103 +71,166 @@ public class AuctionService {
         auction.setCurrentBid(product.getStartingPrice());
         auction.setMinimumIncrement(auctionDTO.getMinimumIncrement() != null ?
                 auctionDTO.getMinimumIncrement() : auction.getMinimumIncrement());
+        if (Boolean.TRUE.equals(auctionDTO.getSoftCloseEnabled())) {
+            applySoftClose(auction, auctionDTO);
+        }
         auction.setStatus(Auction.AuctionStatus.SCHEDULED);
 
         product.setStatus(Product.ProductStatus.IN_AUCTION);
 
         Auction savedAuction = auctionRepository.save(auction);
         log.info("Auction created successfully with ID: {}", savedAuction.getId());
+        eventPublisher.publishEvent(new AuctionScheduledEvent(
+                savedAuction.getId(), savedAuction.getStartTime(), savedAuction.getEndTime()));
 
         return AuctionDTO.fromEntity(savedAuction);
     }
 
-    @Transactional(readOnly = true)
+    // The order book leads the table: price, bid count and soft-close end time catch up asynchronously.
+    // Auctions whose book lives on another node take the latest bid seen on the cluster bus instead.
+    private AuctionDTO toLiveDTO(Auction auction) {
+        AuctionDTO dto = AuctionDTO.fromEntity(auction);
+        Optional<LiveOrderBook> book = orderBookRegistry.peek(auction.getId());
+        if (book.isPresent()) {
+            LiveOrderBook.Quote quote = book.get().getQuote();
+            dto.setCurrentBid(quote.currentBid());
+            dto.setTotalBids((int) quote.bidCount());
+            dto.setEndTime(quote.endTime());
+            dto.setVersion(quote.sequence());
+        } else if (auction.getStatus() == Auction.AuctionStatus.LIVE) {
+            auctionSnapshotStore.get(auction.getId()).ifPresent(snapshot -> {
+                dto.setCurrentBid(snapshot.currentBid());
+                dto.setTotalBids((int) snapshot.bidCount());
+                dto.setEndTime(snapshot.endTime());
+                dto.setVersion(snapshot.version());
+            });
+        }
+        return dto;
+    }
+
+    private void applySoftClose(Auction auction, AuctionDTO auctionDTO) {
+        auction.setSoftCloseEnabled(true);
+        if (auctionDTO.getSoftCloseWindowSeconds() != null) {
+            auction.setSoftCloseWindowSeconds(auctionDTO.getSoftCloseWindowSeconds());
+        }
+        if (auctionDTO.getSoftCloseExtensionSeconds() != null) {
+            auction.setSoftCloseExtensionSeconds(auctionDTO.getSoftCloseExtensionSeconds());
+        }
+        if (auction.getSoftCloseWindowSeconds() <= 0 || auction.getSoftCloseExtensionSeconds() <= 0) {
+            throw new AuctionException("Soft-close window and extension must be positive");
+        }
+
+        // Without an explicit cap, extensions may add at most one hour.
+        LocalDateTime maxEndTime = auctionDTO.getMaxEndTime() != null ?
+                auctionDTO.getMaxEndTime() : auction.getEndTime().plusHours(1);
+        if (maxEndTime.isBefore(auction.getEndTime())) {
+            throw new AuctionException("Maximum end time must not be before end time");
+        }
+        auction.setMaxEndTime(maxEndTime);
+    }
+
+    // Cached reads load in a transaction of their own, so a cache hit needs no connection.
+    @Transactional(propagation = Propagation.SUPPORTS)
     public AuctionDTO getAuctionById(Long id) {
         log.debug("Fetching auction by ID: {}", id);
-        Auction auction = auctionRepository.findById(id)
-                .orElseThrow(() -> new AuctionException("Auction not found with id: " + id));
-        return AuctionDTO.fromEntity(auction);
+        return auctionViewCache.get(id, key -> toLiveDTO(auctionRepository.findWithDetailsById(key)
+                .orElseThrow(() -> new AuctionException("Auction not found with id: " + key))));
     }
 
-    @Transactional(readOnly = true)
-    public List<AuctionDTO> getAllAuctions() {
-        log.debug("Fetching all auctions");
-        return auctionRepository.findAll().stream()
-                .map(AuctionDTO::fromEntity)
-                .collect(Collectors.toList());
+    /**
+     * One page of auctions ordered by end time, optionally of a single status. First pages are the ones
+     * nearly every client asks for, so they are served from the view cache, where bids keep them current.
+     *
+     * @param cursor token from the previous page, {@code null} for the first page
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CursorPage<AuctionDTO> getAuctionPage(Auction.AuctionStatus status, String cursor, Integer limit) {
+        int size = CursorPage.limit(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        PageRequest fetch = PageRequest.ofSize(size + 1);
+        if (after == null) {
+            log.debug("Fetching first {} auctions of status {}", size, status);
+            List<AuctionDTO> views = auctionViewCache.getList("page:" + status + ":" + size, () ->
+                    auctionRepository.findFirstPage(status, fetch).stream()
+                            .map(this::toLiveDTO)
+                            .collect(Collectors.toList()));
+            return CursorPage.of(views, size, Function.identity(),
+                    view -> PageCursor.of(view.getEndTime(), view.getId()));
+        }
+        List<Auction> rows = auctionRepository.findPageAfter(status, after.timeKey(), after.id(), fetch);
+        return CursorPage.of(rows, size, this::toLiveDTO,
+                auction -> PageCursor.of(auction.getEndTime(), auction.getId()));
     }
 
+    /**
+     * Feeds every auction, optionally of a single status, to {@code sink} in end time order.
+     */
     @Transactional(readOnly = true)
-    public List<AuctionDTO> getAuctionsByStatus(Auction.AuctionStatus status) {
-        log.debug("Fetching auctions by status: {}", status);
-        return auctionRepository.findByStatus(status).stream()
-                .map(AuctionDTO::fromEntity)
-                .collect(Collectors.toList());
+    public long exportAuctions(Auction.AuctionStatus status, Consumer<AuctionDTO> sink) {
+        return streamingReader.forEach(auctionRepository.streamAll(status), this::toLiveDTO, sink);
     }
 
-    @Transactional(readOnly = true)
-    public List<AuctionDTO> getLiveAuctions() {
-        log.debug("Fetching live auctions");
-        return auctionRepository.findAllLiveAuctions().stream()
-                .map(AuctionDTO::fromEntity)
-                .collect(Collectors.toList());
+    /**
+     * Moves a SCHEDULED auction to LIVE. Called by the lifecycle scheduler at the auction's start time.
+     *
+     * @return {@code false} if the auction was no longer SCHEDULED
+     */
+    public boolean startAuction(Long id) {
+        Auction auction = getAuctionEntityById(id);
+        if (auctionRepository.markLive(id) == 0) {
+            return false;
+        }
+        log.info("✅ Started auction ID: {}", id);
+        eventPublisher.publishEvent(new AuctionStartedEvent(id, auction.getEndTime()));
+        return true;
     }
 
-    @Scheduled(fixedRate = 10000)
+    // Start and end transitions are fired on time by AuctionLifecycleScheduler; these sweeps are only a
+    // safety net for anything a timer missed, e.g. auctions edited directly in the database.
+    @Scheduled(fixedDelayString = "${auction.lifecycle.reconcile-interval-ms:300000}")
     public void startScheduledAuctions() {
         LocalDateTime now = LocalDateTime.now();
         List<Auction> auctionsToStart = auctionRepository.findAuctionsToStart(now);
 
         for (Auction auction : auctionsToStart) {
-            auction.setStatus(Auction.AuctionStatus.LIVE);
-            auctionRepository.save(auction);
+            // Like the end sweep, only the owner starts an auction, so its timers and book stay on one node.
+            if (!partitionManager.isOwner(auction.getId()) || auctionRepository.markLive(auction.getId()) == 0) {
+                continue;
+            }
             log.info("✅ Started auction ID: {}", auction.getId());
+            eventPublisher.publishEvent(new AuctionStartedEvent(auction.getId(), auction.getEndTime()));
         }
     }
 
-    @Scheduled(fixedRate = 10000)
+    @Scheduled(fixedDelayString = "${auction.lifecycle.reconcile-interval-ms:300000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void endLiveAuctions() {
-        LocalDateTime now = LocalDateTime.now();
-        List<Auction> auctionsToEnd = auctionRepository.findAuctionsToEnd(now);
-
-        for (Auction auction : auctionsToEnd) {
-            completeAuction(auction);
-        }
-    }
-
-    private void completeAuction(Auction auction) {
-        auction.setStatus(Auction.AuctionStatus.COMPLETED);
-
-        Optional<Bid> highestBid = bidRepository.findHighestBidForAuction(auction);
-
-        if (highestBid.isPresent()) {
-            Bid winningBid = highestBid.get();
-            auction.setWinner(winningBid.getUser());
-            auction.setWinningBid(winningBid.getBidAmount());
-            winningBid.setIsWinning(true);
-            auction.getProduct().setStatus(Product.ProductStatus.SOLD);
-            log.info("🏆 Auction ID {} won by user: {} with bid: ${}",
-                    auction.getId(), winningBid.getUser().getUsername(), winningBid.getBidAmount());
-        } else {
-            auction.getProduct().setStatus(Product.ProductStatus.AVAILABLE);
-            log.info("⚠️ Auction ID {} completed with no bids", auction.getId());
-        }
-
-        auctionRepository.save(auction);
+        List<Long> auctionsToEnd = auctionRepository.findAuctionIdsToEnd(LocalDateTime.now());
+        auctionCompletionService.completeWave(auctionsToEnd);
     }
 
+    /**
+     * Cancels an auction that has not completed. Bids still being written may change the row while this
+     * runs; the update is then retried on a fresh read rather than overwriting them.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void cancelAuction(Long id) {
         log.info("Cancelling auction: {}", id);
-        Auction auction = auctionRepository.findById(id)
-                .orElseThrow(() -> new AuctionException("Auction not found with id: " + id));
-
-        if (auction.getStatus() == Auction.AuctionStatus.COMPLETED) {
+        if (getAuctionEntityById(id).getStatus() == Auction.AuctionStatus.COMPLETED) {
             throw new AuctionException("Cannot cancel completed auction");
         }
 
-        auction.setStatus(Auction.AuctionStatus.CANCELLED);
-        auction.getProduct().setStatus(Product.ProductStatus.AVAILABLE);
-        auctionRepository.save(auction);
+        bidSequencer.run(id, () -> orderBookRegistry.close(id, Auction.AuctionStatus.CANCELLED));
+        auctionWriteRetry.run(id, () -> {
+            Auction auction = getAuctionEntityById(id);
+            if (auction.getStatus() == Auction.AuctionStatus.COMPLETED) {
+                throw new AuctionException("Cannot cancel completed auction");
+            }
+            auction.setStatus(Auction.AuctionStatus.CANCELLED);
+            auction.getProduct().setStatus(Product.ProductStatus.AVAILABLE);
+            auctionRepository.saveAndFlush(auction);
+            eventPublisher.publishEvent(new AuctionCancelledEvent(id));
+        });
         log.info("Auction cancelled: {}", id);
     }
 
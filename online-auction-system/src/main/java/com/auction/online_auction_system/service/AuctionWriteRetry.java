@@ -0,0 +1,117 @@
+package com.auction.online_auction_system.service;
+
+import com.auction.online_auction_system.event.AuctionCancelledEvent;
+import com.auction.online_auction_system.event.AuctionCompletedEvent;
+import com.auction.online_auction_system.exception.AuctionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs read-modify-write updates of an auction without row locks.
+ * <p>
+ * {@code Auction} carries a {@code @Version}, and every bulk update of the {@code auctions} table bumps it, so
+ * a JPA save based on a stale read fails instead of overwriting a newer price or end time. The work is run in
+ * a fresh transaction and retried up to {@code auction.write.max-attempts} times with a short random backoff.
+ * Conflicts are counted in total and per auction.
+ */
+@Component
+@Slf4j
+public class AuctionWriteRetry {
+
+    private static final int TOP_CONTENDED = 20;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Counter conflicts;
+    private final Counter exhausted;
+    private final Map<Long, LongAdder> conflictsByAuction = new ConcurrentHashMap<>();
+
+    public AuctionWriteRetry(PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${auction.write.max-attempts:5}") int maxAttempts) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.conflicts = Counter.builder("auction.write.conflicts")
+                .description("Auction updates that lost an optimistic lock and were retried or abandoned")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("auction.write.retries.exhausted")
+                .description("Auction updates abandoned after the last attempt")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code work} in its own transaction, again from the start if another writer changed the auction.
+     *
+     * @throws AuctionException if every attempt conflicted
+     */
+    public <T> T execute(Long auctionId, Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.increment();
+                conflictsByAuction.computeIfAbsent(auctionId, id -> new LongAdder()).increment();
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw new AuctionException("Auction " + auctionId + " is being changed concurrently, please retry", e);
+                }
+                log.debug("Auction {} changed underneath attempt {}, retrying", auctionId, attempt);
+                backOff(attempt);
+            }
+        }
+    }
+
+    public void run(Long auctionId, Runnable work) {
+        execute(auctionId, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return the auctions with the most conflicts since they started, most contended first
+     */
+    public Map<Long, Long> getMostContended() {
+        Map<Long, Long> top = new LinkedHashMap<>();
+        conflictsByAuction.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(TOP_CONTENDED)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompleted(AuctionCompletedEvent event) {
+        conflictsByAuction.remove(event.auctionId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCancelled(AuctionCancelledEvent event) {
+        conflictsByAuction.remove(event.auctionId());
+    }
+
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 1L << Math.min(attempt + 1, 8)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuctionException("Interrupted while retrying an auction update", e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.auction.online_auction_system.service;
+
+import com.auction.online_auction_system.engine.AcceptedBid;
+import com.auction.online_auction_system.engine.ProxyChange;
+import com.auction.online_auction_system.entity.Bid;
+import com.auction.online_auction_system.exception.OwnershipLostException;
+import com.auction.online_auction_system.repository.AuctionRepository;
+import com.auction.online_auction_system.repository.BidRepository;
+import com.auction.online_auction_system.repository.ProxyBidRepository;
+import com.auction.online_auction_system.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Writes bids that were already accepted by an order book.
+ * <p>
+ * No validation happens here and nothing is read back: the previous winner is cleared with a single
+ * update, new rows are inserted by reference in JDBC batches and the auction's price, bid count and
+ * soft-close end time are moved in one update per auction; price and end time only ever move upwards.
+ * <p>
+ * Every auction in a batch is fenced first: if another node has claimed the auction since the book that
+ * produced the batch was loaded, the whole batch is refused with an {@link OwnershipLostException}.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class BidPersistenceService {
+
+    private final BidRepository bidRepository;
+    private final AuctionRepository auctionRepository;
+    private final UserRepository userRepository;
+    private final ProxyBidRepository proxyBidRepository;
+
+    /**
+     * Commits a batch of accepted bids and maximum-bid changes in one transaction.
+     * <p>
+     * Bids of the same auction must appear in acceptance order; only the last one of each auction
+     * is flagged as winning. Proxy changes are applied in the order given, after the bids.
+     *
+     * @return the generated ids, in the same order as {@code bids}
+     * @throws OwnershipLostException if an owner epoch in the batch is not positive or no longer its auction's
+     */
+    public List<Long> persistBatch(List<AcceptedBid> bids, List<ProxyChange> proxyChanges) {
+        fence(bids, proxyChanges);
+
+        Map<Long, AcceptedBid> leadingBids = new LinkedHashMap<>();
+        Map<Long, Integer> bidCounts = new HashMap<>();
+        for (AcceptedBid accepted : bids) {
+            leadingBids.put(accepted.auctionId(), accepted);
+            bidCounts.merge(accepted.auctionId(), 1, Integer::sum);
+        }
+
+        for (Long auctionId : leadingBids.keySet()) {
+            bidRepository.clearWinningFlag(auctionId);
+        }
+
+        List<Bid> rows = new ArrayList<>(bids.size());
+        for (AcceptedBid accepted : bids) {
+            Bid bid = new Bid();
+            bid.setAuction(auctionRepository.getReferenceById(accepted.auctionId()));
+            bid.setUser(userRepository.getReferenceById(accepted.userId()));
+            bid.setBidAmount(accepted.bidAmount());
+            bid.setIsWinning(leadingBids.get(accepted.auctionId()) == accepted);
+            bid.setBidTime(accepted.acceptedAt());
+            bid.setSequence(accepted.sequence());
+            bid.setIpAddress(accepted.ipAddress());
+            bid.setOwnerEpoch(accepted.ownerEpoch());
+            rows.add(bid);
+        }
+        List<Bid> savedBids = bidRepository.saveAll(rows);
+
+        for (AcceptedBid leading : leadingBids.values()) {
+            auctionRepository.recordBids(leading.auctionId(), leading.bidAmount(),
+                    bidCounts.get(leading.auctionId()), leading.endTime());
+        }
+
+        for (ProxyChange change : proxyChanges) {
+            if (change.kind() == ProxyChange.Kind.RAISED) {
+                proxyBidRepository.raiseMaximum(change.auctionId(), change.userId(), change.amount(),
+                        change.ipAddress(), change.changedAt());
+            } else {
+                proxyBidRepository.deactivateExhausted(change.auctionId(), List.of(change.userId()), change.amount());
+            }
+        }
+
+        log.debug("Persisted {} bids across {} auctions and {} proxy changes",
+                bids.size(), leadingBids.size(), proxyChanges.size());
+        return savedBids.stream().map(Bid::getId).toList();
+    }
+
+    // Rows are locked in auction id order, so two nodes fencing the same auctions cannot deadlock. Claiming an
+    // auction moves its epoch past 0, so an entry without a claimed epoch never matches and is refused too.
+    private void fence(List<AcceptedBid> bids, List<ProxyChange> proxyChanges) {
+        Map<Long, Set<Long>> epochs = new TreeMap<>();
+        for (AcceptedBid bid : bids) {
+            epochs.computeIfAbsent(bid.auctionId(), id -> new HashSet<>()).add(bid.ownerEpoch());
+        }
+        for (ProxyChange change : proxyChanges) {
+            epochs.computeIfAbsent(change.auctionId(), id -> new HashSet<>()).add(change.ownerEpoch());
+        }
+        epochs.forEach((auctionId, ownerEpochs) -> {
+            for (long ownerEpoch : ownerEpochs) {
+                if (ownerEpoch <= 0 || auctionRepository.fence(auctionId, ownerEpoch) == 0) {
+                    throw new OwnershipLostException(auctionId, ownerEpoch);
+                }
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Set<Long> findPersistedSequences(Long auctionId, long fromSequence) {
+        return new HashSet<>(bidRepository.findSequencesFrom(auctionId, fromSequence));
+    }
+}
\ No newline at end of file
@@ -1,21 +1,43 @@
 package com.auction.online_auction_system.service;
 
+import com.auction.online_auction_system.cluster.PartitionManager;
 import com.auction.online_auction_system.dto.BidDTO;
-import com.auction.online_auction_system.entity.Auction;
-import com.auction.online_auction_system.entity.Bid;
-import com.auction.online_auction_system.entity.User;
+import com.auction.online_auction_system.dto.CursorPage;
+import com.auction.online_auction_system.dto.PageCursor;
+import com.auction.online_auction_system.dto.ProxyBidDTO;
+import com.auction.online_auction_system.engine.AcceptedBid;
+import com.auction.online_auction_system.engine.BidResolution;
+import com.auction.online_auction_system.engine.BidSequencer;
+import com.auction.online_auction_system.engine.LiveOrderBook;
+import com.auction.online_auction_system.engine.OrderBookRegistry;
+import com.auction.online_auction_system.engine.RecentBidRing;
+import com.auction.online_auction_system.engine.RecentBids;
+import com.auction.online_auction_system.event.AuctionExtendedEvent;
+import com.auction.online_auction_system.event.BidPlacedEvent;
+import com.auction.online_auction_system.event.BidRejectedEvent;
 import com.auction.online_auction_system.exception.AuctionException;
+import com.auction.online_auction_system.journal.BidJournal;
 import com.auction.online_auction_system.repository.BidRepository;
-import com.auction.online_auction_system.websocket.BidMessage;
-import com.auction.online_auction_system.websocket.WebSocketHandler;
+import com.auction.online_auction_system.security.AuthenticatedUser;
+import com.auction.online_auction_system.stats.AuctionStats;
+import com.auction.online_auction_system.stats.LiveAuctionStats;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 
 @Service
@@ -26,82 +48,244 @@ public class BidService {
 
     private final BidRepository bidRepository;
     private final AuctionService auctionService;
-    private final UserService userService;
-    private final WebSocketHandler webSocketHandler;
+    private final BidSequencer bidSequencer;
+    private final OrderBookRegistry orderBookRegistry;
+    private final BidJournal bidJournal;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PartitionManager partitionManager;
+    private final StreamingReader streamingReader;
+    private final RecentBids recentBids;
+    private final LiveAuctionStats liveAuctionStats;
 
-    public BidDTO placeBid(BidDTO bidDTO) {
-        log.info("Placing bid for auction ID: {} by user ID: {}", bidDTO.getAuctionId(), bidDTO.getUserId());
+    /**
+     * Places a bid for {@code bidder}; the user id and username in {@code bidDTO} are ignored.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BidDTO placeBid(AuthenticatedUser bidder, BidDTO bidDTO) {
+        log.info("Placing bid for auction ID: {} by user ID: {}", bidDTO.getAuctionId(), bidder.userId());
 
-        Auction auction = auctionService.getAuctionEntityById(bidDTO.getAuctionId());
-        User user = userService.getUserEntityById(bidDTO.getUserId());
+        Resolved resolved = resolve(bidDTO.getAuctionId(), book -> book.accept(bidder.userId(), bidder.username(),
+                bidDTO.getBidAmount(), bidDTO.getIpAddress(), LocalDateTime.now()));
 
-        if (auction.getStatus() != Auction.AuctionStatus.LIVE) {
-            throw new AuctionException("Auction is not live. Current status: " + auction.getStatus());
-        }
+        // The user's own bid comes first; any answer from a competing maximum bid follows it.
+        BidDTO placedBid = BidDTO.fromAccepted(resolved.resolution().bids().get(0));
+        placedBid.setId(resolved.ids().get(0));
+        placedBid.setIsWinning(bidder.userId().equals(resolved.resolution().quote().leaderId()));
 
-        BigDecimal minimumBid = auction.getCurrentBid().add(auction.getMinimumIncrement());
-        if (bidDTO.getBidAmount().compareTo(minimumBid) < 0) {
-            throw new AuctionException("Bid must be at least $" + minimumBid);
-        }
+        log.info("✅ Bid placed successfully: ${} by {}", placedBid.getBidAmount(), bidder.username());
+
+        return placedBid;
+    }
+
+    /**
+     * Registers or raises a maximum bid. The order book bids for {@code bidder}, one increment above
+     * competing bids, up to the maximum.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProxyBidDTO placeProxyBid(AuthenticatedUser bidder, ProxyBidDTO proxyBidDTO) {
+        log.info("Placing maximum bid for auction ID: {} by user ID: {}", proxyBidDTO.getAuctionId(), bidder.userId());
+
+        Resolved resolved = resolve(proxyBidDTO.getAuctionId(), book -> book.submitProxy(bidder.userId(),
+                bidder.username(), proxyBidDTO.getMaxAmount(), proxyBidDTO.getIpAddress(), LocalDateTime.now()));
+
+        LiveOrderBook.Quote quote = resolved.resolution().quote();
+        proxyBidDTO.setUserId(bidder.userId());
+        proxyBidDTO.setCurrentBid(quote.currentBid());
+        proxyBidDTO.setLeading(bidder.userId().equals(quote.leaderId()));
+
+        log.info("✅ Maximum bid of ${} placed by {}, current bid ${}",
+                proxyBidDTO.getMaxAmount(), bidder.username(), quote.currentBid());
 
-        List<Bid> previousBids = bidRepository.findByAuctionOrderByBidAmountDesc(auction);
-        previousBids.forEach(bid -> bid.setIsWinning(false));
+        return proxyBidDTO;
+    }
 
-        Bid bid = new Bid();
-        bid.setAuction(auction);
-        bid.setUser(user);
-        bid.setBidAmount(bidDTO.getBidAmount());
-        bid.setIsWinning(true);
-        bid.setIpAddress(bidDTO.getIpAddress());
+    /**
+     * Runs one submission on the auction's lane, journals its visible bids and proxy changes and broadcasts
+     * the outcome as a single message, however many bids competing maximums produced.
+     */
+    private Resolved resolve(Long auctionId, Function<LiveOrderBook, BidResolution> submission) {
+        Placement placement = bidSequencer.execute(auctionId, () -> {
+            // Checked on the lane, so no bid slips in after a rebalance has evicted the book.
+            if (!partitionManager.isOwner(auctionId)) {
+                throw new AuctionException("Auction " + auctionId + " is handled by another node, please retry");
+            }
+            LiveOrderBook book = orderBookRegistry.getLiveBook(auctionId);
+            LiveOrderBook.Checkpoint checkpoint = book.checkpoint();
+            LocalDateTime now = LocalDateTime.now();
+            BidResolution resolution = submission.apply(book);
 
-        Bid savedBid = bidRepository.save(bid);
+            try {
+                // Proxy changes are journaled with the bids they produced, in the lane's order.
+                List<CompletableFuture<Long>> committed = bidJournal.appendAll(resolution.bids(),
+                        resolution.proxyChanges(auctionId, book.getOwnerEpoch(), now));
+                recentBids.track(resolution.bids(), committed);
+                return new Placement(resolution, committed, checkpoint.quote().endTime());
+            } catch (RuntimeException e) {
+                book.restore(checkpoint);
+                throw e;
+            }
+        });
 
-        auction.setCurrentBid(bidDTO.getBidAmount());
+        BidResolution resolution = placement.resolution();
+        LiveOrderBook.Quote quote = resolution.quote();
+        List<Long> ids = placement.committed().stream().map(bidJournal::acknowledge).toList();
 
-        BidMessage message = new BidMessage();
-        message.setAuctionId(auction.getId());
-        message.setUserId(user.getId());
-        message.setUsername(user.getUsername());
-        message.setBidAmount(bidDTO.getBidAmount());
-        message.setTimestamp(savedBid.getBidTime());
+        // Announced like the bid, only once the journal has acknowledged it.
+        if (quote.endTime().isAfter(placement.previousEndTime())) {
+            log.info("⏳ Auction ID {} extended to {}", auctionId, quote.endTime());
+            eventPublisher.publishEvent(new AuctionExtendedEvent(auctionId, quote.endTime()));
+        }
 
-        webSocketHandler.broadcastBid(message);
+        if (!resolution.bids().isEmpty()) {
+            AcceptedBid last = resolution.bids().get(resolution.bids().size() - 1);
+            eventPublisher.publishEvent(new BidPlacedEvent(auctionId, quote.sequence(), quote.leaderId(),
+                    quote.leaderName(), quote.currentBid(), quote.bidCount(), last.acceptedAt(), quote.endTime(),
+                    resolution.bids().stream().map(AcceptedBid::userId).toList()));
+        }
 
-        log.info("✅ Bid placed successfully: ${} by {}", bidDTO.getBidAmount(), user.getUsername());
+        return new Resolved(resolution, ids);
+    }
 
-        return BidDTO.fromEntity(savedBid);
+    /**
+     * Reloads the book of an auction whose journal could not save a bid the book had accepted, so the price
+     * and leader bidders see match the database again. Runs on the auction's lane once the bids queued behind
+     * the rejected one have been flushed.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onBidRejected(BidRejectedEvent event) {
+        Long auctionId = event.auctionId();
+        bidSequencer.submit(auctionId, () -> {
+            Optional<LiveOrderBook> stale = orderBookRegistry.peek(auctionId);
+            if (stale.isEmpty()) {
+                return;
+            }
+            long lastVersion = stale.get().getQuote().sequence();
+            bidJournal.awaitFlushed();
+            // Reloading a fenced-off book would claim the auction back from the node that took it over.
+            if (event.ownershipLost() || !partitionManager.isOwner(auctionId)) {
+                orderBookRegistry.evict(auctionId);
+                log.warn("⚠️ Evicted the book of auction ID {} after bid {} was not saved",
+                        auctionId, event.sequence());
+                return;
+            }
+            try {
+                // One past every version already broadcast, so the correction replaces them on clients.
+                LiveOrderBook.Quote quote = orderBookRegistry.reload(auctionId, lastVersion + 1).getQuote();
+                log.warn("⚠️ Reloaded auction ID {} after bid {} was not saved: ${} by {}",
+                        auctionId, event.sequence(), quote.currentBid(), quote.leaderName());
+                eventPublisher.publishEvent(new BidPlacedEvent(auctionId, quote.sequence(), quote.leaderId(),
+                        quote.leaderName(), quote.currentBid(), quote.bidCount(), LocalDateTime.now(),
+                        quote.endTime(), List.of()));
+            } catch (AuctionException e) {
+                orderBookRegistry.evict(auctionId);
+                log.warn("⚠️ Dropped the book of auction ID {} after bid {} was not saved: {}",
+                        auctionId, event.sequence(), e.getMessage());
+            }
+        });
     }
 
-    @Transactional(readOnly = true)
-    public List<BidDTO> getBidsByAuction(Long auctionId) {
+    /**
+     * One page of an auction's bids, highest first. The first page of an auction whose book is loaded on
+     * this node comes from its {@link RecentBids} ring when the ring holds enough bids.
+     *
+     * @param cursor token from the previous page, {@code null} for the first page
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CursorPage<BidDTO> getBidsByAuction(Long auctionId, String cursor, Integer limit) {
         log.debug("Fetching bids for auction ID: {}", auctionId);
-        Auction auction = auctionService.getAuctionEntityById(auctionId);
-        return bidRepository.findByAuctionOrderByBidAmountDesc(auction).stream()
-                .map(BidDTO::fromEntity)
-                .collect(Collectors.toList());
+        int size = CursorPage.limit(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        if (after == null) {
+            Optional<CursorPage<BidDTO>> recent = recentBids.get(auctionId).flatMap(ring -> firstPage(ring, size));
+            if (recent.isPresent()) {
+                return recent.get();
+            }
+        }
+        PageRequest fetch = PageRequest.ofSize(size + 1);
+        List<BidDTO> rows = after == null
+                ? bidRepository.findFirstPageByAuction(auctionId, fetch)
+                : bidRepository.findPageByAuctionAfter(auctionId, after.amountKey(), after.id(), fetch);
+        return CursorPage.of(rows, size, Function.identity(),
+                bid -> PageCursor.of(bid.getBidAmount().toPlainString(), bid.getId()));
+    }
+
+    static Optional<CursorPage<BidDTO>> firstPage(RecentBidRing ring, int size) {
+        List<BidDTO> held = ring.snapshot();
+        if (held.size() < size && held.size() < ring.total()) {
+            return Optional.empty();
+        }
+        List<BidDTO> items = new ArrayList<>(held.subList(0, Math.min(size, held.size())));
+        if (!items.isEmpty()) {
+            // Held DTOs are shared between requests; only the copy of the highest bid is marked winning.
+            items.set(0, items.get(0).toBuilder().isWinning(true).build());
+        }
+        BidDTO last = items.isEmpty() ? null : items.get(items.size() - 1);
+        String next = ring.total() > items.size()
+                ? PageCursor.of(last.getBidAmount().toPlainString(), last.getId()).encode()
+                : null;
+        return Optional.of(new CursorPage<>(items, next));
     }
 
+    /**
+     * One page of a user's bids, most recent first.
+     *
+     * @param cursor token from the previous page, {@code null} for the first page
+     */
     @Transactional(readOnly = true)
-    public List<BidDTO> getBidsByUser(Long userId) {
+    public CursorPage<BidDTO> getBidsByUser(Long userId, String cursor, Integer limit) {
         log.debug("Fetching bids for user ID: {}", userId);
-        User user = userService.getUserEntityById(userId);
-        return bidRepository.findByUserOrderByBidTimeDesc(user).stream()
-                .map(BidDTO::fromEntity)
-                .collect(Collectors.toList());
+        int size = CursorPage.limit(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        PageRequest fetch = PageRequest.ofSize(size + 1);
+        List<BidDTO> rows = after == null
+                ? bidRepository.findFirstPageByUser(userId, fetch)
+                : bidRepository.findPageByUserAfter(userId, after.timeKey(), after.id(), fetch);
+        return CursorPage.of(rows, size, Function.identity(), bid -> PageCursor.of(bid.getBidTime(), bid.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public long exportBidsByAuction(Long auctionId, Consumer<BidDTO> sink) {
+        return streamingReader.forEach(bidRepository.streamByAuction(auctionId), Function.identity(), sink);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportBidsByUser(Long userId, Consumer<BidDTO> sink) {
+        return streamingReader.forEach(bidRepository.streamByUser(userId), Function.identity(), sink);
     }
 
     @Transactional(readOnly = true)
     public BidDTO getHighestBid(Long auctionId) {
         log.debug("Fetching highest bid for auction ID: {}", auctionId);
-        Auction auction = auctionService.getAuctionEntityById(auctionId);
-        Bid highestBid = bidRepository.findHighestBidForAuction(auction)
+        auctionService.getAuctionEntityById(auctionId);
+        return bidRepository.findHighestByAuction(auctionId)
                 .orElseThrow(() -> new AuctionException("No bids found for this auction"));
-        return BidDTO.fromEntity(highestBid);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * The auction's bid count, from {@link LiveAuctionStats} while it is being bid on and counted in the
+     * database otherwise.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public long getBidCount(Long auctionId) {
+        OptionalLong live = liveAuctionStats.getBidCount(auctionId);
+        if (live.isPresent()) {
+            return live.getAsLong();
+        }
         log.debug("Counting bids for auction ID: {}", auctionId);
         return bidRepository.countByAuction(auctionId);
     }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public AuctionStats getAuctionStats(Long auctionId) {
+        return liveAuctionStats.get(auctionId).orElseGet(() -> AuctionStats.quiet(auctionId,
+                bidRepository.countByAuction(auctionId), liveAuctionStats.getWindowSeconds()));
+    }
+
+    private record Placement(BidResolution resolution, List<CompletableFuture<Long>> committed,
+                             LocalDateTime previousEndTime) {
+    }
+
+    private record Resolved(BidResolution resolution, List<Long> ids) {
+    }
 }
\ No newline at end of file
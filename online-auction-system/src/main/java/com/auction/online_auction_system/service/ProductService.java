@@ -1,16 +1,27 @@
 package com.auction.online_auction_system.service;
 
+import com.auction.online_auction_system.cache.ProductViewCache;
+import com.auction.online_auction_system.dto.CursorPage;
+import com.auction.online_auction_system.dto.PageCursor;
 import com.auction.online_auction_system.dto.ProductDTO;
 import com.auction.online_auction_system.entity.Product;
 import com.auction.online_auction_system.entity.User;
+import com.auction.online_auction_system.event.ProductChangedEvent;
 import com.auction.online_auction_system.exception.AuctionException;
+import com.auction.online_auction_system.image.ImageReferences;
 import com.auction.online_auction_system.repository.ProductRepository;
+import com.auction.online_auction_system.search.ProductSearchService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -22,6 +33,11 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final UserService userService;
+    private final ProductViewCache productViewCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StreamingReader streamingReader;
+    private final ImageReferences imageReferences;
+    private final ProductSearchService productSearchService;
 
     public ProductDTO createProduct(ProductDTO productDTO) {
         log.info("Creating new product: {}", productDTO.getName());
@@ -30,7 +46,7 @@ public class ProductService {
         Product product = new Product();
         product.setName(productDTO.getName());
         product.setDescription(productDTO.getDescription());
-        product.setImageUrl(productDTO.getImageUrl());
+        product.setImageUrl(imageReferences.toReference(productDTO.getImageUrl()));
         product.setCategory(productDTO.getCategory());
         product.setStartingPrice(productDTO.getStartingPrice());
         product.setReservePrice(productDTO.getReservePrice());
@@ -39,46 +55,74 @@ public class ProductService {
 
         Product savedProduct = productRepository.save(product);
         log.info("Product created successfully: {}", savedProduct.getName());
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getId()));
 
         return ProductDTO.fromEntity(savedProduct);
     }
 
-    @Transactional(readOnly = true)
+    // Cached reads load in a transaction of their own, so a cache hit needs no connection.
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ProductDTO getProductById(Long id) {
         log.debug("Fetching product by ID: {}", id);
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new AuctionException("Product not found with id: " + id));
-        return ProductDTO.fromEntity(product);
+        return productViewCache.get(id, key -> ProductDTO.fromEntity(getProductEntityById(key)));
     }
 
-    @Transactional(readOnly = true)
-    public List<ProductDTO> getAllProducts() {
-        log.debug("Fetching all products");
-        return productRepository.findAll().stream()
-                .map(ProductDTO::fromEntity)
-                .collect(Collectors.toList());
+    /**
+     * One page of products ordered by id, optionally of a single status and category. First pages are served
+     * from the view cache.
+     *
+     * @param cursor token from the previous page, {@code null} for the first page
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CursorPage<ProductDTO> getProductPage(Product.ProductStatus status, String category, String cursor,
+                                                 Integer limit) {
+        log.debug("Fetching products of status {} in category {} after cursor: {}", status, category, cursor);
+        int size = CursorPage.limit(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        PageRequest fetch = PageRequest.ofSize(size + 1);
+        if (after == null) {
+            List<ProductDTO> views = productViewCache.getList("page:" + status + ":" + category + ":" + size, () ->
+                    productRepository.findPageAfter(0L, status, category, fetch).stream()
+                            .map(ProductDTO::fromEntity)
+                            .collect(Collectors.toList()));
+            return CursorPage.of(views, size, Function.identity(), view -> PageCursor.of(null, view.getId()));
+        }
+        List<Product> rows = productRepository.findPageAfter(after.id(), status, category, fetch);
+        return CursorPage.of(rows, size, ProductDTO::fromEntity, product -> PageCursor.of(null, product.getId()));
     }
 
     @Transactional(readOnly = true)
-    public List<ProductDTO> getProductsByStatus(Product.ProductStatus status) {
-        log.debug("Fetching products by status: {}", status);
-        return productRepository.findByStatusOrderByCreatedAtDesc(status).stream()
-                .map(ProductDTO::fromEntity)
-                .collect(Collectors.toList());
+    public long exportProducts(Consumer<ProductDTO> sink) {
+        return streamingReader.forEach(productRepository.streamAll(), ProductDTO::fromEntity, sink);
     }
 
+    /**
+     * Searches names, descriptions and categories through the search index, falling back to a name scan
+     * while the index is still being built.
+     */
     @Transactional(readOnly = true)
-    public List<ProductDTO> getProductsByCategory(String category) {
-        log.debug("Fetching products by category: {}", category);
-        return productRepository.findByCategory(category).stream()
-                .map(ProductDTO::fromEntity)
-                .collect(Collectors.toList());
+    public List<ProductDTO> searchProducts(String query, Product.ProductStatus status, String category,
+                                           Integer limit) {
+        log.debug("Searching products for: {}", query);
+        int size = CursorPage.limit(limit);
+        // Hits missing from the cache are loaded in one query; products deleted since they were indexed are left out.
+        return productSearchService.search(query, status, category, size)
+                .map(ids -> productViewCache.getAll(ids, missing ->
+                        productRepository.findAllWithSellerById(missing).stream()
+                                .collect(Collectors.toMap(Product::getId, ProductDTO::fromEntity))))
+                .orElseGet(() -> scanProducts(query, status, category, size));
     }
 
-    @Transactional(readOnly = true)
-    public List<ProductDTO> searchProducts(String name) {
-        log.debug("Searching products with name: {}", name);
-        return productRepository.findByNameContainingIgnoreCase(name).stream()
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<String> suggestSearchTerms(String prefix, Integer limit) {
+        return productSearchService.suggest(prefix, Math.min(CursorPage.limit(limit), 20));
+    }
+
+    private List<ProductDTO> scanProducts(String query, Product.ProductStatus status, String category, int size) {
+        return productRepository.findByNameContainingIgnoreCase(query.trim()).stream()
+                .filter(product -> status == null || product.getStatus() == status)
+                .filter(product -> category == null || category.equalsIgnoreCase(product.getCategory()))
+                .limit(size)
                 .map(ProductDTO::fromEntity)
                 .collect(Collectors.toList());
     }
@@ -101,7 +145,7 @@ public class ProductService {
             product.setDescription(productDTO.getDescription());
         }
         if (productDTO.getImageUrl() != null) {
-            product.setImageUrl(productDTO.getImageUrl());
+            product.setImageUrl(imageReferences.toReference(productDTO.getImageUrl()));
         }
         if (productDTO.getCategory() != null) {
             product.setCategory(productDTO.getCategory());
@@ -115,6 +159,7 @@ public class ProductService {
 
         Product updatedProduct = productRepository.save(product);
         log.info("Product updated successfully: {}", updatedProduct.getName());
+        eventPublisher.publishEvent(new ProductChangedEvent(id));
 
         return ProductDTO.fromEntity(updatedProduct);
     }
@@ -124,6 +169,7 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new AuctionException("Product not found with id: " + id));
         productRepository.delete(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(id));
         log.info("Product deleted successfully: {}", id);
     }
 
@@ -0,0 +1,40 @@
+package com.auction.online_auction_system.service;
+
+import com.auction.online_auction_system.repository.StreamHints;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Maps the rows of a streaming query one at a time. Managed entities are cleared out of the persistence
+ * context as the stream advances, so an export holds a bounded number of rows however long it is.
+ * Must be called inside a transaction that stays open until the stream is consumed.
+ */
+@Component
+@RequiredArgsConstructor
+public class StreamingReader {
+
+    private final EntityManager entityManager;
+
+    /**
+     * @return the number of rows passed to {@code sink}
+     */
+    public <E, T> long forEach(Stream<E> rows, Function<E, T> mapper, Consumer<? super T> sink) {
+        long count = 0;
+        try (rows) {
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(mapper.apply(iterator.next()));
+                if (++count % StreamHints.CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -1,16 +1,25 @@
 package com.auction.online_auction_system.service;
 
+import com.auction.online_auction_system.dto.CursorPage;
+import com.auction.online_auction_system.dto.PageCursor;
 import com.auction.online_auction_system.dto.UserDTO;
 import com.auction.online_auction_system.entity.User;
+import com.auction.online_auction_system.event.UserRegisteredEvent;
 import com.auction.online_auction_system.exception.AuctionException;
 import com.auction.online_auction_system.repository.UserRepository;
+import com.auction.online_auction_system.security.PasswordHasher;
+import com.auction.online_auction_system.security.TakenNames;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 
@@ -21,31 +30,47 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-
+    private final PasswordHasher passwordHasher;
+    private final TakenNames takenNames;
+    private final StreamingReader streamingReader;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Runs without a surrounding transaction so no connection is held while the password is hashed; the
+     * availability checks and the insert each take one briefly, and the unique constraints settle races.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserDTO registerUser(UserDTO userDTO) {
         log.info("Registering new user: {}", userDTO.getUsername());
 
-        if (userRepository.existsByUsername(userDTO.getUsername())) {
+        if (takenNames.mayHaveUsername(userDTO.getUsername())
+                && userRepository.existsByUsername(userDTO.getUsername())) {
             throw new AuctionException("Username already exists: " + userDTO.getUsername());
         }
 
-        if (userRepository.existsByEmail(userDTO.getEmail())) {
+        if (takenNames.mayHaveEmail(userDTO.getEmail()) && userRepository.existsByEmail(userDTO.getEmail())) {
             throw new AuctionException("Email already exists: " + userDTO.getEmail());
         }
 
         User user = new User();
         user.setUsername(userDTO.getUsername());
         user.setEmail(userDTO.getEmail());
-        user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+        user.setPassword(passwordHasher.encode(userDTO.getPassword()));
         user.setFirstName(userDTO.getFirstName());
         user.setLastName(userDTO.getLastName());
         user.setPhoneNumber(userDTO.getPhoneNumber());
         user.setIsActive(true);
         user.setRole(userDTO.getRole() != null ? userDTO.getRole() : User.UserRole.BIDDER);
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new AuctionException("Username or email already exists: " + userDTO.getUsername());
+        }
         log.info("User registered successfully: {}", savedUser.getUsername());
+        eventPublisher.publishEvent(
+                new UserRegisteredEvent(savedUser.getId(), savedUser.getUsername(), savedUser.getEmail()));
 
         return UserDTO.fromEntity(savedUser);
     }
@@ -67,11 +92,17 @@ public class UserService {
     }
 
     @Transactional(readOnly = true)
-    public List<UserDTO> getAllUsers() {
-        log.debug("Fetching all users");
-        return userRepository.findAll().stream()
-                .map(UserDTO::fromEntity)
-                .collect(Collectors.toList());
+    public CursorPage<UserDTO> getUserPage(String cursor, Integer limit) {
+        log.debug("Fetching users after cursor: {}", cursor);
+        int size = CursorPage.limit(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        List<User> rows = userRepository.findPageAfter(after != null ? after.id() : 0L, PageRequest.ofSize(size + 1));
+        return CursorPage.of(rows, size, UserDTO::fromEntity, user -> PageCursor.of(null, user.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public long exportUsers(Consumer<UserDTO> sink) {
+        return streamingReader.forEach(userRepository.streamAll(), UserDTO::fromEntity, sink);
     }
 
     @Transactional(readOnly = true)
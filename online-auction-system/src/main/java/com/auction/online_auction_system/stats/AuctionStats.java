@@ -0,0 +1,24 @@
+package com.auction.online_auction_system.stats;
+
+import java.math.BigDecimal;
+
+/**
+ * Live figures of one auction, as served over REST and pushed to the auction's WebSocket subscribers.
+ *
+ * @param bidCount             bids the auction has had in total
+ * @param bidsInWindow         bids seen in the last {@code windowSeconds}
+ * @param uniqueBidders        distinct bidders seen in the last {@code windowSeconds}, estimated
+ * @param priceChangePerMinute how fast the current bid rose over the window
+ * @param secondsSinceLastBid  {@code null} if this node has not seen a bid on the auction
+ */
+public record AuctionStats(Long auctionId, long bidCount, BigDecimal currentBid, long windowSeconds,
+                           long bidsInWindow, double bidsPerSecond, long uniqueBidders,
+                           BigDecimal priceChangePerMinute, Long secondsSinceLastBid) {
+
+    /**
+     * Figures of an auction this node has not seen bidding on lately.
+     */
+    public static AuctionStats quiet(Long auctionId, long bidCount, long windowSeconds) {
+        return new AuctionStats(auctionId, bidCount, null, windowSeconds, 0, 0, 0, BigDecimal.ZERO, null);
+    }
+}
@@ -0,0 +1,126 @@
+package com.auction.online_auction_system.stats;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sliding-window figures of one auction, kept in a ring of fixed-length buckets.
+ * <p>
+ * A bid touches only the bucket for the current time: a striped counter and a {@link HyperLogLog} of
+ * bidders. Once the window has moved past a bucket, the next bid to land in its slot swaps in a fresh one,
+ * so nothing is ever cleared in place. Writers never lock; a bid racing with that swap may be counted in the
+ * retired bucket and lost, which only ever understates the window by a bid or two.
+ */
+final class BidWindow {
+
+    private static final long MINUTE_MILLIS = 60_000;
+
+    private final Long auctionId;
+    private final long bucketMillis;
+    private final int precision;
+    private final AtomicReferenceArray<Bucket> buckets;
+    private final AtomicLong bidCount = new AtomicLong();
+    private final AtomicLong lastBidAt = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicReference<BigDecimal> currentBid = new AtomicReference<>();
+    private final long openedAt;
+
+    /**
+     * @param precision of each bucket's {@link HyperLogLog}
+     */
+    BidWindow(Long auctionId, int bucketCount, long bucketMillis, int precision, long now) {
+        this.auctionId = auctionId;
+        this.bucketMillis = bucketMillis;
+        this.precision = precision;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+        this.openedAt = now;
+    }
+
+    /**
+     * Counts one bid resolution.
+     *
+     * @param bidCount  the auction's bid count after the resolution
+     * @param bidderIds the bidder of each bid the resolution placed
+     */
+    void record(long now, BigDecimal price, long bidCount, List<Long> bidderIds) {
+        Bucket bucket = bucketAt(now, price);
+        bucket.bids.add(bidderIds.size());
+        for (Long bidderId : bidderIds) {
+            bucket.bidders.add(bidderId);
+        }
+        this.bidCount.accumulateAndGet(bidCount, Math::max);
+        this.lastBidAt.accumulateAndGet(now, Math::max);
+        this.currentBid.accumulateAndGet(price, (current, offered) -> current == null ? offered : current.max(offered));
+    }
+
+    long bidCount() {
+        return bidCount.get();
+    }
+
+    long lastBidAt() {
+        return lastBidAt.get();
+    }
+
+    AuctionStats snapshot(long now) {
+        long index = now / bucketMillis;
+        long windowMillis = bucketMillis * buckets.length();
+        long bids = 0;
+        HyperLogLog bidders = new HyperLogLog(precision);
+        Bucket oldest = null;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket == null || bucket.index <= index - buckets.length() || bucket.index > index) {
+                continue;
+            }
+            bids += bucket.bids.sum();
+            bucket.bidders.mergeInto(bidders);
+            if (oldest == null || bucket.index < oldest.index) {
+                oldest = bucket;
+            }
+        }
+
+        BigDecimal price = currentBid.get();
+        long elapsed = Math.min(windowMillis, Math.max(1_000, now - openedAt));
+        BigDecimal priceChange = BigDecimal.ZERO;
+        if (oldest != null && price != null) {
+            long span = Math.max(1_000, now - oldest.index * bucketMillis);
+            priceChange = price.subtract(oldest.openingPrice)
+                    .multiply(BigDecimal.valueOf(MINUTE_MILLIS))
+                    .divide(BigDecimal.valueOf(span), 2, RoundingMode.HALF_UP);
+        }
+        long last = lastBidAt.get();
+        return new AuctionStats(auctionId, bidCount.get(), price, windowMillis / 1_000, bids,
+                bids * 1_000.0 / elapsed, oldest != null ? bidders.estimate() : 0, priceChange,
+                last != Long.MIN_VALUE ? Math.max(0, now - last) / 1_000 : null);
+    }
+
+    private Bucket bucketAt(long now, BigDecimal price) {
+        long index = now / bucketMillis;
+        int slot = (int) (index % buckets.length());
+        Bucket bucket = buckets.get(slot);
+        // A bucket from later than now means another thread read the clock a moment after this one.
+        while (bucket == null || bucket.index < index) {
+            BigDecimal current = currentBid.get();
+            Bucket fresh = new Bucket(index, current != null ? current : price, precision);
+            if (buckets.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+            bucket = buckets.get(slot);
+        }
+        return bucket;
+    }
+
+    /**
+     * @param openingPrice the auction's current bid when the bucket opened
+     */
+    private record Bucket(long index, BigDecimal openingPrice, LongAdder bids, HyperLogLog bidders) {
+
+        private Bucket(long index, BigDecimal openingPrice, int precision) {
+            this(index, openingPrice, new LongAdder(), new HyperLogLog(precision));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.auction.online_auction_system.stats;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Estimates how many distinct values were added, in {@code 2^precision} bytes whatever the count.
+ * <p>
+ * {@link #add} may be called from any number of threads: each register only ever grows, and does so with a
+ * compare-and-set. The standard error is about {@code 1.04 / sqrt(2^precision)}; small counts are
+ * estimated by linear counting and are close to exact.
+ */
+final class HyperLogLog {
+
+    private static final VarHandle REGISTER = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private final int precision;
+    private final byte[] registers;
+
+    HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("precision must be between 4 and 16: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    void add(long value) {
+        long hash = mix(value);
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        // The guard bit caps the rank for hashes whose remaining bits are all zero.
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        byte current = (byte) REGISTER.getVolatile(registers, index);
+        while (rank > current && !REGISTER.compareAndSet(registers, index, current, rank)) {
+            current = (byte) REGISTER.getVolatile(registers, index);
+        }
+    }
+
+    /**
+     * Adds everything this sketch has seen to {@code target}, which must have the same precision and must
+     * not be shared with other threads.
+     */
+    void mergeInto(HyperLogLog target) {
+        for (int i = 0; i < registers.length; i++) {
+            byte rank = (byte) REGISTER.getOpaque(registers, i);
+            if (rank > target.registers[i]) {
+                target.registers[i] = rank;
+            }
+        }
+    }
+
+    long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte rank : registers) {
+            sum += Math.scalb(1.0, -rank);
+            if (rank == 0) {
+                zeros++;
+            }
+        }
+        double alpha = switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * MurmurHash3's 64-bit finalizer; spreads ids that differ in a few low bits over the whole range.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
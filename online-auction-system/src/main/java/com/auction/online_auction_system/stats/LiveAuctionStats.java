@@ -0,0 +1,92 @@
+package com.auction.online_auction_system.stats;
+
+import com.auction.online_auction_system.cluster.ClusterEventBus;
+import com.auction.online_auction_system.event.AuctionCancelledEvent;
+import com.auction.online_auction_system.event.AuctionCompletedEvent;
+import com.auction.online_auction_system.event.BidPlacedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sliding-window statistics of every auction that has seen bidding lately, kept incrementally from the
+ * accepted-bid stream.
+ * <p>
+ * Fed from the {@link ClusterEventBus}, so every node knows about bids placed on any node. An auction's
+ * {@link BidWindow} is created by its first bid, dropped when the auction completes or is cancelled, and
+ * dropped after {@code auction.stats.idle-ttl-seconds} without bids in case that event was missed. Recording
+ * a bid costs the same however many bids or bidders the auction has.
+ */
+@Component
+@Slf4j
+public class LiveAuctionStats {
+
+    private final Map<Long, BidWindow> windows = new ConcurrentHashMap<>();
+    private final int bucketCount;
+    private final long bucketMillis;
+    private final int precision;
+    private final long idleTtlMillis;
+
+    public LiveAuctionStats(ClusterEventBus clusterEventBus,
+                            MeterRegistry meterRegistry,
+                            @Value("${auction.stats.window-seconds:60}") int windowSeconds,
+                            @Value("${auction.stats.buckets:12}") int bucketCount,
+                            @Value("${auction.stats.bidder-precision:8}") int precision,
+                            @Value("${auction.stats.idle-ttl-seconds:3600}") long idleTtlSeconds) {
+        this.bucketCount = bucketCount;
+        this.bucketMillis = windowSeconds * 1_000L / bucketCount;
+        this.precision = precision;
+        this.idleTtlMillis = idleTtlSeconds * 1_000;
+        Gauge.builder("auction.stats.auctions", windows, Map::size)
+                .description("Auctions with live bidding statistics on this node")
+                .register(meterRegistry);
+        clusterEventBus.subscribe(BidPlacedEvent.class, this::onBidPlaced);
+        clusterEventBus.subscribe(AuctionCompletedEvent.class, event -> windows.remove(event.auctionId()));
+        clusterEventBus.subscribe(AuctionCancelledEvent.class, event -> windows.remove(event.auctionId()));
+    }
+
+    private void onBidPlaced(BidPlacedEvent event) {
+        long now = System.currentTimeMillis();
+        windows.computeIfAbsent(event.auctionId(),
+                        auctionId -> new BidWindow(auctionId, bucketCount, bucketMillis, precision, now))
+                .record(now, event.currentBid(), event.bidCount(), event.bidderIds());
+    }
+
+    /**
+     * @return empty if no bid on the auction has been seen since it was last dropped
+     */
+    public Optional<AuctionStats> get(Long auctionId) {
+        BidWindow window = windows.get(auctionId);
+        return window != null ? Optional.of(window.snapshot(System.currentTimeMillis())) : Optional.empty();
+    }
+
+    /**
+     * @return the auction's bid count as of its latest bid, empty if the auction is not tracked
+     */
+    public OptionalLong getBidCount(Long auctionId) {
+        BidWindow window = windows.get(auctionId);
+        return window != null ? OptionalLong.of(window.bidCount()) : OptionalLong.empty();
+    }
+
+    public long getWindowSeconds() {
+        return bucketMillis * bucketCount / 1_000;
+    }
+
+    @Scheduled(fixedDelayString = "${auction.stats.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTtlMillis;
+        int before = windows.size();
+        windows.values().removeIf(window -> window.lastBidAt() < cutoff);
+        if (windows.size() < before) {
+            log.debug("Dropped statistics of {} idle auctions", before - windows.size());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.auction.online_auction_system.websocket;
+
+import com.auction.online_auction_system.event.BidPlacedEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Latest known state of an auction as pushed to clients.
+ *
+ * @param version order book sequence; a client holding an equal or higher version is up to date
+ */
+public record AuctionSnapshot(Long auctionId, long version, Long leaderId, String leaderName,
+                              BigDecimal currentBid, long bidCount, LocalDateTime updatedAt, LocalDateTime endTime) {
+
+    static AuctionSnapshot from(BidPlacedEvent event) {
+        return new AuctionSnapshot(event.auctionId(), event.version(), event.leaderId(), event.leaderName(),
+                event.currentBid(), event.bidCount(), event.placedAt(), event.endTime());
+    }
+
+    static AuctionSnapshot newer(AuctionSnapshot a, AuctionSnapshot b) {
+        return a.version() >= b.version() ? a : b;
+    }
+
+    BidMessage toMessage() {
+        BidMessage message = new BidMessage();
+        message.setAuctionId(auctionId);
+        message.setVersion(version);
+        message.setUserId(leaderId);
+        message.setUsername(leaderName);
+        message.setBidAmount(currentBid);
+        message.setBidCount(bidCount);
+        message.setTimestamp(updatedAt);
+        message.setEndTime(endTime);
+        return message;
+    }
+}
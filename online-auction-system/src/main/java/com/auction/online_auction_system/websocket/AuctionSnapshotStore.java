@@ -0,0 +1,70 @@
+package com.auction.online_auction_system.websocket;
+
+import com.auction.online_auction_system.cluster.ClusterEventBus;
+import com.auction.online_auction_system.event.AuctionCancelledEvent;
+import com.auction.online_auction_system.event.AuctionCompletedEvent;
+import com.auction.online_auction_system.event.BidPlacedEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Versioned snapshot of every auction that has seen bidding, plus the set of snapshots that changed since
+ * the last broadcast. Bids that land between two broadcasts overwrite each other here, so only the latest
+ * state of an auction is ever sent.
+ * <p>
+ * Fed from the {@link ClusterEventBus}, so clients connected to any node see bids placed on every node.
+ */
+@Component
+public class AuctionSnapshotStore {
+
+    private final Map<Long, AuctionSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<Long, AuctionSnapshot> pending = new ConcurrentHashMap<>();
+
+    public AuctionSnapshotStore(ClusterEventBus clusterEventBus) {
+        clusterEventBus.subscribe(BidPlacedEvent.class, this::onBidPlaced);
+        clusterEventBus.subscribe(AuctionCompletedEvent.class, this::onCompleted);
+        clusterEventBus.subscribe(AuctionCancelledEvent.class, this::onCancelled);
+    }
+
+    private void onBidPlaced(BidPlacedEvent event) {
+        AuctionSnapshot snapshot = AuctionSnapshot.from(event);
+        snapshots.merge(event.auctionId(), snapshot, AuctionSnapshot::newer);
+        pending.merge(event.auctionId(), snapshot, AuctionSnapshot::newer);
+    }
+
+    private void onCompleted(AuctionCompletedEvent event) {
+        snapshots.remove(event.auctionId());
+    }
+
+    private void onCancelled(AuctionCancelledEvent event) {
+        snapshots.remove(event.auctionId());
+    }
+
+    public Optional<AuctionSnapshot> get(Long auctionId) {
+        return Optional.ofNullable(snapshots.get(auctionId));
+    }
+
+    public Collection<AuctionSnapshot> getAll() {
+        return snapshots.values();
+    }
+
+    /**
+     * Removes and returns the snapshots that changed since the previous call.
+     */
+    public List<AuctionSnapshot> drainChanged() {
+        List<AuctionSnapshot> changed = new ArrayList<>(pending.size());
+        for (Long auctionId : pending.keySet()) {
+            AuctionSnapshot snapshot = pending.remove(auctionId);
+            if (snapshot != null) {
+                changed.add(snapshot);
+            }
+        }
+        return changed;
+    }
+}
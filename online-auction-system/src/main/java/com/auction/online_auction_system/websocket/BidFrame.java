@@ -0,0 +1,44 @@
+package com.auction.online_auction_system.websocket;
+
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One bid update, encoded once and shared by every recipient.
+ * <p>
+ * The JSON frame is immutable and handed to every session as is. The binary frame is only built if a
+ * session negotiated {@value BidFrameEncoder#BINARY_SUBPROTOCOL}; each such session gets its own buffer
+ * over the same bytes, since sending consumes a buffer's position.
+ */
+public final class BidFrame {
+
+    private final BidMessage message;
+    private final TextMessage json;
+    private byte[] binary;
+
+    BidFrame(BidMessage message, byte[] json) {
+        this.message = message;
+        this.json = new TextMessage(json);
+    }
+
+    /**
+     * Not thread-safe: a frame is built and fanned out by one broadcasting thread.
+     */
+    public WebSocketMessage<?> forSession(WebSocketSession session) {
+        if (!BidFrameEncoder.BINARY_SUBPROTOCOL.equals(session.getAcceptedProtocol())) {
+            return json;
+        }
+        if (binary == null) {
+            binary = BidFrameEncoder.encodeBinary(message);
+        }
+        return new BinaryMessage(ByteBuffer.wrap(binary));
+    }
+
+    public TextMessage getJson() {
+        return json;
+    }
+}
@@ -0,0 +1,190 @@
+package com.auction.online_auction_system.websocket;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * Hand-written encoders for {@link BidMessage}.
+ * <p>
+ * The JSON encoding produces the same bytes Jackson does for {@code BidMessage} (ISO date-times, decimals as
+ * {@link BigDecimal#toString()}, explicit nulls, and every surrogate {@code char} written as a unicode escape,
+ * paired or not), without reflection and with a single output buffer per message.
+ * <p>
+ * Clients that negotiate the {@value #BINARY_SUBPROTOCOL} subprotocol get a compact big-endian frame instead:
+ * <pre>
+ *   byte    version (1)
+ *   byte    message type (1 = BID_PLACED)
+ *   int64   auction id
+ *   int64   snapshot version, -1 if none
+ *   int64   user id, -1 if none
+ *   int64   bid amount, unscaled value; 0 if none
+ *   int32   bid amount, scale
+ *   int64   bid count, -1 if none
+ *   int64   timestamp, epoch millis, -1 if none
+ *   int64   end time, epoch millis, -1 if none
+ *   uint16  username length in bytes, then the UTF-8 username
+ * </pre>
+ */
+public final class BidFrameEncoder {
+
+    public static final String BINARY_SUBPROTOCOL = "auction.bid.v1";
+    // JSON frames, for clients that must offer a subprotocol to pass their login token; see TokenHandshakeInterceptor.
+    public static final String JSON_SUBPROTOCOL = "auction.json.v1";
+
+    private static final byte BINARY_VERSION = 1;
+    private static final byte TYPE_BID_PLACED = 1;
+    private static final int BINARY_HEADER_SIZE = 2 + 7 * Long.BYTES + Integer.BYTES + Short.BYTES;
+    private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private BidFrameEncoder() {
+    }
+
+    public static BidFrame encode(BidMessage message) {
+        return new BidFrame(message, encodeJson(message));
+    }
+
+    static byte[] encodeJson(BidMessage message) {
+        Output out = new Output(160);
+        out.ascii("{\"auctionId\":").number(message.getAuctionId());
+        out.ascii(",\"version\":").number(message.getVersion());
+        out.ascii(",\"userId\":").number(message.getUserId());
+        out.ascii(",\"username\":").string(message.getUsername());
+        out.ascii(",\"bidAmount\":").decimal(message.getBidAmount());
+        out.ascii(",\"bidCount\":").number(message.getBidCount());
+        out.ascii(",\"timestamp\":").dateTime(message.getTimestamp());
+        out.ascii(",\"endTime\":").dateTime(message.getEndTime());
+        out.ascii(",\"messageType\":").string(message.getMessageType());
+        out.write('}');
+        return out.toByteArray();
+    }
+
+    static byte[] encodeBinary(BidMessage message) {
+        byte[] username = message.getUsername() != null
+                ? message.getUsername().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        int usernameLength = Math.min(username.length, 0xFFFF);
+
+        ByteBuffer buffer = ByteBuffer.allocate(BINARY_HEADER_SIZE + usernameLength);
+        buffer.put(BINARY_VERSION);
+        buffer.put(TYPE_BID_PLACED);
+        buffer.putLong(message.getAuctionId());
+        buffer.putLong(message.getVersion() != null ? message.getVersion() : -1);
+        buffer.putLong(message.getUserId() != null ? message.getUserId() : -1);
+        BigDecimal amount = message.getBidAmount() != null ? message.getBidAmount() : BigDecimal.ZERO;
+        buffer.putLong(amount.unscaledValue().longValueExact());
+        buffer.putInt(amount.scale());
+        buffer.putLong(message.getBidCount() != null ? message.getBidCount() : -1);
+        buffer.putLong(epochMillis(message.getTimestamp()));
+        buffer.putLong(epochMillis(message.getEndTime()));
+        buffer.putShort((short) usernameLength);
+        buffer.put(username, 0, usernameLength);
+        return buffer.array();
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+
+    /**
+     * Growable byte buffer with just the JSON primitives a bid needs.
+     */
+    private static final class Output {
+
+        private byte[] bytes;
+        private int length;
+
+        private Output(int size) {
+            this.bytes = new byte[size];
+        }
+
+        private void write(int b) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[length++] = (byte) b;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        private Output ascii(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                write(value.charAt(i));
+            }
+            return this;
+        }
+
+        private Output number(Long value) {
+            return value == null ? ascii("null") : ascii(Long.toString(value));
+        }
+
+        private Output decimal(BigDecimal value) {
+            return value == null ? ascii("null") : ascii(value.toString());
+        }
+
+        private Output dateTime(LocalDateTime value) {
+            if (value == null) {
+                return ascii("null");
+            }
+            write('"');
+            ascii(ISO.format(value));
+            write('"');
+            return this;
+        }
+
+        private Output string(String value) {
+            if (value == null) {
+                return ascii("null");
+            }
+            write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    write('\\');
+                    write(c);
+                } else if (c == '\b') {
+                    ascii("\\b");
+                } else if (c == '\f') {
+                    ascii("\\f");
+                } else if (c == '\n') {
+                    ascii("\\n");
+                } else if (c == '\r') {
+                    ascii("\\r");
+                } else if (c == '\t') {
+                    ascii("\\t");
+                } else if (c < 0x20 || Character.isSurrogate(c)) {
+                    escape(c);
+                } else if (c < 0x80) {
+                    write(c);
+                } else if (c < 0x800) {
+                    write(0xC0 | (c >> 6));
+                    write(0x80 | (c & 0x3F));
+                } else {
+                    write(0xE0 | (c >> 12));
+                    write(0x80 | ((c >> 6) & 0x3F));
+                    write(0x80 | (c & 0x3F));
+                }
+            }
+            write('"');
+            return this;
+        }
+
+        /**
+         * Surrogates are escaped one {@code char} at a time, as Jackson's UTF-8 generator does, so a lone one
+         * can never turn into invalid UTF-8.
+         */
+        private void escape(char c) {
+            ascii("\\u");
+            write(HEX[c >> 12]);
+            write(HEX[(c >> 8) & 0xF]);
+            write(HEX[(c >> 4) & 0xF]);
+            write(HEX[c & 0xF]);
+        }
+    }
+}
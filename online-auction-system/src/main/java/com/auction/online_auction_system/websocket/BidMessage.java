@@ -13,9 +13,12 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class BidMessage {
     private Long auctionId;
+    private Long version;
     private Long userId;
     private String username;
     private BigDecimal bidAmount;
+    private Long bidCount;
     private LocalDateTime timestamp;
+    private LocalDateTime endTime;
     private String messageType = "BID_PLACED";
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.auction.online_auction_system.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sends WebSocket messages off the caller's thread.
+ * <p>
+ * Each session gets a {@link SessionOutbox} of {@code auction.ws.outbox-capacity} messages. Enqueueing never
+ * blocks; outboxes are drained on virtual threads, so the cost of a broadcast to the caller does not depend
+ * on how many clients are connected or how slow they are. A full outbox is handled according to
+ * {@code auction.ws.overflow-policy}.
+ */
+@Component
+@Slf4j
+public class BroadcastDispatcher {
+
+    private final Map<String, SessionOutbox> outboxes = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+
+    private final Counter coalesced;
+    private final Counter dropped;
+    private final Counter disconnected;
+
+    private final SubscriptionRegistry subscriptionRegistry;
+
+    public BroadcastDispatcher(SubscriptionRegistry subscriptionRegistry,
+                               MeterRegistry meterRegistry,
+                               @Value("${auction.ws.outbox-capacity:256}") int capacity,
+                               @Value("${auction.ws.overflow-policy:COALESCE_LATEST}") OverflowPolicy overflowPolicy) {
+        this.subscriptionRegistry = subscriptionRegistry;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        Gauge.builder("auction.ws.outbox.queued", outboxes,
+                        boxes -> boxes.values().stream().mapToInt(SessionOutbox::size).sum())
+                .description("Messages waiting in session outboxes")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("auction.ws.outbox.overflow").tag("outcome", "coalesced")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("auction.ws.outbox.overflow").tag("outcome", "dropped")
+                .register(meterRegistry);
+        this.disconnected = Counter.builder("auction.ws.outbox.overflow").tag("outcome", "disconnected")
+                .register(meterRegistry);
+        log.info("📬 WebSocket outboxes hold {} messages, overflow policy {}", capacity, overflowPolicy);
+    }
+
+    public void register(WebSocketSession session) {
+        outboxes.put(session.getId(), new SessionOutbox(session, capacity));
+    }
+
+    public void unregister(WebSocketSession session) {
+        outboxes.remove(session.getId());
+        subscriptionRegistry.removeSession(session);
+    }
+
+    public int getSessionCount() {
+        return outboxes.size();
+    }
+
+    /**
+     * Queues a message for a session without waiting for it to be sent.
+     *
+     * @param key identifies messages that may replace each other, e.g. the auction id
+     * @return {@code false} if the session is gone or was disconnected for overflowing
+     */
+    public boolean enqueue(WebSocketSession session, Object key, WebSocketMessage<?> message) {
+        SessionOutbox outbox = outboxes.get(session.getId());
+        if (outbox == null || !session.isOpen()) {
+            return false;
+        }
+
+        switch (outbox.offer(key, message, overflowPolicy)) {
+            case OVERFLOWED -> {
+                disconnected.increment();
+                log.warn("⚠️ Disconnecting slow WebSocket session {}: outbox full", session.getId());
+                drop(outbox, CloseStatus.SESSION_NOT_RELIABLE);
+                return false;
+            }
+            case COALESCED -> coalesced.increment();
+            case DROPPED_OLDEST -> dropped.increment();
+            case QUEUED -> {
+            }
+        }
+
+        if (outbox.claimDrain()) {
+            senders.execute(() -> drain(outbox));
+        }
+        return true;
+    }
+
+    private void drain(SessionOutbox outbox) {
+        try {
+            outbox.drain();
+        } catch (IOException | RuntimeException e) {
+            log.error("❌ Error sending message to session {}: {}", outbox.getSession().getId(), e.getMessage());
+            drop(outbox, CloseStatus.SERVER_ERROR);
+        }
+    }
+
+    private void drop(SessionOutbox outbox, CloseStatus status) {
+        WebSocketSession session = outbox.getSession();
+        if (!outboxes.remove(session.getId(), outbox)) {
+            return;
+        }
+        subscriptionRegistry.removeSession(session);
+        senders.execute(() -> {
+            try {
+                session.close(status);
+            } catch (IOException e) {
+                log.debug("Closing WebSocket session {} failed: {}", session.getId(), e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdown();
+    }
+}
@@ -0,0 +1,12 @@
+package com.auction.online_auction_system.websocket;
+
+/**
+ * Monitoring snapshot of one subscription channel.
+ *
+ * @param channel     {@code auction:<id>} or {@code live}
+ * @param subscribers sessions currently subscribed
+ * @param delivered   messages sent to subscribers of this channel
+ * @param failed      sends that failed
+ */
+public record ChannelStats(String channel, int subscribers, long delivered, long failed) {
+}
@@ -0,0 +1,13 @@
+package com.auction.online_auction_system.websocket;
+
+/**
+ * What a full session outbox does with a new message.
+ */
+public enum OverflowPolicy {
+    /** Discard the oldest queued message. */
+    DROP_OLDEST,
+    /** Replace the queued message for the same auction, so the client still gets the latest price; drop the oldest if there is none. */
+    COALESCE_LATEST,
+    /** Close the session; the client reconnects and reloads. */
+    DISCONNECT
+}
@@ -0,0 +1,22 @@
+package com.auction.online_auction_system.websocket;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Tells a client to reload an auction, or the whole {@value SubscriptionRegistry#LIVE_CHANNEL} channel, over
+ * REST because the server cannot tell which updates it missed, e.g.
+ * {@code {"messageType":"RESYNC","auctionId":42}}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ResyncMessage(String messageType, Long auctionId, String channel) {
+
+    public static final String MESSAGE_TYPE = "RESYNC";
+
+    static ResyncMessage auction(Long auctionId) {
+        return new ResyncMessage(MESSAGE_TYPE, auctionId, null);
+    }
+
+    static ResyncMessage live() {
+        return new ResyncMessage(MESSAGE_TYPE, null, SubscriptionRegistry.LIVE_CHANNEL);
+    }
+}
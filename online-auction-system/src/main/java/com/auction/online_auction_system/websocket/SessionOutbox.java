@@ -0,0 +1,117 @@
+package com.auction.online_auction_system.websocket;
+
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * Bounded queue of messages waiting to be sent to one WebSocket session.
+ * <p>
+ * At most one thread drains an outbox at a time, so sends to a session never overlap and a slow session
+ * only ever holds up its own queue.
+ */
+final class SessionOutbox {
+
+    private final WebSocketSession session;
+    private final int capacity;
+    private final ArrayDeque<Outgoing> queue = new ArrayDeque<>();
+    private boolean draining;
+
+    SessionOutbox(WebSocketSession session, int capacity) {
+        this.session = session;
+        this.capacity = capacity;
+    }
+
+    WebSocketSession getSession() {
+        return session;
+    }
+
+    /**
+     * Queues a message, applying {@code policy} if the outbox is full.
+     *
+     * @param key messages with equal keys supersede each other under {@link OverflowPolicy#COALESCE_LATEST}
+     */
+    synchronized Offer offer(Object key, WebSocketMessage<?> message, OverflowPolicy policy) {
+        Offer offer = Offer.QUEUED;
+        if (queue.size() >= capacity) {
+            switch (policy) {
+                case DISCONNECT -> {
+                    return Offer.OVERFLOWED;
+                }
+                case COALESCE_LATEST -> offer = removeSameKey(key) ? Offer.COALESCED : dropOldest();
+                case DROP_OLDEST -> offer = dropOldest();
+            }
+        }
+        queue.add(new Outgoing(key, message));
+        return offer;
+    }
+
+    /**
+     * @return {@code true} if the caller must start a drain; only one drain runs at a time
+     */
+    synchronized boolean claimDrain() {
+        if (draining || queue.isEmpty()) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+
+    /**
+     * Sends queued messages until the outbox is empty.
+     *
+     * @throws IOException if a send fails; the outbox is cleared and should be discarded
+     */
+    void drain() throws IOException {
+        while (true) {
+            Outgoing next;
+            synchronized (this) {
+                next = queue.poll();
+                if (next == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            try {
+                session.sendMessage(next.message());
+            } catch (IOException | RuntimeException e) {
+                synchronized (this) {
+                    queue.clear();
+                    draining = false;
+                }
+                throw e;
+            }
+        }
+    }
+
+    synchronized int size() {
+        return queue.size();
+    }
+
+    private boolean removeSameKey(Object key) {
+        Iterator<Outgoing> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            if (Objects.equals(iterator.next().key(), key)) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Offer dropOldest() {
+        queue.poll();
+        return Offer.DROPPED_OLDEST;
+    }
+
+    enum Offer {
+        QUEUED, COALESCED, DROPPED_OLDEST, OVERFLOWED
+    }
+
+    private record Outgoing(Object key, WebSocketMessage<?> message) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.auction.online_auction_system.websocket;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes changed auction snapshots every {@code auction.ws.conflation-interval-ms}, so each auction channel
+ * gets at most one update per interval however fast bids arrive.
+ */
+@Component
+@Slf4j
+public class SnapshotBroadcaster {
+
+    private final AuctionSnapshotStore snapshotStore;
+    private final WebSocketHandler webSocketHandler;
+    private final long intervalMs;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "snapshot-broadcaster");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SnapshotBroadcaster(AuctionSnapshotStore snapshotStore,
+                               WebSocketHandler webSocketHandler,
+                               @Value("${auction.ws.conflation-interval-ms:100}") long intervalMs) {
+        this.snapshotStore = snapshotStore;
+        this.webSocketHandler = webSocketHandler;
+        this.intervalMs = intervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker.scheduleWithFixedDelay(this::flush, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        try {
+            List<AuctionSnapshot> changed = snapshotStore.drainChanged();
+            for (AuctionSnapshot snapshot : changed) {
+                webSocketHandler.broadcastBid(snapshot.toMessage());
+            }
+        } catch (RuntimeException e) {
+            log.error("❌ Snapshot broadcast failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdown();
+    }
+}
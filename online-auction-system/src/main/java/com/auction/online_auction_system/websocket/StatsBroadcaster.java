@@ -0,0 +1,96 @@
+package com.auction.online_auction_system.websocket;
+
+import com.auction.online_auction_system.stats.AuctionStats;
+import com.auction.online_auction_system.stats.LiveAuctionStats;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes {@link AuctionStats} every {@code auction.stats.broadcast-interval-ms} to the sessions subscribed
+ * to an auction itself; live catalog subscribers do not get them.
+ * <p>
+ * Frames are JSON with {@code "messageType":"AUCTION_STATS"}, also for sessions that negotiated the binary
+ * bid subprotocol. A frame that is still queued when the next one is pushed is replaced by it, but never
+ * replaces a bid update.
+ */
+@Component
+@Slf4j
+public class StatsBroadcaster {
+
+    static final String MESSAGE_TYPE = "AUCTION_STATS";
+
+    private final LiveAuctionStats liveAuctionStats;
+    private final SubscriptionRegistry subscriptionRegistry;
+    private final BroadcastDispatcher broadcastDispatcher;
+    private final ObjectMapper objectMapper;
+    private final long intervalMs;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stats-broadcaster");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public StatsBroadcaster(LiveAuctionStats liveAuctionStats,
+                            SubscriptionRegistry subscriptionRegistry,
+                            BroadcastDispatcher broadcastDispatcher,
+                            ObjectMapper objectMapper,
+                            @Value("${auction.stats.broadcast-interval-ms:1000}") long intervalMs) {
+        this.liveAuctionStats = liveAuctionStats;
+        this.subscriptionRegistry = subscriptionRegistry;
+        this.broadcastDispatcher = broadcastDispatcher;
+        this.objectMapper = objectMapper;
+        this.intervalMs = intervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker.scheduleWithFixedDelay(this::flush, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        try {
+            for (Long auctionId : subscriptionRegistry.getSubscribedAuctionIds()) {
+                liveAuctionStats.get(auctionId).ifPresent(this::send);
+            }
+        } catch (RuntimeException e) {
+            log.error("❌ Stats broadcast failed: {}", e.getMessage());
+        }
+    }
+
+    private void send(AuctionStats stats) {
+        ObjectNode frame = objectMapper.valueToTree(stats);
+        frame.put("messageType", MESSAGE_TYPE);
+        TextMessage message;
+        try {
+            message = new TextMessage(objectMapper.writeValueAsBytes(frame));
+        } catch (JsonProcessingException e) {
+            log.error("❌ Could not encode stats of auction {}: {}", stats.auctionId(), e.getMessage());
+            return;
+        }
+        StatsKey key = new StatsKey(stats.auctionId());
+        subscriptionRegistry.forEachAuctionSubscriber(stats.auctionId(),
+                session -> broadcastDispatcher.enqueue(session, key, message));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdown();
+    }
+
+    /**
+     * Outbox key of stats frames, distinct from the auction id that bid updates are keyed by.
+     */
+    private record StatsKey(Long auctionId) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.auction.online_auction_system.websocket;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Client request to change its subscriptions, e.g. {@code {"action":"subscribe","auctionId":42}} or
+ * {@code {"action":"subscribe","channel":"live"}}.
+ * <p>
+ * To resume after a reconnect a client adds the versions it already holds: {@code version} for a single
+ * auction, or {@code versions} (auction id to version) for the live channel.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscriptionMessage {
+    private String action;
+    private Long auctionId;
+    private String channel;
+    private Long version;
+    private Map<Long, Long> versions;
+}
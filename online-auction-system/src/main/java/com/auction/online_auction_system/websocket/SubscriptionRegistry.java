@@ -0,0 +1,180 @@
+package com.auction.online_auction_system.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Index of which WebSocket sessions want which updates.
+ * <p>
+ * Every auction has its own channel, created on the first subscription and dropped with the last one.
+ * The {@value #LIVE_CHANNEL} channel receives the updates of every auction and serves catalog pages.
+ * Delivery counts are kept per channel for monitoring, and as totals per channel type in Micrometer.
+ */
+@Component
+public class SubscriptionRegistry {
+
+    public static final String LIVE_CHANNEL = "live";
+
+    private final Map<Long, Channel> auctionChannels = new ConcurrentHashMap<>();
+    private final Channel liveChannel = new Channel(LIVE_CHANNEL);
+    private final Map<String, Set<Long>> sessionAuctions = new ConcurrentHashMap<>();
+
+    private final Counter auctionDelivered;
+    private final Counter liveDelivered;
+
+    public SubscriptionRegistry(MeterRegistry meterRegistry) {
+        Gauge.builder("auction.ws.subscriptions", auctionChannels,
+                        channels -> channels.values().stream().mapToInt(channel -> channel.sessions.size()).sum())
+                .tag("channel", "auction")
+                .description("Per-auction WebSocket subscriptions")
+                .register(meterRegistry);
+        Gauge.builder("auction.ws.subscriptions", liveChannel, channel -> channel.sessions.size())
+                .tag("channel", LIVE_CHANNEL)
+                .description("Sessions subscribed to the live catalog channel")
+                .register(meterRegistry);
+        Gauge.builder("auction.ws.channels", auctionChannels, Map::size)
+                .description("Auctions with at least one subscriber")
+                .register(meterRegistry);
+        this.auctionDelivered = Counter.builder("auction.ws.delivered").tag("channel", "auction")
+                .description("Messages delivered to per-auction subscribers").register(meterRegistry);
+        this.liveDelivered = Counter.builder("auction.ws.delivered").tag("channel", LIVE_CHANNEL)
+                .description("Messages delivered to live catalog subscribers").register(meterRegistry);
+    }
+
+    public void subscribe(WebSocketSession session, Long auctionId) {
+        auctionChannels.compute(auctionId, (id, channel) -> {
+            Channel target = channel != null ? channel : new Channel("auction:" + id);
+            target.sessions.add(session);
+            return target;
+        });
+        sessionAuctions.computeIfAbsent(session.getId(), id -> ConcurrentHashMap.newKeySet()).add(auctionId);
+    }
+
+    public void unsubscribe(WebSocketSession session, Long auctionId) {
+        removeFromChannel(session, auctionId);
+        Set<Long> auctions = sessionAuctions.get(session.getId());
+        if (auctions != null) {
+            auctions.remove(auctionId);
+        }
+    }
+
+    public void subscribeLive(WebSocketSession session) {
+        liveChannel.sessions.add(session);
+    }
+
+    public void unsubscribeLive(WebSocketSession session) {
+        liveChannel.sessions.remove(session);
+    }
+
+    /**
+     * Drops every subscription of a closed session.
+     */
+    public void removeSession(WebSocketSession session) {
+        liveChannel.sessions.remove(session);
+        Set<Long> auctions = sessionAuctions.remove(session.getId());
+        if (auctions != null) {
+            auctions.forEach(auctionId -> removeFromChannel(session, auctionId));
+        }
+    }
+
+    /**
+     * Hands every session interested in the auction to {@code delivery} exactly once: its own subscribers
+     * first, then live catalog subscribers that are not already subscribed to it.
+     */
+    public void forEachSubscriber(Long auctionId, Delivery delivery) {
+        Channel channel = auctionChannels.get(auctionId);
+        Set<WebSocketSession> direct = channel != null ? channel.sessions : Set.of();
+        if (channel != null) {
+            deliver(channel, direct, delivery, auctionDelivered);
+        }
+        List<WebSocketSession> catalog = new ArrayList<>(liveChannel.sessions.size());
+        for (WebSocketSession session : liveChannel.sessions) {
+            if (!direct.contains(session)) {
+                catalog.add(session);
+            }
+        }
+        deliver(liveChannel, catalog, delivery, liveDelivered);
+    }
+
+    /**
+     * Hands every session subscribed to the auction itself to {@code delivery}, leaving out live catalog
+     * subscribers.
+     */
+    public void forEachAuctionSubscriber(Long auctionId, Delivery delivery) {
+        Channel channel = auctionChannels.get(auctionId);
+        if (channel != null) {
+            deliver(channel, channel.sessions, delivery, auctionDelivered);
+        }
+    }
+
+    /**
+     * @return auctions with at least one subscriber of their own, as a live view
+     */
+    public Set<Long> getSubscribedAuctionIds() {
+        return auctionChannels.keySet();
+    }
+
+    public List<ChannelStats> getChannelStats() {
+        List<ChannelStats> stats = new ArrayList<>(auctionChannels.size() + 1);
+        stats.add(liveChannel.stats());
+        auctionChannels.values().forEach(channel -> stats.add(channel.stats()));
+        return stats;
+    }
+
+    private void deliver(Channel channel, Collection<WebSocketSession> sessions, Delivery delivery, Counter total) {
+        for (WebSocketSession session : sessions) {
+            if (delivery.send(session)) {
+                channel.delivered.increment();
+                total.increment();
+            } else {
+                channel.failed.increment();
+            }
+        }
+    }
+
+    private void removeFromChannel(WebSocketSession session, Long auctionId) {
+        auctionChannels.computeIfPresent(auctionId, (id, channel) -> {
+            channel.sessions.remove(session);
+            return channel.sessions.isEmpty() ? null : channel;
+        });
+    }
+
+    /**
+     * Sends one message to one session.
+     */
+    @FunctionalInterface
+    public interface Delivery {
+
+        /**
+         * @return {@code false} if the message could not be sent
+         */
+        boolean send(WebSocketSession session);
+    }
+
+    private static final class Channel {
+
+        private final String name;
+        private final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        private Channel(String name) {
+            this.name = name;
+        }
+
+        private ChannelStats stats() {
+            return new ChannelStats(name, sessions.size(), delivered.sum(), failed.sum());
+        }
+    }
+}
@@ -1,83 +1,196 @@
 package com.auction.online_auction_system.websocket;
 
+import com.auction.online_auction_system.security.AuthenticatedUser;
+import com.auction.online_auction_system.security.TokenHandshakeInterceptor;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.io.IOException;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Delivers auction updates to the sessions that subscribed to them.
+ * <p>
+ * Clients send {@link SubscriptionMessage}s to subscribe to single auctions or to the
+ * {@value SubscriptionRegistry#LIVE_CHANNEL} catalog channel; a bid is only sent to sessions found through
+ * {@link SubscriptionRegistry}, and is encoded once into a {@link BidFrame} however many sessions receive it.
+ * Clients may negotiate the {@value BidFrameEncoder#BINARY_SUBPROTOCOL} subprotocol for compact binary
+ * frames. Bids are conflated in {@link AuctionSnapshotStore} and pushed by {@link SnapshotBroadcaster} at a
+ * fixed rate through {@link BroadcastDispatcher}, so the bid request never waits for a client. Subscribers of
+ * a single auction also get its live statistics from {@link StatsBroadcaster}.
+ * <p>
+ * Every update carries the auction's version. A subscribe request may state the versions the client already
+ * holds, and the handler answers with the snapshots that are newer, so a reconnecting client catches up
+ * without reloading anything over REST. If the store has no snapshot for a version the client holds, e.g.
+ * because this node restarted, the handler cannot tell what was missed and answers with a
+ * {@link ResyncMessage} instead, upon which the client reloads over REST.
+ */
 @Component
 @Slf4j
 @RequiredArgsConstructor
-public class WebSocketHandler extends TextWebSocketHandler {
+public class WebSocketHandler extends TextWebSocketHandler implements SubProtocolCapable {
 
     private final ObjectMapper objectMapper;
-    private final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
-
-
+    private final SubscriptionRegistry subscriptionRegistry;
+    private final BroadcastDispatcher broadcastDispatcher;
+    private final AuctionSnapshotStore snapshotStore;
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
-        sessions.add(session);
-        log.info("🔌 WebSocket connection established: {} | Total connections: {}",
-                session.getId(), sessions.size());
+        broadcastDispatcher.register(session);
+        AuthenticatedUser user = TokenHandshakeInterceptor.userOf(session);
+        log.info("🔌 WebSocket connection established: {} ({}) | Total connections: {}",
+                session.getId(), user != null ? user.username() : "anonymous", broadcastDispatcher.getSessionCount());
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
-        sessions.remove(session);
+        broadcastDispatcher.unregister(session);
         log.info("🔌 WebSocket connection closed: {} | Total connections: {}",
-                session.getId(), sessions.size());
+                session.getId(), broadcastDispatcher.getSessionCount());
     }
 
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
         log.debug("📨 Received WebSocket message: {}", message.getPayload());
+
+        SubscriptionMessage request;
+        try {
+            request = objectMapper.readValue(message.getPayload(), SubscriptionMessage.class);
+        } catch (IOException e) {
+            log.warn("⚠️ Ignoring malformed WebSocket message from {}: {}", session.getId(), e.getMessage());
+            return;
+        }
+
+        boolean subscribe = "subscribe".equalsIgnoreCase(request.getAction());
+        if (!subscribe && !"unsubscribe".equalsIgnoreCase(request.getAction())) {
+            log.warn("⚠️ Unknown WebSocket action from {}: {}", session.getId(), request.getAction());
+            return;
+        }
+
+        if (SubscriptionRegistry.LIVE_CHANNEL.equals(request.getChannel())) {
+            if (subscribe) {
+                subscriptionRegistry.subscribeLive(session);
+                if (request.getVersions() != null) {
+                    resumeLive(session, request.getVersions());
+                }
+            } else {
+                subscriptionRegistry.unsubscribeLive(session);
+            }
+        } else if (request.getAuctionId() != null) {
+            if (subscribe) {
+                subscriptionRegistry.subscribe(session, request.getAuctionId());
+                resume(session, request.getAuctionId(), request.getVersion());
+            } else {
+                subscriptionRegistry.unsubscribe(session, request.getAuctionId());
+            }
+        } else {
+            log.warn("⚠️ WebSocket {} request from {} names no auction or channel", request.getAction(), session.getId());
+        }
     }
 
     @Override
     public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
         log.error("❌ WebSocket transport error: {}", exception.getMessage());
-        sessions.remove(session);
+        broadcastDispatcher.unregister(session);
     }
 
     public void broadcastBid(BidMessage bidMessage) {
         try {
-            String message = objectMapper.writeValueAsString(bidMessage);
-            TextMessage textMessage = new TextMessage(message);
-
-            int successCount = 0;
-            int failCount = 0;
-
-            for (WebSocketSession session : sessions) {
-                if (session.isOpen()) {
-                    try {
-                        session.sendMessage(textMessage);
-                        successCount++;
-                    } catch (IOException e) {
-                        log.error("❌ Error sending message to session {}: {}",
-                                session.getId(), e.getMessage());
-                        failCount++;
-                        sessions.remove(session);
-                    }
-                }
-            }
+            BidFrame frame = BidFrameEncoder.encode(bidMessage);
+
+            AtomicInteger queuedCount = new AtomicInteger();
+            AtomicInteger failCount = new AtomicInteger();
 
-            log.info("📡 Broadcast bid: ${} by {} | Sent to {} clients | Failed: {}",
+            subscriptionRegistry.forEachSubscriber(bidMessage.getAuctionId(), session -> {
+                boolean queued = broadcastDispatcher.enqueue(session, bidMessage.getAuctionId(),
+                        frame.forSession(session));
+                (queued ? queuedCount : failCount).incrementAndGet();
+                return queued;
+            });
+
+            log.info("📡 Broadcast bid: ${} by {} | Queued for {} clients | Failed: {}",
                     bidMessage.getBidAmount(),
                     bidMessage.getUsername(),
-                    successCount,
-                    failCount);
+                    queuedCount.get(),
+                    failCount.get());
 
         } catch (Exception e) {
             log.error("❌ Error broadcasting bid: {}", e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private void resume(WebSocketSession session, Long auctionId, Long knownVersion) {
+        Optional<AuctionSnapshot> snapshot = snapshotStore.get(auctionId);
+        if (snapshot.isPresent()) {
+            if (knownVersion == null || snapshot.get().version() > knownVersion) {
+                sendSnapshot(session, snapshot.get());
+            }
+        } else if (knownVersion != null) {
+            sendResync(session, ResyncMessage.auction(auctionId));
+        }
+    }
+
+    /**
+     * Sends every snapshot newer than the version the client holds; auctions missing from
+     * {@code knownVersions} are sent in full. If any version the client holds has no snapshot, a single
+     * resync of the whole channel is sent instead.
+     */
+    private void resumeLive(WebSocketSession session, Map<Long, Long> knownVersions) {
+        for (Map.Entry<Long, Long> known : knownVersions.entrySet()) {
+            if (known.getValue() != null && snapshotStore.get(known.getKey()).isEmpty()) {
+                log.debug("🔄 No snapshot of auction {} for session {}, resyncing", known.getKey(), session.getId());
+                sendResync(session, ResyncMessage.live());
+                return;
+            }
+        }
+
+        int sent = 0;
+        for (AuctionSnapshot snapshot : snapshotStore.getAll()) {
+            Long known = knownVersions.get(snapshot.auctionId());
+            if (known == null || snapshot.version() > known) {
+                sendSnapshot(session, snapshot);
+                sent++;
+            }
+        }
+        log.debug("🔄 Resumed session {} with {} snapshots", session.getId(), sent);
+    }
+
+    // Keyed by the message itself, so a snapshot queued after it cannot replace it
+    private void sendResync(WebSocketSession session, ResyncMessage resync) {
+        try {
+            broadcastDispatcher.enqueue(session, resync, new TextMessage(objectMapper.writeValueAsBytes(resync)));
+        } catch (JsonProcessingException e) {
+            log.error("❌ Could not encode resync for session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private void sendSnapshot(WebSocketSession session, AuctionSnapshot snapshot) {
+        BidFrame frame = BidFrameEncoder.encode(snapshot.toMessage());
+        broadcastDispatcher.enqueue(session, snapshot.auctionId(), frame.forSession(session));
+    }
+
+    /**
+     * Offered during the handshake, and the first one the client lists is selected; sessions that accept the
+     * binary one receive binary bid frames.
+     */
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(BidFrameEncoder.BINARY_SUBPROTOCOL, BidFrameEncoder.JSON_SUBPROTOCOL);
+    }
+
+    public int getConnectionCount() {
+        return broadcastDispatcher.getSessionCount();
+    }
+}
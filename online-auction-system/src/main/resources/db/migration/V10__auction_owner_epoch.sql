@@ -0,0 +1,11 @@
+-- Fencing token for order book ownership: bumped by each node that loads an auction's book and checked when
+-- its bids are written, so a node that lost the auction cannot write behind the new owner.
+DO $$
+BEGIN
+    IF to_regclass('auctions') IS NOT NULL THEN
+        ALTER TABLE auctions ADD COLUMN IF NOT EXISTS owner_epoch BIGINT NOT NULL DEFAULT 0;
+    END IF;
+    IF to_regclass('bids') IS NOT NULL THEN
+        ALTER TABLE bids ADD COLUMN IF NOT EXISTS owner_epoch BIGINT;
+    END IF;
+END $$;
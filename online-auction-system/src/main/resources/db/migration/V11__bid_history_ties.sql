@@ -0,0 +1,8 @@
+-- An auction's bid history puts the later of two equal bids first, so its keyset index runs on id DESC.
+DO $$
+BEGIN
+    IF to_regclass('bids') IS NOT NULL THEN
+        DROP INDEX IF EXISTS idx_bids_auction_amount_id;
+        CREATE INDEX idx_bids_auction_amount_id ON bids (auction_id, bid_amount DESC, id DESC);
+    END IF;
+END $$;
@@ -0,0 +1,11 @@
+-- Bids are inserted in JDBC batches, which needs ids allocated from a sequence instead of an IDENTITY column.
+-- Fresh databases get the sequence from Hibernate; this only converts databases created before the change.
+DO $$
+BEGIN
+    IF to_regclass('bids') IS NOT NULL THEN
+        CREATE SEQUENCE IF NOT EXISTS bid_id_seq INCREMENT BY 50;
+        ALTER TABLE bids ALTER COLUMN id DROP IDENTITY IF EXISTS;
+        ALTER TABLE bids ALTER COLUMN id DROP DEFAULT;
+        PERFORM setval('bid_id_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM bids));
+    END IF;
+END $$;
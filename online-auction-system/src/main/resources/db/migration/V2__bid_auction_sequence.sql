@@ -0,0 +1,10 @@
+-- Order-book sequence number per bid, used to make write-ahead log replay idempotent.
+DO $$
+BEGIN
+    IF to_regclass('bids') IS NOT NULL THEN
+        ALTER TABLE bids ADD COLUMN IF NOT EXISTS auction_sequence BIGINT;
+        IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_bid_auction_sequence') THEN
+            ALTER TABLE bids ADD CONSTRAINT uk_bid_auction_sequence UNIQUE (auction_id, auction_sequence);
+        END IF;
+    END IF;
+END $$;
@@ -0,0 +1,10 @@
+-- Opt-in anti-sniping soft close per auction.
+DO $$
+BEGIN
+    IF to_regclass('auctions') IS NOT NULL THEN
+        ALTER TABLE auctions ADD COLUMN IF NOT EXISTS soft_close_enabled BOOLEAN NOT NULL DEFAULT FALSE;
+        ALTER TABLE auctions ADD COLUMN IF NOT EXISTS soft_close_window_seconds INTEGER NOT NULL DEFAULT 60;
+        ALTER TABLE auctions ADD COLUMN IF NOT EXISTS soft_close_extension_seconds INTEGER NOT NULL DEFAULT 60;
+        ALTER TABLE auctions ADD COLUMN IF NOT EXISTS max_end_time TIMESTAMP(6);
+    END IF;
+END $$;
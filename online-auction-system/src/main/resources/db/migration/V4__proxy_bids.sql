@@ -0,0 +1,16 @@
+-- Maximum (proxy) bids. Fresh databases get this table from Hibernate.
+DO $$
+BEGIN
+    IF to_regclass('auctions') IS NOT NULL AND to_regclass('users') IS NOT NULL THEN
+        CREATE TABLE IF NOT EXISTS proxy_bids (
+            id BIGSERIAL PRIMARY KEY,
+            auction_id BIGINT NOT NULL REFERENCES auctions (id),
+            user_id BIGINT NOT NULL REFERENCES users (id),
+            max_amount NUMERIC(10, 2) NOT NULL,
+            active BOOLEAN NOT NULL DEFAULT TRUE,
+            ip_address VARCHAR(50),
+            placed_at TIMESTAMP(6) NOT NULL,
+            CONSTRAINT uk_proxy_bid_auction_user UNIQUE (auction_id, user_id)
+        );
+    END IF;
+END $$;
@@ -0,0 +1,6 @@
+-- Node leases for auction partitioning. Not mapped by Hibernate, so it is created here on every database.
+CREATE TABLE IF NOT EXISTS cluster_nodes (
+    node_id VARCHAR(100) PRIMARY KEY,
+    address VARCHAR(255) NOT NULL,
+    heartbeat_at TIMESTAMP(6) NOT NULL
+);
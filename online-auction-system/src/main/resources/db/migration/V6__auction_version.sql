@@ -0,0 +1,7 @@
+-- Optimistic locking version for read-modify-write updates of auctions.
+DO $$
+BEGIN
+    IF to_regclass('auctions') IS NOT NULL THEN
+        ALTER TABLE auctions ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+    END IF;
+END $$;
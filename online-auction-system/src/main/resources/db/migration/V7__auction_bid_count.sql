@@ -0,0 +1,8 @@
+-- Denormalised bid count, so auction listings need not count or load bids.
+DO $$
+BEGIN
+    IF to_regclass('auctions') IS NOT NULL THEN
+        ALTER TABLE auctions ADD COLUMN IF NOT EXISTS bid_count INTEGER NOT NULL DEFAULT 0;
+        UPDATE auctions a SET bid_count = (SELECT COUNT(*) FROM bids b WHERE b.auction_id = a.id);
+    END IF;
+END $$;
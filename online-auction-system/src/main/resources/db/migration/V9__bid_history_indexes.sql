@@ -0,0 +1,8 @@
+-- Keyset indexes for bid history: an auction's bids by (bid_amount DESC, id), a user's by (bid_time DESC, id DESC).
+DO $$
+BEGIN
+    IF to_regclass('bids') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_bids_auction_amount_id ON bids (auction_id, bid_amount DESC, id);
+        CREATE INDEX IF NOT EXISTS idx_bids_user_time_id ON bids (user_id, bid_time DESC, id DESC);
+    END IF;
+END $$;
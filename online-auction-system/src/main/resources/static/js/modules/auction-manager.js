@@ -5,15 +5,29 @@
  * @since 2025-10-25 04:01:43 UTC
  */
 
+import { WebSocketManager } from './websocket-manager.js';
+
 export const AuctionManager = {
     async loadAll() {
         try {
             console.log('📡 Loading auctions...');
-            const response = await fetch('/api/auctions');
-
-            if (!response.ok) throw new Error(`HTTP ${response.status}`);
-
-            window.auctionApp.auctions = await response.json();
+            const auctions = [];
+            let cursor = null;
+            // The listing is paged; follow the cursors until the last page
+            do {
+                const params = new URLSearchParams({ limit: '200' });
+                if (cursor) params.set('cursor', cursor);
+                const response = await fetch(`/api/auctions?${params}`);
+
+                if (!response.ok) throw new Error(`HTTP ${response.status}`);
+
+                const page = await response.json();
+                auctions.push(...page.items);
+                cursor = page.nextCursor;
+            } while (cursor);
+
+            window.auctionApp.auctions = auctions;
+            window.auctionApp.auctions.forEach(a => WebSocketManager.noteVersion(a.id, a.version));
             console.log(`✅ Loaded ${window.auctionApp.auctions.length} auctions`);
 
             this.displayAll(window.auctionApp.auctions);
@@ -41,8 +55,8 @@ export const AuctionManager = {
             <div class="auction-card" data-auction-id="${auction.id}" onclick="showDetail(${auction.id})">
                 <div class="auction-image">
                     ${auction.productImageUrl ?
-                        `<img src="${auction.productImageUrl}" alt="${auction.productName}"
-                              onerror="this.parentElement.innerHTML='<div class=\\'no-image\\'>📦</div>'">` :
+                        `<img src="${auction.productThumbnailUrl || auction.productImageUrl}" alt="${auction.productName}"
+                              loading="lazy" onerror="this.parentElement.innerHTML='<div class=\\'no-image\\'>📦</div>'">` :
                         '<div class="no-image">📦</div>'}
                 </div>
                 <div class="auction-content">
@@ -69,7 +83,7 @@ export const AuctionManager = {
                     </div>
 
                     <div class="auction-stats">
-                        <span class="stat-item">👥 ${auction.totalBids} bids</span>
+                        <span class="stat-item bid-count">👥 ${auction.totalBids} bids</span>
                         ${auction.status === 'LIVE' ? '<span class="stat-item live-indicator">🔴 Live Now</span>' : ''}
                     </div>
 
@@ -89,12 +103,16 @@ export const AuctionManager = {
             ]);
 
             const auction = await auctionRes.json();
-            const bids = await bidsRes.json();
+            // First page of the history, highest bids first
+            const bids = (await bidsRes.json()).items;
 
             const modal = document.getElementById('detail-modal') || this.createModal();
             modal.setAttribute('data-auction-id', auctionId);
+            modal.setAttribute('data-min-increment', auction.minimumIncrement);
             modal.innerHTML = this.createDetailHTML(auction, bids);
             modal.classList.remove('hidden');
+            WebSocketManager.noteVersion(auction.id, auction.version);
+            if (!WebSocketManager.subscriptions.has(Number(auctionId))) WebSocketManager.subscribe(Number(auctionId));
         } catch (error) {
             console.error('❌ Detail error:', error);
             this.showNotification('❌ Error loading auction details');
@@ -120,7 +138,7 @@ export const AuctionManager = {
                     <div class="detail-left">
                         <div class="detail-image">
                             ${auction.productImageUrl ?
-                                `<img src="${auction.productImageUrl}" alt="${auction.productName}">` :
+                                `<img src="${auction.productMediumImageUrl || auction.productImageUrl}" alt="${auction.productName}">` :
                                 '<div class="no-image-large">📦</div>'}
                         </div>
                     </div>
@@ -146,11 +164,13 @@ export const AuctionManager = {
                             <span class="timer-value" data-end-time="${auction.endTime}">Loading...</span>
                         </div>
 
+                        <div class="live-stats hidden"></div>
+
                         ${this.createBidSection(auction, currentUser)}
                     </div>
                 </div>
 
-                ${this.createBidHistory(bids)}
+                ${this.createBidHistory(bids, auction.totalBids)}
             </div>
         `;
     },
@@ -169,6 +189,17 @@ export const AuctionManager = {
                         💰 Place Bid
                     </button>
                 </div>
+                <div class="bid-input-section">
+                    <input type="number"
+                           id="max-bid-amount-modal"
+                           class="bid-input-modal"
+                           placeholder="Auto-bid up to"
+                           min="${parseFloat(auction.currentBid) + parseFloat(auction.minimumIncrement)}"
+                           step="${auction.minimumIncrement}" />
+                    <button class="btn btn-place-bid" onclick="placeProxyBid(${auction.id})">
+                        🤖 Set Max Bid
+                    </button>
+                </div>
                 <p class="min-bid-note">Minimum bid: $${(parseFloat(auction.currentBid) + parseFloat(auction.minimumIncrement)).toFixed(2)}</p>
             `;
         } else if (!currentUser && auction.status === 'LIVE') {
@@ -184,32 +215,108 @@ export const AuctionManager = {
         return '';
     },
 
-    createBidHistory(bids) {
+    createBidHistory(bids, totalBids) {
         return `
             <div class="bid-history-section">
-                <h3>📊 Bid History (${bids.length} bids)</h3>
+                <h3>📊 Bid History (${totalBids} bids)</h3>
                 <div class="bid-history-scroll">
                     ${bids.length === 0 ? '<p class="no-bids">No bids yet. Be the first to bid!</p>' :
-                        bids.map((bid, index) => `
-                            <div class="bid-item-detail ${index === 0 ? 'winning' : ''}">
-                                <div class="bid-user">
-                                    <span class="bid-rank">#${index + 1}</span>
-                                    <span class="bid-username">${bid.username}</span>
-                                    ${index === 0 ? '<span class="winning-badge">🏆 Winning</span>' : ''}
-                                </div>
-                                <div class="bid-info">
-                                    <span class="bid-amount-detail">$${bid.bidAmount.toFixed(2)}</span>
-                                    <span class="bid-time">${new Date(bid.bidTime).toLocaleString()}</span>
-                                </div>
-                            </div>
-                        `).join('')}
+                        bids.map((bid, index) => this.createBidItem(bid, index)).join('')}
                 </div>
             </div>
         `;
     },
 
+    createBidItem(bid, index, provisional = false) {
+        return `
+            <div class="bid-item-detail ${index === 0 ? 'winning' : ''} ${provisional ? 'provisional' : ''}">
+                <div class="bid-user">
+                    <span class="bid-rank">#${index + 1}</span>
+                    <span class="bid-username">${bid.username}</span>
+                    ${index === 0 ? '<span class="winning-badge">🏆 Winning</span>' : ''}
+                    ${provisional ? '<span class="provisional-badge" title="Refreshing bid history">⏳</span>' : ''}
+                </div>
+                <div class="bid-info">
+                    <span class="bid-amount-detail">$${bid.bidAmount.toFixed(2)}</span>
+                    <span class="bid-time">${new Date(bid.bidTime).toLocaleString()}</span>
+                </div>
+            </div>
+        `;
+    },
+
+    // Applies a pushed snapshot to the open modal. Bids conflated into the same update never reach the page,
+    // so the new leader is shown as a provisional row and the history is reloaded once updates settle down.
+    applyUpdate(modal, update) {
+        const price = modal.querySelector('.price-value');
+        if (price) price.textContent = `$${update.bidAmount.toFixed(2)}`;
+        if (update.endTime) {
+            modal.querySelectorAll('[data-end-time]').forEach(el => el.setAttribute('data-end-time', update.endTime));
+        }
+
+        const minimumBid = update.bidAmount + parseFloat(modal.getAttribute('data-min-increment') || 0);
+        modal.querySelectorAll('.bid-input-modal').forEach(input => input.min = minimumBid);
+        const note = modal.querySelector('.min-bid-note');
+        if (note) note.textContent = `Minimum bid: $${minimumBid.toFixed(2)}`;
+
+        const header = modal.querySelector('.bid-history-section h3');
+        if (header && update.bidCount != null) header.textContent = `📊 Bid History (${update.bidCount} bids)`;
+
+        const list = modal.querySelector('.bid-history-scroll');
+        if (!list) return;
+        list.querySelector('.no-bids')?.remove();
+        list.querySelector('.bid-item-detail.provisional')?.remove();
+        const current = list.querySelector('.bid-item-detail');
+        if (current) {
+            current.classList.remove('winning');
+            current.querySelector('.winning-badge')?.remove();
+        }
+        list.insertAdjacentHTML('afterbegin', this.createBidItem(
+            { username: update.username, bidAmount: update.bidAmount, bidTime: update.timestamp }, 0, true));
+        list.querySelectorAll('.bid-rank').forEach((rank, index) => rank.textContent = `#${index + 1}`);
+        this.scheduleHistoryReload(modal, update.auctionId);
+    },
+
+    // Replaces the history with its first page from the server once no update has arrived for a while
+    scheduleHistoryReload(modal, auctionId) {
+        clearTimeout(this.historyReload);
+        this.historyReload = setTimeout(async () => {
+            if (modal.classList.contains('hidden') || modal.getAttribute('data-auction-id') != auctionId) return;
+            try {
+                const response = await fetch(`/api/bids/auction/${auctionId}`);
+                if (!response.ok) throw new Error(`HTTP ${response.status}`);
+                const bids = (await response.json()).items;
+                const list = modal.querySelector('.bid-history-scroll');
+                if (!list || modal.getAttribute('data-auction-id') != auctionId) return;
+                list.innerHTML = bids.length === 0 ? '<p class="no-bids">No bids yet. Be the first to bid!</p>' :
+                    bids.map((bid, index) => this.createBidItem(bid, index)).join('');
+            } catch (error) {
+                console.error('❌ History reload error:', error);
+            }
+        }, 1000);
+    },
+
+    applyStats(modal, stats) {
+        const panel = modal.querySelector('.live-stats');
+        if (!panel) return;
+        const lastBid = stats.secondsSinceLastBid == null ? '—' : `${stats.secondsSinceLastBid}s ago`;
+        panel.innerHTML = `
+            <span class="stat-item">⚡ ${stats.bidsPerSecond.toFixed(2)} bids/s</span>
+            <span class="stat-item">👥 ${stats.uniqueBidders} bidders</span>
+            <span class="stat-item">📈 +$${stats.priceChangePerMinute.toFixed(2)}/min</span>
+            <span class="stat-item">🕒 ${lastBid}</span>
+        `;
+        panel.title = `Last ${stats.windowSeconds} seconds`;
+        panel.classList.remove('hidden');
+        const header = modal.querySelector('.bid-history-section h3');
+        if (header) header.textContent = `📊 Bid History (${stats.bidCount} bids)`;
+    },
+
     closeDetail() {
-        document.getElementById('detail-modal')?.classList.add('hidden');
+        const modal = document.getElementById('detail-modal');
+        if (!modal) return;
+        modal.classList.add('hidden');
+        const auctionId = modal.getAttribute('data-auction-id');
+        if (auctionId) WebSocketManager.unsubscribe(Number(auctionId));
     },
 
     async placeBid(auctionId) {
@@ -232,18 +339,18 @@ export const AuctionManager = {
         try {
             const response = await fetch('/api/bids', {
                 method: 'POST',
-                headers: { 'Content-Type': 'application/json' },
+                headers: { 'Content-Type': 'application/json', 'Authorization': `Bearer ${currentUser.token}` },
                 body: JSON.stringify({
                     auctionId: auctionId,
-                    userId: currentUser.id,
                     bidAmount: bidAmount
                 })
             });
 
-            if (response.ok) {
+            if (response.status === 401) {
+                this.loginAgain();
+            } else if (response.ok) {
                 this.showNotification('✅ Bid placed successfully!');
                 bidAmountInput.value = '';
-                setTimeout(() => this.showDetail(auctionId), 500);
             } else {
                 const error = await response.json();
                 this.showNotification('❌ ' + (error.message || 'Failed to place bid'));
@@ -254,6 +361,60 @@ export const AuctionManager = {
         }
     },
 
+    // Maximum bid: the server bids for the user one increment at a time up to this amount
+    async placeProxyBid(auctionId) {
+        const currentUser = window.auctionApp.currentUser;
+
+        if (!currentUser) {
+            this.showNotification('❌ Please login first');
+            window.location.href = '/login';
+            return;
+        }
+
+        const maxAmountInput = document.getElementById('max-bid-amount-modal');
+        const maxAmount = parseFloat(maxAmountInput.value);
+
+        if (!maxAmount || maxAmount <= 0) {
+            this.showNotification('❌ Please enter a valid maximum bid');
+            return;
+        }
+
+        try {
+            const response = await fetch('/api/bids/proxy', {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json', 'Authorization': `Bearer ${currentUser.token}` },
+                body: JSON.stringify({
+                    auctionId: auctionId,
+                    maxAmount: maxAmount
+                })
+            });
+
+            if (response.status === 401) {
+                this.loginAgain();
+            } else if (response.ok) {
+                const result = await response.json();
+                this.showNotification(result.leading
+                    ? `✅ Max bid set, you lead at $${result.currentBid.toFixed(2)}`
+                    : `⚠️ Max bid set, but you were outbid at $${result.currentBid.toFixed(2)}`);
+                maxAmountInput.value = '';
+            } else {
+                const error = await response.json();
+                this.showNotification('❌ ' + (error.message || 'Failed to set maximum bid'));
+            }
+        } catch (error) {
+            console.error('❌ Max bid error:', error);
+            this.showNotification('❌ Error setting maximum bid');
+        }
+    },
+
+    // The login token has expired or was issued before a restart
+    loginAgain() {
+        localStorage.removeItem('currentUser');
+        window.auctionApp.currentUser = null;
+        this.showNotification('❌ Your session has expired, please login again');
+        window.location.href = '/login';
+    },
+
     filter(status) {
         document.querySelectorAll('.filter-btn').forEach(btn => btn.classList.remove('active'));
         event.target.classList.add('active');
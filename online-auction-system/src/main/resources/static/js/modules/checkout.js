@@ -40,7 +40,7 @@ function displayWonItems(items) {
 
     container.innerHTML = items.map(item => `
         <div class="won-item-card">
-            <img src="${item.productImageUrl || '/images/placeholder.jpg'}" alt="${item.productName}">
+            <img src="${item.productThumbnailUrl || item.productImageUrl || '/images/placeholder.jpg'}" alt="${item.productName}">
             <div class="won-item-info">
                 <h3>${item.productName}</h3>
                 <p>Won on: ${new Date(item.endTime).toLocaleDateString()}</p>
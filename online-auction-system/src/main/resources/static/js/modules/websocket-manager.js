@@ -7,22 +7,40 @@
 
 export const WebSocketManager = {
     ws: null,
+    subscriptions: new Set(),
+    // Last version seen per auction; sent on (re)connect so the server only replays what we missed
+    versions: new Map(),
 
     init() {
+        const token = window.auctionApp.currentUser?.token;
         const wsUrl = `ws://${window.location.host}/ws/auction`;
+        // The token rides along as a subprotocol rather than in the URL, which ends up in access logs
+        const protocols = token ? ['auction.json.v1', `bearer.${token}`] : [];
 
         try {
-            this.ws = new WebSocket(wsUrl);
+            this.ws = new WebSocket(wsUrl, protocols);
 
             this.ws.onopen = () => {
                 console.log('🔌 WebSocket Connected');
                 this.showStatus('connected');
+                // The catalog needs every live auction; an open detail modal adds its own auction
+                this.send({ action: 'subscribe', channel: 'live', versions: Object.fromEntries(this.versions) });
+                this.subscriptions.forEach(auctionId =>
+                    this.send({ action: 'subscribe', auctionId, version: this.versions.get(auctionId) }));
             };
 
             this.ws.onmessage = (event) => {
-                const bidMessage = JSON.parse(event.data);
-                console.log('📨 New Bid:', bidMessage);
-                this.handleBid(bidMessage);
+                const message = JSON.parse(event.data);
+                if (message.messageType === 'AUCTION_STATS') {
+                    this.handleStats(message);
+                    return;
+                }
+                if (message.messageType === 'RESYNC') {
+                    this.handleResync(message);
+                    return;
+                }
+                console.log('📨 New Bid:', message);
+                this.handleBid(message);
             };
 
             this.ws.onerror = (error) => {
@@ -42,28 +60,94 @@ export const WebSocketManager = {
         }
     },
 
+    subscribe(auctionId) {
+        this.subscriptions.add(auctionId);
+        this.send({ action: 'subscribe', auctionId, version: this.versions.get(auctionId) });
+    },
+
+    unsubscribe(auctionId) {
+        this.subscriptions.delete(auctionId);
+        this.send({ action: 'unsubscribe', auctionId });
+    },
+
+    // Returns false if the page already shows this version or a newer one
+    noteVersion(auctionId, version) {
+        if (version == null) return true;
+        const known = this.versions.get(auctionId);
+        if (known != null && version <= known) return false;
+        this.versions.set(auctionId, version);
+        return true;
+    },
+
+    send(message) {
+        if (this.ws && this.ws.readyState === WebSocket.OPEN) {
+            this.ws.send(JSON.stringify(message));
+        }
+    },
+
     handleBid(bidMessage) {
-        // Update modal if open
+        if (!this.noteVersion(bidMessage.auctionId, bidMessage.version)) return;
+
+        // Keep the loaded list current so filtering re-renders fresh cards
+        const auction = (window.auctionApp.auctions || []).find(a => a.id === bidMessage.auctionId);
+        if (auction) {
+            Object.assign(auction, {
+                currentBid: bidMessage.bidAmount,
+                totalBids: bidMessage.bidCount,
+                endTime: bidMessage.endTime || auction.endTime,
+                version: bidMessage.version
+            });
+        }
+
+        // Update modal in place if open
         const modal = document.getElementById('detail-modal');
         if (modal && !modal.classList.contains('hidden')) {
             const auctionId = modal.getAttribute('data-auction-id');
             if (auctionId == bidMessage.auctionId) {
                 import('./auction-manager.js').then(({ AuctionManager }) => {
-                    AuctionManager.showDetail(bidMessage.auctionId);
+                    AuctionManager.applyUpdate(modal, bidMessage);
                 });
             }
         }
 
         // Update card
-        this.updateCard(bidMessage.auctionId, bidMessage.bidAmount);
+        this.updateCard(bidMessage.auctionId, bidMessage.bidAmount, bidMessage.bidCount);
+        if (bidMessage.endTime) this.updateEndTime(bidMessage.auctionId, bidMessage.endTime);
 
         // Show notification
         this.showNotification(`New bid: $${bidMessage.bidAmount.toFixed(2)} by ${bidMessage.username}`);
     },
 
-    async updateCard(auctionId, newBid) {
-        const card = document.querySelector(`[data-auction-id="${auctionId}"]`);
+    // The server cannot tell what we missed (e.g. it restarted), so the versions we hold are worthless:
+    // reload over REST. The open modal is re-rendered without subscribing again.
+    handleResync(message) {
+        import('./auction-manager.js').then(({ AuctionManager }) => {
+            if (message.channel === 'live') {
+                this.versions.clear();
+                AuctionManager.loadAll();
+            } else {
+                this.versions.delete(message.auctionId);
+            }
+            const modal = document.getElementById('detail-modal');
+            if (modal && !modal.classList.contains('hidden')
+                    && (message.channel === 'live' || modal.getAttribute('data-auction-id') == message.auctionId)) {
+                AuctionManager.showDetail(modal.getAttribute('data-auction-id'));
+            }
+        });
+    },
+
+    // Pushed about once a second for the auction open in the detail modal
+    handleStats(stats) {
+        const modal = document.getElementById('detail-modal');
+        if (!modal || modal.classList.contains('hidden') || modal.getAttribute('data-auction-id') != stats.auctionId) return;
+        import('./auction-manager.js').then(({ AuctionManager }) => AuctionManager.applyStats(modal, stats));
+    },
+
+    updateCard(auctionId, newBid, bidCount) {
+        const card = document.querySelector(`.auction-card[data-auction-id="${auctionId}"]`);
         if (card) {
+            const countElement = card.querySelector('.bid-count');
+            if (countElement && bidCount != null) countElement.textContent = `👥 ${bidCount} bids`;
             const bidElement = card.querySelector('.current-bid');
             if (bidElement) {
                 bidElement.textContent = `$${newBid.toFixed(2)}`;
@@ -73,6 +157,14 @@ export const WebSocketManager = {
         }
     },
 
+    // Soft-close auctions move their end time when a late bid comes in
+    updateEndTime(auctionId, endTime) {
+        const card = document.querySelector(`.auction-card[data-auction-id="${auctionId}"]`);
+        if (card) {
+            card.querySelectorAll('[data-end-time]').forEach(el => el.setAttribute('data-end-time', endTime));
+        }
+    },
+
     showStatus(status) {
         let statusDiv = document.getElementById('ws-status');
 
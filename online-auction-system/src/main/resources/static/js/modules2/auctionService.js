@@ -5,8 +5,15 @@ export let auctions = [];
 
 export async function loadAuctions() {
     try {
-        const r = await fetch('/api/auctions');
-        auctions = await r.json();
+        const all = [];
+        let cursor = null;
+        do {
+            const r = await fetch('/api/auctions?limit=200' + (cursor ? '&cursor=' + encodeURIComponent(cursor) : ''));
+            const page = await r.json();
+            all.push(...page.items);
+            cursor = page.nextCursor;
+        } while (cursor);
+        auctions = all;
         displayAuctions(auctions);
     } catch {
         document.getElementById('auction-grid').textContent = 'Error loading auctions';
@@ -25,8 +32,14 @@ export function displayAuctions(list) {
     `).join('');
 }
 
-export async function updateAuctionDetail(id) {
-    const modal = document.getElementById('auction-detail-modal');
-    if (!modal || modal.classList.contains('hidden')) return;
-    await fetch(`/api/auctions/${id}`);
+// Applies a pushed snapshot in place; snapshots older than what the page already shows are ignored
+export function applyBidUpdate(m) {
+    const auction = auctions.find(a => a.id === m.auctionId);
+    if (auction) {
+        if (m.version != null && auction.version != null && m.version <= auction.version) return false;
+        Object.assign(auction, { currentBid: m.bidAmount, totalBids: m.bidCount, endTime: m.endTime, version: m.version });
+    }
+    const el = document.querySelector(`[data-auction-id="${m.auctionId}"] .current-bid`);
+    if (el) el.textContent = formatCurrency(m.bidAmount);
+    return true;
 }
@@ -1,18 +1,26 @@
 import { showNotification } from './notifications.js';
 import { formatCurrency } from './currency.js';
-import { updateAuctionDetail } from './auctionService.js';
+import { auctions, applyBidUpdate, loadAuctions } from './auctionService.js';
 
 let websocket = null;
 
 export function initWebSocket() {
+    const token = JSON.parse(localStorage.getItem('currentUser') || 'null')?.token;
     const url = `ws://${window.location.host}/ws/auction`;
-    websocket = new WebSocket(url);
+    // Sent as a subprotocol so the token stays out of the URL and the access logs
+    websocket = new WebSocket(url, token ? ['auction.json.v1', `bearer.${token}`] : []);
 
-    websocket.onopen   = () => showStatus('connected');
+    websocket.onopen   = () => {
+        showStatus('connected');
+        const versions = Object.fromEntries(auctions.filter(a => a.version != null).map(a => [a.id, a.version]));
+        websocket.send(JSON.stringify({ action: 'subscribe', channel: 'live', versions }));
+    };
     websocket.onerror  = () => showStatus('disconnected');
     websocket.onclose  = () => setTimeout(initWebSocket,5000);
     websocket.onmessage = e => {
         const m = JSON.parse(e.data);
+        // The server cannot tell which updates we missed, so reload instead of trusting our versions
+        if (m.messageType === 'RESYNC') return loadAuctions();
         handleNewBid(m);
     };
 }
@@ -22,6 +30,6 @@ function showStatus(s){
     setTimeout(()=>el.style.display='none',3000);
 }
 function handleNewBid(m){
+    if (!applyBidUpdate(m)) return;
     showNotification(`New bid: ${formatCurrency(m.bidAmount)} by ${m.username}`);
-    updateAuctionDetail(m.auctionId);
 }
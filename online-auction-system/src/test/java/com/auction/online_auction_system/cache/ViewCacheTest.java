@@ -0,0 +1,113 @@
+package com.auction.online_auction_system.cache;
+
+import com.auction.online_auction_system.dto.ProductDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ViewCacheTest {
+
+    private final ViewCache<ProductDTO> cache = new ViewCache<>("test", 100, Duration.ofMinutes(1),
+            ProductDTO::getId, view -> view.toBuilder().build(), new NoTransactions(), new SimpleMeterRegistry());
+
+    @Test
+    void changingAViewDoesNotChangeTheCachedOne() {
+        AtomicInteger loads = new AtomicInteger();
+
+        ProductDTO first = cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return product(id, "Lamp");
+        });
+        first.setName("Changed");
+        first.setStartingPrice(BigDecimal.ONE);
+
+        ProductDTO second = cache.get(1L, id -> product(id, "Reloaded"));
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo("Lamp");
+        assertThat(second.getStartingPrice()).isEqualByComparingTo("10");
+    }
+
+    @Test
+    void changingAListMemberDoesNotChangeTheCachedOne() {
+        List<ProductDTO> first = cache.getList("all", () -> List.of(product(1L, "Lamp"), product(2L, "Chair")));
+        first.get(0).setName("Changed");
+        first.set(1, product(3L, "Table"));
+
+        List<ProductDTO> second = cache.getList("all", () -> List.of());
+        assertThat(second).extracting(ProductDTO::getName).containsExactly("Lamp", "Chair");
+        assertThat(cache.get(1L, id -> null).getName()).isEqualTo("Lamp");
+    }
+
+    @Test
+    void patchesAreVisibleToLaterCallers() {
+        ProductDTO before = cache.get(1L, id -> product(id, "Lamp"));
+
+        cache.patch(1L, view -> view.toBuilder().name("Desk lamp").build());
+
+        assertThat(before.getName()).isEqualTo("Lamp");
+        assertThat(cache.get(1L, id -> null).getName()).isEqualTo("Desk lamp");
+    }
+
+    @Test
+    void loadsEveryMissingViewInOneCall() {
+        cache.get(2L, id -> product(id, "Chair"));
+        List<Set<Long>> loads = new ArrayList<>();
+
+        List<ProductDTO> views = cache.getAll(List.of(3L, 2L, 9L, 1L), missing -> {
+            loads.add(missing);
+            Map<Long, ProductDTO> found = new HashMap<>();
+            missing.stream().filter(id -> id != 9L).forEach(id -> found.put(id, product(id, "Product " + id)));
+            return found;
+        });
+
+        assertThat(loads).containsExactly(Set.of(1L, 3L, 9L));
+        assertThat(views).extracting(ProductDTO::getName).containsExactly("Product 3", "Chair", "Product 1");
+
+        views.get(0).setName("Changed");
+        assertThat(cache.getAll(List.of(3L, 1L), missing -> {
+            loads.add(missing);
+            return Map.of();
+        })).extracting(ProductDTO::getName).containsExactly("Product 3", "Product 1");
+        assertThat(loads).hasSize(1);
+    }
+
+    @Test
+    void missingViewIsNull() {
+        assertThat(cache.get(1L, id -> null)).isNull();
+    }
+
+    private static ProductDTO product(Long id, String name) {
+        return ProductDTO.builder().id(id).name(name).category("Test").startingPrice(BigDecimal.TEN).build();
+    }
+
+    private static final class NoTransactions implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
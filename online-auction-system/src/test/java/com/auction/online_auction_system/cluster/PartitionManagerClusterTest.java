@@ -0,0 +1,275 @@
+package com.auction.online_auction_system.cluster;
+
+import com.auction.online_auction_system.event.PartitionsChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs several {@link PartitionManager}s in one JVM against a shared in-memory lease table and checks that
+ * every auction has exactly one owner as nodes join and leave, and that a node that cannot renew its lease
+ * lets go of its auctions before anyone else may take them.
+ */
+class PartitionManagerClusterTest {
+
+    private static final int AUCTIONS = 10_000;
+    private static final Duration HEARTBEAT = Duration.ofSeconds(2);
+    private static final Duration LEASE_TTL = Duration.ofSeconds(10);
+    private static final Duration GRACE = Duration.ofSeconds(3);
+
+    private final MutableClock clock = new MutableClock();
+    private final InMemoryLeaseStore leaseStore = new InMemoryLeaseStore();
+    private final Map<String, PartitionManager> nodes = new LinkedHashMap<>();
+    private final Map<String, List<PartitionsChangedEvent>> events = new HashMap<>();
+    private final Set<String> unreachable = new HashSet<>();
+    private final Set<String> paused = new HashSet<>();
+
+    @BeforeEach
+    void startCluster() {
+        join("node-a");
+        join("node-b");
+        join("node-c");
+        // The first node only sees the others on its second heartbeat.
+        heartbeatAll();
+        heartbeatAll();
+        clock.advance(GRACE);
+    }
+
+    @Test
+    void everyAuctionHasExactlyOneOwner() {
+        Map<String, Integer> shares = new HashMap<>();
+        ownership().forEach((id, owner) -> {
+            assertThat(owner).as("owner of auction %d", id).isNotNull();
+            shares.merge(owner, 1, Integer::sum);
+        });
+
+        assertThat(shares.keySet()).containsExactlyInAnyOrder("node-a", "node-b", "node-c");
+        shares.values().forEach(share -> assertThat(share).isGreaterThan(AUCTIONS / 5));
+    }
+
+    @Test
+    void joiningNodeTakesOverItsShareAfterTheGracePeriod() {
+        Map<Long, String> before = ownership();
+
+        join("node-d");
+        heartbeatAll();
+        heartbeatAll();
+        Map<Long, String> settling = ownership();
+        clock.advance(GRACE);
+        Map<Long, String> after = ownership();
+
+        int moved = 0;
+        for (long id = 1; id <= AUCTIONS; id++) {
+            if (!before.get(id).equals(after.get(id))) {
+                moved++;
+                assertThat(after.get(id)).isEqualTo("node-d");
+                assertThat(settling.get(id)).as("moved auction %d during grace", id).isNull();
+            } else {
+                assertThat(settling.get(id)).isEqualTo(before.get(id));
+            }
+        }
+        assertThat(moved).isBetween(AUCTIONS / 8, AUCTIONS / 2);
+    }
+
+    @Test
+    void auctionsOfANodeWhoseLeaseLapsedMoveToTheOthers() {
+        Map<Long, String> before = ownership();
+
+        nodes.remove("node-b");
+        runFor(LEASE_TTL.plus(GRACE).plus(HEARTBEAT));
+        Map<Long, String> after = ownership();
+
+        for (long id = 1; id <= AUCTIONS; id++) {
+            if (before.get(id).equals("node-b")) {
+                assertThat(after.get(id)).isIn("node-a", "node-c");
+            } else {
+                assertThat(after.get(id)).isEqualTo(before.get(id));
+            }
+        }
+    }
+
+    @Test
+    void newNodeOwnsNothingUntilItsFirstGracePeriodEnds() {
+        PartitionManager late = join("node-d");
+        late.heartbeat();
+
+        assertThat(late.isOwner(1L)).isFalse();
+        assertThat(late.ownerOf(1L)).isEmpty();
+    }
+
+    @Test
+    void nodeThatCannotRenewItsLeaseGivesUpItsAuctionsBeforeTheLeaseLapses() {
+        Map<Long, String> before = ownership();
+        unreachable.add("node-b");
+
+        // The last renewal is 3s old; the lease lapses 10s after it and the grace period is 3s.
+        runFor(Duration.ofSeconds(6));
+        List<PartitionsChangedEvent> published = events.get("node-b");
+        assertThat(published.get(published.size() - 1).nodeIds()).isEmpty();
+        Map<Long, String> released = ownership();
+        for (long id = 1; id <= AUCTIONS; id++) {
+            if (before.get(id).equals("node-b")) {
+                assertThat(released.get(id)).as("released auction %d", id).isNull();
+            }
+        }
+
+        // ownership() checks after every heartbeat that no auction has two owners.
+        runFor(LEASE_TTL.plus(GRACE));
+        Map<Long, String> after = ownership();
+        for (long id = 1; id <= AUCTIONS; id++) {
+            assertThat(after.get(id)).isIn("node-a", "node-c");
+        }
+
+        unreachable.remove("node-b");
+        runFor(HEARTBEAT.multipliedBy(2).plus(GRACE));
+        assertThat(ownership().values()).contains("node-b").doesNotContainNull();
+    }
+
+    @Test
+    void pausedNodeStopsOwningWhenItsLeaseLapsesAndRejoinsAfterwards() {
+        Map<Long, String> before = ownership();
+        paused.add("node-b");
+
+        runFor(LEASE_TTL.plus(GRACE).plus(HEARTBEAT));
+        Map<Long, String> during = ownership();
+        for (long id = 1; id <= AUCTIONS; id++) {
+            if (before.get(id).equals("node-b")) {
+                assertThat(during.get(id)).isIn("node-a", "node-c");
+            }
+        }
+
+        // Its first heartbeat after the pause hands off the books it still holds and starts over.
+        paused.remove("node-b");
+        nodes.get("node-b").heartbeat();
+        assertThat(events.get("node-b")).anySatisfy(event -> assertThat(event.nodeIds()).isEmpty());
+        assertThat(ownership().values()).doesNotContain("node-b");
+
+        runFor(HEARTBEAT.multipliedBy(2).plus(GRACE));
+        assertThat(ownership().values()).contains("node-b").doesNotContainNull();
+    }
+
+    private PartitionManager join(String nodeId) {
+        LeaseStore store = new LeaseStore() {
+            @Override
+            public void renew(NodeLease lease) {
+                reach(nodeId).renew(lease);
+            }
+
+            @Override
+            public List<NodeLease> findLive(LocalDateTime since) {
+                return reach(nodeId).findLive(since);
+            }
+
+            @Override
+            public void release(String id) {
+                reach(nodeId).release(id);
+            }
+        };
+        PartitionManager manager = new PartitionManager(store, new ClusterNode(nodeId),
+                event -> events.computeIfAbsent(nodeId, id -> new ArrayList<>()).add((PartitionsChangedEvent) event),
+                clock, true, "http://" + nodeId, LEASE_TTL, GRACE, 64);
+        nodes.put(nodeId, manager);
+        return manager;
+    }
+
+    private LeaseStore reach(String nodeId) {
+        if (unreachable.contains(nodeId)) {
+            throw new IllegalStateException("Lease store unreachable from " + nodeId);
+        }
+        return leaseStore;
+    }
+
+    private void heartbeatAll() {
+        nodes.forEach((nodeId, manager) -> {
+            if (!paused.contains(nodeId)) {
+                manager.heartbeat();
+            }
+        });
+    }
+
+    private void runFor(Duration duration) {
+        for (Duration elapsed = Duration.ZERO; elapsed.compareTo(duration) < 0; elapsed = elapsed.plus(HEARTBEAT)) {
+            clock.advance(HEARTBEAT);
+            heartbeatAll();
+            ownership();
+        }
+    }
+
+    /**
+     * @return the owner of every auction, {@code null} for auctions no node owns
+     */
+    private Map<Long, String> ownership() {
+        Map<Long, String> owners = new HashMap<>();
+        for (long id = 1; id <= AUCTIONS; id++) {
+            List<String> claimed = new ArrayList<>();
+            for (Map.Entry<String, PartitionManager> node : nodes.entrySet()) {
+                if (node.getValue().isOwner(id)) {
+                    claimed.add(node.getKey());
+                }
+            }
+            assertThat(claimed).as("owners of auction %d", id).hasSizeLessThanOrEqualTo(1);
+            owners.put(id, claimed.isEmpty() ? null : claimed.get(0));
+        }
+        return owners;
+    }
+
+    private static final class InMemoryLeaseStore implements LeaseStore {
+
+        private final Map<String, NodeLease> leases = new ConcurrentHashMap<>();
+
+        @Override
+        public void renew(NodeLease lease) {
+            leases.put(lease.nodeId(), lease);
+        }
+
+        @Override
+        public List<NodeLease> findLive(LocalDateTime since) {
+            return leases.values().stream().filter(lease -> !lease.heartbeatAt().isBefore(since)).toList();
+        }
+
+        @Override
+        public void release(String nodeId) {
+            leases.remove(nodeId);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-10-25T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.auction.online_auction_system.controller;
+
+import com.auction.online_auction_system.image.FileSystemImageStore;
+import com.auction.online_auction_system.image.ImageReferences;
+import com.auction.online_auction_system.image.ImageVariant;
+import com.auction.online_auction_system.image.ImageVariantGenerator;
+import com.auction.online_auction_system.image.StoredImage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ImageControllerTest {
+
+    private static final String MISSING_KEY = "0".repeat(64);
+
+    @TempDir
+    Path root;
+
+    private FileSystemImageStore store;
+    private ImageVariantGenerator generator;
+    private MockMvc mockMvc;
+    private String key;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = new FileSystemImageStore(root);
+        generator = new ImageVariantGenerator(store, new SimpleMeterRegistry(), 1, 4);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ImageController(store, generator)).build();
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1600, 1200, BufferedImage.TYPE_INT_RGB), "png", png);
+        key = store.put(new ByteArrayInputStream(png.toByteArray()));
+    }
+
+    @AfterEach
+    void stopWorkers() {
+        generator.shutdown();
+    }
+
+    @Test
+    void missingVariantRedirectsToTheOriginalAndIsGenerated() throws Exception {
+        mockMvc.perform(get("/api/images/{key}/{variant}", key, "thumb"))
+                .andExpect(status().isTemporaryRedirect())
+                .andExpect(header().string(HttpHeaders.LOCATION, ImageReferences.urlOf(key)))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+
+        StoredImage thumbnail = awaitVariant(ImageVariant.THUMBNAIL);
+        mockMvc.perform(get("/api/images/{key}/{variant}", key, "thumb"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + thumbnail.key() + "\""))
+                .andExpect(content().contentType(thumbnail.type().getMediaType()))
+                .andExpect(content().bytes(Files.readAllBytes(thumbnail.path())));
+    }
+
+    @Test
+    void originalIsServedWithItsKeyAsETag() throws Exception {
+        mockMvc.perform(get("/api/images/{key}", key))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + key + "\""))
+                .andExpect(content().contentType("image/png"));
+
+        mockMvc.perform(get("/api/images/{key}", key).header(HttpHeaders.IF_NONE_MATCH, "\"" + key + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void unknownVariantOrImageIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/images/{key}/{variant}", key, "huge"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/images/{key}/{variant}", MISSING_KEY, "thumb"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/images/{key}", MISSING_KEY))
+                .andExpect(status().isNotFound());
+    }
+
+    private StoredImage awaitVariant(ImageVariant variant) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            Optional<StoredImage> found = store.findVariant(key, variant);
+            if (found.isPresent()) {
+                assertThat(found.get().size()).isPositive();
+                return found.get();
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Variant " + variant + " of " + key + " was not generated");
+    }
+}
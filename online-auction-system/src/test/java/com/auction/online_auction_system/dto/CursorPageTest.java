@@ -0,0 +1,68 @@
+package com.auction.online_auction_system.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CursorPageTest {
+
+    @Test
+    void limitDefaultsAndIsClamped() {
+        assertThat(CursorPage.limit(null)).isEqualTo(CursorPage.DEFAULT_LIMIT);
+        assertThat(CursorPage.limit(20)).isEqualTo(20);
+        assertThat(CursorPage.limit(0)).isEqualTo(1);
+        assertThat(CursorPage.limit(-5)).isEqualTo(1);
+        assertThat(CursorPage.limit(10_000)).isEqualTo(CursorPage.MAX_LIMIT);
+    }
+
+    @Test
+    void extraRowMeansAnotherPageFollowingTheLastItem() {
+        CursorPage<String> page = CursorPage.of(ids(4), 3, id -> "item-" + id, id -> PageCursor.of(null, id));
+
+        assertThat(page.items()).containsExactly("item-1", "item-2", "item-3");
+        assertThat(PageCursor.decode(page.nextCursor())).isEqualTo(new PageCursor(null, 3L));
+    }
+
+    @Test
+    void fullPageWithoutAnExtraRowIsTheLast() {
+        CursorPage<Long> page = CursorPage.of(ids(3), 3, Function.identity(), id -> PageCursor.of(null, id));
+
+        assertThat(page.items()).containsExactly(1L, 2L, 3L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void shortAndEmptyPagesAreTheLast() {
+        assertThat(CursorPage.of(ids(2), 3, Function.identity(), id -> PageCursor.of(null, id)).nextCursor())
+                .isNull();
+
+        CursorPage<Long> empty = CursorPage.of(List.of(), 3, Function.identity(), id -> PageCursor.of(null, id));
+        assertThat(empty.items()).isEmpty();
+        assertThat(empty.nextCursor()).isNull();
+    }
+
+    @Test
+    void followingTheCursorsVisitsEveryRowOnce() {
+        List<Long> rows = ids(10);
+        List<Long> seen = new ArrayList<>();
+        PageCursor after = null;
+        do {
+            long afterId = after != null ? after.id() : 0L;
+            List<Long> fetched = rows.stream().filter(id -> id > afterId).limit(4).toList();
+            CursorPage<Long> page = CursorPage.of(fetched, 3, Function.identity(), id -> PageCursor.of(null, id));
+            seen.addAll(page.items());
+            after = PageCursor.decode(page.nextCursor());
+        } while (after != null);
+
+        assertThat(seen).isEqualTo(rows);
+    }
+
+    private static List<Long> ids(int count) {
+        return LongStream.rangeClosed(1, count).boxed().toList();
+    }
+}
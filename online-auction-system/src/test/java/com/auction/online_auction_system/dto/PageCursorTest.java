@@ -0,0 +1,86 @@
+package com.auction.online_auction_system.dto;
+
+import com.auction.online_auction_system.exception.AuctionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void timeCursorSurvivesTheRoundTrip() {
+        LocalDateTime endTime = LocalDateTime.of(2025, 10, 25, 4, 1, 43, 123_000_000);
+
+        PageCursor decoded = PageCursor.decode(PageCursor.of(endTime, 42L).encode());
+
+        assertThat(decoded.timeKey()).isEqualTo(endTime);
+        assertThat(decoded.id()).isEqualTo(42L);
+    }
+
+    @Test
+    void amountCursorSurvivesTheRoundTrip() {
+        PageCursor decoded = PageCursor.decode(PageCursor.of(new BigDecimal("1250.50"), 7L).encode());
+
+        assertThat(decoded.amountKey()).isEqualByComparingTo("1250.50");
+        assertThat(decoded.id()).isEqualTo(7L);
+    }
+
+    @Test
+    void idCursorHasNoKey() {
+        String token = PageCursor.of(null, 9_007L).encode();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(PageCursor.decode(token)).isEqualTo(new PageCursor(null, 9_007L));
+    }
+
+    @Test
+    void keyMayContainTheSeparator() {
+        PageCursor cursor = new PageCursor("a~b", 3L);
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"  "})
+    void missingTokenMeansTheFirstPage(String token) {
+        assertThat(PageCursor.decode(token)).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "%%%"})
+    void rejectsTokensThatAreNotBase64(String token) {
+        assertThatThrownBy(() -> PageCursor.decode(token))
+                .isInstanceOf(AuctionException.class)
+                .hasMessageContaining("Invalid page cursor");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"abc", "2025-10-25T04:01:43~", "2025-10-25T04:01:43~x", "~"})
+    void rejectsTokensWithoutANumericId(String raw) {
+        String token = Base64.getUrlEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> PageCursor.decode(token))
+                .isInstanceOf(AuctionException.class)
+                .hasMessageContaining("Invalid page cursor");
+    }
+
+    @Test
+    void rejectsCursorsIssuedByAnotherListing() {
+        PageCursor idOnly = PageCursor.decode(PageCursor.of(null, 5L).encode());
+        PageCursor amount = PageCursor.decode(PageCursor.of(new BigDecimal("10.00"), 5L).encode());
+
+        assertThatThrownBy(idOnly::timeKey).isInstanceOf(AuctionException.class);
+        assertThatThrownBy(idOnly::amountKey).isInstanceOf(AuctionException.class);
+        assertThatThrownBy(amount::timeKey).isInstanceOf(AuctionException.class);
+    }
+}
@@ -0,0 +1,100 @@
+package com.auction.online_auction_system.engine;
+
+import com.auction.online_auction_system.exception.AuctionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires thousands of bids at one auction from many threads, each based on a possibly stale read of the price,
+ * and checks that no accepted bid was lost or overtaken by a lower one.
+ */
+class ConcurrentBiddingStressTest {
+
+    private static final long AUCTION_ID = 1L;
+    private static final int THREADS = 32;
+    private static final int BIDS_PER_THREAD = 250;
+    private static final BigDecimal INCREMENT = new BigDecimal("1.00");
+
+    private final BidSequencer bidSequencer = new BidSequencer(4, 10_000, 30_000);
+
+    @AfterEach
+    void stopLanes() {
+        bidSequencer.shutdown();
+    }
+
+    @Test
+    void concurrentBidsLeaveAConsistentBook() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        LiveOrderBook book = new LiveOrderBook(AUCTION_ID, INCREMENT, null,
+                new LiveOrderBook.Quote(new BigDecimal("100.00"), null, null, 0, 0, now.plusHours(1)), List.of(), 1);
+
+        ConcurrentLinkedQueue<AcceptedBid> accepted = new ConcurrentLinkedQueue<>();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService bidders = Executors.newFixedThreadPool(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            long userId = t + 1;
+            bidders.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < BIDS_PER_THREAD; i++) {
+                    // Read, then bid: by the time the bid reaches the lane the price may have moved on.
+                    BigDecimal seen = book.getQuote().currentBid();
+                    BigDecimal amount = seen.add(INCREMENT.multiply(BigDecimal.valueOf(random.nextInt(1, 4))));
+                    boolean proxy = random.nextInt(10) == 0;
+                    try {
+                        BidResolution resolution = bidSequencer.execute(AUCTION_ID, () -> proxy
+                                ? book.submitProxy(userId, "user" + userId, amount.add(INCREMENT.multiply(BigDecimal.TEN)), null, now)
+                                : book.accept(userId, "user" + userId, amount, null, now));
+                        accepted.addAll(resolution.bids());
+                    } catch (AuctionException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        bidders.shutdown();
+        assertThat(bidders.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+
+        List<AcceptedBid> bids = new ArrayList<>(accepted);
+        bids.sort(Comparator.comparingLong(AcceptedBid::sequence));
+        assertThat(bids).isNotEmpty();
+        assertThat(rejected.get()).isPositive();
+
+        for (int i = 0; i < bids.size(); i++) {
+            assertThat(bids.get(i).sequence()).isEqualTo(i + 1L);
+            if (i > 0) {
+                // An earlier maximum bid takes the lead at an equal amount, so prices never go down but may repeat.
+                assertThat(bids.get(i).bidAmount()).isGreaterThanOrEqualTo(bids.get(i - 1).bidAmount());
+            }
+        }
+
+        AcceptedBid last = bids.get(bids.size() - 1);
+        LiveOrderBook.Quote quote = book.getQuote();
+        assertThat(quote.currentBid()).isEqualByComparingTo(last.bidAmount());
+        assertThat(quote.leaderId()).isEqualTo(last.userId());
+        assertThat(quote.sequence()).isEqualTo((long) bids.size());
+        assertThat(quote.bidCount()).isEqualTo((long) bids.size());
+    }
+}
@@ -0,0 +1,203 @@
+package com.auction.online_auction_system.engine;
+
+import com.auction.online_auction_system.entity.Auction;
+import com.auction.online_auction_system.exception.AuctionException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class LiveOrderBookTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+    private static final Long ALICE = 1L;
+    private static final Long BOB = 2L;
+    private static final Long CAROL = 3L;
+
+    @Test
+    void bidMustBeatThePriceByTheMinimumIncrement() {
+        LiveOrderBook book = book();
+
+        assertThatThrownBy(() -> book.accept(ALICE, "alice", amount("104.99"), null, NOW))
+                .isInstanceOf(AuctionException.class)
+                .hasMessageContaining("105");
+        BidResolution resolution = book.accept(ALICE, "alice", amount("105"), null, NOW);
+
+        assertThat(resolution.bids()).extracting(AcceptedBid::sequence).containsExactly(1L);
+        assertThat(resolution.quote().currentBid()).isEqualByComparingTo("105");
+        assertThat(resolution.quote().bidCount()).isEqualTo(1);
+        assertThat(book.getMinimumBid()).isEqualByComparingTo("110");
+    }
+
+    @Test
+    void everyAcceptedBidTakesTheLeadWithTheNextSequence() {
+        LiveOrderBook book = book();
+        book.accept(ALICE, "alice", amount("110"), null, NOW);
+        book.accept(BOB, "bob", amount("150"), null, NOW);
+
+        LiveOrderBook.Quote quote = book.accept(ALICE, "alice", amount("155"), null, NOW).quote();
+
+        assertThat(quote.leaderId()).isEqualTo(ALICE);
+        assertThat(quote.leaderName()).isEqualTo("alice");
+        assertThat(quote.sequence()).isEqualTo(3);
+        assertThat(quote.bidCount()).isEqualTo(3);
+    }
+
+    @Test
+    void closedOrEndedAuctionTakesNoBids() {
+        LiveOrderBook ended = book();
+        assertThatThrownBy(() -> ended.accept(ALICE, "alice", amount("110"), null, NOW.plusHours(2)))
+                .isInstanceOf(AuctionException.class)
+                .hasMessage("Auction has ended");
+
+        LiveOrderBook closed = book();
+        closed.close(Auction.AuctionStatus.CANCELLED);
+        assertThatThrownBy(() -> closed.accept(ALICE, "alice", amount("110"), null, NOW))
+                .isInstanceOf(AuctionException.class)
+                .hasMessageContaining("CANCELLED");
+        assertThat(closed.getQuote().sequence()).isZero();
+    }
+
+    @Test
+    void restoringACheckpointUndoesTheBidsAcceptedSince() {
+        LiveOrderBook book = book();
+        book.accept(ALICE, "alice", amount("110"), null, NOW);
+        LiveOrderBook.Checkpoint checkpoint = book.checkpoint();
+
+        book.submitProxy(BOB, "bob", amount("300"), null, NOW);
+        book.restore(checkpoint);
+
+        assertThat(book.getQuote()).isEqualTo(checkpoint.quote());
+        // Bob's maximum went with the rollback, so the same bid is accepted again with the same sequence.
+        BidResolution again = book.accept(CAROL, "carol", amount("115"), null, NOW);
+        assertThat(again.bids()).extracting(AcceptedBid::userId, AcceptedBid::sequence)
+                .containsExactly(tuple(CAROL, 2L));
+    }
+
+    @Test
+    void firstMaximumOpensOneIncrementAboveThePrice() {
+        LiveOrderBook book = book();
+
+        BidResolution resolution = book.submitProxy(ALICE, "alice", amount("200"), null, NOW);
+
+        assertThat(amounts(resolution)).containsExactly(amount("105"));
+        assertThat(resolution.quote().leaderId()).isEqualTo(ALICE);
+    }
+
+    @Test
+    void priceJumpsToOneIncrementAboveTheLosingMaximum() {
+        LiveOrderBook book = book();
+        book.submitProxy(ALICE, "alice", amount("200"), null, NOW);
+
+        BidResolution resolution = book.submitProxy(BOB, "bob", amount("150"), null, NOW);
+
+        assertThat(bidders(resolution)).containsExactly(ALICE);
+        assertThat(amounts(resolution)).containsExactly(amount("155"));
+        assertThat(resolution.exhaustedProxies()).containsExactly(BOB);
+        assertThat(resolution.quote().leaderId()).isEqualTo(ALICE);
+    }
+
+    @Test
+    void higherMaximumTakesTheLeadCappedAtItsOwnMaximum() {
+        LiveOrderBook book = book();
+        book.submitProxy(ALICE, "alice", amount("200"), null, NOW);
+
+        BidResolution resolution = book.submitProxy(BOB, "bob", amount("202"), null, NOW);
+
+        assertThat(bidders(resolution)).containsExactly(BOB);
+        assertThat(amounts(resolution)).containsExactly(amount("202"));
+        assertThat(resolution.exhaustedProxies()).containsExactly(ALICE);
+    }
+
+    @Test
+    void plainBidAtAnEarlierMaximumIsAnsweredAtTheSameAmount() {
+        LiveOrderBook book = book();
+        book.submitProxy(ALICE, "alice", amount("200"), null, NOW);
+
+        BidResolution resolution = book.accept(BOB, "bob", amount("200"), null, NOW);
+
+        // Two bids at one amount: the later one, the maximum's, leads.
+        assertThat(resolution.bids()).extracting(AcceptedBid::userId, AcceptedBid::bidAmount, AcceptedBid::sequence)
+                .containsExactly(
+                        tuple(BOB, amount("200"), 2L),
+                        tuple(ALICE, amount("200"), 3L));
+        assertThat(resolution.quote().leaderId()).isEqualTo(ALICE);
+        assertThat(resolution.quote().sequence()).isEqualTo(3);
+        assertThatThrownBy(() -> book.accept(BOB, "bob", amount("200"), null, NOW))
+                .isInstanceOf(AuctionException.class);
+    }
+
+    @Test
+    void equalMaximumsGoToTheEarlierOne() {
+        LiveOrderBook book = book();
+        book.submitProxy(ALICE, "alice", amount("200"), null, NOW);
+
+        BidResolution resolution = book.submitProxy(BOB, "bob", amount("200"), null, NOW);
+
+        assertThat(bidders(resolution)).containsExactly(ALICE);
+        assertThat(amounts(resolution)).containsExactly(amount("200"));
+        assertThat(resolution.exhaustedProxies()).containsExactly(BOB);
+    }
+
+    @Test
+    void leaderRaisingTheirMaximumStillBeatsALaterEqualMaximum() {
+        LiveOrderBook book = book();
+        book.submitProxy(ALICE, "alice", amount("150"), null, NOW);
+        book.submitProxy(BOB, "bob", amount("300"), null, NOW);
+        book.submitProxy(BOB, "bob", amount("400"), null, NOW);
+
+        BidResolution resolution = book.submitProxy(CAROL, "carol", amount("400"), null, NOW);
+
+        assertThat(bidders(resolution)).containsExactly(BOB);
+        assertThat(amounts(resolution)).containsExactly(amount("400"));
+        assertThat(resolution.quote().leaderId()).isEqualTo(BOB);
+    }
+
+    @Test
+    void raisingTheLeadingMaximumPlacesNoBid() {
+        LiveOrderBook book = book();
+        book.submitProxy(ALICE, "alice", amount("200"), null, NOW);
+
+        BidResolution resolution = book.submitProxy(ALICE, "alice", amount("300"), null, NOW);
+
+        assertThat(resolution.bids()).isEmpty();
+        assertThat(resolution.quote().currentBid()).isEqualByComparingTo("105");
+        assertThatThrownBy(() -> book.submitProxy(ALICE, "alice", amount("300"), null, NOW))
+                .isInstanceOf(AuctionException.class);
+    }
+
+    @Test
+    void reloadedLeaderDefendsWithTheirMaximum() {
+        LiveOrderBook.Quote quote = new LiveOrderBook.Quote(amount("150"), ALICE, "alice", 4, 4, NOW.plusHours(1));
+        LiveOrderBook book = new LiveOrderBook(1L, amount("5"), null, quote,
+                List.of(new LiveOrderBook.Proxy(ALICE, "alice", amount("300"), null, 0)), 1);
+
+        BidResolution resolution = book.accept(CAROL, "carol", amount("155"), null, NOW);
+
+        assertThat(bidders(resolution)).containsExactly(CAROL, ALICE);
+        assertThat(amounts(resolution)).containsExactly(amount("155"), amount("160"));
+        assertThat(resolution.bids()).extracting(AcceptedBid::sequence).containsExactly(5L, 6L);
+    }
+
+    static LiveOrderBook book() {
+        LiveOrderBook.Quote quote = new LiveOrderBook.Quote(amount("100"), null, null, 0, 0, NOW.plusHours(1));
+        return new LiveOrderBook(1L, amount("5"), null, quote, List.of(), 1);
+    }
+
+    static BigDecimal amount(String value) {
+        return new BigDecimal(value);
+    }
+
+    private static List<Long> bidders(BidResolution resolution) {
+        return resolution.bids().stream().map(AcceptedBid::userId).toList();
+    }
+
+    private static List<BigDecimal> amounts(BidResolution resolution) {
+        return resolution.bids().stream().map(AcceptedBid::bidAmount).toList();
+    }
+}
@@ -0,0 +1,171 @@
+package com.auction.online_auction_system.engine;
+
+import com.auction.online_auction_system.dto.BidDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentBidRingTest {
+
+    private static final int CAPACITY = 8;
+
+    @Test
+    void snapshotHoldsTheHighestSequenceFirst() {
+        RecentBidRing ring = new RecentBidRing(CAPACITY, List.of(), 0);
+        ring.add(bid(2), 2);
+        ring.add(bid(1), 1);
+        ring.add(bid(3), 3);
+
+        assertThat(ids(ring.snapshot())).containsExactly(3L, 2L, 1L);
+        assertThat(ring.total()).isEqualTo(3);
+    }
+
+    @Test
+    void wrappingOverwritesTheOldestBids() {
+        RecentBidRing ring = new RecentBidRing(CAPACITY, List.of(), 0);
+        for (long sequence = 1; sequence <= 20; sequence++) {
+            ring.add(bid(sequence), sequence);
+        }
+
+        assertThat(ids(ring.snapshot())).containsExactlyElementsOf(descending(20, CAPACITY));
+        assertThat(ring.total()).isEqualTo(20);
+    }
+
+    @Test
+    void seedLargerThanTheRingKeepsItsHighestBids() {
+        List<RecentBidRing.Ranked> seed = new ArrayList<>();
+        for (long sequence = 12; sequence >= 1; sequence--) {
+            seed.add(new RecentBidRing.Ranked(bid(sequence), sequence));
+        }
+
+        RecentBidRing ring = new RecentBidRing(CAPACITY, seed, 30);
+
+        assertThat(ids(ring.snapshot())).containsExactlyElementsOf(descending(12, CAPACITY));
+        assertThat(ring.total()).isEqualTo(30);
+    }
+
+    @Test
+    void bidSavedWhileTheRingWasSeededIsHeldOnce() {
+        RecentBidRing ring = new RecentBidRing(CAPACITY,
+                List.of(new RecentBidRing.Ranked(bid(1), 1), new RecentBidRing.Ranked(bid(2), 2)), 2);
+
+        // The journal's callback for bid 2 runs after the seed read it back from the database.
+        ring.add(bid(2), 5);
+        ring.add(bid(3), 6);
+
+        assertThat(ids(ring.snapshot())).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void readersNeverSeeATornOrUnorderedSnapshotWhileAWriterWraps() throws Exception {
+        int bids = 200_000;
+        int readers = 3;
+        RecentBidRing ring = new RecentBidRing(CAPACITY, List.of(), 0);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(readers + 1);
+        try {
+            List<Future<Integer>> reads = new ArrayList<>();
+            for (int r = 0; r < readers; r++) {
+                reads.add(pool.submit(() -> {
+                    start.await();
+                    int snapshots = 0;
+                    do {
+                        List<Long> ids = ids(ring.snapshot());
+                        assertThat(ids).hasSizeLessThanOrEqualTo(CAPACITY);
+                        for (int i = 1; i < ids.size(); i++) {
+                            assertThat(ids.get(i)).as("snapshot %s", ids).isLessThan(ids.get(i - 1));
+                        }
+                        if (!ids.isEmpty()) {
+                            // Slots overwritten while being read are skipped, so only the window read is left.
+                            assertThat(ids.get(0) - ids.get(ids.size() - 1)).as("snapshot %s", ids)
+                                    .isLessThan(CAPACITY);
+                            assertThat(ids.get(0)).isLessThanOrEqualTo(bids);
+                        }
+                        snapshots++;
+                    } while (writing.get());
+                    return snapshots;
+                }));
+            }
+            Future<?> writer = pool.submit(() -> {
+                start.await();
+                for (long sequence = 1; sequence <= bids; sequence++) {
+                    ring.add(bid(sequence), sequence);
+                }
+                writing.set(false);
+                return null;
+            });
+
+            start.countDown();
+            writer.get(60, TimeUnit.SECONDS);
+            for (Future<Integer> read : reads) {
+                assertThat(read.get(60, TimeUnit.SECONDS)).isPositive();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(ids(ring.snapshot())).containsExactlyElementsOf(descending(bids, CAPACITY));
+        assertThat(ring.total()).isEqualTo(bids);
+    }
+
+    @Test
+    void concurrentWritersFillEverySlot() throws Exception {
+        int writers = 4;
+        int bidsPerWriter = 50_000;
+        RecentBidRing ring = new RecentBidRing(CAPACITY, List.of(), 0);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                long first = (long) w * bidsPerWriter + 1;
+                done.add(pool.submit(() -> {
+                    start.await();
+                    for (long sequence = first; sequence < first + bidsPerWriter; sequence++) {
+                        ring.add(bid(sequence), sequence);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : done) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<Long> ids = ids(ring.snapshot());
+        assertThat(ids).hasSize(CAPACITY).doesNotHaveDuplicates();
+        assertThat(ring.total()).isEqualTo((long) writers * bidsPerWriter);
+    }
+
+    private static BidDTO bid(long id) {
+        return BidDTO.builder()
+                .id(id)
+                .auctionId(1L)
+                .bidAmount(BigDecimal.valueOf(100 + id))
+                .isWinning(false)
+                .build();
+    }
+
+    private static List<Long> ids(List<BidDTO> bids) {
+        return bids.stream().map(BidDTO::getId).toList();
+    }
+
+    private static List<Long> descending(long highest, int count) {
+        return LongStream.iterate(highest, id -> id - 1).limit(count).boxed().toList();
+    }
+}
@@ -0,0 +1,123 @@
+package com.auction.online_auction_system.engine;
+
+import com.auction.online_auction_system.dto.BidDTO;
+import com.auction.online_auction_system.entity.Auction;
+import com.auction.online_auction_system.entity.Bid;
+import com.auction.online_auction_system.entity.Product;
+import com.auction.online_auction_system.entity.User;
+import com.auction.online_auction_system.repository.BidRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.auction.online_auction_system.support.TestEntities.auction;
+import static com.auction.online_auction_system.support.TestEntities.bid;
+import static com.auction.online_auction_system.support.TestEntities.product;
+import static com.auction.online_auction_system.support.TestEntities.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that a ring is seeded with the same bids the database would serve and only takes bids the
+ * journal has saved.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "auction.bids.recent-capacity=5"
+})
+@Import({RecentBids.class, SimpleMeterRegistry.class})
+class RecentBidsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private RecentBids recentBids;
+
+    private Auction auction;
+    private User bidder;
+
+    @BeforeEach
+    void setUp() {
+        User seller = entityManager.persist(user("seller"));
+        bidder = entityManager.persist(user("bidder"));
+        Product product = entityManager.persist(product("Product", seller));
+        auction = entityManager.persist(auction(product, Auction.AuctionStatus.LIVE));
+    }
+
+    @Test
+    void ringIsSeededWithTheHighestSavedBids() {
+        saveBids(8);
+
+        recentBids.open(auction.getId(), 8, 8);
+
+        RecentBidRing ring = recentBids.get(auction.getId()).orElseThrow();
+        List<BidDTO> held = ring.snapshot();
+        assertThat(held).extracting(BidDTO::getId).containsExactlyElementsOf(
+                bidRepository.findFirstPageByAuction(auction.getId(), PageRequest.ofSize(5)).stream()
+                        .map(BidDTO::getId).toList());
+        assertThat(held).extracting(BidDTO::getIsWinning).containsOnly(false);
+        assertThat(ring.total()).isEqualTo(8);
+    }
+
+    @Test
+    void bidsAreAddedOnceSavedAndOnlyOnce() {
+        List<Bid> saved = saveBids(2);
+        recentBids.open(auction.getId(), 2, 2);
+
+        CompletableFuture<Long> seeded = new CompletableFuture<>();
+        CompletableFuture<Long> failed = new CompletableFuture<>();
+        CompletableFuture<Long> pending = new CompletableFuture<>();
+        recentBids.track(List.of(accepted(3, "12.00"), accepted(4, "40.00"), accepted(5, "50.00")),
+                List.of(seeded, failed, pending));
+        // Saved before the seed was read, so the ring already holds it.
+        seeded.complete(saved.get(1).getId());
+        failed.completeExceptionally(new IllegalStateException("write failed"));
+
+        RecentBidRing ring = recentBids.get(auction.getId()).orElseThrow();
+        assertThat(ring.snapshot()).extracting(BidDTO::getId)
+                .containsExactly(saved.get(1).getId(), saved.get(0).getId());
+
+        pending.complete(100L);
+        assertThat(ring.snapshot()).extracting(BidDTO::getId)
+                .containsExactly(100L, saved.get(1).getId(), saved.get(0).getId());
+        assertThat(ring.snapshot().get(0).getBidAmount()).isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    void bidsOfAClosedBookAreDropped() {
+        recentBids.open(auction.getId(), 0, 0);
+        recentBids.remove(auction.getId());
+
+        recentBids.track(List.of(accepted(1, "20.00")), List.of(CompletableFuture.completedFuture(1L)));
+
+        assertThat(recentBids.get(auction.getId())).isEmpty();
+    }
+
+    private List<Bid> saveBids(int count) {
+        List<Bid> bids = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            bids.add(entityManager.persist(bid(auction, bidder, BigDecimal.valueOf(10L + i), i)));
+        }
+        entityManager.flush();
+        return bids;
+    }
+
+    private AcceptedBid accepted(long sequence, String amount) {
+        return new AcceptedBid(auction.getId(), bidder.getId(), bidder.getUsername(), new BigDecimal(amount), null,
+                sequence, LocalDateTime.now(), auction.getEndTime(), 0);
+    }
+}
@@ -0,0 +1,131 @@
+package com.auction.online_auction_system.image;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageVariantGeneratorTest {
+
+    @TempDir
+    Path root;
+
+    private ImageVariantGenerator generator;
+
+    @AfterEach
+    void stopWorkers() {
+        if (generator != null) {
+            generator.shutdown();
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "4000, 3000, 800, 800, 600",
+            "3000, 4000, 800, 600, 800",
+            "1200, 2400, 320, 160, 320",
+            "1000, 1000, 320, 320, 320",
+            "1001, 333, 800, 800, 266",
+            "5000, 10, 800, 800, 2",
+            "10000, 1, 320, 320, 1"
+    })
+    void fitsTheLongerSideAndKeepsTheAspectRatio(int width, int height, int maxDimension,
+                                                 int expectedWidth, int expectedHeight) {
+        BufferedImage scaled = ImageVariantGenerator.scale(image(width, height, BufferedImage.TYPE_INT_RGB),
+                maxDimension);
+
+        assertThat(scaled.getWidth()).isEqualTo(expectedWidth);
+        assertThat(scaled.getHeight()).isEqualTo(expectedHeight);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"300, 200", "800, 10", "1, 1"})
+    void neverEnlargesAnImage(int width, int height) {
+        BufferedImage scaled = ImageVariantGenerator.scale(image(width, height, BufferedImage.TYPE_INT_RGB), 800);
+
+        assertThat(scaled.getWidth()).isEqualTo(width);
+        assertThat(scaled.getHeight()).isEqualTo(height);
+    }
+
+    @Test
+    void keepsTransparency() {
+        BufferedImage transparent = ImageVariantGenerator.scale(image(1600, 900, BufferedImage.TYPE_INT_ARGB), 320);
+        BufferedImage opaque = ImageVariantGenerator.scale(image(1600, 900, BufferedImage.TYPE_3BYTE_BGR), 320);
+
+        assertThat(transparent.getColorModel().hasAlpha()).isTrue();
+        assertThat(opaque.getColorModel().hasAlpha()).isFalse();
+    }
+
+    @Test
+    void keepsTheContentWhileHalving() {
+        BufferedImage source = image(2048, 1024, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = source.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, 1024, 1024);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(1024, 0, 1024, 1024);
+        graphics.dispose();
+
+        BufferedImage scaled = ImageVariantGenerator.scale(source, 320);
+
+        assertThat(new Color(scaled.getRGB(40, 80))).isEqualTo(Color.RED);
+        assertThat(new Color(scaled.getRGB(280, 80))).isEqualTo(Color.BLUE);
+    }
+
+    @Test
+    void generatesEveryVariantOfAStoredImage() throws Exception {
+        FileSystemImageStore store = new FileSystemImageStore(root);
+        generator = new ImageVariantGenerator(store, new SimpleMeterRegistry(), 1, 4);
+        String key = store.put(new ByteArrayInputStream(png(image(2400, 1200, BufferedImage.TYPE_INT_RGB))));
+
+        generator.request(key);
+
+        for (ImageVariant variant : ImageVariant.values()) {
+            BufferedImage generated = ImageIO.read(awaitVariant(store, key, variant).path().toFile());
+            assertThat(generated.getWidth()).isEqualTo(variant.getMaxDimension());
+            assertThat(generated.getHeight()).isEqualTo(variant.getMaxDimension() / 2);
+        }
+    }
+
+    static StoredImage awaitVariant(ImageStore store, String key, ImageVariant variant)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            Optional<StoredImage> found = store.findVariant(key, variant);
+            if (found.isPresent()) {
+                return found.get();
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Variant " + variant + " of " + key + " was not generated");
+    }
+
+    static BufferedImage image(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.GRAY);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        return image;
+    }
+
+    static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+}
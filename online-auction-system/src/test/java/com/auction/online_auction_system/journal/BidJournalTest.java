@@ -0,0 +1,132 @@
+package com.auction.online_auction_system.journal;
+
+import com.auction.online_auction_system.engine.AcceptedBid;
+import com.auction.online_auction_system.engine.ProxyChange;
+import com.auction.online_auction_system.event.BidRejectedEvent;
+import com.auction.online_auction_system.exception.AuctionException;
+import com.auction.online_auction_system.service.BidPersistenceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks what the journal does with bids the database will not take: refused bids are dead-lettered and let
+ * the checkpoint pass, bids that failed otherwise hold it so the next start replays them.
+ */
+class BidJournalTest {
+
+    private static final BigDecimal REFUSED = new BigDecimal("13.00");
+
+    @TempDir
+    Path directory;
+
+    private final List<BidRejectedEvent> rejected = new CopyOnWriteArrayList<>();
+    private BidWriteAheadLog writeAheadLog;
+    private BidJournal journal;
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        if (journal != null) {
+            journal.stop();
+        }
+        if (writeAheadLog != null) {
+            writeAheadLog.close();
+        }
+    }
+
+    @Test
+    void refusedBidIsDeadLetteredAndTheCheckpointMovesPastIt() throws IOException {
+        start(new StubPersistence(false));
+
+        List<CompletableFuture<Long>> committed = journal.appendAll(
+                List.of(bid(1, "12.00"), bid(2, REFUSED.toPlainString()), bid(3, "14.00")), List.of());
+
+        assertThat(journal.acknowledge(committed.get(0))).isNotNull();
+        assertThatThrownBy(() -> journal.acknowledge(committed.get(1))).isInstanceOf(AuctionException.class);
+        assertThat(journal.acknowledge(committed.get(2))).isNotNull();
+        journal.awaitFlushed();
+
+        assertThat(writeAheadLog.getCheckpointLsn()).isEqualTo(3);
+        assertThat(writeAheadLog.readUncheckpointed()).isEmpty();
+        List<String> deadLetters = Files.readAllLines(directory.resolve("dead-letter.log"));
+        assertThat(deadLetters).hasSize(1);
+        assertThat(deadLetters.get(0)).contains("lsn=2", "sequence=2", "bid refused by a constraint");
+        assertThat(rejected).extracting(BidRejectedEvent::sequence).containsExactly(2L);
+    }
+
+    @Test
+    void bidThatCouldNotBeWrittenHoldsTheCheckpoint() {
+        start(new StubPersistence(true));
+
+        List<CompletableFuture<Long>> committed = journal.appendAll(List.of(bid(1, "12.00")), List.of());
+
+        assertThatThrownBy(() -> journal.acknowledge(committed.get(0))).isInstanceOf(AuctionException.class);
+        journal.awaitFlushed();
+
+        assertThat(writeAheadLog.getCheckpointLsn()).isZero();
+        assertThat(writeAheadLog.readUncheckpointed()).extracting(BidWriteAheadLog.WalRecord::lsn)
+                .containsExactly(1L);
+        assertThat(directory.resolve("dead-letter.log")).doesNotExist();
+    }
+
+    private void start(BidPersistenceService persistence) {
+        try {
+            writeAheadLog = new BidWriteAheadLog(directory.toString(), 1, BidWriteAheadLog.FsyncPolicy.NONE, 10);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        journal = new BidJournal(persistence, writeAheadLog, event -> rejected.add((BidRejectedEvent) event),
+                BidJournal.DurabilityMode.SYNC_ACK, 100, 10, 5, 1, 200, 5_000);
+        journal.start();
+    }
+
+    private static AcceptedBid bid(long sequence, String amount) {
+        return new AcceptedBid(1L, 2L, "bidder", new BigDecimal(amount), null, sequence,
+                LocalDateTime.of(2026, 1, 1, 12, 0), LocalDateTime.of(2026, 1, 1, 13, 0), 1);
+    }
+
+    /**
+     * Refuses every batch holding a bid of {@link #REFUSED}, or fails every batch if the database is down.
+     */
+    private static final class StubPersistence extends BidPersistenceService {
+
+        private final boolean down;
+        private final AtomicLong ids = new AtomicLong();
+
+        StubPersistence(boolean down) {
+            super(null, null, null, null);
+            this.down = down;
+        }
+
+        @Override
+        public List<Long> persistBatch(List<AcceptedBid> bids, List<ProxyChange> proxyChanges) {
+            if (down) {
+                throw new DataAccessResourceFailureException("connection refused");
+            }
+            List<Long> saved = new ArrayList<>(bids.size());
+            for (AcceptedBid bid : bids) {
+                if (bid.bidAmount().compareTo(REFUSED) == 0) {
+                    throw new DataIntegrityViolationException("bid refused\nby a constraint");
+                }
+                saved.add(ids.incrementAndGet());
+            }
+            return saved;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.auction.online_auction_system.journal;
+
+import com.auction.online_auction_system.engine.AcceptedBid;
+import com.auction.online_auction_system.engine.ProxyChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks what a restarted log hands back for replay: intact records after the checkpoint, up to the first
+ * torn or corrupted one, across as many segments as the checkpoint left behind.
+ */
+class BidWriteAheadLogTest {
+
+    private static final int RECORDS_PER_SEGMENT = 1024 * 1024 / BidWriteAheadLog.RECORD_SIZE;
+    private static final LocalDateTime ACCEPTED_AT = LocalDateTime.of(2026, 1, 1, 12, 0, 0, 123_456_789);
+
+    @TempDir
+    Path directory;
+
+    private final List<BidWriteAheadLog> opened = new ArrayList<>();
+
+    @AfterEach
+    void close() {
+        opened.forEach(BidWriteAheadLog::close);
+    }
+
+    @Test
+    void reopenedLogReplaysEverythingAfterTheCheckpoint() throws IOException {
+        BidWriteAheadLog log = open();
+        log.append(bid(1, "10.00"));
+        ProxyChange raised = new ProxyChange(ProxyChange.Kind.RAISED, 1L, 3L, new BigDecimal("99.99"), null, 1,
+                ACCEPTED_AT, 7);
+        log.append(raised);
+        log.append(bid(2, "12.50"));
+        log.checkpoint(1);
+
+        List<BidWriteAheadLog.WalRecord> records = open().readUncheckpointed();
+
+        assertThat(records).extracting(BidWriteAheadLog.WalRecord::lsn).containsExactly(2L, 3L);
+        assertThat(records.get(0).proxyChange()).isEqualTo(raised);
+        // Usernames and addresses are not logged.
+        assertThat(records.get(1).bid()).isEqualTo(new AcceptedBid(1L, 2L, null, new BigDecimal("12.50"), null, 2,
+                ACCEPTED_AT, ACCEPTED_AT.plusMinutes(5), 7));
+    }
+
+    @Test
+    void tornTailIsDroppedAndOverwrittenByTheNextAppend() throws IOException {
+        BidWriteAheadLog log = open();
+        for (int i = 1; i <= 3; i++) {
+            log.append(bid(i, "10.00"));
+        }
+        log.close();
+        // The last record only got as far as its header.
+        zero(firstSegment(), 2L * BidWriteAheadLog.RECORD_SIZE + 8, BidWriteAheadLog.RECORD_SIZE - 8);
+
+        BidWriteAheadLog reopened = open();
+        assertThat(reopened.readUncheckpointed()).extracting(BidWriteAheadLog.WalRecord::lsn)
+                .containsExactly(1L, 2L);
+        assertThat(reopened.append(bid(4, "20.00"))).isEqualTo(3);
+        reopened.close();
+
+        assertThat(open().readUncheckpointed()).extracting(record -> record.bid().sequence())
+                .containsExactly(1L, 2L, 4L);
+    }
+
+    @Test
+    void checksumMismatchEndsTheSegment() throws IOException {
+        BidWriteAheadLog log = open();
+        for (int i = 1; i <= 4; i++) {
+            log.append(bid(i, "10.00"));
+        }
+        log.close();
+        flipByte(firstSegment(), BidWriteAheadLog.RECORD_SIZE + 40);
+
+        assertThat(open().readUncheckpointed()).extracting(BidWriteAheadLog.WalRecord::lsn).containsExactly(1L);
+    }
+
+    @Test
+    void fullSegmentRollsOverAndIsDeletedOnceCheckpointed() throws IOException {
+        BidWriteAheadLog log = open();
+        for (int i = 1; i <= RECORDS_PER_SEGMENT + 5; i++) {
+            log.append(bid(i, "10.00"));
+        }
+        assertThat(segments()).hasSize(2);
+
+        log.checkpoint(RECORDS_PER_SEGMENT - 1);
+        assertThat(segments()).hasSize(2);
+        log.checkpoint(RECORDS_PER_SEGMENT);
+        assertThat(segments()).hasSize(1);
+        log.close();
+
+        BidWriteAheadLog reopened = open();
+        assertThat(reopened.getCheckpointLsn()).isEqualTo(RECORDS_PER_SEGMENT);
+        assertThat(reopened.readUncheckpointed()).hasSize(5);
+        assertThat(reopened.append(bid(0, "10.00"))).isEqualTo(RECORDS_PER_SEGMENT + 6L);
+    }
+
+    private BidWriteAheadLog open() throws IOException {
+        BidWriteAheadLog log = new BidWriteAheadLog(directory.toString(), 1, BidWriteAheadLog.FsyncPolicy.NONE, 10);
+        opened.add(log);
+        return log;
+    }
+
+    private static AcceptedBid bid(long sequence, String amount) {
+        return new AcceptedBid(1L, 2L, "bidder", new BigDecimal(amount), "127.0.0.1", sequence, ACCEPTED_AT,
+                ACCEPTED_AT.plusMinutes(5), 7);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".wal")).sorted().toList();
+        }
+    }
+
+    private Path firstSegment() throws IOException {
+        return segments().get(0);
+    }
+
+    private static void zero(Path segment, long offset, int length) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(length), offset);
+        }
+    }
+
+    private static void flipByte(Path segment, long offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer single = ByteBuffer.allocate(1);
+            channel.read(single, offset);
+            single.put(0, (byte) ~single.get(0)).rewind();
+            channel.write(single, offset);
+        }
+    }
+}
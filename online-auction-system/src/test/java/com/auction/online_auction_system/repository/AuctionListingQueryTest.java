@@ -0,0 +1,130 @@
+package com.auction.online_auction_system.repository;
+
+import com.auction.online_auction_system.dto.AuctionDTO;
+import com.auction.online_auction_system.entity.Auction;
+import com.auction.online_auction_system.entity.Bid;
+import com.auction.online_auction_system.entity.Product;
+import com.auction.online_auction_system.entity.User;
+import com.auction.online_auction_system.support.QueryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.auction.online_auction_system.support.TestEntities.auction;
+import static com.auction.online_auction_system.support.TestEntities.bid;
+import static com.auction.online_auction_system.support.TestEntities.product;
+import static com.auction.online_auction_system.support.TestEntities.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that listing auctions and mapping them to {@link AuctionDTO}s takes the same number of queries
+ * however many auctions, winners and bids there are.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class AuctionListingQueryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    private QueryCounter queries;
+    private int created;
+
+    @BeforeEach
+    void setUp() {
+        queries = new QueryCounter(entityManager);
+    }
+
+    @Test
+    void listingAllAuctionsIsOneQuery() {
+        createAuctions(3, Auction.AuctionStatus.LIVE);
+        createAuctions(2, Auction.AuctionStatus.COMPLETED);
+        assertThat(countQueries(5, auctionRepository::findAllWithDetails)).isEqualTo(1);
+
+        createAuctions(30, Auction.AuctionStatus.LIVE);
+        createAuctions(20, Auction.AuctionStatus.COMPLETED);
+        assertThat(countQueries(55, auctionRepository::findAllWithDetails)).isEqualTo(1);
+    }
+
+    @Test
+    void listingLiveAuctionsIsOneQuery() {
+        createAuctions(2, Auction.AuctionStatus.LIVE);
+        assertThat(countQueries(2, auctionRepository::findAllLiveAuctions)).isEqualTo(1);
+
+        createAuctions(40, Auction.AuctionStatus.LIVE);
+        createAuctions(10, Auction.AuctionStatus.SCHEDULED);
+        assertThat(countQueries(42, auctionRepository::findAllLiveAuctions)).isEqualTo(1);
+    }
+
+    @Test
+    void listingByStatusIsOneQuery() {
+        createAuctions(25, Auction.AuctionStatus.COMPLETED);
+        createAuctions(5, Auction.AuctionStatus.LIVE);
+
+        long queries = countQueries(25,
+                () -> auctionRepository.findByStatusWithDetails(Auction.AuctionStatus.COMPLETED));
+
+        assertThat(queries).isEqualTo(1);
+    }
+
+    @Test
+    void bidCountIsReadWithoutLoadingBids() {
+        createAuctions(1, Auction.AuctionStatus.LIVE);
+        Long auctionId = auctionRepository.findAll().get(0).getId();
+
+        AuctionDTO dto = queries.run(
+                () -> AuctionDTO.fromEntity(auctionRepository.findWithDetailsById(auctionId).orElseThrow()));
+
+        assertThat(dto.getTotalBids()).isEqualTo(3);
+        assertThat(queries.collectionsLoaded()).isZero();
+    }
+
+    /**
+     * Runs a listing on a cleared persistence context and maps every auction the way the API does.
+     *
+     * @return the number of statements it took
+     */
+    private long countQueries(int expectedAuctions, Supplier<List<Auction>> listing) {
+        List<AuctionDTO> dtos = queries.run(() -> listing.get().stream().map(AuctionDTO::fromEntity).toList());
+
+        assertThat(dtos).hasSize(expectedAuctions);
+        assertThat(queries.collectionsLoaded()).as("bid collections loaded").isZero();
+        return queries.statements();
+    }
+
+    private void createAuctions(int count, Auction.AuctionStatus status) {
+        for (int i = 0; i < count; i++) {
+            int n = created++;
+            User seller = entityManager.persist(user("seller" + n));
+            User bidder = entityManager.persist(user("bidder" + n));
+
+            Product product = entityManager.persist(product("Product " + n, seller));
+
+            Auction auction = auction(product, status);
+            auction.setCurrentBid(BigDecimal.valueOf(40));
+            if (status == Auction.AuctionStatus.COMPLETED) {
+                auction.setWinner(bidder);
+                auction.setWinningBid(BigDecimal.valueOf(40));
+            }
+            auction.setBidCount(3);
+            entityManager.persist(auction);
+
+            for (int b = 1; b <= 3; b++) {
+                Bid bid = bid(auction, bidder, BigDecimal.valueOf(10L + 10L * b), b);
+                bid.setIsWinning(b == 3);
+                entityManager.persist(bid);
+            }
+        }
+    }
+}
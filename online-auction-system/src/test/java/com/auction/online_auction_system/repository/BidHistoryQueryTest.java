@@ -0,0 +1,117 @@
+package com.auction.online_auction_system.repository;
+
+import com.auction.online_auction_system.dto.BidDTO;
+import com.auction.online_auction_system.entity.Auction;
+import com.auction.online_auction_system.entity.Bid;
+import com.auction.online_auction_system.entity.Product;
+import com.auction.online_auction_system.entity.User;
+import com.auction.online_auction_system.support.QueryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.auction.online_auction_system.support.TestEntities.auction;
+import static com.auction.online_auction_system.support.TestEntities.bid;
+import static com.auction.online_auction_system.support.TestEntities.product;
+import static com.auction.online_auction_system.support.TestEntities.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that a page of bid history takes one query and loads no entities, however many bidders the
+ * page holds.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class BidHistoryQueryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    private QueryCounter queries;
+    private Auction auction;
+    private User regular;
+    private int bids;
+
+    @BeforeEach
+    void setUp() {
+        queries = new QueryCounter(entityManager);
+
+        User seller = entityManager.persist(user("seller"));
+        regular = entityManager.persist(user("regular"));
+        Product product = entityManager.persist(product("Product", seller));
+        auction = entityManager.persist(auction(product, Auction.AuctionStatus.LIVE));
+    }
+
+    @Test
+    void auctionHistoryPageIsOneQuery() {
+        Supplier<List<BidDTO>> firstPage =
+                () -> bidRepository.findFirstPageByAuction(auction.getId(), PageRequest.ofSize(50));
+
+        placeBids(5);
+        assertThat(countQueries(5, firstPage)).isEqualTo(1);
+
+        placeBids(95);
+        assertThat(countQueries(50, firstPage)).isEqualTo(1);
+    }
+
+    @Test
+    void deeperAuctionHistoryPageIsOneQueryAndContinuesTheOrder() {
+        placeBids(60);
+        List<BidDTO> first = bidRepository.findFirstPageByAuction(auction.getId(), PageRequest.ofSize(20));
+        BidDTO last = first.get(first.size() - 1);
+
+        assertThat(countQueries(20, () -> bidRepository.findPageByAuctionAfter(auction.getId(),
+                last.getBidAmount(), last.getId(), PageRequest.ofSize(20)))).isEqualTo(1);
+        List<BidDTO> second = bidRepository.findPageByAuctionAfter(auction.getId(), last.getBidAmount(), last.getId(),
+                PageRequest.ofSize(20));
+        assertThat(second.get(0).getBidAmount()).isLessThan(last.getBidAmount());
+        assertThat(second.get(0).getUsername()).isNotNull();
+    }
+
+    @Test
+    void userHistoryPageIsOneQuery() {
+        placeBids(40);
+
+        assertThat(countQueries(20, () -> bidRepository.findFirstPageByUser(regular.getId(), PageRequest.ofSize(50))))
+                .isEqualTo(1);
+    }
+
+    /**
+     * Runs a history read on a cleared persistence context.
+     *
+     * @return the number of statements it took
+     */
+    private long countQueries(int expectedBids, Supplier<List<BidDTO>> history) {
+        List<BidDTO> page = queries.run(history);
+
+        assertThat(page).hasSize(expectedBids);
+        assertThat(queries.entitiesLoaded()).as("entities loaded").isZero();
+        return queries.statements();
+    }
+
+    /**
+     * Places bids alternately from the regular bidder and from a new bidder each time.
+     */
+    private void placeBids(int count) {
+        for (int i = 0; i < count; i++) {
+            int n = bids++;
+            User bidder = n % 2 == 0 ? regular : entityManager.persist(user("bidder" + n));
+            Bid bid = bid(auction, bidder, BigDecimal.valueOf(20L + n), n + 1);
+            bid.setBidTime(LocalDateTime.now().minusMinutes(1_000 - n));
+            entityManager.persist(bid);
+        }
+    }
+}
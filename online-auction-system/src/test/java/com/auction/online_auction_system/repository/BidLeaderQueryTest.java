@@ -0,0 +1,95 @@
+package com.auction.online_auction_system.repository;
+
+import com.auction.online_auction_system.dto.BidDTO;
+import com.auction.online_auction_system.entity.Auction;
+import com.auction.online_auction_system.entity.Bid;
+import com.auction.online_auction_system.entity.Product;
+import com.auction.online_auction_system.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.auction.online_auction_system.support.TestEntities.auction;
+import static com.auction.online_auction_system.support.TestEntities.bid;
+import static com.auction.online_auction_system.support.TestEntities.product;
+import static com.auction.online_auction_system.support.TestEntities.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the database picks the same leader as the order book when a maximum bid answered a plain bid
+ * at its own amount: the later of the two equal bids.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+class BidLeaderQueryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    private Auction auction;
+    private User challenger;
+    private User proxyHolder;
+
+    @BeforeEach
+    void setUp() {
+        User seller = entityManager.persist(user("seller"));
+        challenger = entityManager.persist(user("challenger"));
+        proxyHolder = entityManager.persist(user("holder"));
+        Product product = entityManager.persist(product("Product", seller));
+        auction = entityManager.persist(auction(product, Auction.AuctionStatus.LIVE));
+    }
+
+    @Test
+    void laterOfTwoEqualBidsLeads() {
+        entityManager.persist(bid(auction, proxyHolder, new BigDecimal("105.00"), 1));
+        entityManager.persist(bid(auction, challenger, new BigDecimal("200.00"), 2));
+        Bid answer = entityManager.persist(bid(auction, proxyHolder, new BigDecimal("200.00"), 3));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(bidRepository.findTopBidWithUser(auction.getId())).get()
+                .extracting(bid -> bid.getUser().getId()).isEqualTo(proxyHolder.getId());
+        assertThat(bidRepository.findHighestByAuction(auction.getId())).get()
+                .extracting(BidDTO::getId).isEqualTo(answer.getId());
+
+        List<BidDTO> history = bidRepository.findFirstPageByAuction(auction.getId(), PageRequest.ofSize(10));
+        assertThat(history).extracting(BidDTO::getUsername).containsExactly("holder", "challenger", "holder");
+    }
+
+    @Test
+    void sequenceDecidesTheLeaderOverIds() {
+        // Ids come from per-node blocks, so a later bid written by another node may have the lower id.
+        Bid answer = entityManager.persist(bid(auction, proxyHolder, new BigDecimal("200.00"), 3));
+        entityManager.persist(bid(auction, challenger, new BigDecimal("200.00"), 2));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(bidRepository.findHighestByAuction(auction.getId())).get()
+                .extracting(BidDTO::getId).isEqualTo(answer.getId());
+    }
+
+    @Test
+    void historyContinuesPastEqualAmounts() {
+        for (int i = 1; i <= 4; i++) {
+            entityManager.persist(bid(auction, i % 2 == 0 ? proxyHolder : challenger, new BigDecimal("150.00"), i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BidDTO> first = bidRepository.findFirstPageByAuction(auction.getId(), PageRequest.ofSize(2));
+        BidDTO last = first.get(first.size() - 1);
+        List<BidDTO> second = bidRepository.findPageByAuctionAfter(auction.getId(), last.getBidAmount(),
+                last.getId(), PageRequest.ofSize(2));
+
+        assertThat(first).extracting(BidDTO::getId).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+        assertThat(second).extracting(BidDTO::getId).allMatch(id -> id < last.getId()).hasSize(2);
+    }
+}
@@ -0,0 +1,105 @@
+package com.auction.online_auction_system.scheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs a small wheel (10 ms ticks, 8 slots) so deadlines a few hundred milliseconds out already go through
+ * two levels of overflow wheels.
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK_MS = 10;
+    private static final int WHEEL_SIZE = 8;
+    // Timers fire with their bucket, which is due at the start of the deadline's tick, on the driver's next poll.
+    private static final long LATENESS_MS = 250;
+
+    private HierarchicalTimingWheel wheel;
+    private final List<String> fired = new CopyOnWriteArrayList<>();
+    private final Map<String, Long> firedAt = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        wheel = new HierarchicalTimingWheel("test-timing-wheel", TICK_MS, WHEEL_SIZE, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wheel.close();
+    }
+
+    @Test
+    void pastDeadlineRunsImmediately() {
+        long now = System.currentTimeMillis();
+
+        HierarchicalTimingWheel.TimerHandle handle = wheel.schedule(now - 1_000, task("past"));
+
+        assertThat(fired).containsExactly("past");
+        assertThat(handle.cancel()).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void overflowDeadlinesCascadeDownAndFireInOrder() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        // Within the wheel's 80 ms, within the first overflow wheel's 640 ms, and beyond it.
+        Map<String, Long> deadlines = Map.of("near", now + 40, "overflow", now + 300, "second-overflow", now + 900);
+        CountDownLatch done = new CountDownLatch(deadlines.size());
+        deadlines.forEach((name, deadline) -> wheel.schedule(deadline, () -> {
+            task(name).run();
+            done.countDown();
+        }));
+        assertThat(wheel.size()).isEqualTo(3);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(fired).containsExactly("near", "overflow", "second-overflow");
+        deadlines.forEach((name, deadline) ->
+                assertThat(firedAt.get(name)).as(name).isBetween(deadline - TICK_MS, deadline + LATENESS_MS));
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelledTimersNeverFire() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        HierarchicalTimingWheel.TimerHandle near = wheel.schedule(now + 30, task("near"));
+        HierarchicalTimingWheel.TimerHandle far = wheel.schedule(now + 300, task("far"));
+        CountDownLatch after = new CountDownLatch(1);
+        wheel.schedule(now + 400, after::countDown);
+
+        assertThat(near.cancel()).isTrue();
+        assertThat(far.cancel()).isTrue();
+        assertThat(near.cancel()).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        assertThat(after.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired).isEmpty();
+    }
+
+    @Test
+    void firedTimerCannotBeCancelled() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        HierarchicalTimingWheel.TimerHandle handle = wheel.schedule(System.currentTimeMillis() + 20, done::countDown);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(handle.cancel()).isFalse();
+    }
+
+    private Runnable task(String name) {
+        return () -> {
+            firedAt.put(name, System.currentTimeMillis());
+            fired.add(name);
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package com.auction.online_auction_system.search;
+
+import com.auction.online_auction_system.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures product search on a synthetic catalog of a million products, against a scan of every name as
+ * {@code findByNameContainingIgnoreCase} does in the database.
+ * <p>
+ * Sample-time mode reports the p50 and p99 latency of each query kind. Run {@link #main} from the test
+ * classpath, e.g. from the IDE after {@code mvn test-compile}; building the catalog needs about 2 GB of heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms3g", "-Xmx3g"})
+public class ProductSearchIndexBenchmark {
+
+    private static final String[] ADJECTIVES = {"vintage", "antique", "modern", "rare", "signed", "handmade",
+            "restored", "mint", "limited", "classic", "original", "retro", "boxed", "sealed", "custom", "used"};
+    private static final String[] NOUNS = {"camera", "watch", "guitar", "painting", "vase", "lamp", "chair",
+            "table", "bicycle", "record", "poster", "ring", "necklace", "coin", "stamp", "comic", "console",
+            "lens", "clock", "rug", "sculpture", "typewriter", "radio", "telescope"};
+    private static final String[] BRANDS = {"leica", "rolex", "fender", "gibson", "omega", "nikon", "canon",
+            "eames", "tiffany", "cartier", "sony", "seiko", "bose", "zeiss", "braun", "olivetti"};
+    private static final String[] CATEGORIES = {"Cameras", "Watches", "Music", "Art", "Home", "Furniture",
+            "Sports", "Collectibles", "Jewelry", "Electronics", "Books", "Toys"};
+    private static final String[] FILLER = {"excellent", "condition", "working", "minor", "wear", "includes",
+            "box", "papers", "shipping", "worldwide", "collector", "owned", "since", "serviced", "recently",
+            "scratches", "original", "parts", "tested", "display"};
+
+    @Param({"1000000"})
+    private int products;
+
+    @Param({"word", "prefix", "twoWords", "filtered", "rare"})
+    private String queryKind;
+
+    private ProductSearchIndex index;
+    private String[] names;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new ProductSearchIndex();
+        names = new String[products];
+        for (int id = 1; id <= products; id++) {
+            String name = pick(random, ADJECTIVES) + " " + pick(random, BRANDS) + " " + pick(random, NOUNS)
+                    + " " + Integer.toString(random.nextInt(100_000), 36);
+            StringBuilder description = new StringBuilder();
+            for (int i = 0; i < 12; i++) {
+                description.append(pick(random, FILLER)).append(' ');
+            }
+            names[id - 1] = name;
+            index.put(new ProductDocument((long) id, name, description.toString(), pick(random, CATEGORIES),
+                    Product.ProductStatus.values()[random.nextInt(Product.ProductStatus.values().length)]));
+        }
+
+        List<String> generated = new ArrayList<>();
+        for (int i = 0; i < 1024; i++) {
+            String brand = pick(random, BRANDS);
+            String noun = pick(random, NOUNS);
+            generated.add(switch (queryKind) {
+                case "word", "filtered" -> noun;
+                case "prefix" -> noun.substring(0, Math.min(noun.length(), 2 + random.nextInt(3)));
+                case "twoWords" -> brand + " " + noun;
+                case "rare" -> Integer.toString(random.nextInt(100_000), 36);
+                default -> throw new IllegalArgumentException(queryKind);
+            });
+        }
+        queries = generated.toArray(String[]::new);
+    }
+
+    @Benchmark
+    public List<Long> index() {
+        String query = queries[next++ & (queries.length - 1)];
+        return "filtered".equals(queryKind)
+                ? index.search(query, Product.ProductStatus.AVAILABLE, "Collectibles", 20)
+                : index.search(query, null, null, 20);
+    }
+
+    @Benchmark
+    public int nameScan() {
+        String query = queries[next++ & (queries.length - 1)].toLowerCase(Locale.ROOT);
+        int found = 0;
+        for (String name : names) {
+            if (name.toLowerCase(Locale.ROOT).contains(query)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private static String pick(Random random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductSearchIndexBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.auction.online_auction_system.search;
+
+import com.auction.online_auction_system.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private final ProductSearchIndex index = new ProductSearchIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.put(product(1L, "Vintage Leica camera", "Rangefinder from 1954", "Cameras",
+                Product.ProductStatus.AVAILABLE));
+        index.put(product(2L, "Camera bag", "Leather bag for a vintage camera", "Accessories",
+                Product.ProductStatus.IN_AUCTION));
+        index.put(product(3L, "Café table", "Marble top", "Furniture", Product.ProductStatus.AVAILABLE));
+        index.put(product(4L, "Canon lens", "Fits most Canon camera bodies", "Cameras", Product.ProductStatus.SOLD));
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatches() {
+        assertThat(index.search("vintage camera", null, null, 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void lastTermMatchesAsPrefix() {
+        assertThat(index.search("camer", null, null, 10)).containsExactlyInAnyOrder(1L, 2L, 4L);
+        assertThat(index.search("leica cam", null, null, 10)).containsExactly(1L);
+        assertThat(index.search("camer bag", null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void ignoresCaseAndAccents() {
+        assertThat(index.search("CAFE", null, null, 10)).containsExactly(3L);
+    }
+
+    @Test
+    void filtersByStatusAndCategory() {
+        assertThat(index.search("camera", Product.ProductStatus.AVAILABLE, null, 10)).containsExactly(1L);
+        assertThat(index.search("camera", null, "cameras", 10)).containsExactlyInAnyOrder(1L, 4L);
+    }
+
+    @Test
+    void updatesAndRemovalsReplaceWhatWasIndexed() {
+        index.put(product(1L, "Rolleiflex", "Twin lens reflex", "Cameras", Product.ProductStatus.AVAILABLE));
+        index.remove(2L);
+
+        assertThat(index.search("leica", null, null, 10)).isEmpty();
+        assertThat(index.search("rollei", null, null, 10)).containsExactly(1L);
+        assertThat(index.search("bag", null, null, 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void staysConsistentAcrossRenumbering() {
+        for (long round = 0; round < 10; round++) {
+            for (long id = 100; id < 1_100; id++) {
+                index.put(product(id, "Lot " + id + " round" + round, null, "Bulk", Product.ProductStatus.AVAILABLE));
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(1_004);
+        assertThat(index.search("round9", null, "bulk", 2_000)).hasSize(1_000);
+        assertThat(index.search("round8", null, null, 10)).isEmpty();
+        assertThat(index.search("lot 512", null, null, 10)).containsExactly(512L);
+        assertThat(index.search("vintage camera", null, null, 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void suggestsCommonestTermsFirst() {
+        assertThat(index.suggest("cam", 2)).containsExactly("camera", "cameras");
+    }
+
+    private static ProductDocument product(Long id, String name, String description, String category,
+                                           Product.ProductStatus status) {
+        return new ProductDocument(id, name, description, category, status);
+    }
+}
@@ -0,0 +1,100 @@
+package com.auction.online_auction_system.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final PasswordHasher hasher = new PasswordHasher(new BlockingEncoder(), registry, 1, 1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        hasher.shutdown();
+    }
+
+    @Test
+    void hashesOnItsOwnThreads() {
+        release.countDown();
+
+        assertThat(hasher.encode("secret")).isEqualTo("hashed:secret");
+        assertThat(hasher.matches("secret", "hashed:secret")).isTrue();
+        assertThat(hasher.matches("guess", "hashed:secret")).isFalse();
+        assertThat(registry.get("auction.auth.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(registry.get("auction.auth.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void fullQueueIsRefusedAtOnceWith503() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("first"));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("second"));
+        awaitQueued(1);
+
+        long before = System.nanoTime();
+        assertThatThrownBy(() -> hasher.matches("third", "hashed:third"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - before)).as("seconds waited").isLessThan(1);
+        assertThat(registry.get("auction.auth.hash.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isEqualTo("hashed:first");
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isEqualTo("hashed:second");
+        assertThat(hasher.encode("fourth")).isEqualTo("hashed:fourth");
+    }
+
+    @Test
+    void encoderFailuresReachTheCaller() {
+        release.countDown();
+
+        assertThatThrownBy(() -> hasher.encode(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void awaitQueued(int requests) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (registry.get("auction.auth.hash.queued").gauge().value() < requests) {
+            assertThat(System.nanoTime()).as("waited for a queued request").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Prefixes passwords instead of hashing them; holds its first caller until the test releases it.
+     */
+    private final class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (rawPassword == null) {
+                throw new IllegalArgumentException("rawPassword cannot be null");
+            }
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
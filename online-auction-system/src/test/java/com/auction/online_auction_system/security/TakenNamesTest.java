@@ -0,0 +1,137 @@
+package com.auction.online_auction_system.security;
+
+import com.auction.online_auction_system.cluster.InProcessEventBus;
+import com.auction.online_auction_system.dto.UserDTO;
+import com.auction.online_auction_system.event.UserRegisteredEvent;
+import com.auction.online_auction_system.exception.AuctionException;
+import com.auction.online_auction_system.repository.UserRepository;
+import com.auction.online_auction_system.service.StreamingReader;
+import com.auction.online_auction_system.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.auction.online_auction_system.support.TestEntities.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that registration asks the database about every name until the filters are loaded, and only about
+ * names that may be taken afterwards.
+ * <p>
+ * The test is not transactional itself, so the users it saves are visible to the loader's own transaction.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import(StreamingReader.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TakenNamesTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StreamingReader streamingReader;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final InProcessEventBus clusterEventBus = new InProcessEventBus();
+    private TakenNames takenNames;
+    private PasswordHasher passwordHasher;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(user("alice"));
+        takenNames = new TakenNames(userRepository, clusterEventBus, transactionManager, registry, 1_000, 0.01);
+        passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(4), registry, 1, 1);
+        userService = new UserService(userRepository, passwordHasher, takenNames, streamingReader, eventPublisher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        takenNames.shutdown();
+        passwordHasher.shutdown();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void everyNameIsCheckedInTheDatabaseUntilTheFiltersAreLoaded() {
+        assertThat(takenNames.mayHaveUsername("alice")).isTrue();
+        assertThat(takenNames.mayHaveUsername("bob")).isTrue();
+        assertThat(takenNames.mayHaveEmail("bob@example.com")).isTrue();
+        assertThat(checks("database")).isEqualTo(3);
+        assertThat(checks("filtered")).isZero();
+
+        assertThatThrownBy(() -> userService.registerUser(registration("alice", "other@example.com")))
+                .isInstanceOf(AuctionException.class)
+                .hasMessageContaining("Username already exists");
+        assertThatThrownBy(() -> userService.registerUser(registration("carol", "alice@example.com")))
+                .isInstanceOf(AuctionException.class)
+                .hasMessageContaining("Email already exists");
+        assertThat(userService.registerUser(registration("bob", "bob@example.com")).getUsername()).isEqualTo("bob");
+    }
+
+    @Test
+    void loadedFiltersOnlySendNamesThatMayBeTakenToTheDatabase() throws InterruptedException {
+        loadAndWait();
+
+        assertThat(takenNames.mayHaveUsername("alice")).isTrue();
+        assertThat(takenNames.mayHaveEmail("alice@example.com")).isTrue();
+        double before = checks("filtered");
+        assertThat(takenNames.mayHaveUsername("bob")).isFalse();
+        assertThat(takenNames.mayHaveEmail("bob@example.com")).isFalse();
+        assertThat(checks("filtered") - before).isEqualTo(2);
+
+        assertThatThrownBy(() -> userService.registerUser(registration("alice", "other@example.com")))
+                .isInstanceOf(AuctionException.class);
+        assertThat(userService.registerUser(registration("bob", "bob@example.com")).getUsername()).isEqualTo("bob");
+    }
+
+    @Test
+    void accountsRegisteredOnAnyNodeAreAddedToTheFilters() throws InterruptedException {
+        loadAndWait();
+
+        clusterEventBus.publish(new UserRegisteredEvent(99L, "dave", "dave@example.com"));
+
+        assertThat(takenNames.mayHaveUsername("dave")).isTrue();
+        assertThat(takenNames.mayHaveEmail("dave@example.com")).isTrue();
+    }
+
+    private void loadAndWait() throws InterruptedException {
+        takenNames.load();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        // Until loading has finished every name may be taken.
+        while (takenNames.mayHaveUsername("never-registered")) {
+            assertThat(System.nanoTime()).as("waited for the filters to load").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private double checks(String outcome) {
+        return registry.get("auction.users.name-checks").tag("outcome", outcome).counter().count();
+    }
+
+    private static UserDTO registration(String username, String email) {
+        UserDTO user = new UserDTO();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("secret-password");
+        return user;
+    }
+}
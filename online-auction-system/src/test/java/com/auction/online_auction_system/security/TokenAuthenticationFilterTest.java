@@ -0,0 +1,123 @@
+package com.auction.online_auction_system.security;
+
+import com.auction.online_auction_system.entity.User;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenAuthenticationFilterTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+    private static final String SECRET = "a-secret-shared-by-every-node";
+
+    private final TokenService tokens = new TokenService(SECRET, Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+    private final TokenAuthenticationFilter filter = new TokenAuthenticationFilter(tokens);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validTokenAuthenticatesTheRequest() throws Exception {
+        List<Authentication> seen = new ArrayList<>();
+        FilterChain chain = (request, response) -> seen.add(SecurityContextHolder.getContext().getAuthentication());
+
+        MockHttpServletResponse response = filter(bearer(tokens.issue(user())), chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(seen).hasSize(1);
+        assertThat(seen.get(0).getPrincipal()).isEqualTo(new AuthenticatedUser(7L, "alice", User.UserRole.BIDDER));
+        assertThat(seen.get(0).getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_BIDDER");
+    }
+
+    @Test
+    void requestWithoutATokenGoesOnAnonymously() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = filter(new MockHttpServletRequest("GET", "/api/auctions"), chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void otherAuthorizationSchemesAreLeftAlone() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auctions");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Basic YWxpY2U6c2VjcmV0");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter(request, chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void expiredTokenIsRejected() throws Exception {
+        String token = new TokenService(SECRET, Duration.ofHours(1),
+                Clock.fixed(NOW.minus(Duration.ofHours(2)), ZoneOffset.UTC)).issue(user());
+
+        assertRejected(bearer(token));
+    }
+
+    @Test
+    void tamperedTokenIsRejected() throws Exception {
+        String token = tokens.issue(user());
+        String other = new TokenService("another-secret", Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC))
+                .issue(user());
+
+        assertRejected(bearer(token.substring(0, token.length() - 2)));
+        assertRejected(bearer(other));
+        assertRejected(bearer("not a token"));
+    }
+
+    private void assertRejected(MockHttpServletRequest request) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = filter(request, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getContentAsString()).contains("log in again");
+        assertThat(chain.getRequest()).as("request passed on").isNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bids");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        return request;
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("alice");
+        user.setRole(User.UserRole.BIDDER);
+        return user;
+    }
+}
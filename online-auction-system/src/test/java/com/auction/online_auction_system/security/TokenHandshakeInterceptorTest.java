@@ -0,0 +1,108 @@
+package com.auction.online_auction_system.security;
+
+import com.auction.online_auction_system.entity.User;
+import com.auction.online_auction_system.websocket.BidFrameEncoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.standard.StandardWebSocketSession;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenHandshakeInterceptorTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+    private static final AuthenticatedUser ALICE = new AuthenticatedUser(7L, "alice", User.UserRole.BIDDER);
+
+    private final TokenService tokens =
+            new TokenService("a-secret-shared-by-every-node", Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+    private final TokenHandshakeInterceptor interceptor = new TokenHandshakeInterceptor(tokens);
+
+    @Test
+    void tokenOfferedAsASubprotocolIdentifiesTheUser() {
+        MockHttpServletRequest request = handshake();
+        request.addHeader(WebSocketHttpHeaders.SEC_WEBSOCKET_PROTOCOL,
+                BidFrameEncoder.JSON_SUBPROTOCOL + ", " + TokenHandshakeInterceptor.TOKEN_PROTOCOL_PREFIX + token());
+
+        assertThat(userOf(request)).isEqualTo(ALICE);
+    }
+
+    @Test
+    void tokenInTheAuthorizationHeaderIdentifiesTheUser() {
+        MockHttpServletRequest request = handshake();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token());
+
+        assertThat(userOf(request)).isEqualTo(ALICE);
+    }
+
+    @Test
+    void tokenInTheQueryStringIsIgnored() {
+        MockHttpServletRequest request = handshake();
+        request.setQueryString("token=" + token());
+        request.addParameter("token", token());
+
+        assertThat(userOf(request)).isNull();
+    }
+
+    @Test
+    void handshakeWithoutAValidTokenIsAcceptedAsAnonymous() {
+        MockHttpServletRequest expired = handshake();
+        String stale = new TokenService("a-secret-shared-by-every-node", Duration.ofHours(1),
+                Clock.fixed(NOW.minus(Duration.ofHours(2)), ZoneOffset.UTC)).issue(alice());
+        expired.addHeader(WebSocketHttpHeaders.SEC_WEBSOCKET_PROTOCOL,
+                TokenHandshakeInterceptor.TOKEN_PROTOCOL_PREFIX + stale);
+        MockHttpServletRequest forged = handshake();
+        forged.addHeader(WebSocketHttpHeaders.SEC_WEBSOCKET_PROTOCOL,
+                TokenHandshakeInterceptor.TOKEN_PROTOCOL_PREFIX + token().substring(2));
+
+        assertThat(userOf(expired)).isNull();
+        assertThat(userOf(forged)).isNull();
+        assertThat(userOf(handshake())).isNull();
+    }
+
+    /**
+     * Runs the interceptor on {@code request}, which it must let through.
+     *
+     * @return the user of the session the handshake opens, {@code null} if it is anonymous
+     */
+    private AuthenticatedUser userOf(MockHttpServletRequest request) {
+        Map<String, Object> attributes = new HashMap<>();
+
+        boolean accepted = interceptor.beforeHandshake(new ServletServerHttpRequest(request),
+                new ServletServerHttpResponse(new MockHttpServletResponse()), null, attributes);
+
+        assertThat(accepted).isTrue();
+        WebSocketSession session = new StandardWebSocketSession(new HttpHeaders(), attributes, null, null);
+        return TokenHandshakeInterceptor.userOf(session);
+    }
+
+    private String token() {
+        return tokens.issue(alice());
+    }
+
+    private static MockHttpServletRequest handshake() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ws/auction");
+        request.addHeader(HttpHeaders.UPGRADE, "websocket");
+        return request;
+    }
+
+    private static User alice() {
+        User user = new User();
+        user.setId(ALICE.userId());
+        user.setUsername(ALICE.username());
+        user.setRole(ALICE.role());
+        return user;
+    }
+}
@@ -0,0 +1,81 @@
+package com.auction.online_auction_system.security;
+
+import com.auction.online_auction_system.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    private final TokenService tokens = new TokenService("a-secret-shared-by-every-node", Duration.ofHours(1), CLOCK);
+
+    @Test
+    void verifiesItsOwnTokens() {
+        String token = tokens.issue(user(42L, "zoë|bidder", User.UserRole.SELLER));
+
+        assertThat(tokens.verify(token))
+                .contains(new AuthenticatedUser(42L, "zoë|bidder", User.UserRole.SELLER));
+    }
+
+    @Test
+    void nodesSharingTheSecretAcceptEachOthersTokens() {
+        TokenService otherNode = new TokenService("a-secret-shared-by-every-node", Duration.ofHours(1), CLOCK);
+        TokenService stranger = new TokenService("another-secret", Duration.ofHours(1), CLOCK);
+        String token = tokens.issue(user(7L, "alice", User.UserRole.BIDDER));
+
+        assertThat(otherNode.verify(token)).isPresent();
+        assertThat(stranger.verify(token)).isEmpty();
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        String token = tokens.issue(user(7L, "alice", User.UserRole.BIDDER));
+        String forged = tokens.issue(user(8L, "mallory", User.UserRole.ADMIN));
+        String swapped = forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'));
+
+        assertThat(tokens.verify(swapped)).isEmpty();
+        assertThat(tokens.verify(token.substring(0, token.length() - 2))).isEmpty();
+        assertThat(tokens.verify("not a token")).isEmpty();
+        assertThat(tokens.verify("")).isEmpty();
+    }
+
+    @Test
+    void rejectsExpiredTokens() {
+        String token = tokens.issue(user(7L, "alice", User.UserRole.BIDDER));
+        Clock later = Clock.fixed(NOW.plus(Duration.ofMinutes(61)), ZoneOffset.UTC);
+
+        assertThat(new TokenService("a-secret-shared-by-every-node", Duration.ofHours(1), later).verify(token))
+                .isEmpty();
+    }
+
+    @Test
+    void partitionedNodeRefusesToStartWithoutASharedSecret() {
+        assertThatThrownBy(() -> new TokenService("", 720, true))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("auction.auth.token-secret");
+        assertThatThrownBy(() -> new TokenService(null, 720, true)).isInstanceOf(IllegalStateException.class);
+
+        String token = new TokenService("a-secret-shared-by-every-node", 720, true)
+                .issue(user(7L, "alice", User.UserRole.BIDDER));
+        assertThat(new TokenService("a-secret-shared-by-every-node", 720, true).verify(token)).isPresent();
+        // A single node may still run on a key of its own.
+        assertThat(new TokenService("", 720, false).issue(user(7L, "alice", User.UserRole.BIDDER))).isNotBlank();
+    }
+
+    private static User user(Long id, String username, User.UserRole role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setRole(role);
+        return user;
+    }
+}
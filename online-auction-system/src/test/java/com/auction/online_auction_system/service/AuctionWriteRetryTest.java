@@ -0,0 +1,203 @@
+package com.auction.online_auction_system.service;
+
+import com.auction.online_auction_system.entity.Auction;
+import com.auction.online_auction_system.entity.Product;
+import com.auction.online_auction_system.entity.User;
+import com.auction.online_auction_system.exception.AuctionException;
+import com.auction.online_auction_system.repository.AuctionRepository;
+import com.auction.online_auction_system.repository.ProductRepository;
+import com.auction.online_auction_system.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.auction.online_auction_system.support.TestEntities.auction;
+import static com.auction.online_auction_system.support.TestEntities.product;
+import static com.auction.online_auction_system.support.TestEntities.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs read-modify-write updates through {@link AuctionWriteRetry} against a real database while other
+ * writers change the same auction, and checks that conflicts are retried and no update is lost.
+ * <p>
+ * The test is not transactional itself, so every writer commits in its own transaction as it does in the
+ * application.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "auction.write.max-attempts=100"
+})
+@Import({AuctionWriteRetry.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuctionWriteRetryTest {
+
+    private static final int WRITERS = 4;
+    private static final int UPDATES_PER_WRITER = 25;
+    private static final int BULK_UPDATES = 50;
+
+    @Autowired
+    private AuctionWriteRetry auctionWriteRetry;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate transactionTemplate;
+    private Long auctionId;
+    private double conflictsBefore;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        conflictsBefore = meterRegistry.counter("auction.write.conflicts").count();
+
+        User seller = userRepository.save(user("seller"));
+        Product product = productRepository.save(product("Product", seller));
+        Auction auction = auction(product, Auction.AuctionStatus.LIVE);
+        auction.setCurrentBid(BigDecimal.TEN);
+        auctionId = auctionRepository.save(auction).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        auctionRepository.deleteAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentSavesAndBulkUpdatesLoseNothing() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + 1);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                done.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < UPDATES_PER_WRITER; i++) {
+                        auctionWriteRetry.run(auctionId, () -> {
+                            attempts.incrementAndGet();
+                            Auction auction = auctionRepository.findById(auctionId).orElseThrow();
+                            auction.setSoftCloseExtensionSeconds(auction.getSoftCloseExtensionSeconds() + 1);
+                            auctionRepository.saveAndFlush(auction);
+                        });
+                    }
+                    return null;
+                }));
+            }
+            // The bid journal's conditional update, which never reads the row first.
+            done.add(pool.submit(() -> {
+                start.await();
+                for (int i = 1; i <= BULK_UPDATES; i++) {
+                    BigDecimal amount = BigDecimal.valueOf(10 + i);
+                    transactionTemplate.executeWithoutResult(
+                            status -> auctionRepository.recordBids(auctionId, amount, 1, LocalDateTime.now()));
+                }
+                return null;
+            }));
+
+            start.countDown();
+            for (Future<?> future : done) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Auction auction = auctionRepository.findById(auctionId).orElseThrow();
+        int updates = WRITERS * UPDATES_PER_WRITER;
+        assertThat(auction.getSoftCloseExtensionSeconds()).isEqualTo(60 + updates);
+        assertThat(auction.getBidCount()).isEqualTo(BULK_UPDATES);
+        assertThat(auction.getCurrentBid()).isEqualByComparingTo(BigDecimal.valueOf(10 + BULK_UPDATES));
+        assertThat(auction.getVersion()).isGreaterThanOrEqualTo((long) updates + BULK_UPDATES);
+        // Every attempt beyond the first of each update lost an optimistic lock.
+        assertThat(conflicts()).isEqualTo(attempts.get() - updates);
+    }
+
+    @Test
+    void saveBasedOnAStaleReadIsRetriedFromAFreshRead() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        auctionWriteRetry.run(auctionId, () -> {
+            Auction auction = auctionRepository.findById(auctionId).orElseThrow();
+            if (attempts.incrementAndGet() == 1) {
+                recordBidElsewhere(new BigDecimal("25.00"));
+            }
+            auction.setStatus(Auction.AuctionStatus.CANCELLED);
+            auctionRepository.saveAndFlush(auction);
+        });
+
+        Auction auction = auctionRepository.findById(auctionId).orElseThrow();
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(auction.getStatus()).isEqualTo(Auction.AuctionStatus.CANCELLED);
+        assertThat(auction.getCurrentBid()).isEqualByComparingTo("25.00");
+        assertThat(auction.getBidCount()).isEqualTo(1);
+        assertThat(conflicts()).isEqualTo(1);
+    }
+
+    @Test
+    void givesUpAfterTheLastAttempt() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AuctionWriteRetry retry = new AuctionWriteRetry(transactionManager, registry, 2);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.run(auctionId, () -> {
+            Auction auction = auctionRepository.findById(auctionId).orElseThrow();
+            recordBidElsewhere(BigDecimal.valueOf(20 + attempts.incrementAndGet()));
+            auction.setStatus(Auction.AuctionStatus.CANCELLED);
+            auctionRepository.saveAndFlush(auction);
+        })).isInstanceOf(AuctionException.class);
+
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(auctionRepository.findById(auctionId).orElseThrow().getStatus())
+                .isEqualTo(Auction.AuctionStatus.LIVE);
+        assertThat(registry.counter("auction.write.retries.exhausted").count()).isEqualTo(1);
+        assertThat(retry.getMostContended()).containsEntry(auctionId, 2L);
+    }
+
+    // Commits a bulk price update from another thread, as the bid journal would while the caller's
+    // transaction is still open.
+    private void recordBidElsewhere(BigDecimal amount) {
+        CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                status -> auctionRepository.recordBids(auctionId, amount, 1, LocalDateTime.now()))).join();
+    }
+
+    // The registry is shared by every test in the context.
+    private double conflicts() {
+        return meterRegistry.counter("auction.write.conflicts").count() - conflictsBefore;
+    }
+}
@@ -0,0 +1,136 @@
+package com.auction.online_auction_system.service;
+
+import com.auction.online_auction_system.engine.AcceptedBid;
+import com.auction.online_auction_system.engine.ProxyChange;
+import com.auction.online_auction_system.entity.Auction;
+import com.auction.online_auction_system.entity.Product;
+import com.auction.online_auction_system.entity.User;
+import com.auction.online_auction_system.exception.OwnershipLostException;
+import com.auction.online_auction_system.repository.AuctionRepository;
+import com.auction.online_auction_system.repository.BidRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static com.auction.online_auction_system.support.TestEntities.auction;
+import static com.auction.online_auction_system.support.TestEntities.product;
+import static com.auction.online_auction_system.support.TestEntities.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that the owner epoch claimed when a book is loaded fences off bids of every book loaded before it.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import(BidPersistenceService.class)
+class BidPersistenceFencingTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private BidPersistenceService bidPersistenceService;
+
+    private Long auctionId;
+    private Long bidderId;
+    private LocalDateTime endTime;
+
+    @BeforeEach
+    void setUp() {
+        User seller = entityManager.persist(user("seller"));
+        User bidder = entityManager.persist(user("bidder"));
+
+        Product product = entityManager.persist(product("Product", seller));
+        Auction auction = auction(product, Auction.AuctionStatus.LIVE);
+        auction.setCurrentBid(BigDecimal.TEN);
+        endTime = auction.getEndTime().truncatedTo(ChronoUnit.SECONDS);
+        auction.setEndTime(endTime);
+        entityManager.persist(auction);
+        entityManager.flush();
+
+        auctionId = auction.getId();
+        bidderId = bidder.getId();
+    }
+
+    @Test
+    void everyClaimGetsANewerEpoch() {
+        long first = auctionRepository.claimOwnership(auctionId).orElseThrow();
+        long second = auctionRepository.claimOwnership(auctionId).orElseThrow();
+
+        assertThat(second).isGreaterThan(first);
+        assertThat(auctionRepository.claimOwnership(-1L)).isEmpty();
+    }
+
+    @Test
+    void currentOwnerWritesItsBids() {
+        long epoch = auctionRepository.claimOwnership(auctionId).orElseThrow();
+
+        List<Long> ids = bidPersistenceService.persistBatch(List.of(bid(1, "20.00", epoch)), List.of());
+
+        assertThat(ids).hasSize(1);
+        assertThat(bidRepository.findById(ids.get(0)).orElseThrow().getOwnerEpoch()).isEqualTo(epoch);
+    }
+
+    @Test
+    void staleOwnerIsFencedOffOnceAnotherNodeHasClaimedTheAuction() {
+        long stale = auctionRepository.claimOwnership(auctionId).orElseThrow();
+        long current = auctionRepository.claimOwnership(auctionId).orElseThrow();
+
+        assertThatThrownBy(() -> bidPersistenceService.persistBatch(List.of(bid(1, "20.00", stale)), List.of()))
+                .isInstanceOf(OwnershipLostException.class);
+        ProxyChange raised = new ProxyChange(ProxyChange.Kind.RAISED, auctionId, bidderId, new BigDecimal("50.00"),
+                null, 1, LocalDateTime.now(), stale);
+        assertThatThrownBy(() -> bidPersistenceService.persistBatch(List.of(), List.of(raised)))
+                .isInstanceOf(OwnershipLostException.class);
+
+        assertThat(bidRepository.count()).isZero();
+        assertThat(auctionRepository.fence(auctionId, current)).isEqualTo(1);
+    }
+
+    @Test
+    void entryWithoutAClaimedEpochIsRefused() {
+        assertThatThrownBy(() -> bidPersistenceService.persistBatch(List.of(bid(1, "20.00", 0)), List.of()))
+                .isInstanceOf(OwnershipLostException.class);
+
+        assertThat(bidRepository.count()).isZero();
+    }
+
+    @Test
+    void softCloseExtensionIsSavedWithItsBid() {
+        long epoch = auctionRepository.claimOwnership(auctionId).orElseThrow();
+
+        bidPersistenceService.persistBatch(List.of(
+                bid(1, "20.00", endTime.plusSeconds(30), epoch),
+                bid(2, "25.00", endTime.plusSeconds(60), epoch)), List.of());
+        bidPersistenceService.persistBatch(List.of(bid(3, "30.00", endTime, epoch)), List.of());
+        entityManager.clear();
+
+        Auction auction = auctionRepository.findById(auctionId).orElseThrow();
+        assertThat(auction.getEndTime()).isEqualTo(endTime.plusSeconds(60));
+        assertThat(auction.getCurrentBid()).isEqualByComparingTo("30.00");
+        assertThat(auction.getBidCount()).isEqualTo(3);
+    }
+
+    private AcceptedBid bid(long sequence, String amount, long ownerEpoch) {
+        return bid(sequence, amount, endTime, ownerEpoch);
+    }
+
+    private AcceptedBid bid(long sequence, String amount, LocalDateTime bidEndTime, long ownerEpoch) {
+        return new AcceptedBid(auctionId, bidderId, "bidder", new BigDecimal(amount), null, sequence,
+                LocalDateTime.now(), bidEndTime, ownerEpoch);
+    }
+}
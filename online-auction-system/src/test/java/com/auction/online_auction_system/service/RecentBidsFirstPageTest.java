@@ -0,0 +1,82 @@
+package com.auction.online_auction_system.service;
+
+import com.auction.online_auction_system.dto.BidDTO;
+import com.auction.online_auction_system.dto.CursorPage;
+import com.auction.online_auction_system.dto.PageCursor;
+import com.auction.online_auction_system.engine.RecentBidRing;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks when {@link BidService} serves the first page of an auction's bid history from its
+ * {@link RecentBidRing} and when it goes to the database instead.
+ */
+class RecentBidsFirstPageTest {
+
+    @Test
+    void ringHoldingMoreThanAPageServesItWithACursorToTheNext() {
+        RecentBidRing ring = ring(20, 10);
+
+        CursorPage<BidDTO> page = BidService.firstPage(ring, 5).orElseThrow();
+
+        assertThat(page.items()).extracting(BidDTO::getId).containsExactly(10L, 9L, 8L, 7L, 6L);
+        assertThat(page.items()).extracting(BidDTO::getIsWinning).containsExactly(true, false, false, false, false);
+        assertThat(PageCursor.decode(page.nextCursor())).isEqualTo(new PageCursor("106", 6L));
+        // The ring's own DTO is shared with other requests and stays as it was.
+        assertThat(ring.snapshot().get(0).getIsWinning()).isFalse();
+    }
+
+    @Test
+    void ringHoldingTheWholeHistoryServesItAsTheLastPage() {
+        CursorPage<BidDTO> page = BidService.firstPage(ring(20, 3), 5).orElseThrow();
+
+        assertThat(page.items()).extracting(BidDTO::getId).containsExactly(3L, 2L, 1L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void auctionWithoutBidsHasAnEmptyLastPage() {
+        CursorPage<BidDTO> page = BidService.firstPage(ring(20, 0), 5).orElseThrow();
+
+        assertThat(page.items()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void ringSmallerThanThePageFallsBackToTheDatabase() {
+        assertThat(BidService.firstPage(ring(4, 10), 5)).isEmpty();
+        assertThat(BidService.firstPage(ring(4, 10), 4)).isPresent();
+    }
+
+    @Test
+    void ringSeededWithFewerBidsThanTheAuctionHasFallsBackToTheDatabase() {
+        RecentBidRing ring = new RecentBidRing(20,
+                List.of(new RecentBidRing.Ranked(bid(40), 40), new RecentBidRing.Ranked(bid(39), 39)), 40);
+
+        assertThat(BidService.firstPage(ring, 5)).isEmpty();
+        assertThat(BidService.firstPage(ring, 2).orElseThrow().items()).extracting(BidDTO::getId)
+                .containsExactly(40L, 39L);
+    }
+
+    private static RecentBidRing ring(int capacity, int bids) {
+        RecentBidRing ring = new RecentBidRing(capacity, List.of(), 0);
+        for (long id = 1; id <= bids; id++) {
+            ring.add(bid(id), id);
+        }
+        return ring;
+    }
+
+    private static BidDTO bid(long id) {
+        return BidDTO.builder()
+                .id(id)
+                .auctionId(1L)
+                .username("bidder" + id)
+                .bidAmount(BigDecimal.valueOf(100 + id))
+                .isWinning(false)
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.auction.online_auction_system.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class BidWindowTest {
+
+    private static final long START = 1_000_000_000L;
+
+    @Test
+    void countsBidsAndBiddersInTheWindow() {
+        BidWindow window = new BidWindow(7L, 12, 5_000, 8, START);
+
+        window.record(START, BigDecimal.valueOf(100), 41, List.of(1L));
+        window.record(START + 2_000, BigDecimal.valueOf(110), 43, List.of(2L, 1L));
+        window.record(START + 9_000, BigDecimal.valueOf(120), 44, List.of(3L));
+
+        AuctionStats stats = window.snapshot(START + 10_000);
+        assertThat(stats.auctionId()).isEqualTo(7L);
+        assertThat(stats.bidCount()).isEqualTo(44);
+        assertThat(stats.currentBid()).isEqualByComparingTo("120");
+        assertThat(stats.windowSeconds()).isEqualTo(60);
+        assertThat(stats.bidsInWindow()).isEqualTo(4);
+        assertThat(stats.bidsPerSecond()).isCloseTo(0.4, within(1e-9));
+        assertThat(stats.uniqueBidders()).isEqualTo(3);
+        assertThat(stats.secondsSinceLastBid()).isEqualTo(1);
+    }
+
+    @Test
+    void forgetsBucketsTheWindowHasMovedPast() {
+        BidWindow window = new BidWindow(7L, 12, 5_000, 8, START);
+        window.record(START, BigDecimal.valueOf(100), 1, List.of(1L));
+        window.record(START + 30_000, BigDecimal.valueOf(110), 2, List.of(2L));
+
+        window.record(START + 65_000, BigDecimal.valueOf(130), 3, List.of(3L));
+
+        AuctionStats stats = window.snapshot(START + 65_000);
+        assertThat(stats.bidCount()).isEqualTo(3);
+        assertThat(stats.bidsInWindow()).isEqualTo(2);
+        assertThat(stats.uniqueBidders()).isEqualTo(2);
+        assertThat(stats.secondsSinceLastBid()).isZero();
+    }
+
+    @Test
+    void priceChangeIsMeasuredFromThePriceTheWindowOpenedAt() {
+        BidWindow window = new BidWindow(7L, 12, 5_000, 8, START);
+        window.record(START, BigDecimal.valueOf(100), 1, List.of(1L));
+        window.record(START + 60_000, BigDecimal.valueOf(130), 2, List.of(2L));
+
+        // The bucket of the first bid has left the window; the second bucket opened at 100.
+        AuctionStats stats = window.snapshot(START + 90_000);
+        assertThat(stats.priceChangePerMinute()).isEqualByComparingTo("60.00");
+    }
+
+    @Test
+    void bidCountNeverGoesBackOnLateEvents() {
+        BidWindow window = new BidWindow(7L, 12, 5_000, 8, START);
+        window.record(START, BigDecimal.valueOf(120), 12, List.of(1L));
+        window.record(START + 1, BigDecimal.valueOf(110), 11, List.of(2L));
+
+        AuctionStats stats = window.snapshot(START + 1_000);
+        assertThat(stats.bidCount()).isEqualTo(12);
+        assertThat(stats.currentBid()).isEqualByComparingTo("120");
+    }
+
+    @Test
+    void hyperLogLogEstimatesLargeCountsWithinItsError() {
+        HyperLogLog sketch = new HyperLogLog(10);
+        LongStream.rangeClosed(1, 50_000).forEach(sketch::add);
+        LongStream.rangeClosed(1, 50_000).forEach(sketch::add);
+
+        assertThat(sketch.estimate()).isCloseTo(50_000L, within(50_000L * 10 / 100));
+    }
+}
@@ -0,0 +1,48 @@
+package com.auction.online_auction_system.support;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Counts what Hibernate does for a piece of work in a {@code @DataJpaTest}. The test must set
+ * {@code spring.jpa.properties.hibernate.generate_statistics=true}.
+ */
+public final class QueryCounter {
+
+    private final TestEntityManager entityManager;
+    private final Statistics statistics;
+
+    public QueryCounter(TestEntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Writes out pending changes, clears the persistence context and the counts, then runs {@code work}, so
+     * the counts afterwards are those of {@code work} alone on a cold context.
+     *
+     * @return what {@code work} returned
+     */
+    public <T> T run(Supplier<T> work) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        return work.get();
+    }
+
+    public long statements() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    public long entitiesLoaded() {
+        return statistics.getEntityLoadCount();
+    }
+
+    public long collectionsLoaded() {
+        return statistics.getCollectionLoadCount();
+    }
+}
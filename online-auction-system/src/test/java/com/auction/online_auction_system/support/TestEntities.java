@@ -0,0 +1,56 @@
+package com.auction.online_auction_system.support;
+
+import com.auction.online_auction_system.entity.Auction;
+import com.auction.online_auction_system.entity.Bid;
+import com.auction.online_auction_system.entity.Product;
+import com.auction.online_auction_system.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Unsaved entities with every required field set, for tests that write to the database.
+ */
+public final class TestEntities {
+
+    private TestEntities() {
+    }
+
+    public static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret");
+        return user;
+    }
+
+    public static Product product(String name, User seller) {
+        Product product = new Product();
+        product.setName(name);
+        product.setCategory("Test");
+        product.setStartingPrice(BigDecimal.TEN);
+        product.setSeller(seller);
+        return product;
+    }
+
+    /**
+     * @return an auction that started an hour ago and ends in an hour
+     */
+    public static Auction auction(Product product, Auction.AuctionStatus status) {
+        Auction auction = new Auction();
+        auction.setProduct(product);
+        auction.setStartTime(LocalDateTime.now().minusHours(1));
+        auction.setEndTime(LocalDateTime.now().plusHours(1));
+        auction.setStatus(status);
+        return auction;
+    }
+
+    public static Bid bid(Auction auction, User bidder, BigDecimal amount, long sequence) {
+        Bid bid = new Bid();
+        bid.setAuction(auction);
+        bid.setUser(bidder);
+        bid.setBidAmount(amount);
+        bid.setSequence(sequence);
+        return bid;
+    }
+}
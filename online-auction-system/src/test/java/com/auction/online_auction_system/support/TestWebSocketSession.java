@@ -0,0 +1,198 @@
+package com.auction.online_auction_system.support;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Open session that records the messages sent to it instead of writing them to a connection. Sends can be
+ * held to play a slow client.
+ */
+public class TestWebSocketSession implements WebSocketSession {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final String id;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final List<WebSocketMessage<?>> sent = new ArrayList<>();
+    private CloseStatus closeStatus;
+    private boolean holding;
+    private int heldSends;
+
+    public TestWebSocketSession(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Waits until a text message with the given payload has been sent.
+     *
+     * @return the payloads of the text messages sent before it, in order
+     * @throws AssertionError if it is not sent within five seconds
+     */
+    public synchronized List<String> awaitTextBefore(String payload) throws InterruptedException {
+        awaitUntil(() -> textPayloads().contains(payload), payload);
+        List<String> payloads = textPayloads();
+        return payloads.subList(0, payloads.indexOf(payload));
+    }
+
+    /**
+     * Makes sends block until {@link #releaseSends()}.
+     */
+    public synchronized void holdSends() {
+        holding = true;
+    }
+
+    public synchronized void releaseSends() {
+        holding = false;
+        notifyAll();
+    }
+
+    /**
+     * Waits until a send is blocked by {@link #holdSends()}.
+     */
+    public synchronized void awaitHeldSend() throws InterruptedException {
+        awaitUntil(() -> heldSends > 0, "a held send");
+    }
+
+    /**
+     * Waits until the session is closed.
+     *
+     * @return the status it was closed with
+     */
+    public synchronized CloseStatus awaitClose() throws InterruptedException {
+        awaitUntil(() -> closeStatus != null, "closing");
+        return closeStatus;
+    }
+
+    @Override
+    public synchronized void sendMessage(WebSocketMessage<?> message) throws IOException {
+        heldSends++;
+        notifyAll();
+        try {
+            while (holding) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } finally {
+            heldSends--;
+        }
+        sent.add(message);
+        notifyAll();
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public URI getUri() {
+        return URI.create("ws://localhost/ws/auction");
+    }
+
+    @Override
+    public HttpHeaders getHandshakeHeaders() {
+        return new HttpHeaders();
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public Principal getPrincipal() {
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return null;
+    }
+
+    @Override
+    public String getAcceptedProtocol() {
+        return null;
+    }
+
+    @Override
+    public void setTextMessageSizeLimit(int messageSizeLimit) {
+    }
+
+    @Override
+    public int getTextMessageSizeLimit() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+    }
+
+    @Override
+    public int getBinaryMessageSizeLimit() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public List<WebSocketExtension> getExtensions() {
+        return List.of();
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return closeStatus == null;
+    }
+
+    @Override
+    public void close() {
+        close(CloseStatus.NORMAL);
+    }
+
+    @Override
+    public synchronized void close(CloseStatus status) {
+        if (closeStatus == null) {
+            closeStatus = status;
+        }
+        notifyAll();
+    }
+
+    private List<String> textPayloads() {
+        return sent.stream()
+                .filter(TextMessage.class::isInstance)
+                .map(message -> ((TextMessage) message).getPayload())
+                .toList();
+    }
+
+    private void awaitUntil(BooleanSupplier condition, String what) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new AssertionError("Session " + id + " timed out waiting for " + what + ", sent " + sent);
+            }
+            wait(Math.max(1, remaining / 1_000_000));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.auction.online_auction_system.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.web.socket.TextMessage;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encoding a bid update through Jackson, as broadcasts used to, with {@link BidFrameEncoder}.
+ * <p>
+ * Run {@link #main} from the test classpath, e.g. from the IDE after {@code mvn test-compile}. Add
+ * {@code -prof gc} through the options to compare allocation rates as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BidFrameEncoderBenchmark {
+
+    private ObjectMapper objectMapper;
+    private BidMessage message;
+
+    @Setup
+    public void setUp() {
+        // Same date handling Spring Boot configures for the application's ObjectMapper.
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        message = new BidMessage();
+        message.setAuctionId(4_211L);
+        message.setVersion(318L);
+        message.setUserId(98_765L);
+        message.setUsername("collector_42");
+        message.setBidAmount(new BigDecimal("1250.50"));
+        message.setBidCount(57L);
+        message.setTimestamp(LocalDateTime.of(2025, 10, 25, 4, 1, 43, 123_000_000));
+        message.setEndTime(LocalDateTime.of(2025, 10, 25, 5, 0, 0));
+    }
+
+    @Benchmark
+    public TextMessage jackson() throws JsonProcessingException {
+        return new TextMessage(objectMapper.writeValueAsString(message));
+    }
+
+    @Benchmark
+    public BidFrame handWrittenJson() {
+        return BidFrameEncoder.encode(message);
+    }
+
+    @Benchmark
+    public byte[] binary() {
+        return BidFrameEncoder.encodeBinary(message);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BidFrameEncoderBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
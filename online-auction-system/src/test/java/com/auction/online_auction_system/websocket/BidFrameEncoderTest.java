@@ -0,0 +1,91 @@
+package com.auction.online_auction_system.websocket;
+
+import com.auction.online_auction_system.config.AppConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BidFrameEncoderTest {
+
+    private final ObjectMapper objectMapper = new AppConfig().objectMapper();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "collector_42",
+            "Zoë Çelik",
+            "山田太郎",
+            "bidder 🚀 🎉",
+            "quote \" backslash \\ slash /",
+            "controls \b\f\n\r\t \u0000 \u001f \u007f",
+            "lone high \ud83d end",
+            "lone low \ude80 end",
+            "reversed \ude80\ud83d pair",
+            "\ud83d",
+            ""
+    })
+    void encodesUsernamesLikeJackson(String username) throws Exception {
+        BidMessage message = message(username, new BigDecimal("1250.50"));
+
+        assertThat(BidFrameEncoder.encodeJson(message)).isEqualTo(objectMapper.writeValueAsBytes(message));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "0.00", "1250.5", "1250.50", "10.005", "0.0000001", "1E+3", "-3.10",
+            "99999999.99", "123456789012345678.9"})
+    void encodesAmountsLikeJackson(String amount) throws Exception {
+        BidMessage message = message("collector_42", new BigDecimal(amount));
+
+        assertThat(BidFrameEncoder.encodeJson(message)).isEqualTo(objectMapper.writeValueAsBytes(message));
+    }
+
+    @Test
+    void encodesNullsAndWholeSecondsLikeJackson() throws Exception {
+        BidMessage message = new BidMessage();
+        message.setAuctionId(7L);
+        message.setTimestamp(LocalDateTime.of(2025, 10, 25, 5, 0, 0));
+
+        assertThat(BidFrameEncoder.encodeJson(message)).isEqualTo(objectMapper.writeValueAsBytes(message));
+    }
+
+    @Test
+    void binaryFrameKeepsTheExactAmountAndUsername() {
+        BidMessage message = message("Zoë 🚀", new BigDecimal("10.005"));
+
+        ByteBuffer frame = ByteBuffer.wrap(BidFrameEncoder.encodeBinary(message));
+        assertThat(frame.get()).isEqualTo((byte) 1);
+        assertThat(frame.get()).isEqualTo((byte) 1);
+        assertThat(frame.getLong()).isEqualTo(4_211L);
+        assertThat(frame.getLong()).isEqualTo(318L);
+        assertThat(frame.getLong()).isEqualTo(98_765L);
+        BigDecimal amount = new BigDecimal(BigInteger.valueOf(frame.getLong()), frame.getInt());
+        assertThat(amount).isEqualTo(new BigDecimal("10.005"));
+        assertThat(frame.getLong()).isEqualTo(57L);
+        frame.position(frame.position() + 2 * Long.BYTES);
+        byte[] username = new byte[frame.getShort()];
+        frame.get(username);
+        assertThat(new String(username, StandardCharsets.UTF_8)).isEqualTo("Zoë 🚀");
+        assertThat(frame.hasRemaining()).isFalse();
+    }
+
+    private static BidMessage message(String username, BigDecimal amount) {
+        BidMessage message = new BidMessage();
+        message.setAuctionId(4_211L);
+        message.setVersion(318L);
+        message.setUserId(98_765L);
+        message.setUsername(username);
+        message.setBidAmount(amount);
+        message.setBidCount(57L);
+        message.setTimestamp(LocalDateTime.of(2025, 10, 25, 4, 1, 43, 123_000_000));
+        message.setEndTime(LocalDateTime.of(2025, 10, 25, 5, 0, 0));
+        return message;
+    }
+}
@@ -0,0 +1,113 @@
+package com.auction.online_auction_system.websocket;
+
+import com.auction.online_auction_system.support.TestWebSocketSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plays a client that stops reading: its first message is stuck in the send, so later ones fill the outbox
+ * and the overflow policy decides what the client gets once it reads again.
+ */
+class BroadcastDispatcherTest {
+
+    private static final int CAPACITY = 3;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SubscriptionRegistry subscriptionRegistry = new SubscriptionRegistry(meterRegistry);
+    private final TestWebSocketSession session = new TestWebSocketSession("slow");
+    private BroadcastDispatcher dispatcher;
+    private String lastPayload;
+
+    @AfterEach
+    void shutdown() {
+        session.releaseSends();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void coalesceLatestKeepsTheNewestUpdateOfEachAuction() throws InterruptedException {
+        stall(OverflowPolicy.COALESCE_LATEST, 42L);
+        enqueue(42L, "42 v2");
+        enqueue(7L, "7 v1");
+        enqueue(9L, "9 v1");
+
+        // Replaces the queued update of auction 42, then, with none of auction 8 queued, drops the oldest.
+        assertThat(enqueue(42L, "42 v3")).isTrue();
+        assertThat(enqueue(8L, "8 v1")).isTrue();
+
+        assertThat(sentOnceReleased()).containsExactly("42 v1", "9 v1", "42 v3", "8 v1");
+        assertThat(overflows("coalesced")).isEqualTo(1);
+        assertThat(overflows("dropped")).isEqualTo(1);
+    }
+
+    @Test
+    void dropOldestIgnoresWhichAuctionAnUpdateBelongsTo() throws InterruptedException {
+        stall(OverflowPolicy.DROP_OLDEST, 42L);
+        enqueue(42L, "42 v2");
+        enqueue(42L, "42 v3");
+        enqueue(7L, "7 v1");
+
+        assertThat(enqueue(42L, "42 v4")).isTrue();
+
+        assertThat(sentOnceReleased()).containsExactly("42 v1", "42 v3", "7 v1", "42 v4");
+        assertThat(overflows("dropped")).isEqualTo(1);
+        assertThat(overflows("coalesced")).isZero();
+    }
+
+    @Test
+    void disconnectClosesTheSlowSessionAndDropsItsSubscriptions() throws InterruptedException {
+        subscriptionRegistry.subscribe(session, 42L);
+        stall(OverflowPolicy.DISCONNECT, 42L);
+        enqueue(42L, "42 v2");
+        enqueue(42L, "42 v3");
+        enqueue(42L, "42 v4");
+
+        assertThat(enqueue(42L, "42 v5")).isFalse();
+
+        assertThat(session.awaitClose()).isEqualTo(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(dispatcher.getSessionCount()).isZero();
+        assertThat(subscriptionRegistry.getSubscribedAuctionIds()).isEmpty();
+        assertThat(enqueue(42L, "42 v6")).isFalse();
+        assertThat(overflows("disconnected")).isEqualTo(1);
+    }
+
+    /**
+     * Registers the session under {@code policy} and leaves its first update, {@code <auctionId> v1}, stuck
+     * in the send.
+     */
+    private void stall(OverflowPolicy policy, Long auctionId) throws InterruptedException {
+        dispatcher = new BroadcastDispatcher(subscriptionRegistry, meterRegistry, CAPACITY, policy);
+        dispatcher.register(session);
+        session.holdSends();
+        enqueue(auctionId, auctionId + " v1");
+        session.awaitHeldSend();
+    }
+
+    private boolean enqueue(Long auctionId, String payload) {
+        lastPayload = payload;
+        return dispatcher.enqueue(session, auctionId, new TextMessage(payload));
+    }
+
+    /**
+     * Lets the client read again. Every policy queues the newest update last, so the outbox is empty once
+     * it has been sent.
+     */
+    private List<String> sentOnceReleased() throws InterruptedException {
+        session.releaseSends();
+        List<String> sent = new ArrayList<>(session.awaitTextBefore(lastPayload));
+        sent.add(lastPayload);
+        return sent;
+    }
+
+    private double overflows(String outcome) {
+        return meterRegistry.get("auction.ws.outbox.overflow").tag("outcome", outcome).counter().count();
+    }
+}
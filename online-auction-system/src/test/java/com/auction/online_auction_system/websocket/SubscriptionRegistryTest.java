@@ -0,0 +1,88 @@
+package com.auction.online_auction_system.websocket;
+
+import com.auction.online_auction_system.support.TestWebSocketSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubscriptionRegistryTest {
+
+    private final SubscriptionRegistry registry = new SubscriptionRegistry(new SimpleMeterRegistry());
+
+    private final WebSocketSession both = new TestWebSocketSession("both");
+    private final WebSocketSession auctionOnly = new TestWebSocketSession("auction");
+    private final WebSocketSession liveOnly = new TestWebSocketSession("live");
+
+    @Test
+    void sessionOnBothChannelsReceivesAnUpdateOnce() {
+        registry.subscribe(both, 42L);
+        registry.subscribeLive(both);
+        registry.subscribe(auctionOnly, 42L);
+        registry.subscribeLive(liveOnly);
+
+        assertThat(recipients(42L)).containsExactlyInAnyOrder("both", "auction", "live");
+        assertThat(recipients(7L)).containsExactlyInAnyOrder("both", "live");
+    }
+
+    @Test
+    void auctionSubscribersLeaveOutTheLiveChannel() {
+        registry.subscribe(auctionOnly, 42L);
+        registry.subscribeLive(liveOnly);
+
+        List<String> recipients = new ArrayList<>();
+        registry.forEachAuctionSubscriber(42L, session -> recipients.add(session.getId()));
+
+        assertThat(recipients).containsExactly("auction");
+    }
+
+    @Test
+    void lastUnsubscribeDropsTheChannel() {
+        registry.subscribe(both, 42L);
+        registry.subscribe(auctionOnly, 42L);
+
+        registry.unsubscribe(both, 42L);
+        assertThat(registry.getSubscribedAuctionIds()).containsExactly(42L);
+        registry.unsubscribe(auctionOnly, 42L);
+
+        assertThat(registry.getSubscribedAuctionIds()).isEmpty();
+        assertThat(recipients(42L)).isEmpty();
+    }
+
+    @Test
+    void closedSessionLosesEverySubscription() {
+        registry.subscribe(both, 42L);
+        registry.subscribe(both, 43L);
+        registry.subscribeLive(both);
+        registry.subscribe(auctionOnly, 43L);
+
+        registry.removeSession(both);
+
+        assertThat(registry.getSubscribedAuctionIds()).containsExactly(43L);
+        assertThat(recipients(42L)).isEmpty();
+        assertThat(recipients(43L)).containsExactly("auction");
+    }
+
+    @Test
+    void deliveriesAreCountedPerChannel() {
+        registry.subscribe(auctionOnly, 42L);
+        registry.subscribeLive(liveOnly);
+        registry.subscribeLive(both);
+
+        registry.forEachSubscriber(42L, session -> session != both);
+
+        assertThat(registry.getChannelStats()).containsExactlyInAnyOrder(
+                new ChannelStats("auction:42", 1, 1, 0),
+                new ChannelStats(SubscriptionRegistry.LIVE_CHANNEL, 2, 1, 1));
+    }
+
+    private List<String> recipients(Long auctionId) {
+        List<String> recipients = new ArrayList<>();
+        registry.forEachSubscriber(auctionId, session -> recipients.add(session.getId()));
+        return recipients;
+    }
+}
@@ -0,0 +1,162 @@
+package com.auction.online_auction_system.websocket;
+
+import com.auction.online_auction_system.cluster.InProcessEventBus;
+import com.auction.online_auction_system.config.AppConfig;
+import com.auction.online_auction_system.event.AuctionCompletedEvent;
+import com.auction.online_auction_system.event.BidPlacedEvent;
+import com.auction.online_auction_system.support.TestWebSocketSession;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Checks how a reconnecting client catches up: snapshots newer than the versions it holds, nothing if it is
+ * up to date, and a resync if the node has no snapshot for a version it holds.
+ */
+class WebSocketHandlerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final ObjectMapper objectMapper = new AppConfig().objectMapper();
+    private final InProcessEventBus eventBus = new InProcessEventBus();
+    private final AuctionSnapshotStore snapshotStore = new AuctionSnapshotStore(eventBus);
+    private final SubscriptionRegistry subscriptionRegistry = new SubscriptionRegistry(new SimpleMeterRegistry());
+    private final BroadcastDispatcher dispatcher = new BroadcastDispatcher(subscriptionRegistry,
+            new SimpleMeterRegistry(), 16, OverflowPolicy.COALESCE_LATEST);
+    private final WebSocketHandler handler =
+            new WebSocketHandler(objectMapper, subscriptionRegistry, dispatcher, snapshotStore);
+
+    private final TestWebSocketSession session = new TestWebSocketSession("client");
+    private int markers;
+    private int consumed;
+
+    @BeforeEach
+    void connect() throws Exception {
+        handler.afterConnectionEstablished(session);
+    }
+
+    @AfterEach
+    void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void newSubscriberGetsTheLatestSnapshot() throws Exception {
+        bid(42L, 2);
+        bid(42L, 3);
+
+        send("{\"action\":\"subscribe\",\"auctionId\":42}");
+
+        assertThat(bids(received())).extracting(BidMessage::getAuctionId, BidMessage::getVersion)
+                .containsExactly(tuple(42L, 3L));
+    }
+
+    @Test
+    void resumingClientOnlyGetsANewerSnapshot() throws Exception {
+        bid(42L, 3);
+
+        send("{\"action\":\"subscribe\",\"auctionId\":42,\"version\":3}");
+        assertThat(received()).isEmpty();
+
+        send("{\"action\":\"subscribe\",\"auctionId\":42,\"version\":2}");
+        assertThat(bids(received())).extracting(BidMessage::getVersion).containsExactly(3L);
+    }
+
+    @Test
+    void versionWithoutASnapshotAsksForAResync() throws Exception {
+        bid(42L, 3);
+        eventBus.publish(new AuctionCompletedEvent(42L));
+
+        send("{\"action\":\"subscribe\",\"auctionId\":7}");
+        assertThat(received()).isEmpty();
+
+        send("{\"action\":\"subscribe\",\"auctionId\":42,\"version\":3}");
+        assertThat(resyncs(received())).containsExactly(ResyncMessage.auction(42L));
+    }
+
+    @Test
+    void liveChannelResumesWithEverySnapshotTheClientLacks() throws Exception {
+        bid(1L, 2);
+        bid(2L, 5);
+        bid(3L, 1);
+
+        send("{\"action\":\"subscribe\",\"channel\":\"live\",\"versions\":{\"1\":2,\"2\":4}}");
+
+        assertThat(bids(received())).extracting(BidMessage::getAuctionId, BidMessage::getVersion)
+                .containsExactlyInAnyOrder(tuple(2L, 5L), tuple(3L, 1L));
+    }
+
+    @Test
+    void liveChannelResyncsOnceIfAnyVersionHasNoSnapshot() throws Exception {
+        bid(1L, 2);
+        bid(2L, 5);
+
+        send("{\"action\":\"subscribe\",\"channel\":\"live\",\"versions\":{\"1\":1,\"8\":4,\"9\":6}}");
+
+        assertThat(resyncs(received())).containsExactly(ResyncMessage.live());
+    }
+
+    @Test
+    void subscriptionEndsWithTheSession() throws Exception {
+        send("{\"action\":\"subscribe\",\"auctionId\":42}");
+        send("{\"action\":\"subscribe\",\"channel\":\"live\"}");
+
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+
+        assertThat(subscriptionRegistry.getSubscribedAuctionIds()).isEmpty();
+        assertThat(handler.getConnectionCount()).isZero();
+    }
+
+    private void bid(Long auctionId, long version) {
+        eventBus.publish(new BidPlacedEvent(auctionId, version, 5L, "bidder", BigDecimal.valueOf(100 + version),
+                version, NOW, NOW.plusHours(1), List.of(5L)));
+    }
+
+    private void send(String payload) throws Exception {
+        handler.handleMessage(session, new TextMessage(payload));
+    }
+
+    /**
+     * Messages to a session are sent in order, so everything the handler queued has arrived once a marker
+     * queued after it has.
+     *
+     * @return the payloads sent since the previous call
+     */
+    private List<String> received() throws InterruptedException {
+        String marker = "marker-" + ++markers;
+        dispatcher.enqueue(session, marker, new TextMessage(marker));
+        List<String> sent = session.awaitTextBefore(marker);
+        List<String> fresh = List.copyOf(sent.subList(consumed, sent.size()));
+        consumed = sent.size() + 1;
+        return fresh;
+    }
+
+    private List<BidMessage> bids(List<String> payloads) throws IOException {
+        return read(payloads, BidMessage.class);
+    }
+
+    private List<ResyncMessage> resyncs(List<String> payloads) throws IOException {
+        return read(payloads, ResyncMessage.class);
+    }
+
+    private <T> List<T> read(List<String> payloads, Class<T> type) throws IOException {
+        List<T> messages = new ArrayList<>(payloads.size());
+        for (String payload : payloads) {
+            messages.add(objectMapper.readValue(payload, type));
+        }
+        return messages;
+    }
+}